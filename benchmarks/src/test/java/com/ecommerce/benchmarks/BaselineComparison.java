@@ -0,0 +1,110 @@
+package com.ecommerce.benchmarks;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline, benchmark by benchmark.
+ * <p>
+ * The time per operation depends on the machine, so it is only reported. The bytes allocated per
+ * operation ({@code gc.alloc.rate.norm}, from the GC profiler) barely move between machines and
+ * runs: that is the figure a regression is judged on.
+ * </p>
+ */
+final class BaselineComparison {
+
+    // Below this the difference is JIT noise (a single escaped object), whatever the percentage
+    static final double MIN_ALLOC_REGRESSION_BYTES = 16;
+
+    private static final String ALLOC_PER_OP = "gc.alloc.rate.norm";
+    private static final String PACKAGE_PREFIX = BaselineComparison.class.getPackageName() + ".";
+
+    /** One benchmark's figures: the primary score and, if the GC profiler ran, bytes per operation. */
+    record Result(double score, String unit, Double allocPerOp) {}
+
+    /** A benchmark present in the current run; {@code baseline} is {@code null} when it is new. */
+    record Delta(String benchmark, Result baseline, Result current) {
+
+        boolean allocRegressed(double tolerance) {
+            if (baseline == null || baseline.allocPerOp() == null || current.allocPerOp() == null) {
+                return false;
+            }
+            double growth = current.allocPerOp() - baseline.allocPerOp();
+            return growth > Math.max(baseline.allocPerOp() * tolerance, MIN_ALLOC_REGRESSION_BYTES);
+        }
+
+        String format() {
+            if (baseline == null) {
+                return String.format("[baseline] %-58s %12.3f %s  alloc %s B/op  (new)",
+                        benchmark, current.score(), current.unit(), bytes(current.allocPerOp()));
+            }
+            return String.format("[baseline] %-58s %12.3f -> %12.3f %s (%s)  alloc %s -> %s B/op (%s)",
+                    benchmark, baseline.score(), current.score(), current.unit(),
+                    change(baseline.score(), current.score()),
+                    bytes(baseline.allocPerOp()), bytes(current.allocPerOp()),
+                    baseline.allocPerOp() == null || current.allocPerOp() == null
+                            ? "-" : change(baseline.allocPerOp(), current.allocPerOp()));
+        }
+
+        private static String bytes(Double allocPerOp) {
+            return allocPerOp == null ? "-" : String.format("%.1f", allocPerOp);
+        }
+
+        private static String change(double before, double after) {
+            return before == 0 ? (after == 0 ? "+0.0%" : "new") : String.format("%+.1f%%", (after - before) * 100 / before);
+        }
+    }
+
+    private BaselineComparison() {
+    }
+
+    /**
+     * Reads a file written with {@code -rf json}.
+     *
+     * @return the results keyed by benchmark name (without this package) and parameters, in file order
+     */
+    static Map<String, Result> read(Path jmhJson) {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : JsonMapper.builder().build().readTree(jmhJson.toFile())) {
+            JsonNode primary = run.get("primaryMetric");
+            Double allocPerOp = null;
+            for (Map.Entry<String, JsonNode> metric : run.path("secondaryMetrics").properties()) {
+                // Older JMH versions prefix profiler metrics with a middle dot
+                if (metric.getKey().endsWith(ALLOC_PER_OP)) {
+                    allocPerOp = metric.getValue().get("score").asDouble();
+                }
+            }
+            results.put(key(run), new Result(primary.get("score").asDouble(),
+                    primary.get("scoreUnit").asString(), allocPerOp));
+        }
+        return results;
+    }
+
+    /** The benchmarks of the current run, each with its baseline figures if the baseline has them. */
+    static List<Delta> compare(Map<String, Result> baseline, Map<String, Result> current) {
+        List<Delta> deltas = new ArrayList<>(current.size());
+        current.forEach((benchmark, result) -> deltas.add(new Delta(benchmark, baseline.get(benchmark), result)));
+        return deltas;
+    }
+
+    private static String key(JsonNode run) {
+        String benchmark = run.get("benchmark").asString();
+        if (benchmark.startsWith(PACKAGE_PREFIX)) {
+            benchmark = benchmark.substring(PACKAGE_PREFIX.length());
+        }
+        JsonNode params = run.path("params");
+        if (params.isEmpty()) {
+            return benchmark;
+        }
+        StringJoiner joined = new StringJoiner(",", benchmark + "[", "]");
+        params.properties().forEach(param -> joined.add(param.getKey() + "=" + param.getValue().asString()));
+        return joined.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.ecommerce.benchmarks;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaselineComparisonTest {
+
+    @TempDir
+    Path dir;
+
+    private Path jmhJson(String name, double score, double allocPerOp) throws IOException {
+        return Files.writeString(dir.resolve(name), """
+                [
+                  {
+                    "benchmark": "com.ecommerce.benchmarks.DtoJsonBenchmark.write",
+                    "mode": "avgt",
+                    "params": {"dto": "UserResponseDTO-page"},
+                    "primaryMetric": {"score": %s, "scoreError": 0.1, "scoreUnit": "us/op"},
+                    "secondaryMetrics": {
+                      "gc.alloc.rate": {"score": 900.0, "scoreUnit": "MB/sec"},
+                      "gc.alloc.rate.norm": {"score": %s, "scoreUnit": "B/op"}
+                    }
+                  },
+                  {
+                    "benchmark": "com.ecommerce.benchmarks.MapperBenchmark.userToResponseDto",
+                    "mode": "avgt",
+                    "primaryMetric": {"score": 12.5, "scoreError": 0.2, "scoreUnit": "ns/op"},
+                    "secondaryMetrics": {}
+                  }
+                ]
+                """.formatted(score, allocPerOp));
+    }
+
+    @Test
+    @DisplayName("Should key results by benchmark and parameters, with bytes per operation when profiled")
+    void shouldReadJmhJson() throws IOException {
+        Map<String, BaselineComparison.Result> results = BaselineComparison.read(jmhJson("result.json", 4.2, 5120));
+
+        assertThat(results).containsOnlyKeys(
+                "DtoJsonBenchmark.write[dto=UserResponseDTO-page]", "MapperBenchmark.userToResponseDto");
+        assertThat(results.get("DtoJsonBenchmark.write[dto=UserResponseDTO-page]"))
+                .isEqualTo(new BaselineComparison.Result(4.2, "us/op", 5120.0));
+        assertThat(results.get("MapperBenchmark.userToResponseDto").allocPerOp()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should flag allocation growth beyond the tolerance, never time alone")
+    void shouldFlagAllocationRegressions() throws IOException {
+        Map<String, BaselineComparison.Result> baseline = BaselineComparison.read(jmhJson("baseline.json", 4.2, 5120));
+
+        List<BaselineComparison.Delta> slower = BaselineComparison.compare(baseline,
+                BaselineComparison.read(jmhJson("slower.json", 8.4, 5200)));
+        assertThat(slower).noneMatch(delta -> delta.allocRegressed(0.10));
+
+        List<BaselineComparison.Delta> heavier = BaselineComparison.compare(baseline,
+                BaselineComparison.read(jmhJson("heavier.json", 4.2, 6144)));
+        assertThat(heavier).filteredOn(delta -> delta.allocRegressed(0.10))
+                .extracting(BaselineComparison.Delta::benchmark)
+                .containsExactly("DtoJsonBenchmark.write[dto=UserResponseDTO-page]");
+        assertThat(heavier.getFirst().format()).contains("5120.0 -> 6144.0 B/op (+20.0%)");
+    }
+
+    @Test
+    @DisplayName("Should report a benchmark missing from the baseline as new")
+    void shouldReportNewBenchmarks() throws IOException {
+        List<BaselineComparison.Delta> deltas = BaselineComparison.compare(Map.of(),
+                BaselineComparison.read(jmhJson("result.json", 4.2, 5120)));
+
+        assertThat(deltas).noneMatch(delta -> delta.allocRegressed(0.0));
+        assertThat(deltas).allSatisfy(delta -> assertThat(delta.format()).endsWith("(new)"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.benchmarks;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every JMH suite of this module with the GC profiler and compares the result with the
+ * committed baseline.
+ * <p>
+ * Run with {@code ./mvnw install -DskipTests} once, then {@code ./mvnw -pl benchmarks test -Pbenchmark}.
+ * {@code -Dbenchmarks.include=<regex>} narrows the run (e.g. {@code MapperBenchmark}). Results are
+ * written as JMH JSON to {@code target/jmh-result.json}; each benchmark is printed next to its line
+ * in {@code baseline/jmh-result.json}, and the run fails if one allocates more per operation than
+ * the baseline plus {@code -Dbenchmarks.alloc-tolerance} (default 0.10, i.e. 10%). To accept a
+ * change, copy the result over the baseline and commit it with the change.
+ * </p>
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - mappers, DTO JSON and service hot paths against the baseline")
+class BenchmarkSuiteTest {
+
+    private static final Path RESULT = Path.of("target", "jmh-result.json");
+    private static final Path BASELINE = Path.of("baseline", "jmh-result.json");
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        String include = System.getProperty("benchmarks.include", BenchmarkSuiteTest.class.getPackageName() + ".");
+        double allocTolerance = Double.parseDouble(System.getProperty("benchmarks.alloc-tolerance", "0.10"));
+
+        new Runner(new OptionsBuilder()
+                .include(include)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT.toString())
+                .build())
+                .run();
+
+        if (!Files.exists(BASELINE)) {
+            System.out.printf("[baseline] none at %s - copy %s there to create it%n", BASELINE, RESULT);
+            return;
+        }
+        List<BaselineComparison.Delta> deltas = BaselineComparison.compare(
+                BaselineComparison.read(BASELINE), BaselineComparison.read(RESULT));
+        deltas.forEach(delta -> System.out.println(delta.format()));
+        assertThat(deltas)
+                .as("benchmarks allocating more per operation than the baseline")
+                .filteredOn(delta -> delta.allocRegressed(allocTolerance))
+                .extracting(BaselineComparison.Delta::format)
+                .isEmpty();
+    }
+}
@@ -0,0 +1,186 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product.dto.BulkImportErrorDto;
+import com.ecommerce.product.dto.BulkImportResultDto;
+import com.ecommerce.product.dto.CategoryDeletionJobDto;
+import com.ecommerce.product.dto.CategoryFacetDto;
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.dto.PriceBucketFacetDto;
+import com.ecommerce.product.dto.ProductChangeDto;
+import com.ecommerce.product.dto.ProductChangesDto;
+import com.ecommerce.product.dto.ProductCursorPageDto;
+import com.ecommerce.product.dto.ProductFacetsDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.dto.ProductStockDecrementDto;
+import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.dto.ProductStockResponseDto;
+import com.ecommerce.product.dto.StockReservationLineDto;
+import com.ecommerce.product.dto.StockReservationRequestDto;
+import com.ecommerce.product.dto.StockReservationResponseDto;
+import com.ecommerce.product.model.ProductChange;
+import com.ecommerce.user.dto.UserPatchRequestDTO;
+import com.ecommerce.user.dto.UserPutRequestDTO;
+import com.ecommerce.user.dto.UserPutResponseDTO;
+import com.ecommerce.user.dto.UserRequestDTO;
+import com.ecommerce.user.dto.UserResponseDTO;
+import com.ecommerce.user.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.type.TypeFactory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * JSON write and read back of every request and response DTO of both services.
+ * <p>
+ * DTOs that only appear inside another one (import errors, facets, change entries, reservation
+ * lines) are measured as part of it. Collections are filled to a default page: 20 elements. The
+ * {@link Page} responses are written the way the controllers return them, as a {@link PageImpl},
+ * and read back the way a client does, into a record with the page's content and totals. The mapper
+ * ignores unknown properties, as the one Spring Boot configures.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoJsonBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({
+            "BulkImportResultDto", "CategoryDeletionJobDto", "CategoryRequestDto", "CategoryResponseDto",
+            "CategoryResponseDto-page", "ProductChangesDto", "ProductCursorPageDto", "ProductFacetsDto",
+            "ProductRequestDto", "ProductResponseDto", "ProductResponseDto-page", "ProductStockDecrementDto",
+            "ProductStockRequestDto", "ProductStockResponseDto", "StockReservationRequestDto",
+            "StockReservationResponseDto", "UserPatchRequestDTO", "UserPutRequestDTO", "UserPutResponseDTO",
+            "UserRequestDTO", "UserResponseDTO", "UserResponseDTO-page"
+    })
+    private String dto;
+
+    private JsonMapper mapper;
+    private Object value;
+    private JavaType type;
+    private byte[] encoded;
+
+    /** What a client reads a serialized {@link PageImpl} into. */
+    public record PageBody<T>(List<T> content, long totalElements, int totalPages, int number, int size) {}
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        TypeFactory types = mapper.getTypeFactory();
+        value = sample(dto);
+        type = dto.endsWith("-page")
+                ? types.constructParametricType(PageBody.class, types.constructType(
+                        ((Page<?>) value).getContent().getFirst().getClass()))
+                : types.constructType(value.getClass());
+        encoded = mapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] write() {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object read() {
+        return mapper.readValue(encoded, type);
+    }
+
+    static Object sample(String dto) {
+        return switch (dto) {
+            case "BulkImportResultDto" -> new BulkImportResultDto(1_000, 980, 20, times(i ->
+                    new BulkImportErrorDto(i * 50L, "Price must be more than 0")), false);
+            case "CategoryDeletionJobDto" -> new CategoryDeletionJobDto("5f0c7a2e-0b1d-4c3a-9e55-2f8d6c1b9a41", 7L,
+                    CategoryDeletionJobDto.Status.RUNNING, 12_000, 4_500,
+                    Instant.parse("2025-06-01T08:00:00Z"), null);
+            case "CategoryRequestDto" -> new CategoryRequestDto("Peripherals", "Keyboards, mice and headsets", 3L);
+            case "CategoryResponseDto" -> category(1);
+            case "CategoryResponseDto-page" -> page(times(DtoJsonBenchmark::category));
+            case "ProductChangesDto" -> new ProductChangesDto(times(i ->
+                    new ProductChangeDto(1_000L + i, (long) i, ProductChange.Type.UPDATED, product(i))),
+                    true, "djE6czoxMDIw");
+            case "ProductCursorPageDto" -> new ProductCursorPageDto(times(DtoJsonBenchmark::product), PAGE_SIZE,
+                    true, "djE6aToyMA");
+            case "ProductFacetsDto" -> new ProductFacetsDto(10_000,
+                    times(i -> new CategoryFacetDto((long) i, "Category " + i, 500 - i)),
+                    List.of(bucket(null, "25", 1_200), bucket("25", "50", 2_300), bucket("50", "100", 3_100),
+                            bucket("100", "250", 2_000), bucket("250", "500", 900), bucket("500", "1000", 400),
+                            bucket("1000", null, 100)),
+                    9_400, 600);
+            case "ProductRequestDto" -> new ProductRequestDto("Mechanical Keyboard", "Tenkeyless, hot-swappable switches",
+                    new BigDecimal("129.90"), 37, 1L, 4L);
+            case "ProductResponseDto" -> product(1);
+            case "ProductResponseDto-page" -> page(times(DtoJsonBenchmark::product));
+            case "ProductStockDecrementDto" -> new ProductStockDecrementDto(2);
+            case "ProductStockRequestDto" -> new ProductStockRequestDto(150);
+            case "ProductStockResponseDto" -> new ProductStockResponseDto(42L, 148);
+            case "StockReservationRequestDto" -> new StockReservationRequestDto(times(i ->
+                    new StockReservationLineDto((long) i, 1 + i % 3)));
+            case "StockReservationResponseDto" -> new StockReservationResponseDto(times(i ->
+                    new ProductStockResponseDto((long) i, 100 - i)));
+            case "UserPatchRequestDTO" -> new UserPatchRequestDTO("John", "Doe", "john.patched@example.com",
+                    "+39 333 0000001");
+            case "UserPutRequestDTO" -> new UserPutRequestDTO("john_doe_updated", "john.new@example.com",
+                    "N3wS3cur3P@ss!", "John", "Doe", "+39 333 9999999", true, User.UserRole.SELLER);
+            case "UserPutResponseDTO" -> new UserPutResponseDTO(42L, "john_doe_updated", "john.new@example.com",
+                    "John", "Doe", "+39 333 9999999", true, User.UserRole.SELLER,
+                    LocalDateTime.of(2025, 1, 15, 10, 30), LocalDateTime.of(2025, 6, 1, 8, 0));
+            case "UserRequestDTO" -> new UserRequestDTO("john_doe", "john.doe@example.com", "S3cur3P@ss!",
+                    "John", "Doe", "+39 333 1234567");
+            case "UserResponseDTO" -> user(1);
+            case "UserResponseDTO-page" -> page(times(DtoJsonBenchmark::user));
+            default -> throw new IllegalArgumentException("Unknown DTO: " + dto);
+        };
+    }
+
+    private static <T> List<T> times(IntFunction<T> element) {
+        return IntStream.rangeClosed(1, PAGE_SIZE).mapToObj(element).toList();
+    }
+
+    private static <T> Page<T> page(List<T> content) {
+        return new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE, Sort.by("id")), 1_000);
+    }
+
+    private static CategoryResponseDto category(int i) {
+        return new CategoryResponseDto((long) i, "Category " + i, "Everything shelved under category " + i, 0L);
+    }
+
+    private static ProductResponseDto product(int i) {
+        return new ProductResponseDto((long) i, "product-" + i, "Description of product " + i,
+                BigDecimal.valueOf(1000 + i * 37L, 2), i % 100, category(1 + i % 5), 0L);
+    }
+
+    private static UserResponseDTO user(int i) {
+        return new UserResponseDTO((long) i, "user_" + i, "user" + i + "@example.com", "Mario", "Rossi",
+                "+39 333 " + (1_000_000 + i), User.UserRole.CUSTOMER, LocalDateTime.of(2025, 1, 15, 10, 30));
+    }
+
+    private static PriceBucketFacetDto bucket(String min, String max, long count) {
+        return new PriceBucketFacetDto(min == null ? null : new BigDecimal(min),
+                max == null ? null : new BigDecimal(max), count);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.mapper.CategoryMapper;
+import com.ecommerce.product.mapper.ProductMapper;
+import com.ecommerce.product.model.Category;
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.user.dto.UserPutResponseDTO;
+import com.ecommerce.user.dto.UserResponseDTO;
+import com.ecommerce.user.mapper.UserMapper;
+import com.ecommerce.user.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping on the read paths of both services.
+ * <p>
+ * {@link ProductMapper} takes the embedded category from the category snapshot, so it runs inside a
+ * product-service context whose snapshot holds the product's category. The user mappers need no
+ * context and are plain instances.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private ConfigurableApplicationContext productContext;
+    private ProductMapper productMapper;
+    private CategoryMapper categoryMapper;
+    private final UserMapper userMapper = new UserMapper();
+
+    private Product product;
+    private Category category;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        productContext = ServiceContexts.product();
+        productMapper = productContext.getBean(ProductMapper.class);
+        categoryMapper = productContext.getBean(CategoryMapper.class);
+        CategoryResponseDto saved = productContext.getBean(CategoryService.class)
+                .createCategory(new CategoryRequestDto("Peripherals", "Keyboards, mice and headsets"));
+
+        category = new Category();
+        category.setId(saved.id());
+        category.setName(saved.name());
+        category.setDescription(saved.description());
+
+        product = new Product();
+        product.setId(42L);
+        product.setName("Mechanical Keyboard");
+        product.setDescription("Tenkeyless, hot-swappable switches");
+        product.setPrice(new BigDecimal("129.90"));
+        product.setStock(37);
+        product.setCategory(category);
+
+        user = new User(42L, "john_doe", "john.doe@example.com", "S3cur3P@ss!", "John", "Doe",
+                "+39 333 1234567", User.UserRole.CUSTOMER);
+        user.setCreatedAt(LocalDateTime.of(2025, 1, 15, 10, 30));
+        user.setUpdatedAt(LocalDateTime.of(2025, 6, 1, 8, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        productContext.close();
+    }
+
+    @Benchmark
+    public ProductResponseDto productToResponseDto() {
+        return productMapper.toResponseDTO(product);
+    }
+
+    @Benchmark
+    public CategoryResponseDto categoryToResponseDto() {
+        return categoryMapper.toResponseDto(category);
+    }
+
+    @Benchmark
+    public UserResponseDTO userToResponseDto() {
+        return userMapper.toResponseDTO(user);
+    }
+
+    @Benchmark
+    public UserPutResponseDTO userToPutResponseDto() {
+        return userMapper.toPutResponseDTO(user);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductCursorPageDto;
+import com.ecommerce.product.dto.ProductFacetsDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.dto.ProductStockResponseDto;
+import com.ecommerce.product.index.ProductIndex;
+import com.ecommerce.product.pagination.ProductSortKey;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The product-service read paths and the stock decrement, through the service facade (transactions,
+ * cache, in-memory indexes) against H2.
+ * <p>
+ * 1,000 products over 5 categories are imported once per fork; the benchmarks start after every
+ * in-memory index has loaded them, so no call falls back to the database query an index replaces.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductServiceBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int CATEGORIES = 5;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Long productId;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        context = ServiceContexts.product();
+        productService = context.getBean(ProductService.class);
+        CategoryService categoryService = context.getBean(CategoryService.class);
+
+        List<Long> categoryIds = IntStream.range(0, CATEGORIES)
+                .mapToObj(c -> categoryService.createCategory(new CategoryRequestDto("Category " + c, null)).id())
+                .toList();
+        productService.importProducts(IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> new ProductRequestDto("Product " + i, "Description of product " + i,
+                        BigDecimal.valueOf(500 + i * 37L % 100_000, 2), 1_000_000_000,
+                        categoryIds.get(i % CATEGORIES)))
+                .iterator());
+        productId = productService.getAllProducts(null, 1, ProductSortKey.ID).content().getFirst().id();
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!context.getBeansOfType(ProductIndex.class).values().stream().allMatch(ProductIndex::isReady)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Product indexes not loaded within 30s");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponseDto findById() {
+        return productService.findById(productId);
+    }
+
+    @Benchmark
+    public ProductCursorPageDto firstPage() {
+        return productService.getAllProducts(null, 20, ProductSortKey.ID);
+    }
+
+    @Benchmark
+    public Page<ProductResponseDto> search() {
+        return productService.search("product 12", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<ProductResponseDto> searchByPriceRange() {
+        return productService.searchByPriceRange(new BigDecimal("100.00"), new BigDecimal("250.00"), FIRST_PAGE);
+    }
+
+    @Benchmark
+    public ProductFacetsDto facets() {
+        return productService.facets(null, null, null, null);
+    }
+
+    @Benchmark
+    public ProductStockResponseDto decrementStock() {
+        return productService.decrementStock(productId, 1);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product.ProductServiceApplication;
+import com.ecommerce.user.bin.UserServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts either service without a web server, over an in-memory H2 database.
+ * <p>
+ * Both services are on this module's classpath, so their {@code application.yaml} files clash;
+ * each context reads {@code benchmark-product.yaml} or {@code benchmark-user.yaml} instead.
+ * </p>
+ */
+final class ServiceContexts {
+
+    private ServiceContexts() {
+    }
+
+    static ConfigurableApplicationContext product() {
+        return new SpringApplicationBuilder(ProductServiceApplication.class)
+                .properties("spring.config.name=benchmark-product")
+                .run();
+    }
+
+    static ConfigurableApplicationContext user() {
+        return new SpringApplicationBuilder(UserServiceApplication.class)
+                .properties("spring.config.name=benchmark-user")
+                .run();
+    }
+}
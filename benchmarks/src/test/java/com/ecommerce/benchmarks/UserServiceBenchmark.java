@@ -0,0 +1,79 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.user.dto.UserPatchRequestDTO;
+import com.ecommerce.user.dto.UserRequestDTO;
+import com.ecommerce.user.dto.UserResponseDTO;
+import com.ecommerce.user.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The user-service lookups, the admin listing and a partial update, through the service facade
+ * against H2, with 1,000 users registered once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, Sort.by("id"));
+    private static final UserPatchRequestDTO PATCH = new UserPatchRequestDTO(null, null, null, "+39 333 0000001");
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private Long userId;
+    private String username;
+
+    @Setup
+    public void setUp() {
+        context = ServiceContexts.user();
+        userService = context.getBean(UserService.class);
+        for (int i = 0; i < USERS; i++) {
+            UserResponseDTO user = userService.createUser(new UserRequestDTO("user_" + i, "user" + i + "@example.com",
+                    "S3cur3P@ss!", "Mario", "Rossi", "+39 333 " + (1_000_000 + i)));
+            if (i == USERS / 2) {
+                userId = user.id();
+                username = user.username();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponseDTO findById() {
+        return userService.findById(userId);
+    }
+
+    @Benchmark
+    public UserResponseDTO findByUsername() {
+        return userService.findByUsername(username);
+    }
+
+    @Benchmark
+    public Page<UserResponseDTO> firstPage() {
+        return userService.getAllUsers(FIRST_PAGE);
+    }
+
+    @Benchmark
+    public UserResponseDTO patchUser() {
+        return userService.patchUser(userId, PATCH);
+    }
+}
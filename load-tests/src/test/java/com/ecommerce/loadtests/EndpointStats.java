@@ -0,0 +1,73 @@
+package com.ecommerce.loadtests;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes and latencies of one operation over the recorded part of a run.
+ * <p>
+ * The response time runs from the instant the request was due, not from when it was actually
+ * sent: if the generator or the client falls behind, the delay counts against the service, as a
+ * real user who arrived on time would see it (no coordinated omission). The service time, from the
+ * actual send, is kept apart; a gap between the two means the client side was the bottleneck.
+ * </p>
+ */
+final class EndpointStats {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Histogram responseTime = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder errorStatus = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    void record(int status, long dueNanos, long sentNanos, long doneNanos) {
+        if (status >= 200 && status < 300) {
+            ok.increment();
+        } else {
+            errorStatus.increment();
+        }
+        responseTime.recordValue(doneNanos - dueNanos);
+        serviceTime.recordValue(doneNanos - sentNanos);
+    }
+
+    /** No response at all: connection refused or reset, or the client timeout. */
+    void fail() {
+        failed.increment();
+    }
+
+    long ok() {
+        return ok.sum();
+    }
+
+    void print(String label, double seconds) {
+        System.out.printf("  %-16s ok=%d (%.1f/s) p50=%s p99=%s p99.9=%s max=%s service-p99=%s errors=%d failed=%d%n",
+                label, ok.sum(), ok.sum() / seconds,
+                millis(responseTime, 50), millis(responseTime, 99), millis(responseTime, 99.9),
+                responseTime.getTotalCount() == 0 ? "-" : format(responseTime.getMaxValue()),
+                millis(serviceTime, 99), errorStatus.sum(), failed.sum());
+    }
+
+    /** Writes the full response-time distribution in HdrHistogram's percentile format, in milliseconds. */
+    void writeDistribution(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            responseTime.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static String millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? "-" : format(histogram.getValueAtPercentile(percentile));
+    }
+
+    private static String format(long nanos) {
+        return String.format("%.1fms", nanos / NANOS_PER_MILLI);
+    }
+}
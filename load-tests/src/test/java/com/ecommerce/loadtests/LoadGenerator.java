@@ -0,0 +1,106 @@
+package com.ecommerce.loadtests;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link Workload} as an open model: requests are due at evenly spaced instants of each
+ * stage, whatever the response times, so a slow service gets more requests in flight instead of
+ * fewer requests.
+ * <p>
+ * One thread paces the run and builds the requests; each request is then sent on its own virtual
+ * thread, so a slow response never delays the next one. The warmup runs at the first stage's rate
+ * and is not recorded. The random choices are seeded, so two runs of a workload send the same
+ * sequence of requests.
+ * </p>
+ */
+final class LoadGenerator {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long SEED = 42;
+
+    private final Workload workload;
+    private final ServicesUnderTest services;
+
+    LoadGenerator(Workload workload, ServicesUnderTest services) {
+        this.workload = workload;
+        this.services = services;
+    }
+
+    /** Runs the workload to its end and returns the recorded outcomes, per operation of the mix. */
+    Map<Operation, EndpointStats> run() {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        workload.mix().forEach((operation, weight) -> {
+            if (weight > 0) {
+                stats.put(operation, new EndpointStats());
+            }
+        });
+        Mix mix = new Mix(workload.mix());
+        SplittableRandom random = new SplittableRandom(SEED);
+
+        List<Segment> segments = new ArrayList<>();
+        if (workload.warmup().isPositive()) {
+            segments.add(new Segment(workload.warmup(), workload.stages().getFirst().rate(), false));
+        }
+        workload.stages().forEach(stage -> segments.add(new Segment(stage.duration(), stage.rate(), true)));
+
+        try (HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            // Closing the executor waits for the last responses
+            try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+                long segmentStart = System.nanoTime();
+                for (Segment segment : segments) {
+                    long segmentEnd = segmentStart + segment.duration().toNanos();
+                    for (long i = 0; ; i++) {
+                        // From the start of the segment, not from the previous request: no drift
+                        long due = segmentStart + i * NANOS_PER_SECOND / segment.rate();
+                        if (due >= segmentEnd) {
+                            break;
+                        }
+                        long wait = due - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        Operation operation = mix.pick(random);
+                        HttpRequest request = operation.request(services, random);
+                        EndpointStats recorded = segment.recorded() ? stats.get(operation) : null;
+                        requests.execute(() -> send(http, request, due, recorded));
+                    }
+                    segmentStart = segmentEnd;
+                }
+            }
+        }
+        return stats;
+    }
+
+    private static void send(HttpClient http, HttpRequest request, long due, EndpointStats stats) {
+        long sent = System.nanoTime();
+        try {
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (stats != null) {
+                stats.record(status, due, sent, System.nanoTime());
+            }
+        } catch (IOException ex) {
+            if (stats != null) {
+                stats.fail();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Segment(Duration duration, int rate, boolean recorded) {}
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.loadtests;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts both services on H2, seeds the workload's dataset and drives the workload against them.
+ * <p>
+ * Run with {@code ./mvnw install -DskipTests} once, then
+ * {@code ./mvnw -pl load-tests test -Pload-test -Dload.workload=black-friday} (default {@code steady});
+ * workloads are the files in {@code src/test/resources/workloads}. Add
+ * {@code -Dspring.threads.virtual.enabled=true} to serve the requests on virtual threads. For every
+ * operation the run prints throughput, response-time percentiles (p50, p99, p99.9, max) and error
+ * counts, and writes the full distribution to {@code target/load-tests/<workload>/<operation>.hgrm}.
+ * </p>
+ */
+@Tag("load")
+@DisplayName("Load test - open-model workload against both services")
+class LoadTest {
+
+    @Test
+    void runWorkload() throws IOException {
+        String name = System.getProperty("load.workload", "steady");
+        Workload workload = Workload.load(name);
+
+        try (ServicesUnderTest services = ServicesUnderTest.start(workload.dataset())) {
+            Map<Operation, EndpointStats> stats = new LoadGenerator(workload, services).run();
+
+            double seconds = workload.duration().toMillis() / 1000.0;
+            System.out.printf("[load] workload=%s stages=%s warmup=%s%n", name, workload.stages(), workload.warmup());
+            Path reports = Path.of("target", "load-tests", name);
+            for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+                String operation = entry.getKey().name().toLowerCase().replace('_', '-');
+                entry.getValue().print(operation, seconds);
+                entry.getValue().writeDistribution(reports.resolve(operation + ".hgrm"));
+            }
+            assertThat(stats.values().stream().mapToLong(EndpointStats::ok).sum()).isPositive();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.loadtests;
+
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks operations at random in proportion to the workload's weights.
+ */
+final class Mix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Mix(Map<Operation, Integer> weights) {
+        operations = weights.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation pick(RandomGenerator random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable: point beyond the total weight");
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecommerce.loadtests;
+
+import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.user.dto.UserRequestDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * The requests a workload mixes, each one call to an endpoint of either service.
+ */
+enum Operation {
+
+    /** First page of the catalog, as the storefront's listing loads it. */
+    BROWSE_PRODUCTS {
+        @Override
+        HttpRequest request(ServicesUnderTest services, RandomGenerator random) {
+            return get(services.products("?size=20"));
+        }
+    },
+    PRODUCT_DETAIL {
+        @Override
+        HttpRequest request(ServicesUnderTest services, RandomGenerator random) {
+            return get(services.products("/" + services.product(random)));
+        }
+    },
+    /** One word of the product names as keyword: each matches a share of the catalog. */
+    SEARCH_PRODUCTS {
+        @Override
+        HttpRequest request(ServicesUnderTest services, RandomGenerator random) {
+            String keyword = ServicesUnderTest.VOCABULARY.get(random.nextInt(ServicesUnderTest.VOCABULARY.size()));
+            return get(services.products("/search?keyword=" + keyword + "&size=20"));
+        }
+    },
+    FACETS {
+        @Override
+        HttpRequest request(ServicesUnderTest services, RandomGenerator random) {
+            return get(services.products("/facets?categoryId=" + services.category(random)));
+        }
+    },
+    USER_DETAIL {
+        @Override
+        HttpRequest request(ServicesUnderTest services, RandomGenerator random) {
+            return get(services.users("/" + services.user(random)));
+        }
+    },
+    REGISTER_USER {
+        @Override
+        HttpRequest request(ServicesUnderTest services, RandomGenerator random) {
+            long n = services.nextRegistration();
+            return send("POST", services.users(""), new UserRequestDTO("load_" + n, "load" + n + "@example.com",
+                    "S3cur3P@ss!", "Mario", "Rossi", "+39 333 " + (2_000_000 + n)));
+        }
+    },
+    PATCH_STOCK {
+        @Override
+        HttpRequest request(ServicesUnderTest services, RandomGenerator random) {
+            return send("PATCH", services.products("/" + services.product(random) + "/stock"),
+                    new ProductStockRequestDto(random.nextInt(1_000)));
+        }
+    };
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    /** Builds the next request of this kind; called by the single thread that paces the workload. */
+    abstract HttpRequest request(ServicesUnderTest services, RandomGenerator random);
+
+    private static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(TIMEOUT).GET().build();
+    }
+
+    private static HttpRequest send(String method, URI uri, Object body) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)))
+                .build();
+    }
+}
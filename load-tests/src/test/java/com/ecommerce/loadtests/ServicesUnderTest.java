@@ -0,0 +1,154 @@
+package com.ecommerce.loadtests;
+
+import com.ecommerce.product.ProductServiceApplication;
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductCursorPageDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.pagination.ProductSortKey;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import com.ecommerce.user.bin.UserServiceApplication;
+import com.ecommerce.user.dto.UserRequestDTO;
+import com.ecommerce.user.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Both services started in this JVM on random ports, each over its own H2 database, seeded with the
+ * workload's dataset through the service layer.
+ * <p>
+ * Product names are two words of {@link #VOCABULARY} plus a number, so that every word, used as a
+ * search keyword, matches a share of the catalog.
+ * </p>
+ */
+final class ServicesUnderTest implements AutoCloseable {
+
+    static final List<String> VOCABULARY = List.of("wireless", "mechanical", "gaming", "portable", "smart",
+            "keyboard", "mouse", "headset", "monitor", "speaker", "charger", "camera");
+
+    private final ConfigurableApplicationContext productContext;
+    private final ConfigurableApplicationContext userContext;
+    private final Workload.Dataset dataset;
+    private final URI productsUri;
+    private final URI usersUri;
+    private final List<Long> categoryIds;
+    private final List<Long> productIds;
+    private final List<Long> userIds;
+    private final AtomicLong registered = new AtomicLong();
+
+    private ServicesUnderTest(ConfigurableApplicationContext productContext,
+                              ConfigurableApplicationContext userContext, Workload.Dataset dataset) {
+        this.productContext = productContext;
+        this.userContext = userContext;
+        this.dataset = dataset;
+        this.productsUri = URI.create("http://localhost:" + port(productContext) + "/api/v1/products");
+        this.usersUri = URI.create("http://localhost:" + port(userContext) + "/api/v1/users");
+        this.categoryIds = seedCategories();
+        this.productIds = seedProducts();
+        this.userIds = seedUsers();
+    }
+
+    static ServicesUnderTest start(Workload.Dataset dataset) {
+        ConfigurableApplicationContext productContext = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .properties("spring.config.name=load-test-product")
+                .run();
+        ConfigurableApplicationContext userContext = null;
+        try {
+            userContext = new SpringApplicationBuilder(UserServiceApplication.class)
+                    .properties("spring.config.name=load-test-user")
+                    .run();
+            return new ServicesUnderTest(productContext, userContext, dataset);
+        } catch (RuntimeException ex) {
+            if (userContext != null) {
+                userContext.close();
+            }
+            productContext.close();
+            throw ex;
+        }
+    }
+
+    URI products(String pathAndQuery) {
+        return URI.create(productsUri + pathAndQuery);
+    }
+
+    URI users(String pathAndQuery) {
+        return URI.create(usersUri + pathAndQuery);
+    }
+
+    /** A product for a single-product operation: one of the hot products with probability {@code hotShare}. */
+    Long product(RandomGenerator random) {
+        boolean hot = dataset.hotProducts() > 0 && random.nextDouble() < dataset.hotShare();
+        return productIds.get(random.nextInt(hot ? dataset.hotProducts() : productIds.size()));
+    }
+
+    Long category(RandomGenerator random) {
+        return categoryIds.get(random.nextInt(categoryIds.size()));
+    }
+
+    Long user(RandomGenerator random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    /** Sequence number for a new registration, unique within the run. */
+    long nextRegistration() {
+        return registered.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+        try {
+            userContext.close();
+        } finally {
+            productContext.close();
+        }
+    }
+
+    private List<Long> seedCategories() {
+        CategoryService categoryService = productContext.getBean(CategoryService.class);
+        return IntStream.range(0, dataset.categories())
+                .mapToObj(c -> categoryService.createCategory(new CategoryRequestDto("Category " + c, null)).id())
+                .toList();
+    }
+
+    // Imported in one pass, then read back by id: the first hotProducts ids are the hot products
+    private List<Long> seedProducts() {
+        ProductService productService = productContext.getBean(ProductService.class);
+        int words = VOCABULARY.size();
+        productService.importProducts(IntStream.range(0, dataset.products())
+                .mapToObj(i -> new ProductRequestDto(
+                        VOCABULARY.get(i % words) + " " + VOCABULARY.get(i / words % words) + " " + i,
+                        "Description of product " + i, BigDecimal.valueOf(500 + i * 37L % 100_000, 2), 1_000,
+                        categoryIds.get(i % categoryIds.size())))
+                .iterator());
+
+        List<Long> ids = new ArrayList<>(dataset.products());
+        String cursor = null;
+        do {
+            ProductCursorPageDto page = productService.getAllProducts(cursor, 50, ProductSortKey.ID);
+            page.content().forEach(product -> ids.add(product.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return List.copyOf(ids);
+    }
+
+    private List<Long> seedUsers() {
+        UserService userService = userContext.getBean(UserService.class);
+        return IntStream.range(0, dataset.users())
+                .mapToObj(i -> userService.createUser(new UserRequestDTO("seed_" + i, "seed" + i + "@example.com",
+                        "S3cur3P@ss!", "Mario", "Rossi", "+39 333 " + (1_000_000 + i))).id())
+                .toList();
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
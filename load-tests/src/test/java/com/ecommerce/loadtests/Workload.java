@@ -0,0 +1,89 @@
+package com.ecommerce.loadtests;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A declarative workload, read from {@code src/test/resources/workloads/<name>.yaml}.
+ * <p>
+ * The file gives the dataset seeded before the run, the stages of the run - each a duration and a
+ * constant arrival rate - and the mix: the relative weight of each {@link Operation}. Keys are
+ * bound leniently, so {@code browse-products} names {@link Operation#BROWSE_PRODUCTS}.
+ * </p>
+ *
+ * @param dataset rows seeded before the run
+ * @param warmup  time spent at the first stage's rate before anything is recorded
+ * @param stages  the recorded part of the run, in order
+ * @param mix     weight of each operation; operations left out are never sent
+ */
+record Workload(Dataset dataset, @DefaultValue("0s") Duration warmup, List<Stage> stages,
+                Map<Operation, Integer> mix) {
+
+    /**
+     * @param hotProducts products that receive {@code hotShare} of the operations on a single product
+     * @param hotShare    between 0 and 1; the rest of those operations pick any product
+     */
+    record Dataset(int categories, int products, int users, @DefaultValue("0") int hotProducts,
+                   @DefaultValue("0") double hotShare) {
+
+        Dataset {
+            if (categories < 1 || products < 1 || users < 1) {
+                throw new IllegalArgumentException("The dataset needs at least one category, product and user");
+            }
+            if (hotProducts < 0 || hotProducts > products || hotShare < 0 || hotShare > 1) {
+                throw new IllegalArgumentException("hot-products must be within the products, hot-share within 0 and 1");
+            }
+        }
+    }
+
+    /** @param rate requests per second, sent at evenly spaced instants whatever the response times */
+    record Stage(Duration duration, int rate) {
+
+        Stage {
+            if (duration == null || duration.isNegative() || duration.isZero() || rate < 1) {
+                throw new IllegalArgumentException("A stage needs a positive duration and rate");
+            }
+        }
+    }
+
+    Workload {
+        if (dataset == null || stages == null || stages.isEmpty() || mix == null || mix.isEmpty()) {
+            throw new IllegalArgumentException("A workload needs a dataset, at least one stage and a mix");
+        }
+        if (mix.values().stream().anyMatch(weight -> weight == null || weight < 0)
+                || mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix weights must be non-negative, and not all zero");
+        }
+    }
+
+    /** Length of the recorded part of the run. */
+    Duration duration() {
+        return stages.stream().map(Stage::duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    static Workload load(String name) {
+        Resource resource = new ClassPathResource("workloads/" + name + ".yaml");
+        if (!resource.exists()) {
+            throw new IllegalArgumentException("No workload '" + name + "' in src/test/resources/workloads");
+        }
+        try {
+            return new Binder(ConfigurationPropertySources.from(new YamlPropertySourceLoader().load(name, resource)),
+                    null, ApplicationConversionService.getSharedInstance())
+                    .bind("workload", Workload.class)
+                    .orElseThrow(() -> new IllegalArgumentException("Workload '" + name + "' has no 'workload' key"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read workload '" + name + "'", ex);
+        }
+    }
+}
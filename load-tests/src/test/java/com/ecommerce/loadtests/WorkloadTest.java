@@ -0,0 +1,83 @@
+package com.ecommerce.loadtests;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.context.properties.bind.BindException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class WorkloadTest {
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"steady", "black-friday"})
+    @DisplayName("Should bind every shipped workload")
+    void shouldBindShippedWorkloads(String name) {
+        Workload workload = Workload.load(name);
+
+        assertThat(workload.stages()).isNotEmpty();
+        assertThat(workload.mix()).containsKeys(Operation.BROWSE_PRODUCTS, Operation.SEARCH_PRODUCTS,
+                Operation.REGISTER_USER, Operation.PATCH_STOCK);
+        assertThat(workload.warmup()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should bind kebab-case keys, durations and the hot-product skew")
+    void shouldBindBlackFriday() {
+        Workload workload = Workload.load("black-friday");
+
+        assertThat(workload.dataset()).isEqualTo(new Workload.Dataset(20, 10_000, 1_000, 20, 0.7));
+        assertThat(workload.stages()).containsExactly(
+                new Workload.Stage(Duration.ofSeconds(30), 100),
+                new Workload.Stage(Duration.ofSeconds(60), 400),
+                new Workload.Stage(Duration.ofSeconds(30), 200));
+        assertThat(workload.duration()).isEqualTo(Duration.ofMinutes(2));
+        assertThat(workload.mix()).containsEntry(Operation.PRODUCT_DETAIL, 35);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown workload and a mix without weight")
+    void shouldRejectInvalidWorkloads() {
+        assertThatThrownBy(() -> Workload.load("cyber-monday"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cyber-monday");
+
+        Map<Operation, Integer> noWeight = new EnumMap<>(Map.of(Operation.FACETS, 0));
+        assertThatThrownBy(() -> new Workload(new Workload.Dataset(1, 1, 1, 0, 0), Duration.ZERO,
+                List.of(new Workload.Stage(Duration.ofSeconds(1), 1)), noWeight))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should pick operations in proportion to their weights, never a zero-weight one")
+    void shouldPickByWeight() {
+        Mix mix = new Mix(Map.of(Operation.BROWSE_PRODUCTS, 3, Operation.PATCH_STOCK, 1, Operation.FACETS, 0));
+        SplittableRandom random = new SplittableRandom(7);
+        Map<Operation, Integer> picked = new EnumMap<>(Operation.class);
+        int picks = 40_000;
+        for (int i = 0; i < picks; i++) {
+            picked.merge(mix.pick(random), 1, Integer::sum);
+        }
+
+        assertThat(picked).doesNotContainKey(Operation.FACETS);
+        assertThat(picked.get(Operation.BROWSE_PRODUCTS) / (double) picks).isCloseTo(0.75, within(0.01));
+    }
+
+    @Test
+    @DisplayName("Should surface a binding error from the workload file")
+    void shouldWrapBindingErrors() {
+        assertThatThrownBy(() -> Workload.load("invalid"))
+                .isInstanceOf(BindException.class)
+                .rootCause()
+                .hasMessageContaining("positive duration and rate");
+    }
+}
@@ -0,0 +1,154 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.event.CategoryChangedEvent;
+import com.ecommerce.product.event.CategoryDeletedEvent;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.event.ProductDeletedEvent;
+import com.ecommerce.product.event.ProductStockChangedEvent;
+import com.ecommerce.product.event.ProductsDeletedEvent;
+import com.ecommerce.product.repository.ProductVersion;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of product details, keyed by product id.
+ * <p>
+ * Entries are evicted by size ({@code product.cache.max-size}) and age ({@code product.cache.ttl}),
+ * and invalidated after commit by every write that changes what {@link ProductResponseDto} shows,
+ * including the embedded category. A miss is loaded once: concurrent readers of the same key wait
+ * for the first one's load. The load runs on the reader's thread but outside the cache's locks - a
+ * load blocked on the connection pool inside them would pin a virtual thread and hold up the
+ * invalidations of other keys. An invalidation racing a load drops the in-flight entry, so a value
+ * read before a commit can't outlive that commit's invalidation. Hit, miss and eviction
+ * counts are published as the {@code cache.*} metrics with tag {@code cache=products}.
+ * Each entry also keeps the version its entity tag is derived from, so that revalidating a
+ * cached product doesn't touch the database.
+ * </p>
+ * <p>
+ * Invalidation is local to this instance: a write served by another instance is not seen here
+ * until the entry expires, and until then this instance serves the old details and entity tag.
+ * The TTL is therefore the bound on cross-instance staleness and is kept short; unlike the
+ * {@code CategoryCatalog} there is no periodic reload to fall back on.
+ * </p>
+ */
+@Component
+public class ProductCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCache.class);
+
+    /**
+     * A cached product.
+     *
+     * @param product the response, as built from the entity
+     * @param version the entity's version columns, read in the same load
+     */
+    public record Entry(ProductResponseDto product, ProductVersion version) {}
+
+    private final AsyncCache<Long, Entry> cache;
+    private final AtomicLong categoryGeneration = new AtomicLong();
+
+    public ProductCache(MeterRegistry meterRegistry,
+                        @Value("${product.cache.max-size:10000}") long maxSize,
+                        @Value("${product.cache.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    /**
+     * Returns the cached product, loading it on a miss.
+     *
+     * @param loader returns the product, or {@code null} if it does not exist (nothing is cached then)
+     */
+    public ProductResponseDto get(Long productId, Function<Long, Entry> loader) {
+        long generation = categoryGeneration.get();
+        CompletableFuture<Entry> load = new CompletableFuture<>();
+        CompletableFuture<Entry> pending = cache.get(productId, (key, executor) -> load);
+        if (pending == load) {
+            // This reader missed: it loads, and a null result leaves nothing cached
+            try {
+                load.complete(loader.apply(productId));
+            } catch (RuntimeException ex) {
+                load.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        Entry entry;
+        try {
+            entry = pending.join();
+        } catch (CompletionException ex) {
+            // Another reader's load failed: same outcome as failing here
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+        // A category scan can't see a load still in flight: drop what may have been read before it
+        if (entry != null && categoryGeneration.get() != generation) {
+            cache.synchronous().invalidate(productId);
+        }
+        return entry == null ? null : entry.product();
+    }
+
+    /**
+     * Returns the version of a cached product, without loading on a miss and without counting
+     * towards the hit/miss statistics.
+     */
+    public Optional<ProductVersion> cachedVersion(Long productId) {
+        return Optional.ofNullable(cache.synchronous().policy().getIfPresentQuietly(productId)).map(Entry::version);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.synchronous().invalidate(event.product().id());
+    }
+
+    @TransactionalEventListener
+    public void onProductDeleted(ProductDeletedEvent event) {
+        cache.synchronous().invalidate(event.productId());
+    }
+
+    @TransactionalEventListener
+    public void onProductsDeleted(ProductsDeletedEvent event) {
+        cache.synchronous().invalidateAll(event.productIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        cache.synchronous().invalidateAll(event.productIds());
+    }
+
+    // Category writes are rare: a scan of the cached values is cheaper than keeping a reverse index
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!event.created()) {
+            invalidateCategory(event.category().id());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        invalidateCategory(event.categoryId());
+    }
+
+    private void invalidateCategory(Long categoryId) {
+        categoryGeneration.incrementAndGet();
+        cache.synchronous().asMap().values().removeIf(entry -> categoryId.equals(entry.version().categoryId()));
+        log.debug("Product cache invalidated for category - id: {}", categoryId);
+    }
+}
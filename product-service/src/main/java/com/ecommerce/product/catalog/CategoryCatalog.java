@@ -0,0 +1,180 @@
+package com.ecommerce.product.catalog;
+
+import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.etag.EntityTags;
+import com.ecommerce.product.event.CategoryChangedEvent;
+import com.ecommerce.product.event.CategoryDeletedEvent;
+import com.ecommerce.product.mapper.CategoryMapper;
+import com.ecommerce.product.model.Category;
+import com.ecommerce.product.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Versioned, immutable in-memory snapshot of all categories.
+ * <p>
+ * Categories change rarely and are small, so the whole table is held as one snapshot that readers
+ * take from a single volatile field. The snapshot is reloaded from the database after every
+ * committed category write of this instance, and periodically
+ * ({@code product.category-catalog.refresh-interval}) to pick up writes made by other instances.
+ * Each reload bumps {@link Snapshot#version()}. The {@link CategoryResponseDto} instances are
+ * shared: every product response embedding a category reuses the snapshot's instance.
+ * </p>
+ */
+@Component
+public class CategoryCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryCatalog.class);
+
+    private static final Set<String> SORTABLE = Set.of("id", "name", "description");
+
+    /**
+     * One immutable view of the categories table.
+     *
+     * @param version       increases by one on every reload
+     * @param ordered       all categories, by ascending id
+     * @param byId          the same categories, by id
+     * @param updatedAtById last modification time of each category
+     * @param digest        hash of every category's id and modification time; unlike {@code version},
+     *                      it is the same on every instance that loaded the same rows
+     */
+    public record Snapshot(long version, List<CategoryResponseDto> ordered, Map<Long, CategoryResponseDto> byId,
+                           Map<Long, LocalDateTime> updatedAtById, String digest) {}
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+
+    // Held across the findAll: a lock, so a virtual thread waiting on the query does not pin its carrier
+    private final ReentrantLock reloading = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public CategoryCatalog(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    public Optional<CategoryResponseDto> find(Long categoryId) {
+        return Optional.ofNullable(snapshot().byId().get(categoryId));
+    }
+
+    public Optional<LocalDateTime> updatedAt(Long categoryId) {
+        return Optional.ofNullable(snapshot().updatedAtById().get(categoryId));
+    }
+
+    /**
+     * Serves a page of categories from the snapshot.
+     *
+     * @return the page, or empty if the requested sort is not on {@code id}, {@code name} or
+     *         {@code description} (the caller should query the database then)
+     */
+    public Optional<Page<CategoryResponseDto>> page(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (!sort.stream().allMatch(order -> SORTABLE.contains(order.getProperty()))) {
+            return Optional.empty();
+        }
+        List<CategoryResponseDto> all = snapshot().ordered();
+        if (sort.isSorted() && !sort.equals(Sort.by("id"))) {
+            all = all.stream().sorted(comparatorFor(sort)).toList();
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return Optional.of(new PageImpl<>(all.subList(from, to), pageable, all.size()));
+    }
+
+    /**
+     * Reloads the snapshot from the database. Serialized, so a reload never publishes data
+     * older than a reload that finished before it.
+     */
+    public Snapshot reload() {
+        reloading.lock();
+        try {
+            List<Category> categories = categoryRepository.findAll(Sort.by("id"));
+            List<CategoryResponseDto> ordered = categories.stream()
+                    .map(categoryMapper::toResponseDto)
+                    .toList();
+            Map<Long, CategoryResponseDto> byId = ordered.stream()
+                    .collect(Collectors.toUnmodifiableMap(CategoryResponseDto::id, Function.identity()));
+            Map<Long, LocalDateTime> updatedAtById = categories.stream()
+                    .collect(Collectors.toUnmodifiableMap(Category::getId, Category::getUpdatedAt));
+            long version = snapshot == null ? 1 : snapshot.version() + 1;
+            snapshot = new Snapshot(version, ordered, byId, updatedAtById, digest(categories));
+            log.debug("Category catalog reloaded - version: {}, {} category(ies)", version, ordered.size());
+            return snapshot;
+        } finally {
+            reloading.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.category-catalog.refresh-interval:5m}",
+            initialDelayString = "${product.category-catalog.refresh-interval:5m}")
+    public void refresh() {
+        reload();
+    }
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reload();
+    }
+
+    @TransactionalEventListener
+    public void onCategoryDeleted(CategoryDeletedEvent event) {
+        reload();
+    }
+
+    private static String digest(List<Category> categories) {
+        StringBuilder versions = new StringBuilder(categories.size() * 24);
+        categories.forEach(category -> versions.append(category.getId()).append(':')
+                .append(EntityTags.micros(category.getUpdatedAt())).append(';'));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(versions.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Comparator<CategoryResponseDto> comparatorFor(Sort sort) {
+        Comparator<CategoryResponseDto> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<CategoryResponseDto> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(CategoryResponseDto::id);
+                case "name" -> Comparator.comparing(CategoryResponseDto::name,
+                        order.isIgnoreCase() ? String.CASE_INSENSITIVE_ORDER : Comparator.naturalOrder());
+                default -> Comparator.comparing(CategoryResponseDto::description,
+                        Comparator.nullsLast(order.isIgnoreCase() ? String.CASE_INSENSITIVE_ORDER : Comparator.naturalOrder()));
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        // Ties in id order, like the database would with the primary key as last resort
+        return comparator.thenComparing(CategoryResponseDto::id);
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.product.changes;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Head of the product change feed as known to this instance, and the long-polling clients waiting
+ * for it to move.
+ * <p>
+ * A waiting client holds no thread and no connection: it is a future completed by
+ * {@link ProductChangeSequencer} as soon as a change past the client's cursor is sequenced, or
+ * by a timer when the wait is over. The page is then read on the application task executor.
+ * Waits are capped by {@code product.changes.max-wait}, which must stay below the MVC async
+ * request timeout.
+ * </p>
+ * <p>
+ * Metric: {@code product.changes.waiting} - clients currently long-polling on this instance.
+ * </p>
+ */
+@Component
+public class ProductChangeFeed {
+
+    private final AtomicLong head = new AtomicLong();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final TaskExecutor executor;
+    private final Duration maxWait;
+
+    public ProductChangeFeed(@Qualifier("applicationTaskExecutor") TaskExecutor executor,
+                             MeterRegistry meterRegistry,
+                             @Value("${product.changes.max-wait:30s}") Duration maxWait) {
+        this.executor = executor;
+        this.maxWait = maxWait;
+        Gauge.builder("product.changes.waiting", waiters, Queue::size).register(meterRegistry);
+    }
+
+    public long head() {
+        return head.get();
+    }
+
+    /**
+     * Records the head read by the sequencer and wakes every client waiting for a change before it.
+     */
+    public void advance(long sequencedHead) {
+        // Taken as read rather than kept monotonic, so a restored database doesn't leave a head
+        // no change can reach
+        head.set(sequencedHead);
+        for (Waiter waiter : waiters) {
+            if (waiter.after < sequencedHead) {
+                waiter.signal.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code read} once a change after {@code after} is sequenced, or once {@code wait}
+     * (capped by {@code product.changes.max-wait}) has elapsed without one.
+     */
+    public <T> CompletableFuture<T> afterChange(long after, Duration wait, Supplier<T> read) {
+        Duration capped = wait.compareTo(maxWait) > 0 ? maxWait : wait;
+        Waiter waiter = new Waiter(after, new CompletableFuture<>());
+        waiters.add(waiter);
+        // The head may have moved between the caller's read and the registration
+        if (head.get() > after) {
+            waiter.signal.complete(null);
+        }
+        waiter.signal.completeOnTimeout(null, capped.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, ex) -> waiters.remove(waiter));
+        return waiter.signal.thenApplyAsync(ignored -> read.get(), executor);
+    }
+
+    private record Waiter(long after, CompletableFuture<Void> signal) {}
+}
@@ -0,0 +1,143 @@
+package com.ecommerce.product.changes;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.event.CategoryChangedEvent;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.event.ProductDeletedEvent;
+import com.ecommerce.product.event.ProductStockChangedEvent;
+import com.ecommerce.product.event.ProductsDeletedEvent;
+import com.ecommerce.product.event.ProductsImportedEvent;
+import com.ecommerce.product.model.ProductChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records every product write in the {@code product_changes} table, for the change feed.
+ * <p>
+ * Like {@link com.ecommerce.product.outbox.OutboxWriter}, the listeners are plain
+ * {@link EventListener}s: the rows commit or roll back with the write they describe, one JDBC batch
+ * per write. A row only names the product and the kind of change; the feed reads the product's
+ * state when it is served. Rows are written without a sequence number - once the write commits,
+ * {@link ProductChangeSequencer} is asked to number them.
+ * </p>
+ * <p>
+ * A category update changes the category embedded in each of its products, so it records an
+ * {@code UPDATED} row for each of them with a single {@code INSERT ... SELECT}.
+ * Sequenced rows older than {@code product.changes.retention} are pruned; the newest one is always
+ * kept, so the head of the feed survives an idle period.
+ * </p>
+ */
+@Component
+public class ProductChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeLog.class);
+
+    private static final String INSERT_CHANGE =
+            "INSERT INTO product_changes (product_id, change_type, changed_at) VALUES (?, ?, ?)";
+    private static final String INSERT_CATEGORY_CHANGES =
+            "INSERT INTO product_changes (product_id, change_type, changed_at) "
+                    + "SELECT id, ?, ? FROM products WHERE category_id = ?";
+    private static final String PRUNE = "DELETE FROM product_changes WHERE changed_at < ? "
+            + "AND seq < (SELECT MAX(seq) FROM product_changes)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductChangeSequencer sequencer;
+    private final Duration retention;
+
+    public ProductChangeLog(JdbcTemplate jdbcTemplate,
+                            ProductChangeSequencer sequencer,
+                            @Value("${product.changes.retention:7d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequencer = sequencer;
+        this.retention = retention;
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        record(List.of(event.product().id()),
+                event.created() ? ProductChange.Type.CREATED : ProductChange.Type.UPDATED);
+    }
+
+    @EventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        record(event.products().stream().map(ProductResponseDto::id).toList(), ProductChange.Type.CREATED);
+    }
+
+    @EventListener
+    public void onStockChanged(ProductStockChangedEvent event) {
+        record(event.stockById().keySet(), ProductChange.Type.UPDATED);
+    }
+
+    @EventListener
+    public void onProductDeleted(ProductDeletedEvent event) {
+        record(List.of(event.productId()), ProductChange.Type.DELETED);
+    }
+
+    @EventListener
+    public void onProductsDeleted(ProductsDeletedEvent event) {
+        record(event.productIds(), ProductChange.Type.DELETED);
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // A new category has no products yet
+        if (!event.created()) {
+            jdbcTemplate.update(INSERT_CATEGORY_CHANGES, ProductChange.Type.UPDATED.name(), now(), event.category().id());
+            sequenceAfterCommit();
+        }
+    }
+
+    /**
+     * Records a change of each product; must be called inside the transaction that wrote them.
+     */
+    public void record(Collection<Long> productIds, ProductChange.Type type) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = now();
+        List<Object[]> rows = new ArrayList<>(productIds.size());
+        productIds.forEach(id -> rows.add(new Object[]{id, type.name(), now}));
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, rows);
+        sequenceAfterCommit();
+    }
+
+    @Scheduled(fixedDelayString = "${product.changes.prune-interval:10m}")
+    public void prune() {
+        int pruned = jdbcTemplate.update(PRUNE, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+        if (pruned > 0) {
+            log.info("Product change log pruned - {} change(s) older than {}", pruned, retention);
+        }
+    }
+
+    private void sequenceAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sequencer.requestRun();
+                }
+            });
+        } else {
+            sequencer.requestRun();
+        }
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.product.changes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.ecommerce.product.constant.LogCode.CHANGE_SEQUENCING_FAILED;
+
+/**
+ * Numbers committed {@code product_changes} rows, in commit order.
+ * <p>
+ * Rows get their {@code seq} only after their transaction has committed, so a reader that has
+ * seen {@code seq = n} can never later find a smaller, newly committed number: a position in the
+ * feed is final. Unsequenced rows are numbered {@code MAX(seq) + 1, + 2, ...} in id order, in one
+ * transaction per batch. Instances racing to number the same rows collide on the unique index of
+ * {@code seq} or find the rows already taken; the loser rolls back and runs again.
+ * </p>
+ * <p>
+ * A run is requested after every local write commits, and coalesced: requests arriving while one
+ * is queued add nothing. The scheduled run picks up the rows of writes made by other instances
+ * and their sequencing, so a change written elsewhere reaches the waiting clients of this
+ * instance within {@code product.changes.sequence-interval}.
+ * </p>
+ */
+@Component
+public class ProductChangeSequencer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeSequencer.class);
+
+    private static final String SELECT_HEAD = "SELECT COALESCE(MAX(seq), 0) FROM product_changes";
+    private static final String SELECT_UNSEQUENCED =
+            "SELECT id FROM product_changes WHERE seq IS NULL ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String ASSIGN_SEQ = "UPDATE product_changes SET seq = ? WHERE id = ? AND seq IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductChangeFeed feed;
+    private final TaskExecutor executor;
+    private final int batchSize;
+    private final AtomicBoolean requested = new AtomicBoolean();
+    // Not a monitor: a virtual thread waiting on JDBC inside synchronized would pin its carrier
+    private final ReentrantLock running = new ReentrantLock();
+
+    public ProductChangeSequencer(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ProductChangeFeed feed,
+                                  @Qualifier("applicationTaskExecutor") TaskExecutor executor,
+                                  @Value("${product.changes.sequence-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.feed = feed;
+        this.executor = executor;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Asks for a run on the task executor, unless one is already queued.
+     */
+    public void requestRun() {
+        if (requested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                requested.set(false);
+                run();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.changes.sequence-interval:250ms}")
+    public void run() {
+        running.lock();
+        try {
+            Batch batch;
+            do {
+                batch = transactionTemplate.execute(status -> sequenceBatch());
+                feed.advance(batch.head());
+            } while (batch.full());
+        } catch (SequenceConflict | DataIntegrityViolationException ex) {
+            // Another instance numbered the same rows: they are in the feed, under its numbers
+            log.debug("Product change sequencing lost a race - running again: {}", ex.getMessage());
+            requestRun();
+        } catch (RuntimeException ex) {
+            // The rows stay unsequenced and the next scheduled run picks them up
+            log.error("[{}] Product change sequencing failed", CHANGE_SEQUENCING_FAILED, ex);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private record Batch(long head, boolean full) {}
+
+    private Batch sequenceBatch() {
+        long head = jdbcTemplate.queryForObject(SELECT_HEAD, Long.class);
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_UNSEQUENCED, Long.class, batchSize);
+        if (ids.isEmpty()) {
+            return new Batch(head, false);
+        }
+
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            rows.add(new Object[]{++head, id});
+        }
+        // A gap in the numbering would read as pruned history: all rows or none
+        for (int updated : jdbcTemplate.batchUpdate(ASSIGN_SEQ, rows)) {
+            if (updated == 0) {
+                throw new SequenceConflict();
+            }
+        }
+        log.debug("Product changes sequenced - {} change(s), head: {}", ids.size(), head);
+        return new Batch(head, ids.size() == batchSize);
+    }
+
+    private static final class SequenceConflict extends RuntimeException {
+        SequenceConflict() {
+            super("change rows already sequenced by another instance", null, false, false);
+        }
+    }
+}
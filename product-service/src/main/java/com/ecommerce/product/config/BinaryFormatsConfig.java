@@ -0,0 +1,36 @@
+package com.ecommerce.product.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+/**
+ * Binary representations negotiated through the {@code Accept} header, next to JSON:
+ * {@code application/cbor} and {@code application/x-jackson-smile}.
+ * <p>
+ * JSON stays the default for clients that send no {@code Accept} header or {@code *}{@code /*}.
+ * CBOR goes through the mapper auto-configured by Spring Boot, so {@code spring.jackson.*} and
+ * {@code spring.jackson.cbor.*} apply to it as they do to JSON.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class BinaryFormatsConfig {
+
+    @Bean
+    ServerHttpMessageConvertersCustomizer binaryFormatsCustomizer(CBORMapper cborMapper) {
+        // Smile back-references repeated string values as well as property names: in a product page
+        // every item carries the same category name and description, which are then written once
+        SmileMapper smileMapper = SmileMapper.builder()
+                .findAndAddModules()
+                .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return builder -> builder
+                .withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper));
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.product.config;
+
+import com.ecommerce.product.metrics.LogCodeMetrics;
+import com.ecommerce.product.metrics.ServiceMethodTimers;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics on top of the ones Spring Boot binds: {@code log.codes} per {@link
+ * com.ecommerce.product.constant.LogCode LogCode} and {@code service.method} for every method of
+ * {@link ProductService} and {@link CategoryService}. Scraped as Prometheus text from
+ * {@code /actuator/prometheus}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    static ServiceMethodTimers serviceMethodTimers(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ServiceMethodTimers(meterRegistry, ProductService.class, CategoryService.class);
+    }
+
+    @Bean
+    LogCodeMetrics logCodeMetrics() {
+        return new LogCodeMetrics();
+    }
+}
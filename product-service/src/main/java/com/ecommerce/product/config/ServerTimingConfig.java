@@ -0,0 +1,36 @@
+package com.ecommerce.product.config;
+
+import com.ecommerce.product.mapper.CategoryMapper;
+import com.ecommerce.product.mapper.ProductMapper;
+import com.ecommerce.product.timing.MappingTimers;
+import com.ecommerce.product.timing.ServerTimingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Server-Timing breakdown of single requests, on unless {@code product.server-timing.enabled=false}.
+ * <p>
+ * A client gets the {@code Server-Timing} header by sending {@code X-Server-Timing} once
+ * {@code product.server-timing.on-request=true}: off by default, since the header exposes internal
+ * timings to any caller. {@code product.server-timing.log-sample-rate}
+ * is the share of requests, 0 to 1, timed for the log. The mapping phase is measured around the
+ * public methods of {@link ProductMapper} and {@link CategoryMapper}.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "product.server-timing", name = "enabled", matchIfMissing = true)
+public class ServerTimingConfig {
+
+    @Bean
+    static MappingTimers mappingTimers() {
+        return new MappingTimers(ProductMapper.class, CategoryMapper.class);
+    }
+
+    @Bean
+    ServerTimingFilter serverTimingFilter(@Value("${product.server-timing.on-request:false}") boolean onRequest,
+                                          @Value("${product.server-timing.log-sample-rate:0}") double logSampleRate) {
+        return new ServerTimingFilter(onRequest, logSampleRate);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.product.config;
+
+import com.ecommerce.product.datasource.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread request execution, enabled with {@code spring.threads.virtual.enabled=true}.
+ * <p>
+ * Spring Boot then runs Tomcat requests, {@code @Async}/task executor work and scheduled tasks on
+ * virtual threads. What used to cap the concurrency - the 200 Tomcat worker threads - is gone, so
+ * every Hikari pool is wrapped in a {@link ConnectionLimitingDataSource}: at most
+ * {@code product.datasource.limiter.max-waiting} callers queue for a connection, each for at most
+ * {@code product.datasource.limiter.acquire-timeout}, and the rest get a 503 instead of piling up
+ * on the pool. With a replica configured, each of the two pools gets its own limiter.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    static LimiterPostProcessor connectionLimiter(Environment environment) {
+        int maxWaiting = environment.getProperty("product.datasource.limiter.max-waiting", Integer.class, 1000);
+        Duration acquireTimeout = environment.getProperty(
+                "product.datasource.limiter.acquire-timeout", Duration.class, Duration.ofSeconds(3));
+        return new LimiterPostProcessor(maxWaiting, acquireTimeout);
+    }
+
+    // Ordered ahead of the SQL statistics post-processor, which then wraps the pool inside the limiter;
+    // the bean method declares this type, not BeanPostProcessor, so the order is known before it is created
+    record LimiterPostProcessor(int maxWaiting, Duration acquireTimeout) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource pool) {
+                return new ConnectionLimitingDataSource(pool, beanName, pool.getMaximumPoolSize(),
+                        maxWaiting, acquireTimeout);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
@@ -9,8 +9,15 @@ public final class ErrorConstants {
     public static final String BASE_URL = "https://api.ecommerce.it/errors/";
     public static final URI TYPE_CATEGORY_NOT_FOUND = URI.create(BASE_URL + "category-not-found");
     public static final URI TYPE_CATEGORY_CONFLICT = URI.create(BASE_URL + "category-already-exists");
+    public static final URI TYPE_DELETION_JOB_NOT_FOUND = URI.create(BASE_URL + "deletion-job-not-found");
     public static final URI TYPE_PRODUCT_NOT_FOUND = URI.create(BASE_URL + "product-not-found");
     public static final URI TYPE_PRODUCT_CONFLICT = URI.create(BASE_URL + "product-already-exists");
+    public static final URI TYPE_OUT_OF_STOCK = URI.create(BASE_URL + "out-of-stock");
+    public static final URI TYPE_PRECONDITION_FAILED = URI.create(BASE_URL + "precondition-failed");
+    public static final URI TYPE_CONCURRENT_UPDATE = URI.create(BASE_URL + "concurrent-update");
+    public static final URI TYPE_CHANGE_CURSOR_EXPIRED = URI.create(BASE_URL + "change-cursor-expired");
+    public static final URI TYPE_INVALID_CURSOR = URI.create(BASE_URL + "invalid-cursor");
+    public static final URI TYPE_SERVICE_UNAVAILABLE = URI.create(BASE_URL + "service-unavailable");
     public static final URI TYPE_VALIDATION_ERROR = URI.create(BASE_URL + "validation-error");
     public static final URI TYPE_GENERIC_ERROR = URI.create(BASE_URL + "internal-server-error");
 }
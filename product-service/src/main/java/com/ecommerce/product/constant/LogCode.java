@@ -14,22 +14,35 @@ package com.ecommerce.product.constant;
  * These codes are designed to be machine-parseable by ELK, Datadog, Grafana
  * Loki
  * and similar observability platforms for alert grouping and trend analysis.
+ * Every log line carrying a code also increments the {@code log.codes} counter
+ * of that code (see {@code LogCodeMetrics}).
  */
 public enum LogCode {
 
     // --- 0xx: Resource not found ---
     CATEGORY_NOT_FOUND("PRD-001", "Category not found"),
     PRODUCT_NOT_FOUND("PRD-002", "Product not found"),
+    DELETION_JOB_NOT_FOUND("PRD-003", "Category deletion job not found"),
+    CHANGE_CURSOR_EXPIRED("PRD-004", "Change feed cursor expired"),
 
     // --- 1xx: Conflict / uniqueness ---
     CATEGORY_NAME_ALREADY_EXISTS("PRD-100", "Category name already exists"),
     PRODUCT_NAME_ALREADY_EXISTS("PRD-101", "Product name already exists"),
+    PRODUCT_OUT_OF_STOCK("PRD-102", "Insufficient product stock"),
+    PRECONDITION_FAILED("PRD-103", "If-Match precondition failed"),
+    CONCURRENT_UPDATE("PRD-104", "Concurrent update conflict"),
 
     // --- 2xx: Validation ---
     VALIDATION_FAILED("PRD-200", "Validation failed"),
+    INVALID_CURSOR("PRD-201", "Invalid pagination cursor"),
+    BULK_IMPORT_ROW_REJECTED("PRD-202", "Bulk import row rejected"),
 
     // --- 9xx: Unexpected / internal ---
-    INTERNAL_ERROR("PRD-900", "Unhandled internal error");
+    INTERNAL_ERROR("PRD-900", "Unhandled internal error"),
+    OUTBOX_RELAY_FAILED("PRD-901", "Outbox relay failed"),
+    CHANGE_SEQUENCING_FAILED("PRD-902", "Product change sequencing failed"),
+    DATABASE_UNAVAILABLE("PRD-903", "No database connection available"),
+    N_PLUS_ONE_SUSPECTED("PRD-904", "Same statement repeated within one request");
 
     private final String code;
     private final String description;
@@ -47,6 +60,19 @@ public enum LogCode {
         return description;
     }
 
+    /**
+     * The family of the code, from its hundreds digit: {@code not-found}, {@code conflict},
+     * {@code validation} or {@code internal}.
+     */
+    public String category() {
+        return switch (code.charAt(code.indexOf('-') + 1)) {
+            case '0' -> "not-found";
+            case '1' -> "conflict";
+            case '2' -> "validation";
+            default -> "internal";
+        };
+    }
+
     @Override
     public String toString() {
         return code;
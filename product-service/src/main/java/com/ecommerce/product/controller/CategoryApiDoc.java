@@ -1,5 +1,6 @@
 package com.ecommerce.product.controller;
 
+import com.ecommerce.product.dto.CategoryDeletionJobDto;
 import com.ecommerce.product.dto.CategoryRequestDto;
 import com.ecommerce.product.dto.CategoryResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
@@ -24,7 +26,8 @@ import org.springframework.data.domain.Pageable;
  * All Swagger/OpenAPI documentation lives here; the implementing controller
  * stays focused on Spring MVC routing and business logic.
  */
-@Tag(name = "Category Management", description = "Full CRUD operations for product categories within the e-commerce platform.")
+@Tag(name = "Category Management", description = "Full CRUD operations for product categories within the e-commerce platform. "
+        + "Responses are JSON unless the `Accept` header asks for `application/cbor` or `application/x-jackson-smile`.")
 public interface CategoryApiDoc {
 
   // -------------------------------------------------------------------------
@@ -67,17 +70,29 @@ public interface CategoryApiDoc {
   // READ - collection
   // -------------------------------------------------------------------------
 
-  @Operation(summary = "List all categories (paginated)", description = "Returns a paginated list of product categories. Supports `page`, `size`, and `sort` query parameters.")
-  @ApiResponse(responseCode = "200", description = "Page of categories returned successfully")
-  Page<CategoryResponseDto> getAllCategories(@ParameterObject Pageable pageable);
+  @Operation(summary = "List all categories (paginated)", description = "Returns a paginated list of product categories. Supports `page`, `size`, and `sort` query parameters. "
+      + "Every page carries the ETag of the whole category list, which changes on any category write and differs per format (JSON, CBOR, Smile); `If-None-Match` gets `304 Not Modified` while it is unchanged.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Page of categories returned successfully", headers = {
+          @Header(name = "ETag", description = "Strong entity tag of the category list", schema = @Schema(type = "string")),
+          @Header(name = "Cache-Control", description = "Caching policy, e.g. `max-age=60, must-revalidate, public`", schema = @Schema(type = "string"))
+      }),
+      @ApiResponse(responseCode = "304", description = "Not modified - `If-None-Match` matches the current ETag")
+  })
+  ResponseEntity<Page<CategoryResponseDto>> getAllCategories(@ParameterObject Pageable pageable, @Parameter(hidden = true) WebRequest request);
 
   // -------------------------------------------------------------------------
   // READ - single resource
   // -------------------------------------------------------------------------
 
-  @Operation(summary = "Get category by ID", description = "Retrieves a single category by its unique numeric identifier.")
+  @Operation(summary = "Get category by ID", description = "Retrieves a single category by its unique numeric identifier. "
+      + "The response carries a strong `ETag`, one per format (JSON, CBOR, Smile); send it back in `If-None-Match` to get `304 Not Modified` while the category is unchanged.")
   @ApiResponses({
-      @ApiResponse(responseCode = "200", description = "Category found", content = @Content(schema = @Schema(implementation = CategoryResponseDto.class))),
+      @ApiResponse(responseCode = "200", description = "Category found", headers = {
+          @Header(name = "ETag", description = "Strong entity tag of this representation", schema = @Schema(type = "string")),
+          @Header(name = "Cache-Control", description = "Caching policy, e.g. `max-age=60, must-revalidate, public`", schema = @Schema(type = "string"))
+      }, content = @Content(schema = @Schema(implementation = CategoryResponseDto.class))),
+      @ApiResponse(responseCode = "304", description = "Not modified - `If-None-Match` matches the current ETag"),
       @ApiResponse(responseCode = "404", description = "Category not found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
           {
             "type": "https://api.ecommerce.it/errors/category-not-found",
@@ -90,16 +105,20 @@ public interface CategoryApiDoc {
           }
           """)))
   })
-  CategoryResponseDto getById(
-      @Parameter(description = "Unique category identifier", required = true, example = "5") Long id);
+  ResponseEntity<CategoryResponseDto> getById(
+      @Parameter(description = "Unique category identifier", required = true, example = "5") Long id,
+      @Parameter(hidden = true) WebRequest request);
 
   // -------------------------------------------------------------------------
   // UPDATE - full replacement (PUT)
   // -------------------------------------------------------------------------
 
-  @Operation(summary = "Full update of a category (PUT)", description = "Replaces **all** mutable fields of the category identified by `id`.")
+  @Operation(summary = "Full update of a category (PUT)", description = "Replaces **all** mutable fields of the category identified by `id`. "
+      + "With `If-Match`, the update is applied only if the category still has one of the given ETags; the response carries the new `ETag`. "
+      + "Alternatively, send the `version` read from the category: a category modified since then is rejected with 409. "
+      + "Without either, an update that races another write is re-applied on the latest state.")
   @ApiResponses({
-      @ApiResponse(responseCode = "200", description = "Category updated successfully", content = @Content(schema = @Schema(implementation = CategoryResponseDto.class))),
+      @ApiResponse(responseCode = "200", description = "Category updated successfully", headers = @Header(name = "ETag", description = "Entity tag of the updated category", schema = @Schema(type = "string")), content = @Content(schema = @Schema(implementation = CategoryResponseDto.class))),
       @ApiResponse(responseCode = "400", description = "Validation failed", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
           {
             "type": "https://api.ecommerce.it/errors/validation-error",
@@ -125,29 +144,57 @@ public interface CategoryApiDoc {
             "timestamp": "2026-03-01T10:30:00Z"
           }
           """))),
-      @ApiResponse(responseCode = "409", description = "Conflict - category name already taken", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+      @ApiResponse(responseCode = "412", description = "`If-Match` does not match the current ETag - the category was modified", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
           {
-            "type": "https://api.ecommerce.it/errors/category-already-exists",
-            "title": "Data conflict",
-            "status": 409,
-            "detail": "Category name already in use",
+            "type": "https://api.ecommerce.it/errors/precondition-failed",
+            "title": "Precondition failed",
+            "status": 412,
+            "detail": "Resource was modified: If-Match does not match the current ETag",
             "instance": "/api/v1/categories/5",
             "service": "product-service",
             "timestamp": "2026-03-01T10:30:00Z"
           }
-          """)))
+          """))),
+      @ApiResponse(responseCode = "409", description = "Conflict - category name already taken, stale `version`, or concurrent updates still conflicting after the retries", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = {
+          @ExampleObject(name = "Name taken", value = """
+              {
+                "type": "https://api.ecommerce.it/errors/category-already-exists",
+                "title": "Data conflict",
+                "status": 409,
+                "detail": "Category name already in use",
+                "instance": "/api/v1/categories/5",
+                "service": "product-service",
+                "timestamp": "2026-03-01T10:30:00Z"
+              }
+              """),
+          @ExampleObject(name = "Stale version", value = """
+              {
+                "type": "https://api.ecommerce.it/errors/concurrent-update",
+                "title": "Data conflict",
+                "status": 409,
+                "detail": "Resource was modified: the supplied version is no longer current",
+                "instance": "/api/v1/categories/5",
+                "service": "product-service",
+                "timestamp": "2026-03-01T10:30:00Z"
+              }
+              """)
+      }))
   })
-  CategoryResponseDto updateCategory(
+  ResponseEntity<CategoryResponseDto> updateCategory(
       @Parameter(description = "Unique category identifier", required = true, example = "5") Long id,
-      CategoryRequestDto dto);
+      CategoryRequestDto dto,
+      @Parameter(description = "Apply the update only if the category's current ETag is listed", example = "\"c5-lx3k2c7f0\"") String ifMatch);
 
   // -------------------------------------------------------------------------
   // DELETE
   // -------------------------------------------------------------------------
 
-  @Operation(summary = "Delete a category", description = "Permanently removes the category identified by `id`. This action is **irreversible**.")
+  @Operation(summary = "Delete a category", description = "Permanently removes the category identified by `id` together with all of its products. This action is **irreversible**. "
+      + "Products are deleted in chunks of 1000, each committed on its own. With `async=true` the deletion runs in the background: "
+      + "the response is `202 Accepted` with a job whose progress can be polled at the `Location` URI.")
   @ApiResponses({
-      @ApiResponse(responseCode = "204", description = "Category deleted successfully - no content returned"),
+      @ApiResponse(responseCode = "204", description = "Category and its products deleted - no content returned"),
+      @ApiResponse(responseCode = "202", description = "Background deletion started (`async=true`)", headers = @Header(name = "Location", description = "URI of the deletion job, e.g. `/api/v1/categories/deletions/3f2b...`", schema = @Schema(type = "string", format = "uri")), content = @Content(schema = @Schema(implementation = CategoryDeletionJobDto.class))),
       @ApiResponse(responseCode = "404", description = "Category not found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
           {
             "type": "https://api.ecommerce.it/errors/category-not-found",
@@ -160,6 +207,26 @@ public interface CategoryApiDoc {
           }
           """)))
   })
-  void deleteCategory(
-      @Parameter(description = "Unique category identifier", required = true, example = "5") Long id);
+  ResponseEntity<CategoryDeletionJobDto> deleteCategory(
+      @Parameter(description = "Unique category identifier", required = true, example = "5") Long id,
+      @Parameter(description = "Run the deletion in the background and return a job to poll", example = "false") boolean async);
+
+  @Operation(summary = "Get a category deletion job", description = "Returns the status of a background category deletion and the number of products deleted so far. "
+      + "Jobs are tracked by the instance that started them and kept for one hour after they finish.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Job found", content = @Content(schema = @Schema(implementation = CategoryDeletionJobDto.class))),
+      @ApiResponse(responseCode = "404", description = "Job unknown or expired", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+          {
+            "type": "https://api.ecommerce.it/errors/deletion-job-not-found",
+            "title": "Resource not found",
+            "status": 404,
+            "detail": "Category deletion job not found with provided ID",
+            "instance": "/api/v1/categories/deletions/unknown",
+            "service": "product-service",
+            "timestamp": "2026-03-01T10:30:00Z"
+          }
+          """)))
+  })
+  CategoryDeletionJobDto getDeletionJob(
+      @Parameter(description = "Job identifier returned by an asynchronous delete", required = true) String jobId);
 }
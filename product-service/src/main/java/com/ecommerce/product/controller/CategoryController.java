@@ -1,17 +1,25 @@
 package com.ecommerce.product.controller;
 
+import com.ecommerce.product.dto.CategoryDeletionJobDto;
 import com.ecommerce.product.dto.CategoryRequestDto;
 import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.etag.EntityTags;
+import com.ecommerce.product.etag.Tagged;
 import com.ecommerce.product.service.CategoryService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -21,10 +29,13 @@ import org.springframework.data.web.PageableDefault;
 public class CategoryController implements CategoryApiDoc {
 
     private final CategoryService categoryService;
+    private final CacheControl cacheControl;
     private static final Logger log = LoggerFactory.getLogger(CategoryController.class);
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService,
+                              @Value("${product.http-cache.category-max-age:0s}") Duration maxAge) {
         this.categoryService = categoryService;
+        this.cacheControl = EntityTags.cacheControl(maxAge);
     }
 
     @Override
@@ -39,28 +50,57 @@ public class CategoryController implements CategoryApiDoc {
 
     @Override
     @GetMapping
-    public Page<CategoryResponseDto> getAllCategories(@PageableDefault(sort = "id") Pageable pageable) {
-        return categoryService.getAllCategories(pageable);
+    public ResponseEntity<Page<CategoryResponseDto>> getAllCategories(@PageableDefault(sort = "id") Pageable pageable,
+                                                                      WebRequest request) {
+        String etag = EntityTags.forAccept(categoryService.currentListETag(), request.getHeader(HttpHeaders.ACCEPT));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT)
+                .body(categoryService.getAllCategories(pageable));
     }
 
     @Override
     @GetMapping("/{id}")
-    public CategoryResponseDto getById(@PathVariable Long id) {
-        return categoryService.findById(id);
+    public ResponseEntity<CategoryResponseDto> getById(@PathVariable Long id, WebRequest request) {
+        String etag = EntityTags.forAccept(categoryService.currentETag(id), request.getHeader(HttpHeaders.ACCEPT));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT)
+                .body(categoryService.findById(id));
     }
 
     @Override
     @PutMapping("/{id}")
-    public CategoryResponseDto updateCategory(@PathVariable Long id, @Valid @RequestBody CategoryRequestDto dto) {
+    public ResponseEntity<CategoryResponseDto> updateCategory(@PathVariable Long id,
+                                                              @Valid @RequestBody CategoryRequestDto dto,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating category id: {}", id);
-        return categoryService.updateCategory(id, dto);
+        Tagged<CategoryResponseDto> updated = categoryService.updateCategory(id, dto, ifMatch);
+        return ResponseEntity.ok().eTag(updated.etag()).body(updated.body());
     }
 
     @Override
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteCategory(@PathVariable Long id) {
-        log.info("Deleting category id: {}", id);
-        categoryService.deleteCategory(id);
+    public ResponseEntity<CategoryDeletionJobDto> deleteCategory(@PathVariable Long id,
+                                                                 @RequestParam(defaultValue = "false") boolean async) {
+        log.info("Deleting category id: {} (async: {})", id, async);
+        if (!async) {
+            categoryService.deleteCategory(id);
+            return ResponseEntity.noContent().build();
+        }
+        CategoryDeletionJobDto job = categoryService.deleteCategoryAsync(id);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/categories/deletions/{jobId}").buildAndExpand(job.jobId()).toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @Override
+    @GetMapping("/deletions/{jobId}")
+    public CategoryDeletionJobDto getDeletionJob(@PathVariable String jobId) {
+        return categoryService.findDeletionJob(jobId);
     }
 }
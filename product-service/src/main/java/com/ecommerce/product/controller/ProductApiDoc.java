@@ -1,23 +1,40 @@
 package com.ecommerce.product.controller;
 
+import com.ecommerce.product.dto.BulkImportResultDto;
+import com.ecommerce.product.dto.ProductChangesDto;
+import com.ecommerce.product.dto.ProductCursorPageDto;
+import com.ecommerce.product.dto.ProductFacetsDto;
 import com.ecommerce.product.dto.ProductRequestDto;
 import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.dto.ProductStockDecrementDto;
 import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.dto.ProductStockResponseDto;
+import com.ecommerce.product.dto.StockReservationRequestDto;
+import com.ecommerce.product.dto.StockReservationResponseDto;
+import com.ecommerce.product.pagination.ProductSortKey;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * OpenAPI contract for the Product Management API.
@@ -25,7 +42,8 @@ import java.util.List;
  * stays focused on Spring MVC routing and business logic.
  */
 @Tag(name = "Product Management", description = "Full CRUD operations for products within the e-commerce platform, "
-        + "including stock management and search capabilities.")
+        + "including stock management and search capabilities. Responses are JSON unless the `Accept` header asks for "
+        + "`application/cbor` or `application/x-jackson-smile`, which carry the same fields in a compact binary encoding.")
 public interface ProductApiDoc {
 
     // -------------------------------------------------------------------------
@@ -77,21 +95,75 @@ public interface ProductApiDoc {
     })
     ResponseEntity<ProductResponseDto> createProduct(ProductRequestDto dto);
 
+    @Operation(summary = "Bulk import products", description = "Imports many products in one request. The body is either a JSON array of product objects "
+            + "or newline-delimited JSON (one product per line); it is read as a stream and written in chunks with JDBC batching. "
+            + "Rows that fail validation, reference an unknown category or reuse an existing name are skipped and reported with their 1-based row number; "
+            + "the rest are imported. An unreadable row stops the import, keeping the rows already written. At most 100 errors are listed.")
+    @ApiResponse(responseCode = "200", description = "Import report", content = @Content(schema = @Schema(implementation = BulkImportResultDto.class), examples = @ExampleObject(value = """
+            {
+              "received": 3,
+              "imported": 2,
+              "failed": 1,
+              "errors": [
+                { "row": 2, "message": "price: Price must be more than 0" }
+              ],
+              "errorsTruncated": false
+            }
+            """)))
+    BulkImportResultDto importProducts(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "JSON array or NDJSON stream of products", content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = ProductRequestDto.class))),
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ProductRequestDto.class))
+            }) InputStream body);
+
     // -------------------------------------------------------------------------
     // READ - collection
     // -------------------------------------------------------------------------
 
-    @Operation(summary = "List all products", description = "Returns the complete list of products, each including its nested category.")
-    @ApiResponse(responseCode = "200", description = "List of products returned successfully")
-    List<ProductResponseDto> getAllProducts();
+    @Operation(summary = "List products (cursor-paginated)", description = "Returns one page of products, each including its nested category. "
+            + "Pages are keyset-based: pass the `nextCursor` of the previous response as `cursor` to get the following page. "
+            + "Latency does not grow with crawl depth. `nextCursor` is `null` on the last page.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of products returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor or cursor issued for a different sort", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+                    {
+                      "type": "https://api.ecommerce.it/errors/invalid-cursor",
+                      "title": "Invalid input data",
+                      "status": 400,
+                      "detail": "Pagination cursor is malformed or expired",
+                      "instance": "/api/v1/products",
+                      "service": "product-service",
+                      "timestamp": "2026-03-01T10:30:00Z"
+                    }
+                    """)))
+    })
+    ProductCursorPageDto getAllProducts(
+            @Parameter(description = "Opaque continuation token from the previous page; omit for the first page", example = "djE6aToxMjA") String cursor,
+            @Parameter(description = "Page size (1-50)", example = "20") int size,
+            @Parameter(description = "Keyset ordering for the first page: `ID` or `UPDATED_AT`", example = "ID") ProductSortKey sort);
+
+    // -------------------------------------------------------------------------
+    // READ - full catalog export
+    // -------------------------------------------------------------------------
+
+    @Operation(summary = "Export the full catalog (NDJSON)", description = "Streams every product as newline-delimited JSON, one product per line, in id order. "
+            + "Rows are read through a database cursor and written as they arrive, so memory use is constant regardless of catalog size. "
+            + "Intended for feed and sync jobs; interactive clients should use the paginated listing.")
+    @ApiResponse(responseCode = "200", description = "Catalog stream", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = ProductResponseDto.class)))
+    void exportCatalog(@Parameter(hidden = true) HttpServletResponse response) throws IOException;
 
     // -------------------------------------------------------------------------
     // READ - single resource
     // -------------------------------------------------------------------------
 
-    @Operation(summary = "Get product by ID", description = "Retrieves a single product by its unique numeric identifier, including its nested category.")
+    @Operation(summary = "Get product by ID", description = "Retrieves a single product by its unique numeric identifier, including its nested category. "
+            + "The response carries a strong `ETag`, one per format (JSON, CBOR, Smile); send it back in `If-None-Match` to get `304 Not Modified` while the product is unchanged.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Product found", content = @Content(schema = @Schema(implementation = ProductResponseDto.class))),
+            @ApiResponse(responseCode = "200", description = "Product found", headers = {
+                    @Header(name = "ETag", description = "Strong entity tag of this representation", schema = @Schema(type = "string")),
+                    @Header(name = "Cache-Control", description = "Caching policy, e.g. `no-cache, public`", schema = @Schema(type = "string"))
+            }, content = @Content(schema = @Schema(implementation = ProductResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified - `If-None-Match` matches the current ETag"),
             @ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
                     {
                       "type": "https://api.ecommerce.it/errors/product-not-found",
@@ -104,36 +176,105 @@ public interface ProductApiDoc {
                     }
                     """)))
     })
-    ProductResponseDto getById(
-            @Parameter(description = "Unique product identifier", required = true, example = "12") Long id);
+    ResponseEntity<ProductResponseDto> getById(
+            @Parameter(description = "Unique product identifier", required = true, example = "12") Long id,
+            @Parameter(hidden = true) WebRequest request);
 
     // -------------------------------------------------------------------------
-    // READ - search by name
+    // READ - full-text search
     // -------------------------------------------------------------------------
 
-    @Operation(summary = "Search products by name", description = "Returns products whose name contains the given keyword (case-insensitive).")
-    @ApiResponse(responseCode = "200", description = "Search results returned successfully")
-    List<ProductResponseDto> searchByName(
-            @Parameter(description = "Keyword to search in product names", required = true, example = "laptop") String keyword);
+    @Operation(summary = "Search products", description = "Full-text search over product names and descriptions, ranked by relevance (BM25). "
+            + "Matching is case- and accent-insensitive on whole words; the last word also matches as a prefix. "
+            + "Supports `page` and `size`; `sort` is ignored because results are ordered by relevance.")
+    @ApiResponse(responseCode = "200", description = "Page of search results returned successfully")
+    Page<ProductResponseDto> search(
+            @Parameter(description = "Free-text query", required = true, example = "gaming laptop") String keyword,
+            @ParameterObject Pageable pageable);
 
     // -------------------------------------------------------------------------
     // READ - search by price range
     // -------------------------------------------------------------------------
 
-    @Operation(summary = "Search products by price range", description = "Returns products whose price falls within the given range (inclusive).")
-    @ApiResponse(responseCode = "200", description = "Search results returned successfully")
-    List<ProductResponseDto> searchByPriceRange(
+    @Operation(summary = "Search products by price range", description = "Returns a page of products whose price falls within the given range (inclusive), cheapest first. "
+            + "Supports `page` and `size`; use `sort=price,desc` for most expensive first. Other sort properties are ignored; ties are ordered by ID.")
+    @ApiResponse(responseCode = "200", description = "Page of search results returned successfully")
+    Page<ProductResponseDto> searchByPriceRange(
             @Parameter(description = "Minimum price", required = true, example = "10.00") BigDecimal min,
-            @Parameter(description = "Maximum price", required = true, example = "100.00") BigDecimal max);
+            @Parameter(description = "Maximum price", required = true, example = "100.00") BigDecimal max,
+            @ParameterObject Pageable pageable);
+
+    // -------------------------------------------------------------------------
+    // READ - facet counts
+    // -------------------------------------------------------------------------
+
+    @Operation(summary = "Facet counts for catalog filters", description = "Returns how many products match the given filters, together with the counts "
+            + "per category, per price bucket and in stock / out of stock. Each facet is counted against the other filters only, so the counts show what "
+            + "choosing a different value would return. All filters are optional; categories without matches are omitted, price buckets are always listed.")
+    @ApiResponse(responseCode = "200", description = "Facet counts", content = @Content(schema = @Schema(implementation = ProductFacetsDto.class), examples = @ExampleObject(value = """
+            {
+              "total": 42,
+              "categories": [ { "categoryId": 3, "name": "Audio", "count": 42 }, { "categoryId": 5, "name": "Video", "count": 17 } ],
+              "priceBuckets": [ { "min": 0.00, "max": 25.00, "count": 8 }, { "min": 25.00, "max": 50.00, "count": 34 }, { "min": 1000.00, "max": null, "count": 0 } ],
+              "inStock": 42,
+              "outOfStock": 6
+            }
+            """)))
+    ProductFacetsDto facets(
+            @Parameter(description = "Only products of this category", example = "3") Long categoryId,
+            @Parameter(description = "Minimum price (inclusive)", example = "10.00") BigDecimal minPrice,
+            @Parameter(description = "Maximum price (inclusive)", example = "100.00") BigDecimal maxPrice,
+            @Parameter(description = "`true` for products with stock, `false` for sold-out ones", example = "true") Boolean inStock);
+
+    // -------------------------------------------------------------------------
+    // READ - change feed
+    // -------------------------------------------------------------------------
+
+    @Operation(summary = "Follow product changes (change feed)", description = "Returns the products created, updated or deleted after `since`, in commit order, "
+            + "for consumers that keep a copy of the catalog in sync. Each change carries the product's current state; a deleted product is a tombstone with `product: null`. "
+            + "A product changed several times in one page appears once, at its latest change. Pass `nextCursor` back as `since` to continue; when `hasMore` is `true`, "
+            + "ask again right away. To start, call without `since` to get a cursor at the head of the feed, then load the catalog (e.g. `/export`) and follow from that cursor. "
+            + "With `wait`, a request that finds nothing new is held open until a change arrives or the wait (at most 30 seconds) is over (long polling).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Changes after the cursor, possibly none", content = @Content(schema = @Schema(implementation = ProductChangesDto.class), examples = @ExampleObject(value = """
+                    {
+                      "changes": [
+                        { "seq": 1042, "productId": 12, "type": "UPDATED", "product": { "id": 12, "name": "Wireless Mouse", "description": "Ergonomic 2.4 GHz mouse", "price": 24.90, "stock": 7, "category": { "id": 3, "name": "Accessories", "description": null, "version": 0 }, "version": 4 } },
+                        { "seq": 1043, "productId": 15, "type": "DELETED", "product": null }
+                      ],
+                      "hasMore": false,
+                      "nextCursor": "djE6YzoxMDQz"
+                    }
+                    """))),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "410", description = "The changes after the cursor are no longer retained: reload the catalog and start from a new cursor", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+                    {
+                      "type": "https://api.ecommerce.it/errors/change-cursor-expired",
+                      "title": "Cursor expired",
+                      "status": 410,
+                      "detail": "Changes after this cursor are no longer retained: reload the catalog and follow the feed from a new cursor",
+                      "instance": "/api/v1/products/changes",
+                      "service": "product-service",
+                      "timestamp": "2026-03-01T10:30:00Z"
+                    }
+                    """)))
+    })
+    CompletableFuture<ProductChangesDto> getChanges(
+            @Parameter(description = "`nextCursor` of the previous response; omit to get a cursor at the head of the feed", example = "djE6YzoxMDQx") String since,
+            @Parameter(description = "Maximum number of changes to read (1-500)", example = "100") int limit,
+            @Parameter(description = "Seconds to wait for a change when none is pending (0-30)", example = "25") int wait);
 
     // -------------------------------------------------------------------------
     // UPDATE - full replacement (PUT)
     // -------------------------------------------------------------------------
 
-    @Operation(summary = "Full update of a product (PUT)", description = "Replaces **all** mutable fields of the product identified by `id`. "
-            + "A valid `categoryId` is mandatory.")
+    @Operation(summary = "Full update of a product (PUT)", description = "Replaces the name, description, price and category of the product identified by `id`. "
+            + "A valid `categoryId` is mandatory. `stock` is validated but not applied: stock only changes through PATCH `/stock` and checkout, "
+            + "so a PUT built from an earlier read can't bring back units sold since. With `If-Match`, the update is applied only if the product still has one of the given ETags (optimistic concurrency); "
+            + "the response carries the new `ETag`. Alternatively, send the `version` read from the product: a product modified since then is rejected with 409. "
+            + "Without either, an update that races another write is re-applied on the latest state; stock-only writes (PATCH, reservations) never conflict with it.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Product updated successfully", content = @Content(schema = @Schema(implementation = ProductResponseDto.class))),
+            @ApiResponse(responseCode = "200", description = "Product updated successfully", headers = @Header(name = "ETag", description = "Entity tag of the updated product", schema = @Schema(type = "string")), content = @Content(schema = @Schema(implementation = ProductResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Validation failed", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
                     {
                       "type": "https://api.ecommerce.it/errors/validation-error",
@@ -159,21 +300,46 @@ public interface ProductApiDoc {
                       "timestamp": "2026-03-01T10:30:00Z"
                     }
                     """))),
-            @ApiResponse(responseCode = "409", description = "Conflict - product name already taken", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+            @ApiResponse(responseCode = "412", description = "`If-Match` does not match the current ETag - the product was modified", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
                     {
-                      "type": "https://api.ecommerce.it/errors/product-already-exists",
-                      "title": "Data conflict",
-                      "status": 409,
-                      "detail": "Product name already in use",
+                      "type": "https://api.ecommerce.it/errors/precondition-failed",
+                      "title": "Precondition failed",
+                      "status": 412,
+                      "detail": "Resource was modified: If-Match does not match the current ETag",
                       "instance": "/api/v1/products/12",
                       "service": "product-service",
                       "timestamp": "2026-03-01T10:30:00Z"
                     }
-                    """)))
+                    """))),
+            @ApiResponse(responseCode = "409", description = "Conflict - product name already taken, stale `version`, or concurrent updates still conflicting after the retries", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = {
+                    @ExampleObject(name = "Name taken", value = """
+                            {
+                              "type": "https://api.ecommerce.it/errors/product-already-exists",
+                              "title": "Data conflict",
+                              "status": 409,
+                              "detail": "Product name already in use",
+                              "instance": "/api/v1/products/12",
+                              "service": "product-service",
+                              "timestamp": "2026-03-01T10:30:00Z"
+                            }
+                            """),
+                    @ExampleObject(name = "Stale version", value = """
+                            {
+                              "type": "https://api.ecommerce.it/errors/concurrent-update",
+                              "title": "Data conflict",
+                              "status": 409,
+                              "detail": "Resource was modified: the supplied version is no longer current",
+                              "instance": "/api/v1/products/12",
+                              "service": "product-service",
+                              "timestamp": "2026-03-01T10:30:00Z"
+                            }
+                            """)
+            }))
     })
-    ProductResponseDto updateProduct(
+    ResponseEntity<ProductResponseDto> updateProduct(
             @Parameter(description = "Unique product identifier", required = true, example = "12") Long id,
-            ProductRequestDto dto);
+            ProductRequestDto dto,
+            @Parameter(description = "Apply the update only if the product's current ETag is listed", example = "\"p12-lx3k9d2a1-lx3k2c7f0\"") String ifMatch);
 
     // -------------------------------------------------------------------------
     // UPDATE - partial stock (PATCH)
@@ -212,6 +378,144 @@ public interface ProductApiDoc {
             @Parameter(description = "Unique product identifier", required = true, example = "12") Long id,
             ProductStockRequestDto dto);
 
+    // -------------------------------------------------------------------------
+    // UPDATE - atomic stock decrement (checkout)
+    // -------------------------------------------------------------------------
+
+    @Operation(summary = "Decrement product stock", description = "Atomically takes `quantity` units out of the stock of the product identified by `id`. "
+            + "The request either succeeds in full or changes nothing; concurrent purchases never overwrite each other. Returns the remaining stock.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Stock decremented", content = @Content(schema = @Schema(implementation = ProductStockResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Validation failed", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+                    {
+                      "type": "https://api.ecommerce.it/errors/validation-error",
+                      "title": "Invalid input data",
+                      "status": 400,
+                      "detail": "Validation failed",
+                      "instance": "/api/v1/products/12/stock/decrement",
+                      "errors": {
+                        "quantity": "Quantity must be at least 1"
+                      },
+                      "service": "product-service",
+                      "timestamp": "2026-03-01T10:30:00Z"
+                    }
+                    """))),
+            @ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+                    {
+                      "type": "https://api.ecommerce.it/errors/product-not-found",
+                      "title": "Resource not found",
+                      "status": 404,
+                      "detail": "Product not found with provided ID",
+                      "instance": "/api/v1/products/999/stock/decrement",
+                      "service": "product-service",
+                      "timestamp": "2026-03-01T10:30:00Z"
+                    }
+                    """))),
+            @ApiResponse(responseCode = "409", description = "Not enough stock", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+                    {
+                      "type": "https://api.ecommerce.it/errors/out-of-stock",
+                      "title": "Out of stock",
+                      "status": 409,
+                      "detail": "Not enough stock left for the requested quantity",
+                      "instance": "/api/v1/products/12/stock/decrement",
+                      "service": "product-service",
+                      "timestamp": "2026-03-01T10:30:00Z"
+                    }
+                    """)))
+    })
+    ProductStockResponseDto decrementStock(
+            @Parameter(description = "Unique product identifier", required = true, example = "12") Long id,
+            ProductStockDecrementDto dto);
+
+    // -------------------------------------------------------------------------
+    // UPDATE - hot-SKU stock mode
+    // -------------------------------------------------------------------------
+
+    @Operation(summary = "Enable hot-SKU stock mode", description = "Moves the stock of the product identified by `id` into in-memory counters, so that flash-sale purchases "
+            + "no longer contend on its database row. The stored stock is updated in batches in the background and may lag by up to the flush interval. "
+            + "The mode is per instance: route all purchases of a hot product to the same instance. Idempotent.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Hot mode enabled", content = @Content(schema = @Schema(implementation = ProductStockResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+                    {
+                      "type": "https://api.ecommerce.it/errors/product-not-found",
+                      "title": "Resource not found",
+                      "status": 404,
+                      "detail": "Product not found with provided ID",
+                      "instance": "/api/v1/products/999/stock/hot",
+                      "service": "product-service",
+                      "timestamp": "2026-03-01T10:30:00Z"
+                    }
+                    """)))
+    })
+    ProductStockResponseDto enableHotStock(
+            @Parameter(description = "Unique product identifier", required = true, example = "12") Long id);
+
+    @Operation(summary = "Disable hot-SKU stock mode", description = "Writes the in-memory stock of the product identified by `id` back to the database and returns to regular stock handling. Idempotent.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Hot mode disabled, final stock stored", content = @Content(schema = @Schema(implementation = ProductStockResponseDto.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+                    {
+                      "type": "https://api.ecommerce.it/errors/product-not-found",
+                      "title": "Resource not found",
+                      "status": 404,
+                      "detail": "Product not found with provided ID",
+                      "instance": "/api/v1/products/999/stock/hot",
+                      "service": "product-service",
+                      "timestamp": "2026-03-01T10:30:00Z"
+                    }
+                    """)))
+    })
+    ProductStockResponseDto disableHotStock(
+            @Parameter(description = "Unique product identifier", required = true, example = "12") Long id);
+
+    // -------------------------------------------------------------------------
+    // UPDATE - multi-line stock reservation (checkout)
+    // -------------------------------------------------------------------------
+
+    @Operation(summary = "Reserve stock for an order", description = "Takes the quantity of every line out of stock in a single transaction: either all lines are reserved or none is. "
+            + "Lines for the same product are merged. Returns the remaining stock of every reserved product.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "All lines reserved", content = @Content(schema = @Schema(implementation = StockReservationResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Validation failed", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+                    {
+                      "type": "https://api.ecommerce.it/errors/validation-error",
+                      "title": "Invalid input data",
+                      "status": 400,
+                      "detail": "Validation failed",
+                      "instance": "/api/v1/products/stock/reservations",
+                      "errors": {
+                        "lines[0].quantity": "Quantity must be at least 1"
+                      },
+                      "service": "product-service",
+                      "timestamp": "2026-03-01T10:30:00Z"
+                    }
+                    """))),
+            @ApiResponse(responseCode = "404", description = "At least one product not found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+                    {
+                      "type": "https://api.ecommerce.it/errors/product-not-found",
+                      "title": "Resource not found",
+                      "status": 404,
+                      "detail": "Product not found with provided ID",
+                      "instance": "/api/v1/products/stock/reservations",
+                      "service": "product-service",
+                      "timestamp": "2026-03-01T10:30:00Z"
+                    }
+                    """))),
+            @ApiResponse(responseCode = "409", description = "Not enough stock for at least one line", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ProblemDetail.class), examples = @ExampleObject(value = """
+                    {
+                      "type": "https://api.ecommerce.it/errors/out-of-stock",
+                      "title": "Out of stock",
+                      "status": 409,
+                      "detail": "Not enough stock left for product(s) [12, 31]",
+                      "instance": "/api/v1/products/stock/reservations",
+                      "service": "product-service",
+                      "timestamp": "2026-03-01T10:30:00Z"
+                    }
+                    """)))
+    })
+    StockReservationResponseDto reserveStock(StockReservationRequestDto dto);
+
     // -------------------------------------------------------------------------
     // DELETE
     // -------------------------------------------------------------------------
@@ -1,30 +1,61 @@
 package com.ecommerce.product.controller;
 
+import com.ecommerce.product.dto.BulkImportResultDto;
+import com.ecommerce.product.dto.ProductChangesDto;
+import com.ecommerce.product.dto.ProductCursorPageDto;
+import com.ecommerce.product.dto.ProductFacetsDto;
 import com.ecommerce.product.dto.ProductRequestDto;
 import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.dto.ProductStockDecrementDto;
 import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.dto.ProductStockResponseDto;
+import com.ecommerce.product.dto.StockReservationRequestDto;
+import com.ecommerce.product.dto.StockReservationResponseDto;
+import com.ecommerce.product.etag.EntityTags;
+import com.ecommerce.product.etag.Tagged;
+import com.ecommerce.product.pagination.ProductSortKey;
 import com.ecommerce.product.service.ProductService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URI;
-import java.util.List;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/products")
 public class ProductController implements ProductApiDoc {
 
     private final ProductService productService;
+    private final JsonMapper jsonMapper;
+    private final CacheControl cacheControl;
     private static final Logger log = LoggerFactory.getLogger(ProductController.class);
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, JsonMapper jsonMapper,
+                             @Value("${product.http-cache.product-max-age:0s}") Duration maxAge) {
         this.productService = productService;
+        this.jsonMapper = jsonMapper;
+        this.cacheControl = EntityTags.cacheControl(maxAge);
     }
 
     @Override
@@ -37,36 +68,97 @@ public class ProductController implements ProductApiDoc {
         return ResponseEntity.created(location).body(response);
     }
 
+    @Override
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public BulkImportResultDto importProducts(InputStream body) {
+        log.info("Bulk importing products");
+        // A root-level array and whitespace-separated documents (NDJSON) are both read element by
+        // element, so the body is never materialized in memory
+        try (MappingIterator<ProductRequestDto> rows = jsonMapper.readerFor(ProductRequestDto.class).readValues(body)) {
+            return productService.importProducts(rows);
+        }
+    }
+
     @Override
     @GetMapping
-    public List<ProductResponseDto> getAllProducts() {
-        return productService.getAllProducts();
+    public ProductCursorPageDto getAllProducts(@RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "20") int size,
+                                               @RequestParam(required = false) ProductSortKey sort) {
+        return productService.getAllProducts(cursor, size, sort);
+    }
+
+    @Override
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportCatalog(HttpServletResponse response) throws IOException {
+        log.info("Exporting catalog as NDJSON");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        // One JSON document per line, written as rows come off the cursor; nothing is buffered
+        // beyond the servlet output buffer, so the response can be consumed while it's produced.
+        try (SequenceWriter writer = jsonMapper.writerFor(ProductResponseDto.class)
+                .withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            long exported = productService.exportCatalog(writer::write);
+            log.info("Catalog export streamed - {} product(s)", exported);
+        }
     }
 
     @Override
     @GetMapping("/{id}")
-    public ProductResponseDto getById(@PathVariable Long id) {
-        return productService.findById(id);
+    public ResponseEntity<ProductResponseDto> getById(@PathVariable Long id, WebRequest request) {
+        // The tag comes from a version lookup: a revalidation that matches never builds the DTO
+        // The same state is served as JSON, CBOR or Smile: each format has its own tag, and shared
+        // caches must key the variants by Accept
+        String etag = EntityTags.forAccept(productService.currentETag(id), request.getHeader(HttpHeaders.ACCEPT));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT)
+                .body(productService.findById(id));
     }
 
     @Override
     @GetMapping("/search")
-    public List<ProductResponseDto> searchByName(@RequestParam String keyword) {
-        return productService.searchByName(keyword);
+    public Page<ProductResponseDto> search(@RequestParam String keyword,
+                                           @PageableDefault(size = 20) Pageable pageable) {
+        return productService.search(keyword, pageable);
     }
 
     @Override
     @GetMapping("/price-range")
-    public List<ProductResponseDto> searchByPriceRange(@RequestParam BigDecimal min,
-                                                       @RequestParam BigDecimal max) {
-        return productService.searchByPriceRange(min, max);
+    public Page<ProductResponseDto> searchByPriceRange(@RequestParam BigDecimal min,
+                                                       @RequestParam BigDecimal max,
+                                                       @PageableDefault(size = 20, sort = "price") Pageable pageable) {
+        return productService.searchByPriceRange(min, max, pageable);
+    }
+
+    @Override
+    @GetMapping("/facets")
+    public ProductFacetsDto facets(@RequestParam(required = false) Long categoryId,
+                                   @RequestParam(required = false) BigDecimal minPrice,
+                                   @RequestParam(required = false) BigDecimal maxPrice,
+                                   @RequestParam(required = false) Boolean inStock) {
+        return productService.facets(categoryId, minPrice, maxPrice, inStock);
+    }
+
+    @Override
+    @GetMapping("/changes")
+    public CompletableFuture<ProductChangesDto> getChanges(@RequestParam(required = false) String since,
+                                                           @RequestParam(defaultValue = "100") int limit,
+                                                           @RequestParam(defaultValue = "0") int wait) {
+        return productService.getChanges(since, limit, Duration.ofSeconds(Math.max(0, wait)));
     }
 
     @Override
     @PutMapping("/{id}")
-    public ProductResponseDto updateProduct(@PathVariable Long id, @Valid @RequestBody ProductRequestDto dto) {
+    public ResponseEntity<ProductResponseDto> updateProduct(@PathVariable Long id,
+                                                            @Valid @RequestBody ProductRequestDto dto,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Full update (PUT) - product id: {}", id);
-        return productService.updateProduct(id, dto);
+        Tagged<ProductResponseDto> updated = productService.updateProduct(id, dto, ifMatch);
+        return ResponseEntity.ok().eTag(updated.etag()).body(updated.body());
     }
 
     @Override
@@ -76,6 +168,34 @@ public class ProductController implements ProductApiDoc {
         return productService.patchStock(id, dto);
     }
 
+    @Override
+    @PostMapping("/{id}/stock/decrement")
+    public ProductStockResponseDto decrementStock(@PathVariable Long id,
+                                                  @Valid @RequestBody ProductStockDecrementDto dto) {
+        return productService.decrementStock(id, dto.quantity());
+    }
+
+    @Override
+    @PutMapping("/{id}/stock/hot")
+    public ProductStockResponseDto enableHotStock(@PathVariable Long id) {
+        log.info("Enabling hot stock mode - product id: {}", id);
+        return productService.enableHotStock(id);
+    }
+
+    @Override
+    @DeleteMapping("/{id}/stock/hot")
+    public ProductStockResponseDto disableHotStock(@PathVariable Long id) {
+        log.info("Disabling hot stock mode - product id: {}", id);
+        return productService.disableHotStock(id);
+    }
+
+    @Override
+    @PostMapping("/stock/reservations")
+    public StockReservationResponseDto reserveStock(@Valid @RequestBody StockReservationRequestDto dto) {
+        log.info("Reserving stock - {} line(s)", dto.lines().size());
+        return productService.reserveStock(dto.lines());
+    }
+
     @Override
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -0,0 +1,149 @@
+package com.ecommerce.product.datasource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds the callers waiting for a pooled connection.
+ * <p>
+ * With virtual threads every request gets its own thread, so a slow database no longer stops
+ * requests at the web server's thread pool: they all reach the connection pool and wait there,
+ * each for the full pool timeout. This data source puts a fair semaphore with one permit per
+ * pooled connection in front of the pool. A caller takes a permit before asking the pool for a
+ * connection and gives it back when it closes the connection; once {@code maxWaiting} callers are
+ * queued for a permit, further callers are rejected at once, and a queued caller gives up after
+ * {@code acquireTimeout}. Both failures are a {@link ConnectionLimitExceededException}, which the
+ * web layer answers with 503.
+ * </p>
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final String name;
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final Duration acquireTimeout;
+
+    /**
+     * @param target         the connection pool
+     * @param name           name of the pool, for error messages
+     * @param permits        connections handed out at the same time, normally the pool's maximum size
+     * @param maxWaiting     callers allowed to queue for a permit
+     * @param acquireTimeout how long a queued caller waits for a permit
+     */
+    public ConnectionLimitingDataSource(DataSource target, String name, int permits, int maxWaiting,
+                                        Duration acquireTimeout) {
+        super(target);
+        this.name = name;
+        this.permits = new Semaphore(permits, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /** Callers currently queued for a permit (an estimate, as {@link Semaphore#getQueueLength()}). */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            // A zero timeout still honours the queue: tryAcquire() without one would barge ahead of it
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            if (permits.getQueueLength() >= maxWaiting) {
+                throw new ConnectionLimitExceededException(
+                        "Connection pool " + name + " saturated - " + maxWaiting + " caller(s) already waiting");
+            }
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new ConnectionLimitExceededException(
+                        "Connection pool " + name + " saturated - no connection within " + acquireTimeout);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionLimitExceededException("Interrupted while waiting for a connection of pool " + name);
+        }
+    }
+
+    private Connection releasingOnClose(Connection target) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, new ReleasingHandler(target));
+    }
+
+    // Gives the permit back on the first close(); later calls go straight to the pooled connection
+    private final class ReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getTargetConnection":
+                    return target;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Limited connection of pool " + name + " [" + target + "]";
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            } finally {
+                if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+
+    /** No permit for a connection: too many callers queued, or none freed in time. */
+    public static class ConnectionLimitExceededException extends SQLTransientConnectionException {
+        public ConnectionLimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
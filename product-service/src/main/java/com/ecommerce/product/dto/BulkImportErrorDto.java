@@ -0,0 +1,6 @@
+package com.ecommerce.product.dto;
+
+public record BulkImportErrorDto(
+        long row,
+        String message
+) {}
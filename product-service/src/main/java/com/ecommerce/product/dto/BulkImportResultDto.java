@@ -0,0 +1,11 @@
+package com.ecommerce.product.dto;
+
+import java.util.List;
+
+public record BulkImportResultDto(
+        long received,
+        long imported,
+        long failed,
+        List<BulkImportErrorDto> errors,
+        boolean errorsTruncated
+) {}
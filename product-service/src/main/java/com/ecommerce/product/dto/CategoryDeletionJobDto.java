@@ -0,0 +1,17 @@
+package com.ecommerce.product.dto;
+
+import java.time.Instant;
+
+public record CategoryDeletionJobDto(
+        String jobId,
+        Long categoryId,
+        Status status,
+        long productsTotal,
+        long productsDeleted,
+        Instant startedAt,
+        Instant finishedAt
+) {
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+}
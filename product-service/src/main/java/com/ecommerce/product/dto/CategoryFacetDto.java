@@ -0,0 +1,7 @@
+package com.ecommerce.product.dto;
+
+public record CategoryFacetDto(
+        Long categoryId,
+        String name,
+        long count
+) {}
@@ -9,5 +9,13 @@ public record CategoryRequestDto(
         String name,
 
         @Size(max = 500, message = "Description must be under 500 characters")
-        String description
-) {}
+        String description,
+
+        // Optional on PUT: the version the client read; a different current version means a stale write (409)
+        Long version
+) {
+
+    public CategoryRequestDto(String name, String description) {
+        this(name, description, null);
+    }
+}
@@ -3,5 +3,6 @@ package com.ecommerce.product.dto;
 public record CategoryResponseDto(
         Long id,
         String name,
-        String description
+        String description,
+        Long version
 ) {}
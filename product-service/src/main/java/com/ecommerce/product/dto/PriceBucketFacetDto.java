@@ -0,0 +1,9 @@
+package com.ecommerce.product.dto;
+
+import java.math.BigDecimal;
+
+public record PriceBucketFacetDto(
+        BigDecimal min,
+        BigDecimal max,
+        long count
+) {}
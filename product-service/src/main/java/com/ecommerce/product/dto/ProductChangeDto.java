@@ -0,0 +1,10 @@
+package com.ecommerce.product.dto;
+
+import com.ecommerce.product.model.ProductChange;
+
+public record ProductChangeDto(
+        long seq,
+        Long productId,
+        ProductChange.Type type,
+        ProductResponseDto product
+) {}
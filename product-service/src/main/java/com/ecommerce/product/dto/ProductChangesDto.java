@@ -0,0 +1,9 @@
+package com.ecommerce.product.dto;
+
+import java.util.List;
+
+public record ProductChangesDto(
+        List<ProductChangeDto> changes,
+        boolean hasMore,
+        String nextCursor
+) {}
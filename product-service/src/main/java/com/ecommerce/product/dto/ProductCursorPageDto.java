@@ -0,0 +1,10 @@
+package com.ecommerce.product.dto;
+
+import java.util.List;
+
+public record ProductCursorPageDto(
+        List<ProductResponseDto> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
@@ -0,0 +1,11 @@
+package com.ecommerce.product.dto;
+
+import java.util.List;
+
+public record ProductFacetsDto(
+        long total,
+        List<CategoryFacetDto> categories,
+        List<PriceBucketFacetDto> priceBuckets,
+        long inStock,
+        long outOfStock
+) {}
@@ -14,10 +14,19 @@ public record ProductRequestDto(
         @DecimalMin(value = "0.0", inclusive = false, message = "Price must be more than 0")
         BigDecimal price,
 
+        // Initial stock on POST; ignored on PUT, where stock changes go through PATCH /stock
         @NotNull(message = "Stock required")
         @Min(value = 0, message = "Stock can't be less than 1")
         Integer stock,
 
         @NotNull(message = "Category ID required")
-        Long categoryId
-) {}
+        Long categoryId,
+
+        // Optional on PUT: the version the client read; a different current version means a stale write (409)
+        Long version
+) {
+
+    public ProductRequestDto(String name, String description, BigDecimal price, Integer stock, Long categoryId) {
+        this(name, description, price, stock, categoryId, null);
+    }
+}
@@ -8,5 +8,6 @@ public record ProductResponseDto(
         String description,
         BigDecimal price,
         Integer stock,
-        CategoryResponseDto category
+        CategoryResponseDto category,
+        Long version
 ) {}
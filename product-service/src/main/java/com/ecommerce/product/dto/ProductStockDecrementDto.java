@@ -0,0 +1,10 @@
+package com.ecommerce.product.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record ProductStockDecrementDto(
+                @NotNull(message = "Quantity required")
+                @Min(value = 1, message = "Quantity must be at least 1")
+                Integer quantity
+) {}
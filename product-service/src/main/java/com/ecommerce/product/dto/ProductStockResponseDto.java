@@ -0,0 +1,6 @@
+package com.ecommerce.product.dto;
+
+public record ProductStockResponseDto(
+        Long productId,
+        Integer stock
+) {}
@@ -0,0 +1,13 @@
+package com.ecommerce.product.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record StockReservationLineDto(
+                @NotNull(message = "Product ID required")
+                Long productId,
+
+                @NotNull(message = "Quantity required")
+                @Min(value = 1, message = "Quantity must be at least 1")
+                Integer quantity
+) {}
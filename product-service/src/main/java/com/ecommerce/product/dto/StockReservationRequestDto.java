@@ -0,0 +1,14 @@
+package com.ecommerce.product.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record StockReservationRequestDto(
+                @NotEmpty(message = "At least one line required")
+                @Size(max = 100, message = "At most 100 lines per reservation")
+                List<@NotNull @Valid StockReservationLineDto> lines
+) {}
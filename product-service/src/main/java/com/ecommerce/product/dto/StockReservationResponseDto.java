@@ -0,0 +1,7 @@
+package com.ecommerce.product.dto;
+
+import java.util.List;
+
+public record StockReservationResponseDto(
+        List<ProductStockResponseDto> lines
+) {}
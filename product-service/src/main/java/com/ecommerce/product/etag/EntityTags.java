@@ -0,0 +1,132 @@
+package com.ecommerce.product.etag;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong entity tags for product and category representations.
+ * <p>
+ * Tags are built from version data only (ids and {@code updated_at} timestamps, truncated to the
+ * microsecond precision the database stores), so they can be checked without loading or mapping
+ * the entity, and every instance computes the same tag for the same rows. The same state encoded
+ * as CBOR or Smile is different bytes, so it gets a tag of its own ({@link #forAccept}).
+ * </p>
+ */
+public final class EntityTags {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private EntityTags() {
+    }
+
+    /**
+     * Tag of a product representation. The embedded category is part of the representation, so its
+     * modification time is part of the tag; so is the in-memory stock of a hot product, which the
+     * database row does not reflect.
+     */
+    public static String product(Long id, LocalDateTime updatedAt, LocalDateTime categoryUpdatedAt, Long hotStock) {
+        String tag = "p" + id + "-" + Long.toString(micros(updatedAt), 36)
+                + "-" + Long.toString(micros(categoryUpdatedAt), 36);
+        return quote(hotStock == null ? tag : tag + "-h" + hotStock);
+    }
+
+    public static String category(Long id, LocalDateTime updatedAt) {
+        return quote("c" + id + "-" + Long.toString(micros(updatedAt), 36));
+    }
+
+    public static String categoryList(String digest) {
+        return quote("cl-" + digest);
+    }
+
+    /**
+     * Tag of the representation negotiated for an {@code Accept} header: {@code tag} itself for JSON,
+     * {@code tag} with a {@code +cbor} or {@code +smile} suffix for the binary formats.
+     */
+    public static String forAccept(String tag, String accept) {
+        String format = binaryFormat(accept);
+        return format == null ? tag : tag.substring(0, tag.length() - 1) + "+" + format + "\"";
+    }
+
+    // The converters' choice: the most specific, most preferred accepted type, JSON first on a tie
+    private static String binaryFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "cbor";
+            }
+            if (type.isCompatibleWith(SMILE)) {
+                return "smile";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header with the strong comparison: weak tags never match. A write
+     * applies to the resource, not to one encoding of it, so the tag of any format matches.
+     *
+     * @param ifMatch the header value, {@code null} when absent (no precondition)
+     * @param current the current tag of the resource
+     */
+    public static boolean matches(String ifMatch, String current) {
+        if (ifMatch == null) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || withoutFormat(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code Cache-Control} for a representation served with a tag: {@code no-cache} (always revalidate)
+     * for a zero max-age, otherwise a shared max-age after which caches must revalidate.
+     */
+    public static CacheControl cacheControl(Duration maxAge) {
+        return maxAge.isZero()
+                ? CacheControl.noCache().cachePublic()
+                : CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+    }
+
+    public static long micros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return 0;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+
+    private static String withoutFormat(String tag) {
+        int plus = tag.lastIndexOf('+');
+        return plus < 0 || !tag.endsWith("\"") ? tag : tag.substring(0, plus) + "\"";
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.product.etag;
+
+/**
+ * A representation together with its strong entity tag, both taken from the same state.
+ * <p>
+ * Returned by writes, whose response must carry the tag of the state they wrote: looking the tag
+ * up again after the commit could pair the body with a later write's tag.
+ * </p>
+ */
+public record Tagged<T>(T body, String etag) {
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.product.event;
+
+import com.ecommerce.product.dto.CategoryResponseDto;
+
+/**
+ * Published inside the writing transaction whenever a category is created or updated.
+ *
+ * @param category the category as it was written
+ * @param created  {@code true} for an insert, {@code false} for an update
+ */
+public record CategoryChangedEvent(CategoryResponseDto category, boolean created) {}
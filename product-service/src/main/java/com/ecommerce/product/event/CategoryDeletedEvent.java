@@ -0,0 +1,8 @@
+package com.ecommerce.product.event;
+
+/**
+ * Published inside the writing transaction whenever a category is deleted, together with its products.
+ *
+ * @param categoryId id of the removed category
+ */
+public record CategoryDeletedEvent(Long categoryId) {}
@@ -0,0 +1,15 @@
+package com.ecommerce.product.event;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+
+/**
+ * Published inside the writing transaction whenever a product is created or updated.
+ * <p>
+ * Carries the post-write state as a DTO, so listeners running after commit never
+ * touch a detached entity.
+ * </p>
+ *
+ * @param product the product as it was written
+ * @param created {@code true} for an insert, {@code false} for an update
+ */
+public record ProductChangedEvent(ProductResponseDto product, boolean created) {}
@@ -0,0 +1,8 @@
+package com.ecommerce.product.event;
+
+/**
+ * Published inside the writing transaction whenever a product is deleted.
+ *
+ * @param productId id of the removed product
+ */
+public record ProductDeletedEvent(Long productId) {}
@@ -0,0 +1,18 @@
+package com.ecommerce.product.event;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Published inside the writing transaction whenever the stored stock of products changes
+ * through a stock-only write (patch, decrement, reservation, hot-mode write-back).
+ *
+ * @param stockById new stored stock of each product whose stock changed
+ */
+public record ProductStockChangedEvent(Map<Long, Integer> stockById) {
+
+    /** Ids of the products whose stock changed. */
+    public Collection<Long> productIds() {
+        return stockById.keySet();
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.product.event;
+
+import java.util.Collection;
+
+/**
+ * Published inside the writing transaction when products are removed by a set-based delete
+ * (one event per chunk), so that listeners can evict them as a batch.
+ *
+ * @param productIds ids of the removed products
+ */
+public record ProductsDeletedEvent(Collection<Long> productIds) {}
@@ -0,0 +1,13 @@
+package com.ecommerce.product.event;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+
+import java.util.List;
+
+/**
+ * Published inside each chunk transaction of a bulk import, once for the whole chunk,
+ * so that listeners can apply the new products as a batch.
+ *
+ * @param products the products inserted by the chunk
+ */
+public record ProductsImportedEvent(List<ProductResponseDto> products) {}
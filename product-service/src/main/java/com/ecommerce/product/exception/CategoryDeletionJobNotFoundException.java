@@ -0,0 +1,11 @@
+package com.ecommerce.product.exception;
+
+public class CategoryDeletionJobNotFoundException extends RuntimeException {
+    public CategoryDeletionJobNotFoundException(String message) {
+        super(message);
+    }
+
+    public static CategoryDeletionJobNotFoundException forId() {
+        return new CategoryDeletionJobNotFoundException("Category deletion job not found with provided ID");
+    }
+}
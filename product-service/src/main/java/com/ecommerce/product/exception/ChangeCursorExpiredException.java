@@ -0,0 +1,12 @@
+package com.ecommerce.product.exception;
+
+public class ChangeCursorExpiredException extends RuntimeException {
+    public ChangeCursorExpiredException(String message) {
+        super(message);
+    }
+
+    public static ChangeCursorExpiredException forCursor() {
+        return new ChangeCursorExpiredException(
+                "Changes after this cursor are no longer retained: reload the catalog and follow the feed from a new cursor");
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.product.exception;
+
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+
+    public static ConcurrentUpdateException forStaleVersion() {
+        return new ConcurrentUpdateException("Resource was modified: the supplied version is no longer current");
+    }
+
+    public static ConcurrentUpdateException forRetriesExhausted() {
+        return new ConcurrentUpdateException("Resource is being modified concurrently, please retry");
+    }
+}
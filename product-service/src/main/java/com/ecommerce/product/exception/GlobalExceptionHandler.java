@@ -3,7 +3,9 @@ package com.ecommerce.product.exception;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.*;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -53,6 +55,59 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return createProblemDetail(ex, HttpStatus.CONFLICT, "Data conflict", TYPE_PRODUCT_CONFLICT);
     }
 
+    @ExceptionHandler(CategoryDeletionJobNotFoundException.class)
+    public ProblemDetail handleDeletionJobNotFound(CategoryDeletionJobNotFoundException ex) {
+        log.warn("[{}] {}: {}", DELETION_JOB_NOT_FOUND, DELETION_JOB_NOT_FOUND.description(), ex.getMessage());
+        return createProblemDetail(ex, HttpStatus.NOT_FOUND, "Resource not found", TYPE_DELETION_JOB_NOT_FOUND);
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ProblemDetail handleInsufficientStock(InsufficientStockException ex) {
+        log.warn("[{}] {}: {}", PRODUCT_OUT_OF_STOCK, PRODUCT_OUT_OF_STOCK.description(), ex.getMessage());
+        return createProblemDetail(ex, HttpStatus.CONFLICT, "Out of stock", TYPE_OUT_OF_STOCK);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ProblemDetail handlePreconditionFailed(PreconditionFailedException ex) {
+        log.warn("[{}] {}: {}", PRECONDITION_FAILED, PRECONDITION_FAILED.description(), ex.getMessage());
+        return createProblemDetail(ex, HttpStatus.PRECONDITION_FAILED, "Precondition failed", TYPE_PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ProblemDetail handleConcurrentUpdate(ConcurrentUpdateException ex) {
+        log.warn("[{}] {}: {}", CONCURRENT_UPDATE, CONCURRENT_UPDATE.description(), ex.getMessage());
+        return createProblemDetail(ex, HttpStatus.CONFLICT, "Data conflict", TYPE_CONCURRENT_UPDATE);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursor(InvalidCursorException ex) {
+        log.warn("[{}] {}: {}", INVALID_CURSOR, INVALID_CURSOR.description(), ex.getMessage());
+        return createProblemDetail(ex, HttpStatus.BAD_REQUEST, "Invalid input data", TYPE_INVALID_CURSOR);
+    }
+
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public ProblemDetail handleChangeCursorExpired(ChangeCursorExpiredException ex) {
+        log.warn("[{}] {}: {}", CHANGE_CURSOR_EXPIRED, CHANGE_CURSOR_EXPIRED.description(), ex.getMessage());
+        return createProblemDetail(ex, HttpStatus.GONE, "Cursor expired", TYPE_CHANGE_CURSOR_EXPIRED);
+    }
+
+    // Pool exhausted (or limiter queue full) or database down: the client should back off and retry
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ProblemDetail> handleDatabaseUnavailable(Exception ex) {
+        log.warn("[{}] {}: {}", DATABASE_UNAVAILABLE, DATABASE_UNAVAILABLE.description(), ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                "The service is temporarily overloaded. Retry later");
+        problemDetail.setTitle("Service unavailable");
+        problemDetail.setType(TYPE_SERVICE_UNAVAILABLE);
+        problemDetail.setProperty("service", serviceName);
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
+
     // --- 2. OVERRIDE STANDARD METHOD (DTO VALIDATION) ---
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
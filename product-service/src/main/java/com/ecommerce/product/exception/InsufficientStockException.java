@@ -0,0 +1,17 @@
+package com.ecommerce.product.exception;
+
+import java.util.Collection;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+    public static InsufficientStockException forQuantity() {
+        return new InsufficientStockException("Not enough stock left for the requested quantity");
+    }
+
+    public static InsufficientStockException forProducts(Collection<Long> productIds) {
+        return new InsufficientStockException("Not enough stock left for product(s) " + productIds);
+    }
+}
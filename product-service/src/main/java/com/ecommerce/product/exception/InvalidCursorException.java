@@ -0,0 +1,15 @@
+package com.ecommerce.product.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public static InvalidCursorException forToken() {
+        return new InvalidCursorException("Pagination cursor is malformed or expired");
+    }
+
+    public static InvalidCursorException forSortMismatch() {
+        return new InvalidCursorException("Pagination cursor was issued for a different sort order");
+    }
+}
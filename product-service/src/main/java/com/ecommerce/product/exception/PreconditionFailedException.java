@@ -0,0 +1,11 @@
+package com.ecommerce.product.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public static PreconditionFailedException forETag() {
+        return new PreconditionFailedException("Resource was modified: If-Match does not match the current ETag");
+    }
+}
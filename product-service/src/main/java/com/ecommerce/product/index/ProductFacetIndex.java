@@ -0,0 +1,338 @@
+package com.ecommerce.product.index;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet counts (category, price bucket, in stock) over compressed bitmaps.
+ * <p>
+ * Each product gets a dense int ordinal and is added to one {@link RoaringBitmap} per facet
+ * value: its category, its price bucket and, while {@code stock > 0}, the in-stock bitmap.
+ * A query intersects the filter bitmaps and counts every facet value with
+ * {@link RoaringBitmap#andCardinality}, so one call costs a handful of bitmap operations
+ * instead of one {@code COUNT} query per facet value.
+ * </p>
+ * <p>
+ * Counts are disjunctive: each facet is counted against the other filters only, so the
+ * storefront can show how many products a different category or price bucket would give.
+ * A price filter that cuts through a bucket is resolved exactly, by checking the price of
+ * each product in the edge buckets.
+ * </p>
+ */
+@Component
+public class ProductFacetIndex implements ProductIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    /**
+     * Filters of a facet query; {@code null} components don't filter.
+     *
+     * @param minPrice inclusive lower price bound
+     * @param maxPrice inclusive upper price bound
+     */
+    public record Filter(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {}
+
+    /**
+     * Count of one price bucket.
+     *
+     * @param min inclusive lower bound
+     * @param max exclusive upper bound, {@code null} for the last bucket
+     */
+    public record PriceBucketCount(BigDecimal min, BigDecimal max, long count) {}
+
+    /**
+     * Result of a facet query.
+     *
+     * @param total      products matching every filter
+     * @param byCategory products per category id, largest first; categories without matches are left out
+     * @param byPrice    products per price bucket, in price order, including empty buckets
+     * @param inStock    products with {@code stock > 0}
+     * @param outOfStock products with {@code stock == 0}
+     */
+    public record Counts(long total, Map<Long, Long> byCategory, List<PriceBucketCount> byPrice,
+                         long inStock, long outOfStock) {}
+
+    private final BigDecimal[] priceBuckets;
+    // Lower bound of each bucket in cents; bucket i covers [bounds[i], bounds[i + 1])
+    private final long[] bucketBounds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+    private final RoaringBitmap[] byPriceBucket;
+    private final RoaringBitmap inStock = new RoaringBitmap();
+    private final RoaringBitmap live = new RoaringBitmap();
+
+    private long[] centsByOrdinal = new long[INITIAL_CAPACITY];
+    private long[] categoryByOrdinal = new long[INITIAL_CAPACITY];
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+    private int nextOrdinal;
+
+    private volatile boolean ready;
+
+    /**
+     * @param priceBuckets upper bounds of all but the last price bucket, strictly increasing;
+     *                     {@code 25, 50} gives the buckets {@code [0, 25)}, {@code [25, 50)} and {@code [50, ∞)}
+     */
+    public ProductFacetIndex(@Value("${product.facets.price-buckets:25,50,100,250,500,1000}") BigDecimal[] priceBuckets) {
+        this.priceBuckets = priceBuckets.clone();
+        bucketBounds = new long[priceBuckets.length + 1];
+        for (int i = 0; i < priceBuckets.length; i++) {
+            bucketBounds[i + 1] = ProductPriceIndex.toCents(priceBuckets[i], RoundingMode.HALF_UP);
+            if (bucketBounds[i + 1] <= bucketBounds[i]) {
+                throw new IllegalArgumentException("Price buckets must be positive and strictly increasing: "
+                        + Arrays.toString(priceBuckets));
+            }
+        }
+        byPriceBucket = new RoaringBitmap[bucketBounds.length];
+        Arrays.setAll(byPriceBucket, i -> new RoaringBitmap());
+    }
+
+    /** A new, empty index with the same price buckets, e.g. to count over a one-off catalog scan. */
+    public ProductFacetIndex emptyCopy() {
+        return new ProductFacetIndex(priceBuckets);
+    }
+
+    @Override
+    public void upsert(ProductResponseDto product) {
+        long cents = ProductPriceIndex.toCents(product.price(), RoundingMode.HALF_UP);
+        long categoryId = product.category() != null ? product.category().id() : 0L;
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalById.get(product.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unindex(ordinal);
+            } else {
+                ordinal = allocateOrdinal();
+                ordinalById.put(product.id(), ordinal);
+            }
+
+            centsByOrdinal[ordinal] = cents;
+            categoryByOrdinal[ordinal] = categoryId;
+            byCategory.computeIfAbsent(categoryId, id -> new RoaringBitmap()).add(ordinal);
+            byPriceBucket[bucketOf(cents)].add(ordinal);
+            if (product.stock() != null && product.stock() > 0) {
+                inStock.add(ordinal);
+            }
+            live.add(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateStock(Map<Long, Integer> stockById) {
+        lock.writeLock().lock();
+        try {
+            stockById.forEach((productId, stock) -> {
+                Integer ordinal = ordinalById.get(productId);
+                if (ordinal == null) {
+                    return;
+                }
+                if (stock > 0) {
+                    inStock.add(ordinal);
+                } else {
+                    inStock.remove(ordinal);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.remove(productId);
+            if (ordinal == null) {
+                return;
+            }
+            unindex(ordinal);
+            live.remove(ordinal);
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            ordinalById.clear();
+            byCategory.clear();
+            Arrays.setAll(byPriceBucket, i -> new RoaringBitmap());
+            inStock.clear();
+            live.clear();
+            freeCount = 0;
+            nextOrdinal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void markReady() {
+        lock.writeLock().lock();
+        try {
+            // Bitmaps built one product at a time are made of array containers: pack dense ranges into runs
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+            Arrays.stream(byPriceBucket).forEach(RoaringBitmap::runOptimize);
+            inStock.runOptimize();
+            live.runOptimize();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the products matching the filter, and every facet value against the other filters.
+     *
+     * @param hotStock in-memory stock of hot products, which overrides the indexed stock
+     */
+    public Counts count(Filter filter, Map<Long, Long> hotStock) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap stocked = withHotStock(hotStock);
+            RoaringBitmap category = filter.categoryId() == null ? live
+                    : byCategory.getOrDefault(filter.categoryId(), EMPTY);
+            RoaringBitmap price = filter.minPrice() == null && filter.maxPrice() == null ? live
+                    : priceRange(filter.minPrice(), filter.maxPrice());
+            RoaringBitmap stock = filter.inStock() == null ? live
+                    : filter.inStock() ? stocked : RoaringBitmap.andNot(live, stocked);
+
+            RoaringBitmap priceAndStock = RoaringBitmap.and(price, stock);
+            RoaringBitmap categoryAndStock = RoaringBitmap.and(category, stock);
+            RoaringBitmap categoryAndPrice = RoaringBitmap.and(category, price);
+
+            List<Map.Entry<Long, Long>> categories = new ArrayList<>();
+            byCategory.forEach((categoryId, products) -> {
+                long count = RoaringBitmap.andCardinality(products, priceAndStock);
+                if (count > 0) {
+                    categories.add(Map.entry(categoryId, count));
+                }
+            });
+            categories.sort(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+            Map<Long, Long> categoryCounts = new LinkedHashMap<>();
+            categories.forEach(entry -> categoryCounts.put(entry.getKey(), entry.getValue()));
+
+            List<PriceBucketCount> buckets = new ArrayList<>(byPriceBucket.length);
+            for (int i = 0; i < byPriceBucket.length; i++) {
+                BigDecimal max = i + 1 < bucketBounds.length ? BigDecimal.valueOf(bucketBounds[i + 1], 2) : null;
+                buckets.add(new PriceBucketCount(BigDecimal.valueOf(bucketBounds[i], 2), max,
+                        RoaringBitmap.andCardinality(byPriceBucket[i], categoryAndStock)));
+            }
+
+            long inStockCount = RoaringBitmap.andCardinality(stocked, categoryAndPrice);
+            return new Counts(RoaringBitmap.andCardinality(category, priceAndStock), categoryCounts, buckets,
+                    inStockCount, categoryAndPrice.getLongCardinality() - inStockCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Hot products sell from memory without stock events: their counters decide, at query time
+    private RoaringBitmap withHotStock(Map<Long, Long> hotStock) {
+        RoaringBitmap stocked = null;
+        for (Map.Entry<Long, Long> hot : hotStock.entrySet()) {
+            Integer ordinal = ordinalById.get(hot.getKey());
+            if (ordinal == null || inStock.contains(ordinal) == hot.getValue() > 0) {
+                continue;
+            }
+            if (stocked == null) {
+                stocked = inStock.clone();
+            }
+            if (hot.getValue() > 0) {
+                stocked.add(ordinal);
+            } else {
+                stocked.remove(ordinal);
+            }
+        }
+        return stocked != null ? stocked : inStock;
+    }
+
+    // Buckets inside the range are taken whole; the (at most two) edge buckets are checked price by price
+    private RoaringBitmap priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        long min = minPrice != null ? ProductPriceIndex.boundToCents(minPrice, RoundingMode.CEILING) : Long.MIN_VALUE;
+        long max = maxPrice != null ? ProductPriceIndex.boundToCents(maxPrice, RoundingMode.FLOOR) : Long.MAX_VALUE;
+        RoaringBitmap result = new RoaringBitmap();
+        for (int i = 0; i < byPriceBucket.length; i++) {
+            long low = i == 0 ? Long.MIN_VALUE : bucketBounds[i];
+            long high = i + 1 < bucketBounds.length ? bucketBounds[i + 1] - 1 : Long.MAX_VALUE;
+            if (high < min || low > max) {
+                continue;
+            }
+            if (low >= min && high <= max) {
+                result.or(byPriceBucket[i]);
+            } else {
+                byPriceBucket[i].forEach((int ordinal) -> {
+                    long cents = centsByOrdinal[ordinal];
+                    if (cents >= min && cents <= max) {
+                        result.add(ordinal);
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
+    private int bucketOf(long cents) {
+        int pos = Arrays.binarySearch(bucketBounds, cents);
+        return Math.max(0, pos >= 0 ? pos : -pos - 2);
+    }
+
+    // Removes the ordinal from the value bitmaps; the caller decides whether it stays live
+    private void unindex(int ordinal) {
+        long categoryId = categoryByOrdinal[ordinal];
+        RoaringBitmap category = byCategory.get(categoryId);
+        if (category != null) {
+            category.remove(ordinal);
+            if (category.isEmpty()) {
+                byCategory.remove(categoryId);
+            }
+        }
+        byPriceBucket[bucketOf(centsByOrdinal[ordinal])].remove(ordinal);
+        inStock.remove(ordinal);
+    }
+
+    private int allocateOrdinal() {
+        if (freeCount > 0) {
+            return freeOrdinals[--freeCount];
+        }
+        if (nextOrdinal == centsByOrdinal.length) {
+            int capacity = centsByOrdinal.length * 2;
+            centsByOrdinal = Arrays.copyOf(centsByOrdinal, capacity);
+            categoryByOrdinal = Arrays.copyOf(categoryByOrdinal, capacity);
+        }
+        return nextOrdinal++;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.product.index;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * In-memory, read-optimised view over the catalog.
+ * <p>
+ * Implementations are kept in sync by {@link ProductIndexSynchronizer}: a full load at
+ * startup, then incremental updates after every committed product write. Until the first
+ * load completes {@link #isReady()} is {@code false} and callers must fall back to the
+ * database.
+ * </p>
+ */
+public interface ProductIndex {
+
+    /** Inserts the product, or replaces the previously indexed version. */
+    void upsert(ProductResponseDto product);
+
+    /**
+     * Upserts a batch of products. Implementations whose single upsert is costly
+     * (e.g. copy-on-write) override this to apply the whole batch in one step.
+     */
+    default void upsertAll(Collection<ProductResponseDto> products) {
+        products.forEach(this::upsert);
+    }
+
+    /** Removes the product; a no-op when it isn't indexed. */
+    void remove(Long productId);
+
+    /** Removes a batch of products; ids that aren't indexed are ignored. */
+    default void removeAll(Collection<Long> productIds) {
+        productIds.forEach(this::remove);
+    }
+
+    /**
+     * Applies a stock-only write to already indexed products. Ignored by default: only indexes
+     * that look at the stock override this.
+     */
+    default void updateStock(Map<Long, Integer> stockById) {
+    }
+
+    /** Drops all entries and returns to the not-ready state, ahead of a full reload. */
+    void clear();
+
+    boolean isReady();
+
+    void markReady();
+}
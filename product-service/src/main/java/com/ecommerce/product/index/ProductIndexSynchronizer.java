@@ -0,0 +1,116 @@
+package com.ecommerce.product.index;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.event.ProductDeletedEvent;
+import com.ecommerce.product.event.ProductStockChangedEvent;
+import com.ecommerce.product.event.ProductsDeletedEvent;
+import com.ecommerce.product.event.ProductsImportedEvent;
+import com.ecommerce.product.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps every {@link ProductIndex} in step with the database.
+ * <p>
+ * Indexes are loaded once from the catalog export stream when the application is ready,
+ * then updated from product events after the writing transaction commits, so they never
+ * see rolled-back data. Writes that commit while the initial load is still running win
+ * over the (possibly older) rows read by the load.
+ * </p>
+ */
+@Component
+public class ProductIndexSynchronizer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductIndexSynchronizer.class);
+
+    private final List<ProductIndex> indexes;
+    private final ProductService productService;
+
+    // Non-null only while the initial load runs: ids written meanwhile, to be skipped by the load
+    private Set<Long> touchedDuringLoad;
+    // Same lifetime: stock written meanwhile, which overrides the (possibly older) stock read by the load
+    private Map<Long, Integer> stockDuringLoad;
+
+    public ProductIndexSynchronizer(List<ProductIndex> indexes, ProductService productService) {
+        this.indexes = indexes;
+        this.productService = productService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        log.info("Loading {} product index(es) from the catalog", indexes.size());
+        synchronized (this) {
+            touchedDuringLoad = new HashSet<>();
+            stockDuringLoad = new HashMap<>();
+            indexes.forEach(ProductIndex::clear);
+        }
+
+        long loaded = productService.exportCatalog(this::loadOne);
+
+        synchronized (this) {
+            touchedDuringLoad = null;
+            stockDuringLoad = null;
+            indexes.forEach(ProductIndex::markReady);
+        }
+        log.info("Product indexes ready - {} product(s) loaded", loaded);
+    }
+
+    private synchronized void loadOne(ProductResponseDto product) {
+        if (touchedDuringLoad.contains(product.id())) {
+            return;
+        }
+        Integer stock = stockDuringLoad.get(product.id());
+        ProductResponseDto loaded = stock == null ? product : new ProductResponseDto(product.id(), product.name(),
+                product.description(), product.price(), stock, product.category(), product.version());
+        indexes.forEach(index -> index.upsert(loaded));
+    }
+
+    @TransactionalEventListener
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        markTouched(event.product().id());
+        indexes.forEach(index -> index.upsert(event.product()));
+    }
+
+    @TransactionalEventListener
+    public synchronized void onProductsImported(ProductsImportedEvent event) {
+        event.products().forEach(product -> markTouched(product.id()));
+        indexes.forEach(index -> index.upsertAll(event.products()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStockChanged(ProductStockChangedEvent event) {
+        if (stockDuringLoad != null) {
+            stockDuringLoad.putAll(event.stockById());
+        }
+        indexes.forEach(index -> index.updateStock(event.stockById()));
+    }
+
+    @TransactionalEventListener
+    public synchronized void onProductDeleted(ProductDeletedEvent event) {
+        markTouched(event.productId());
+        indexes.forEach(index -> index.remove(event.productId()));
+    }
+
+    @TransactionalEventListener
+    public synchronized void onProductsDeleted(ProductsDeletedEvent event) {
+        event.productIds().forEach(this::markTouched);
+        indexes.forEach(index -> index.removeAll(event.productIds()));
+    }
+
+    private void markTouched(Long productId) {
+        if (touchedDuringLoad != null) {
+            touchedDuringLoad.add(productId);
+        }
+    }
+}
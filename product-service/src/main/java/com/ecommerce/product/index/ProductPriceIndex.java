@@ -0,0 +1,294 @@
+package com.ecommerce.product.index;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Price-ordered index for range queries.
+ * <p>
+ * Prices are stored as {@code long} cents in a primitive array sorted by {@code (cents, id)},
+ * with product ids in a parallel array; a range lookup is two binary searches plus a slice.
+ * Readers work on an immutable snapshot read from a single volatile field, so they never
+ * lock and never observe a half-applied write. Writers are serialized and publish a new
+ * copy of the arrays (copy-on-write); during the initial load entries are only staged and
+ * the arrays are built once in {@link #markReady()}.
+ * </p>
+ */
+@Component
+public class ProductPriceIndex implements ProductIndex {
+
+    private static final BigDecimal MIN_PRICE = BigDecimal.valueOf(Long.MIN_VALUE, 2);
+    private static final BigDecimal MAX_PRICE = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+
+    private record Snapshot(long[] cents, long[] ids) {
+
+        static final Snapshot EMPTY = new Snapshot(new long[0], new long[0]);
+
+        Snapshot with(long price, long id) {
+            int pos = -find(price, id) - 1;
+            long[] newCents = new long[cents.length + 1];
+            long[] newIds = new long[ids.length + 1];
+            System.arraycopy(cents, 0, newCents, 0, pos);
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            newCents[pos] = price;
+            newIds[pos] = id;
+            System.arraycopy(cents, pos, newCents, pos + 1, cents.length - pos);
+            System.arraycopy(ids, pos, newIds, pos + 1, ids.length - pos);
+            return new Snapshot(newCents, newIds);
+        }
+
+        // Linear merge with entries already sorted by (cents, id), none of them present yet
+        Snapshot merge(long[] addedCents, long[] addedIds) {
+            int total = cents.length + addedCents.length;
+            long[] newCents = new long[total];
+            long[] newIds = new long[total];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < total; k++) {
+                boolean takeExisting = j == addedCents.length || (i < cents.length
+                        && (cents[i] < addedCents[j] || (cents[i] == addedCents[j] && ids[i] < addedIds[j])));
+                if (takeExisting) {
+                    newCents[k] = cents[i];
+                    newIds[k] = ids[i++];
+                } else {
+                    newCents[k] = addedCents[j];
+                    newIds[k] = addedIds[j++];
+                }
+            }
+            return new Snapshot(newCents, newIds);
+        }
+
+        // Single pass over the arrays, whatever the number of removed entries
+        Snapshot withoutAll(Set<Long> removedIds) {
+            long[] newCents = new long[cents.length];
+            long[] newIds = new long[ids.length];
+            int size = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (!removedIds.contains(ids[i])) {
+                    newCents[size] = cents[i];
+                    newIds[size++] = ids[i];
+                }
+            }
+            return new Snapshot(Arrays.copyOf(newCents, size), Arrays.copyOf(newIds, size));
+        }
+
+        Snapshot without(long price, long id) {
+            int pos = find(price, id);
+            if (pos < 0) {
+                return this;
+            }
+            long[] newCents = new long[cents.length - 1];
+            long[] newIds = new long[ids.length - 1];
+            System.arraycopy(cents, 0, newCents, 0, pos);
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(cents, pos + 1, newCents, pos, cents.length - pos - 1);
+            System.arraycopy(ids, pos + 1, newIds, pos, ids.length - pos - 1);
+            return new Snapshot(newCents, newIds);
+        }
+
+        // Binary search on (cents, id); same contract as Arrays.binarySearch
+        int find(long price, long id) {
+            int low = 0;
+            int high = cents.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = cents[mid] != price ? Long.compare(cents[mid], price) : Long.compare(ids[mid], id);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        // First position whose price is >= the given one
+        int lowerBound(long price) {
+            int low = 0;
+            int high = cents.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cents[mid] < price) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * One page of a price range lookup.
+     *
+     * @param productIds ids of the page, in price order
+     * @param totalHits  number of products in the range across all pages
+     */
+    public record Range(List<Long> productIds, long totalHits) {}
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean ready;
+
+    // Writer-side view of the current price of every product, guarded by "this"
+    private final Map<Long, Long> centsById = new HashMap<>();
+
+    @Override
+    public synchronized void upsert(ProductResponseDto product) {
+        long cents = toCents(product.price(), RoundingMode.HALF_UP);
+        Long previous = centsById.put(product.id(), cents);
+        if (!ready || (previous != null && previous == cents)) {
+            return;
+        }
+        Snapshot current = previous != null ? snapshot.without(previous, product.id()) : snapshot;
+        snapshot = current.with(cents, product.id());
+    }
+
+    // One copy of the arrays for the whole batch instead of one per product
+    @Override
+    public synchronized void upsertAll(Collection<ProductResponseDto> products) {
+        Map<Long, Long> batch = new LinkedHashMap<>();
+        products.forEach(product -> batch.put(product.id(), toCents(product.price(), RoundingMode.HALF_UP)));
+
+        Snapshot current = snapshot;
+        List<long[]> added = new ArrayList<>(batch.size());
+        for (Map.Entry<Long, Long> entry : batch.entrySet()) {
+            Long previous = centsById.put(entry.getKey(), entry.getValue());
+            if (!ready || (previous != null && previous.longValue() == entry.getValue())) {
+                continue;
+            }
+            if (previous != null) {
+                current = current.without(previous, entry.getKey());
+            }
+            added.add(new long[]{entry.getValue(), entry.getKey()});
+        }
+        if (!ready) {
+            return;
+        }
+
+        added.sort(Comparator.<long[]>comparingLong(e -> e[0]).thenComparingLong(e -> e[1]));
+        long[] addedCents = new long[added.size()];
+        long[] addedIds = new long[added.size()];
+        for (int i = 0; i < added.size(); i++) {
+            addedCents[i] = added.get(i)[0];
+            addedIds[i] = added.get(i)[1];
+        }
+        snapshot = current.merge(addedCents, addedIds);
+    }
+
+    @Override
+    public synchronized void remove(Long productId) {
+        Long previous = centsById.remove(productId);
+        if (ready && previous != null) {
+            snapshot = snapshot.without(previous, productId);
+        }
+    }
+
+    @Override
+    public synchronized void removeAll(Collection<Long> productIds) {
+        Set<Long> removed = new HashSet<>();
+        for (Long productId : productIds) {
+            if (centsById.remove(productId) != null) {
+                removed.add(productId);
+            }
+        }
+        if (ready && !removed.isEmpty()) {
+            snapshot = snapshot.withoutAll(removed);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        ready = false;
+        centsById.clear();
+        snapshot = Snapshot.EMPTY;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public synchronized void markReady() {
+        long[] ids = centsById.keySet().stream().mapToLong(Long::longValue).toArray();
+        long[] cents = new long[ids.length];
+        int[] order = IntStream.range(0, ids.length).boxed()
+                .sorted(Comparator.<Integer>comparingLong(i -> centsById.get(ids[i])).thenComparingLong(i -> ids[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        long[] sortedIds = new long[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[i] = ids[order[i]];
+            cents[i] = centsById.get(sortedIds[i]);
+        }
+        snapshot = new Snapshot(cents, sortedIds);
+        ready = true;
+    }
+
+    /**
+     * Returns one page of the products whose price lies in {@code [minPrice, maxPrice]}.
+     *
+     * @param descending {@code true} for most expensive first; ties are always broken by ascending id
+     */
+    public Range range(BigDecimal minPrice, BigDecimal maxPrice, long offset, int limit, boolean descending) {
+        Snapshot current = snapshot;
+        int from = current.lowerBound(boundToCents(minPrice, RoundingMode.CEILING));
+        int to = current.lowerBound(saturatedIncrement(boundToCents(maxPrice, RoundingMode.FLOOR)));
+        long total = Math.max(0, to - from);
+        if (offset >= total) {
+            return new Range(List.of(), total);
+        }
+
+        int count = (int) Math.min(limit, total - offset);
+        Long[] page = new Long[count];
+        for (int i = 0; i < count; i++) {
+            int pos = descending ? to - 1 - (int) offset - i : from + (int) offset + i;
+            page[i] = current.ids()[pos];
+        }
+        return new Range(List.of(page), total);
+    }
+
+    static long toCents(BigDecimal price, RoundingMode rounding) {
+        return price.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+
+    /**
+     * Converts a price bound taken from a query. Unlike stored prices, a bound can be anything the
+     * client sent: beyond the range of {@code long} cents it saturates, so it still matches every
+     * price or none instead of failing the request.
+     */
+    static long boundToCents(BigDecimal bound, RoundingMode rounding) {
+        if (bound.compareTo(MIN_PRICE) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        if (bound.compareTo(MAX_PRICE) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        BigDecimal cents = bound.movePointRight(2);
+        // A fraction of a cent rounds like any other of its sign: no rescaling of a bound like 1e-999999999
+        if (cents.abs().compareTo(BigDecimal.ONE) < 0) {
+            cents = BigDecimal.valueOf(cents.signum(), 1);
+        }
+        return cents.setScale(0, rounding).longValue();
+    }
+
+    private static long saturatedIncrement(long value) {
+        return value == Long.MAX_VALUE ? value : value + 1;
+    }
+}
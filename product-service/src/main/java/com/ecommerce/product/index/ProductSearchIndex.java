@@ -0,0 +1,243 @@
+package com.ecommerce.product.index;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over product name and description with BM25 ranking.
+ * <p>
+ * Each product gets a dense int ordinal; every term maps to a {@link PostingList} of
+ * ordinals kept sorted in a primitive array. A query only walks the postings of its own
+ * terms, so its cost grows with the number of matches rather than with the catalog.
+ * Name terms count {@value #NAME_WEIGHT} times, so a match in the name outranks one in the
+ * description. The last query term also matches as a prefix (search-as-you-type), capped
+ * at {@value #MAX_PREFIX_EXPANSIONS} expansions.
+ * </p>
+ */
+@Component
+public class ProductSearchIndex implements ProductIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    static final int NAME_WEIGHT = 2;
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+
+    private long[] idByOrdinal = new long[INITIAL_CAPACITY];
+    private int[] lengthByOrdinal = new int[INITIAL_CAPACITY];
+    private String[][] termsByOrdinal = new String[INITIAL_CAPACITY][];
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+    private int nextOrdinal;
+    private int docCount;
+    private long totalLength;
+
+    private volatile boolean ready;
+
+    /**
+     * One page of ranked results.
+     *
+     * @param productIds ids of the page, best match first
+     * @param totalHits  number of matching products across all pages
+     */
+    public record Hits(List<Long> productIds, long totalHits) {}
+
+    @Override
+    public void upsert(ProductResponseDto product) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        SearchTokenizer.tokenize(product.name()).forEach(t -> frequencies.merge(t, NAME_WEIGHT, Integer::sum));
+        SearchTokenizer.tokenize(product.description()).forEach(t -> frequencies.merge(t, 1, Integer::sum));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalById.get(product.id());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unindex(ordinal);
+            } else {
+                ordinal = allocateOrdinal();
+                ordinalById.put(product.id(), ordinal);
+                idByOrdinal[ordinal] = product.id();
+            }
+
+            String[] terms = new String[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).put(ordinal, entry.getValue());
+                terms[i++] = entry.getKey();
+            }
+            termsByOrdinal[ordinal] = terms;
+            lengthByOrdinal[ordinal] = length;
+            totalLength += length;
+            docCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.remove(productId);
+            if (ordinal == null) {
+                return;
+            }
+            unindex(ordinal);
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            postings.clear();
+            ordinalById.clear();
+            idByOrdinal = new long[INITIAL_CAPACITY];
+            lengthByOrdinal = new int[INITIAL_CAPACITY];
+            termsByOrdinal = new String[INITIAL_CAPACITY][];
+            freeCount = 0;
+            nextOrdinal = 0;
+            docCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Ranks the products matching any term of the query with BM25 and returns one page.
+     *
+     * @param query  free text; tokenized the same way as indexed documents
+     * @param offset index of the first hit to return
+     * @param limit  maximum number of hits to return
+     */
+    public Hits search(String query, long offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            if (docCount == 0) {
+                return new Hits(List.of(), 0);
+            }
+            List<PostingList> matched = new ArrayList<>();
+            for (int i = 0; i < terms.size() - 1; i++) {
+                PostingList list = postings.get(terms.get(i));
+                if (list != null) {
+                    matched.add(list);
+                }
+            }
+            String last = terms.get(terms.size() - 1);
+            postings.subMap(last, true, last + Character.MAX_VALUE, false).values().stream()
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .forEach(matched::add);
+
+            int expected = matched.stream().mapToInt(PostingList::size).sum();
+            if (expected == 0) {
+                return new Hits(List.of(), 0);
+            }
+            ScoreAccumulator scores = new ScoreAccumulator(expected);
+            double averageLength = (double) totalLength / docCount;
+            for (PostingList list : matched) {
+                double idf = Math.log(1 + (docCount - list.size() + 0.5) / (list.size() + 0.5));
+                for (int i = 0; i < list.size(); i++) {
+                    int doc = list.doc(i);
+                    int tf = list.freq(i);
+                    double norm = K1 * (1 - B + B * lengthByOrdinal[doc] / averageLength);
+                    scores.add(doc, (float) (idf * tf * (K1 + 1) / (tf + norm)));
+                }
+            }
+            return page(scores, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Sorts hits by score descending, ties by ordinal ascending, and maps the requested slice to ids
+    private Hits page(ScoreAccumulator scores, long offset, int limit) {
+        int total = scores.size();
+        int[] docs = new int[total];
+        float[] values = new float[total];
+        scores.drainTo(docs, values);
+
+        // BM25 scores are positive, so their IEEE bits sort like the floats themselves
+        long[] keys = new long[total];
+        for (int i = 0; i < total; i++) {
+            keys[i] = ((long) Float.floatToIntBits(values[i]) << 32) | (~docs[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(keys);
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, total));
+        for (long rank = offset; rank < total && ids.size() < limit; rank++) {
+            int doc = ~(int) keys[total - 1 - (int) rank];
+            ids.add(idByOrdinal[doc]);
+        }
+        return new Hits(ids, total);
+    }
+
+    private void unindex(int ordinal) {
+        for (String term : termsByOrdinal[ordinal]) {
+            PostingList list = postings.get(term);
+            list.remove(ordinal);
+            if (list.size() == 0) {
+                postings.remove(term);
+            }
+        }
+        termsByOrdinal[ordinal] = null;
+        totalLength -= lengthByOrdinal[ordinal];
+        lengthByOrdinal[ordinal] = 0;
+        docCount--;
+    }
+
+    private int allocateOrdinal() {
+        if (freeCount > 0) {
+            return freeOrdinals[--freeCount];
+        }
+        if (nextOrdinal == idByOrdinal.length) {
+            int capacity = nextOrdinal * 2;
+            idByOrdinal = Arrays.copyOf(idByOrdinal, capacity);
+            lengthByOrdinal = Arrays.copyOf(lengthByOrdinal, capacity);
+            termsByOrdinal = Arrays.copyOf(termsByOrdinal, capacity);
+        }
+        return nextOrdinal++;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.product.index;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from document ordinal to accumulated score, sized by the number of
+ * matching postings rather than by the catalog.
+ */
+final class ScoreAccumulator {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private float[] values;
+    private int size;
+
+    ScoreAccumulator(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new float[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    void add(int doc, float score) {
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        int mask = keys.length - 1;
+        int slot = mix(doc) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != doc) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = doc;
+            size++;
+        }
+        values[slot] += score;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Copies the entries into the given arrays, which must hold at least {@link #size()} elements. */
+    void drainTo(int[] docs, float[] scores) {
+        int n = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                docs[n] = keys[slot];
+                scores[n] = values[slot];
+                n++;
+            }
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        float[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new float[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                add(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.product.job;
+
+import com.ecommerce.product.dto.CategoryDeletionJobDto;
+import com.ecommerce.product.dto.CategoryDeletionJobDto.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import static com.ecommerce.product.constant.LogCode.INTERNAL_ERROR;
+
+/**
+ * Background category deletions and their progress.
+ * <p>
+ * Jobs run on the application task executor and are tracked in memory by this instance only;
+ * finished jobs are kept for {@link #RETENTION} so clients can read the outcome, then dropped.
+ * A second request for a category that is already being deleted joins the running job.
+ * </p>
+ */
+@Component
+public class CategoryDeletionJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryDeletionJobs.class);
+
+    static final Duration RETENTION = Duration.ofHours(1);
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final TaskExecutor executor;
+
+    public CategoryDeletionJobs(@Qualifier("applicationTaskExecutor") TaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts deleting a category in the background.
+     *
+     * @param categoryId    the category being deleted
+     * @param productsTotal products the category holds at submission, for progress reporting
+     * @param work          the deletion; reports each chunk of deleted products to the given consumer
+     * @return the job as first seen by the client
+     */
+    public synchronized CategoryDeletionJobDto submit(Long categoryId, long productsTotal, Consumer<LongConsumer> work) {
+        Instant now = Instant.now();
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(now.minus(RETENTION)));
+
+        Optional<Job> running = jobs.values().stream()
+                .filter(job -> job.categoryId.equals(categoryId) && job.status == Status.RUNNING)
+                .findFirst();
+        if (running.isPresent()) {
+            return running.get().toDto();
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), categoryId, productsTotal, now);
+        jobs.put(job.id, job);
+        CategoryDeletionJobDto submitted = job.toDto();
+        executor.execute(() -> run(job, work));
+        return submitted;
+    }
+
+    public Optional<CategoryDeletionJobDto> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toDto);
+    }
+
+    private void run(Job job, Consumer<LongConsumer> work) {
+        try {
+            work.accept(job.deleted::addAndGet);
+            job.finish(Status.COMPLETED);
+        } catch (RuntimeException e) {
+            log.error("[{}] Category deletion job {} failed - category id: {}, products deleted: {}",
+                    INTERNAL_ERROR, job.id, job.categoryId, job.deleted.get(), e);
+            job.finish(Status.FAILED);
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final Long categoryId;
+        private final long productsTotal;
+        private final Instant startedAt;
+        private final AtomicLong deleted = new AtomicLong();
+        private volatile Status status = Status.RUNNING;
+        private volatile Instant finishedAt;
+
+        Job(String id, Long categoryId, long productsTotal, Instant startedAt) {
+            this.id = id;
+            this.categoryId = categoryId;
+            this.productsTotal = productsTotal;
+            this.startedAt = startedAt;
+        }
+
+        void finish(Status outcome) {
+            finishedAt = Instant.now();
+            status = outcome;
+        }
+
+        CategoryDeletionJobDto toDto() {
+            return new CategoryDeletionJobDto(id, categoryId, status, productsTotal, deleted.get(), startedAt, finishedAt);
+        }
+    }
+}
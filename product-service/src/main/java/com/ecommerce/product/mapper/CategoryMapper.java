@@ -13,7 +13,8 @@ public class CategoryMapper {
         return new CategoryResponseDto(
                 category.getId(),
                 category.getName(),
-                category.getDescription());
+                category.getDescription(),
+                category.getVersion());
     }
 
     public Category toEntity(CategoryRequestDto dto) {
@@ -1,7 +1,10 @@
 package com.ecommerce.product.mapper;
 
+import com.ecommerce.product.catalog.CategoryCatalog;
+import com.ecommerce.product.dto.CategoryResponseDto;
 import com.ecommerce.product.dto.ProductRequestDto;
 import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.model.Category;
 import com.ecommerce.product.model.Product;
 import org.springframework.stereotype.Component;
 
@@ -9,9 +12,11 @@ import org.springframework.stereotype.Component;
 public class ProductMapper {
 
     private final CategoryMapper categoryMapper;
+    private final CategoryCatalog categoryCatalog;
 
-    public ProductMapper(CategoryMapper categoryMapper) {
+    public ProductMapper(CategoryMapper categoryMapper, CategoryCatalog categoryCatalog) {
         this.categoryMapper = categoryMapper;
+        this.categoryCatalog = categoryCatalog;
     }
 
     public ProductResponseDto toResponseDTO(Product product) {
@@ -24,10 +29,20 @@ public class ProductMapper {
                 product.getDescription(),
                 product.getPrice(),
                 product.getStock(),
-                categoryMapper.toResponseDto(product.getCategory()) // Mapping annidato
+                toCategoryDto(product.getCategory()), // Mapping annidato
+                product.getVersion()
         );
     }
 
+    // Reuses the shared instance from the category snapshot; reading only the id keeps a lazy
+    // reference uninitialized. Falls back to the entity for a category the snapshot doesn't know yet.
+    private CategoryResponseDto toCategoryDto(Category category) {
+        if (category == null)
+            return null;
+        return categoryCatalog.find(category.getId())
+                .orElseGet(() -> categoryMapper.toResponseDto(category));
+    }
+
     public Product toEntity(ProductRequestDto dto) {
         if (dto == null)
             return null;
@@ -47,7 +62,7 @@ public class ProductMapper {
         product.setName(dto.name());
         product.setDescription(dto.description());
         product.setPrice(dto.price());
-        product.setStock(dto.stock());
+        // Lo stock non si aggiorna con un PUT: passa solo da PATCH /stock e dalle scritture di checkout
         // Nota: Il cambio di categoria verrà gestito dalla logica del Service
         return product;
     }
@@ -0,0 +1,93 @@
+package com.ecommerce.product.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every method the given service interfaces declare as {@code service.method}, tagged with
+ * the interface and method name, with a percentile histogram so the percentiles can be aggregated
+ * across instances.
+ * <p>
+ * The timer goes in front of the transaction advice, so the time includes opening and committing
+ * the transaction. All the timers of a service are registered when its bean is created, keyed by
+ * the methods the proxy can be called with; a call looks its timer up by {@link Method} and
+ * records the elapsed nanoseconds, without building tags or a {@code Timer.Sample}. Overloads
+ * share a timer.
+ * </p>
+ */
+public class ServiceMethodTimers extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final List<Class<?>> services;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMethodTimers(ObjectProvider<MeterRegistry> meterRegistry, Class<?>... services) {
+        this.meterRegistry = meterRegistry;
+        this.services = List.of(services);
+        this.advisor = new DefaultPointcutAdvisor(new ServiceMethods(), new TimingInterceptor());
+        setBeforeExistingAdvisors(true);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        for (Class<?> service : services) {
+            if (service.isAssignableFrom(targetClass)) {
+                register(service, targetClass);
+            }
+        }
+        return super.postProcessAfterInitialization(bean, beanName);
+    }
+
+    private void register(Class<?> service, Class<?> targetClass) {
+        MeterRegistry registry = meterRegistry.getObject();
+        for (Method method : service.getMethods()) {
+            Timer timer = Timer.builder("service.method")
+                    .description("Time spent in a service method, transaction included")
+                    .tags("service", service.getSimpleName(), "method", method.getName())
+                    .publishPercentileHistogram()
+                    .register(registry);
+            timers.put(method, timer);
+            timers.put(AopUtils.getMostSpecificMethod(method, targetClass), timer);
+        }
+    }
+
+    // The methods a timer was registered for: those of the service interfaces and their implementations
+    private final class ServiceMethods extends StaticMethodMatcherPointcut {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return timers.containsKey(method);
+        }
+    }
+
+    private final class TimingInterceptor implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Timer timer = timers.get(invocation.getMethod());
+            if (timer == null) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ecommerce.product.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -11,7 +12,8 @@ import java.util.Objects;
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 100)
@@ -20,9 +22,17 @@ public class Category {
     @Column(length = 500)
     private String description;
 
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Nessun cascade: i prodotti di una categoria si cancellano con DELETE set-based a blocchi
+    // (vedi CategoryServiceImpl), non caricandoli uno a uno nel persistence context
+    @OneToMany(mappedBy = "category")
     private List<Product> products = new ArrayList<>();
 
+    // Lock ottimistico: ogni UPDATE dell'entità incrementa la versione e fallisce se un'altra
+    // transazione l'ha già modificata
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -30,7 +40,7 @@ public class Category {
     private LocalDateTime updatedAt;
 
     public Category() {
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = now();
         this.updatedAt = this.createdAt;
     }
 
@@ -53,8 +63,18 @@ public class Category {
     public List<Product> getProducts() { return products; }
     public void setProducts(List<Product> products) { this.products = products; }
 
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
     @PreUpdate
-    public void preUpdate() { this.updatedAt = LocalDateTime.now(); }
+    public void preUpdate() { this.updatedAt = now(); }
+
+    // Stessa precisione della colonna (microsecondi): l'ETag calcolato dall'entità in memoria
+    // coincide con quello letto dal database
+    private static LocalDateTime now() { return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS); }
 
     @Override
     public boolean equals(Object o) {
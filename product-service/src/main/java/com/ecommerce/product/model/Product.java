@@ -3,14 +3,22 @@ package com.ecommerce.product.model;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // Keyset pagination on (updated_at, id); the primary key already covers the id-only ordering
+        @Index(name = "idx_products_updated_at_id", columnList = "updated_at, id"),
+        // Price-range fallback while the in-memory price index is loading
+        @Index(name = "idx_products_price_id", columnList = "price, id")
+})
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence a blocchi: Hibernate riserva 50 id per chiamata e può raggruppare gli INSERT in batch JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 150)
@@ -22,13 +30,21 @@ public class Product {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
-    @Column(nullable = false)
+    // Scritta solo dagli UPDATE set-based (PATCH, checkout, prenotazioni, flush hot-stock): l'UPDATE
+    // dell'entità di un PUT non la include, così non riscrive un valore letto prima di un decremento
+    @Column(nullable = false, updatable = false)
     private Integer stock;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    // Lock ottimistico: ogni UPDATE dell'entità incrementa la versione e fallisce se un'altra
+    // transazione l'ha già modificata. Le scritture di solo stock (UPDATE set-based) non la toccano
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -36,7 +52,7 @@ public class Product {
     private LocalDateTime updatedAt;
 
     public Product() {
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = now();
         this.updatedAt = this.createdAt;
     }
 
@@ -64,11 +80,21 @@ public class Product {
     public Integer getStock() { return stock; }
     public void setStock(Integer stock) { this.stock = stock; }
 
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
     public Category getCategory() { return category; }
     public void setCategory(Category category) { this.category = category; }
 
     @PreUpdate
-    public void preUpdate() { this.updatedAt = LocalDateTime.now(); }
+    public void preUpdate() { this.updatedAt = now(); }
+
+    // Stessa precisione della colonna (microsecondi): l'ETag calcolato dall'entità in memoria
+    // coincide con quello letto dal database
+    private static LocalDateTime now() { return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS); }
 
     @Override
     public boolean equals(Object o) {
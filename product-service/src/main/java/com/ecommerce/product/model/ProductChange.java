@@ -0,0 +1,48 @@
+package com.ecommerce.product.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Registro delle modifiche ai prodotti, letto dal change feed (GET /products/changes).
+// Le righe sono inserite da ProductChangeLog via JDBC batch nella transazione della modifica,
+// senza seq; ProductChangeSequencer assegna poi seq alle righe committate, in ordine di commit.
+@Entity
+@Table(name = "product_changes", indexes = {
+        // Il feed legge "seq > cursore ORDER BY seq": la posizione di un client è un valore dell'indice
+        @Index(name = "ux_product_changes_seq", columnList = "seq", unique = true)
+})
+public class ProductChange {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    @Id
+    // Identity come per l'outbox: l'id viene assegnato dall'INSERT, dopo il lock sulla riga del prodotto
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Null finché la riga non è sequenziata. Numerazione senza buchi (MAX + 1), quindi un salto
+    // nel feed significa che le righe sono state potate dalla retention
+    private Long seq;
+
+    @Column(nullable = false, name = "product_id")
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, name = "change_type", length = 10)
+    private Type changeType;
+
+    @Column(nullable = false, name = "changed_at", updatable = false)
+    private LocalDateTime changedAt;
+
+    protected ProductChange() {}
+
+    public Long getId() { return id; }
+
+    public Long getSeq() { return seq; }
+
+    public Long getProductId() { return productId; }
+
+    public Type getChangeType() { return changeType; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+}
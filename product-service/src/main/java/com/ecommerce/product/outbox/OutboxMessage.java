@@ -0,0 +1,16 @@
+package com.ecommerce.product.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event on its way out of the outbox.
+ *
+ * @param id            outbox id, increasing in commit order per aggregate; consumers use it to drop duplicates
+ * @param aggregateType type of the entity the event is about, e.g. {@code Product}
+ * @param aggregateId   id of that entity
+ * @param eventType     e.g. {@code StockUpdated}
+ * @param payload       the event, as JSON
+ * @param createdAt     when the writing transaction recorded it
+ */
+public record OutboxMessage(Long id, String aggregateType, Long aggregateId, String eventType,
+                            String payload, LocalDateTime createdAt) {}
@@ -0,0 +1,119 @@
+package com.ecommerce.product.outbox;
+
+import com.ecommerce.product.model.OutboxEvent;
+import com.ecommerce.product.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.ecommerce.product.constant.LogCode.OUTBOX_RELAY_FAILED;
+
+/**
+ * Drains the outbox into the {@link OutboxSink} in batches.
+ * <p>
+ * Each batch is claimed with {@code SELECT ... FOR UPDATE SKIP LOCKED}, published and deleted in one
+ * transaction: instances polling at the same time take disjoint batches instead of queueing on the
+ * same rows, and a batch whose publish fails stays in the outbox. Within a batch, a
+ * {@code StockUpdated} event superseded by a newer one for the same product is deleted without
+ * being published - the newer event carries the absolute stock.
+ * </p>
+ * <p>
+ * Metrics: {@code outbox.events.published} and {@code outbox.events.compacted}.
+ * </p>
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    // Event types whose latest event makes the earlier ones for the same aggregate redundant
+    private static final Set<String> LATEST_WINS = Set.of(OutboxWriter.STOCK_UPDATED);
+
+    private record AggregateKey(String aggregateType, Long aggregateId, String eventType) {
+        static AggregateKey of(OutboxEvent event) {
+            return new AggregateKey(event.getAggregateType(), event.getAggregateId(), event.getEventType());
+        }
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter published;
+    private final Counter compacted;
+    private final int batchSize;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink sink,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${product.outbox.batch-size:500}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.published = meterRegistry.counter("outbox.events.published");
+        this.compacted = meterRegistry.counter("outbox.events.compacted");
+        this.batchSize = batchSize;
+    }
+
+    // Keeps going while batches come back full, so a backlog drains in one poll
+    @Scheduled(fixedDelayString = "${product.outbox.poll-interval:500ms}")
+    public void poll() {
+        try {
+            while (relayBatch() == batchSize) {
+                log.debug("Outbox batch full - claiming the next one");
+            }
+        } catch (RuntimeException ex) {
+            log.error("[{}] Outbox relay failed - events stay queued for the next poll", OUTBOX_RELAY_FAILED, ex);
+        }
+    }
+
+    /**
+     * Claims, publishes and deletes the oldest unclaimed batch.
+     *
+     * @return the number of outbox rows claimed, {@code 0} when there was nothing to relay
+     */
+    public int relayBatch() {
+        Integer claimed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.claimBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<OutboxMessage> messages = latestOnly(batch);
+            sink.publish(messages);
+            outboxEventRepository.deleteAllInBatch(batch);
+
+            published.increment(messages.size());
+            compacted.increment(batch.size() - messages.size());
+            log.debug("Outbox batch relayed - {} event(s) published, {} superseded", messages.size(),
+                    batch.size() - messages.size());
+            return batch.size();
+        });
+        return claimed == null ? 0 : claimed;
+    }
+
+    // The batch is in id order, which is commit order for the rows of a single aggregate
+    static List<OutboxMessage> latestOnly(List<OutboxEvent> batch) {
+        Map<AggregateKey, Long> newest = new HashMap<>();
+        for (OutboxEvent event : batch) {
+            if (LATEST_WINS.contains(event.getEventType())) {
+                newest.merge(AggregateKey.of(event), event.getId(), Math::max);
+            }
+        }
+        return batch.stream()
+                .filter(event -> !LATEST_WINS.contains(event.getEventType())
+                        || newest.get(AggregateKey.of(event)).equals(event.getId()))
+                .map(event -> new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                        event.getEventType(), event.getPayload(), event.getCreatedAt()))
+                .toList();
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.product.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the events drained by {@link OutboxRelay}, e.g. a message broker.
+ * <p>
+ * Delivery is at least once: the relay deletes a batch only after {@link #publish} returns, so a
+ * crash in between publishes it again, and relays on different instances may publish their batches
+ * out of order. Consumers keep the highest {@link OutboxMessage#id()} applied per aggregate and
+ * skip anything at or below it.
+ * </p>
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes a batch, in order. Throwing leaves the whole batch in the outbox for the next poll.
+     */
+    void publish(List<OutboxMessage> messages);
+}
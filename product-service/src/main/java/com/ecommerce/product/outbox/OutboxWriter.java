@@ -0,0 +1,84 @@
+package com.ecommerce.product.outbox;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.event.ProductStockChangedEvent;
+import com.ecommerce.product.event.ProductsImportedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records outgoing domain events in the {@code outbox_events} table.
+ * <p>
+ * The listeners are plain {@link EventListener}s, so they run inside the transaction that publishes
+ * the in-process event: the outbox rows commit or roll back together with the write they describe,
+ * and no request waits on a broker. {@link OutboxRelay} ships the rows afterwards.
+ * Every write that sets a product's stock - create, PUT, bulk import and the stock-only writes -
+ * records a {@code StockUpdated} event; the events of one write go in a single JDBC batch.
+ * </p>
+ */
+@Component
+public class OutboxWriter {
+
+    public static final String PRODUCT = "Product";
+    public static final String STOCK_UPDATED = "StockUpdated";
+
+    private static final String INSERT_EVENT = "INSERT INTO outbox_events "
+            + "(aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @EventListener
+    public void onStockChanged(ProductStockChangedEvent event) {
+        stockUpdated(event.stockById());
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductResponseDto product = event.product();
+        stockUpdated(Map.of(product.id(), product.stock()));
+    }
+
+    @EventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        Timestamp now = now();
+        List<Object[]> rows = new ArrayList<>(event.products().size());
+        event.products().forEach(product -> rows.add(stockRow(product.id(), product.stock(), now)));
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+    }
+
+    /**
+     * Records a {@code StockUpdated} event per product; must be called inside the transaction that
+     * wrote the stock.
+     */
+    public void stockUpdated(Map<Long, Integer> stockById) {
+        Timestamp now = now();
+        List<Object[]> rows = new ArrayList<>(stockById.size());
+        stockById.forEach((id, stock) -> rows.add(stockRow(id, stock, now)));
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+    }
+
+    private Object[] stockRow(Long productId, int stock, Timestamp createdAt) {
+        String payload = jsonMapper.writeValueAsString(new StockUpdated(productId, stock));
+        return new Object[]{PRODUCT, productId, STOCK_UPDATED, payload, createdAt};
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.product.outbox;
+
+/**
+ * Payload of the {@code StockUpdated} event: the product's stored stock after a write.
+ * <p>
+ * The stock is absolute, not a delta, so a later event for the same product supersedes every
+ * earlier one and a replayed event is harmless.
+ * </p>
+ *
+ * @param productId the product
+ * @param stock     its stock once the write committed
+ */
+public record StockUpdated(Long productId, int stock) {}
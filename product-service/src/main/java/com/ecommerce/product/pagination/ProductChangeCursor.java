@@ -0,0 +1,46 @@
+package com.ecommerce.product.pagination;
+
+import com.ecommerce.product.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a client in the product change feed: the {@code seq} of the last change it received.
+ * <p>
+ * Exposed only as an opaque, URL-safe token, like {@link ProductCursor}.
+ * </p>
+ *
+ * @param seq last received change sequence number; {@code 0} before the first change
+ */
+public record ProductChangeCursor(long seq) {
+
+    private static final String PREFIX = "v1:c:";
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + seq).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @throws InvalidCursorException if the token is malformed or was tampered with.
+     */
+    public static ProductChangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw InvalidCursorException.forToken();
+            }
+            long seq = Long.parseLong(raw.substring(PREFIX.length()));
+            if (seq < 0) {
+                throw InvalidCursorException.forToken();
+            }
+            return new ProductChangeCursor(seq);
+        } catch (IllegalArgumentException ex) {
+            // NumberFormatException is an IllegalArgumentException, as is a bad Base64 alphabet
+            throw InvalidCursorException.forToken();
+        }
+    }
+}
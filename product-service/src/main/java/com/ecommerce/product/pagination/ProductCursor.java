@@ -0,0 +1,75 @@
+package com.ecommerce.product.pagination;
+
+import com.ecommerce.product.exception.InvalidCursorException;
+import com.ecommerce.product.model.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset-paginated product listing.
+ * <p>
+ * The cursor is exposed to clients only as an opaque, URL-safe token produced by
+ * {@link #encode()}. The token carries the sort key it was produced for, so a
+ * continuation request cannot silently switch ordering mid-crawl.
+ * </p>
+ *
+ * @param sortKey   ordering the cursor belongs to
+ * @param updatedAt last seen {@code updated_at} (only for {@link ProductSortKey#UPDATED_AT})
+ * @param id        last seen product id
+ */
+public record ProductCursor(ProductSortKey sortKey, LocalDateTime updatedAt, long id) {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = ":";
+
+    public static ProductCursor after(Product product, ProductSortKey sortKey) {
+        return new ProductCursor(sortKey,
+                sortKey == ProductSortKey.UPDATED_AT ? product.getUpdatedAt() : null,
+                product.getId());
+    }
+
+    public String encode() {
+        String raw = switch (sortKey) {
+            case ID -> String.join(SEPARATOR, VERSION, "i", Long.toString(id));
+            case UPDATED_AT -> {
+                Instant instant = updatedAt.toInstant(ZoneOffset.UTC);
+                yield String.join(SEPARATOR, VERSION, "u",
+                        Long.toString(instant.getEpochSecond()), Integer.toString(instant.getNano()),
+                        Long.toString(id));
+            }
+        };
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @throws InvalidCursorException if the token is malformed or was tampered with.
+     */
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length < 3 || !VERSION.equals(parts[0])) {
+                throw InvalidCursorException.forToken();
+            }
+            if ("i".equals(parts[1]) && parts.length == 3) {
+                return new ProductCursor(ProductSortKey.ID, null, Long.parseLong(parts[2]));
+            }
+            if ("u".equals(parts[1]) && parts.length == 5) {
+                Instant instant = Instant.ofEpochSecond(Long.parseLong(parts[2]), Integer.parseInt(parts[3]));
+                return new ProductCursor(ProductSortKey.UPDATED_AT,
+                        LocalDateTime.ofInstant(instant, ZoneOffset.UTC), Long.parseLong(parts[4]));
+            }
+            throw InvalidCursorException.forToken();
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            // NumberFormatException is an IllegalArgumentException, as is a bad Base64 alphabet
+            throw InvalidCursorException.forToken();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.product.pagination;
+
+/**
+ * Keyset orderings supported by the product listing.
+ * <p>
+ * Every ordering ends with {@code id} so that the key is unique and the
+ * continuation point of a page is always well defined.
+ * </p>
+ */
+public enum ProductSortKey {
+
+    /** Ascending primary key: stable crawl order for full catalog scans. */
+    ID,
+
+    /** Ascending {@code (updated_at, id)}: oldest changes first, useful for incremental syncs. */
+    UPDATED_AT
+}
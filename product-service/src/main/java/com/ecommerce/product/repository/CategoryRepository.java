@@ -2,8 +2,21 @@ package com.ecommerce.product.repository;
 
 import com.ecommerce.product.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     boolean existsByName(String name);
+
+    // Versione per ETag/If-Match: una sola colonna, senza caricare l'entità
+    @Query("SELECT c.updatedAt FROM Category c WHERE c.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // Lock della riga categoria: gli insert di prodotti nella categoria attendono la fine della cancellazione
+    @Query(value = "SELECT id FROM categories WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
 }
@@ -0,0 +1,18 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.model.ProductChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    // Pagina del feed: range scan sull'indice univoco di seq, le righe non ancora sequenziate sono escluse
+    List<ProductChange> findBySeqGreaterThanOrderBySeqAsc(Long seq, Limit limit);
+
+    // Testa del feed, per il cursore iniziale di un nuovo client
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM ProductChange c")
+    long findMaxSeq();
+}
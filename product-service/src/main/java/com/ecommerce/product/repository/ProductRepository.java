@@ -1,28 +1,96 @@
 package com.ecommerce.product.repository;
 
 import com.ecommerce.product.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockOperations {
+
+    int EXPORT_FETCH_SIZE = 500;
 
     boolean existsByName(String name);
 
-    List<Product> findByNameContainingIgnoreCase(String keyword);
+    // Versione per ETag/If-Match: legge solo updated_at e la FK, senza JOIN né mapping del DTO
+    @Query("SELECT new com.ecommerce.product.repository.ProductVersion(p.category.id, p.updatedAt) "
+            + "FROM Product p WHERE p.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") Long id);
+
+    // Cancellazione di una categoria a blocchi: gli id servono anche per invalidare cache e indici
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId ORDER BY p.id")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId, Limit limit);
+
+    long countByCategoryId(Long categoryId);
+
+    // Import massivo: un'unica query per verificare i nomi già presenti di un intero blocco
+    @Query("SELECT p.name FROM Product p WHERE p.name IN :names")
+    Set<String> findExistingNames(@Param("names") Collection<String> names);
+
+    // Ogni lettura che restituisce prodotti carica anche la categoria nella stessa SELECT:
+    // il mapper la serializza sempre, e con FetchType.LAZY finiremmo in N+1 query.
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Product> findById(Long id);
+
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    // Fallback della ricerca finché l'indice in memoria non è pronto (LIKE '%kw%', full scan)
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findByNameContainingIgnoreCase(String keyword, Pageable pageable);
+
+    // Fallback del filtro per prezzo finché l'indice in memoria non è pronto
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    // Keyset pagination: ogni pagina parte dall'ultima chiave vista invece di un OFFSET,
+    // quindi il costo resta costante anche in fondo al catalogo.
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAllByOrderByIdAsc(Limit limit);
+
+    @EntityGraph(attributePaths = "category")
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAllByOrderByUpdatedAtAscIdAsc(Limit limit);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT p FROM Product p WHERE (p.updatedAt, p.id) > (:updatedAt, :id) ORDER BY p.updatedAt, p.id")
+    List<Product> findPageAfterUpdatedAt(@Param("updatedAt") LocalDateTime updatedAt,
+                                         @Param("id") Long id,
+                                         Limit limit);
 
-    List<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+    // Cursore forward-only per l'export: il driver legge EXPORT_FETCH_SIZE righe per round trip
+    // invece di materializzare tutto il catalogo. Deve essere consumato dentro una transazione.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p JOIN FETCH p.category ORDER BY p.id")
+    Stream<Product> streamAllForExport();
 
     // Utilizziamo @Modifying per dire a JPA che questa è un'operazione di scrittura (UPDATE),
     // molto più efficiente rispetto a caricare l'intera entità per cambiare un solo numero.
     @Modifying
-    @Query("UPDATE Product p SET p.stock = :stock WHERE p.id = :id")
+    @Query("UPDATE Product p SET p.stock = :stock, p.updatedAt = LOCAL DATETIME WHERE p.id = :id")
     Integer updateStock(@Param("id") Long id, @Param("stock") Integer stock);
 
 }
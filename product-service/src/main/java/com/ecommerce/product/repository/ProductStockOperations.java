@@ -0,0 +1,37 @@
+package com.ecommerce.product.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.SortedMap;
+
+/**
+ * Stock operations that need SQL the derived/JPQL queries can't express.
+ * Mixed into {@link ProductRepository} as a repository fragment.
+ */
+public interface ProductStockOperations {
+
+    /**
+     * Atomically subtracts {@code quantity} from the product's stock, only if enough is left.
+     *
+     * @return the stock after the decrement, or empty if the product does not exist
+     *         or has less than {@code quantity} in stock (nothing is changed in that case)
+     */
+    OptionalInt decrementStock(Long id, int quantity);
+
+    /**
+     * Locks the given products' rows ({@code SELECT ... FOR UPDATE}) in ascending id order,
+     * so that transactions locking overlapping sets always acquire them in the same order.
+     *
+     * @return current stock by product id, in ascending id order; missing products are absent
+     */
+    Map<Long, Integer> lockStockForUpdate(Collection<Long> ids);
+
+    /**
+     * Applies all decrements as one JDBC batch of conditional updates, in ascending id order.
+     *
+     * @return {@code true} if every line was applied; {@code false} if at least one product
+     *         did not have enough stock (the caller must then roll back)
+     */
+    boolean decrementStockBatch(SortedMap<Long, Integer> quantities);
+}
@@ -0,0 +1,124 @@
+package com.ecommerce.product.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.SortedMap;
+import java.util.function.Supplier;
+
+class ProductStockOperationsImpl implements ProductStockOperations {
+
+    // Decremento condizionale: il WHERE stock >= :qty e l'UPDATE stanno nella stessa istruzione,
+    // quindi due acquisti concorrenti si serializzano sul lock di riga e nessuno sovrascrive l'altro.
+    private static final String CONDITIONAL_DECREMENT =
+            "UPDATE products SET stock = stock - :qty, updated_at = LOCALTIMESTAMP WHERE id = :id AND stock >= :qty";
+
+    private static final String LOCK_IN_ID_ORDER =
+            "SELECT id, stock FROM products WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    private static final String BATCH_DECREMENT =
+            "UPDATE products SET stock = stock - ?, updated_at = LOCALTIMESTAMP WHERE id = ? AND stock >= ?";
+
+    private enum Strategy {
+        // PostgreSQL: UPDATE ... RETURNING, un solo round trip
+        RETURNING("%s RETURNING stock"),
+        // H2: stessa cosa tramite data change delta table
+        FINAL_TABLE("SELECT stock FROM FINAL TABLE (%s)"),
+        // Altri database: UPDATE e poi SELECT, sotto il lock di riga appena preso
+        UPDATE_THEN_SELECT(null);
+
+        private final String template;
+
+        Strategy(String template) {
+            this.template = template;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Supplier<Strategy> strategy = SingletonSupplier.of(this::detectStrategy);
+
+    @Override
+    public OptionalInt decrementStock(Long id, int quantity) {
+        Strategy current = strategy.get();
+        if (current == Strategy.UPDATE_THEN_SELECT) {
+            int updated = entityManager.createNativeQuery(CONDITIONAL_DECREMENT)
+                    .setParameter("id", id)
+                    .setParameter("qty", quantity)
+                    .executeUpdate();
+            return updated == 0 ? OptionalInt.empty() : OptionalInt.of(((Number) entityManager
+                    .createNativeQuery("SELECT stock FROM products WHERE id = :id")
+                    .setParameter("id", id)
+                    .getSingleResult()).intValue());
+        }
+
+        List<?> rows = entityManager.createNativeQuery(current.template.formatted(CONDITIONAL_DECREMENT))
+                .setParameter("id", id)
+                .setParameter("qty", quantity)
+                .getResultList();
+        return rows.isEmpty() ? OptionalInt.empty() : OptionalInt.of(((Number) rows.getFirst()).intValue());
+    }
+
+    @Override
+    public Map<Long, Integer> lockStockForUpdate(Collection<Long> ids) {
+        // I lock vengono presi nell'ordine dell'ORDER BY: sempre per id crescente,
+        // quindi due prenotazioni con prodotti in comune non possono andare in deadlock.
+        List<?> rows = entityManager.createNativeQuery(LOCK_IN_ID_ORDER)
+                .setParameter("ids", ids)
+                .getResultList();
+        Map<Long, Integer> stockById = new LinkedHashMap<>();
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            stockById.put(((Number) columns[0]).longValue(), ((Number) columns[1]).intValue());
+        }
+        return stockById;
+    }
+
+    @Override
+    public boolean decrementStockBatch(SortedMap<Long, Integer> quantities) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(BATCH_DECREMENT)) {
+                for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+                    statement.setInt(1, line.getValue());
+                    statement.setLong(2, line.getKey());
+                    statement.setInt(3, line.getValue());
+                    statement.addBatch();
+                }
+                for (int count : statement.executeBatch()) {
+                    if (count != 1 && count != Statement.SUCCESS_NO_INFO) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        });
+    }
+
+    private Strategy detectStrategy() {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        if (dialect instanceof PostgreSQLDialect) {
+            return Strategy.RETURNING;
+        }
+        if (dialect instanceof H2Dialect) {
+            return Strategy.FINAL_TABLE;
+        }
+        return Strategy.UPDATE_THEN_SELECT;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.product.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns a product's entity tag is derived from.
+ *
+ * @param categoryId id of the product's category
+ * @param updatedAt  last modification time of the product row
+ */
+public record ProductVersion(Long categoryId, LocalDateTime updatedAt) {}
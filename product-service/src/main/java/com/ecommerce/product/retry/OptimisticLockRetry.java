@@ -0,0 +1,105 @@
+package com.ecommerce.product.retry;
+
+import com.ecommerce.product.exception.ConcurrentUpdateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static com.ecommerce.product.constant.LogCode.CONCURRENT_UPDATE;
+
+/**
+ * Re-runs a write that lost an optimistic-lock race ({@code @Version} mismatch at flush).
+ * <p>
+ * Each attempt must run in its own transaction and re-read the row, so a retry applies the
+ * request on top of the winning write instead of overwriting it blindly. Attempts are spaced
+ * by a randomized, exponentially growing pause ("full jitter"), so writers that collided once
+ * don't collide again in lockstep. No lock is held while waiting.
+ * </p>
+ * <p>
+ * Metrics, tagged with the entity:
+ * <ul>
+ * <li>{@code catalog.write.retries} - attempts re-run after a conflict</li>
+ * <li>{@code catalog.write.conflicts} - writes that hit at least one conflict, by {@code outcome}:
+ * {@code resolved} (a retry succeeded), {@code exhausted} (gave up, 409) or {@code stale}
+ * (the caller pinned the version it read, so the conflict was reported without retrying)</li>
+ * </ul>
+ * </p>
+ */
+@Component
+public class OptimisticLockRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetry.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long backoffNanos;
+
+    public OptimisticLockRetry(MeterRegistry meterRegistry,
+                               @Value("${product.write-retry.max-attempts:3}") int maxAttempts,
+                               @Value("${product.write-retry.backoff:20ms}") Duration backoff) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffNanos = backoff.toNanos();
+    }
+
+    /**
+     * Runs the write, retrying it on an optimistic-lock conflict.
+     *
+     * @param entity  metric tag naming the written entity, e.g. {@code product}
+     * @param stale   thrown on the first conflict instead of retrying, when the caller supplied the
+     *                version it based the write on; {@code null} to retry
+     * @param attempt one complete attempt, in its own transaction
+     * @throws ConcurrentUpdateException if every attempt lost the race
+     */
+    public <T> T execute(String entity, Supplier<? extends RuntimeException> stale, Supplier<T> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                T result = attempt.get();
+                if (attemptNumber > 1) {
+                    conflicts(entity, "resolved").increment();
+                }
+                return result;
+            } catch (OptimisticLockingFailureException ex) {
+                if (stale != null) {
+                    conflicts(entity, "stale").increment();
+                    throw stale.get();
+                }
+                if (attemptNumber == maxAttempts) {
+                    conflicts(entity, "exhausted").increment();
+                    log.warn("[{}] Concurrent {} update still conflicting after {} attempt(s)",
+                            CONCURRENT_UPDATE, entity, attemptNumber);
+                    throw ConcurrentUpdateException.forRetriesExhausted();
+                }
+                log.debug("Optimistic lock conflict on {} - retrying, attempt {} of {}", entity, attemptNumber + 1, maxAttempts);
+                meterRegistry.counter("catalog.write.retries", "entity", entity).increment();
+                pause(attemptNumber);
+            }
+        }
+    }
+
+    private Counter conflicts(String entity, String outcome) {
+        return meterRegistry.counter("catalog.write.conflicts", "entity", entity, "outcome", outcome);
+    }
+
+    // Full jitter: uniform in [0, backoff * 2^(attempt - 1)]
+    private void pause(int attemptNumber) {
+        long ceiling = backoffNanos << Math.min(attemptNumber - 1, 10);
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1)));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ConcurrentUpdateException.forRetriesExhausted();
+        }
+    }
+}
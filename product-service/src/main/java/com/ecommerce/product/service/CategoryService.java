@@ -1,9 +1,13 @@
 package com.ecommerce.product.service;
 
+import com.ecommerce.product.dto.CategoryDeletionJobDto;
 import com.ecommerce.product.dto.CategoryRequestDto;
 import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.etag.Tagged;
 import com.ecommerce.product.exception.CategoryAlreadyExistsException;
+import com.ecommerce.product.exception.CategoryDeletionJobNotFoundException;
 import com.ecommerce.product.exception.CategoryNotFoundException;
+import com.ecommerce.product.exception.PreconditionFailedException;
 import com.ecommerce.product.model.Category;
 
 import org.springframework.data.domain.Page;
@@ -46,6 +50,16 @@ public interface CategoryService {
      */
     Page<CategoryResponseDto> getAllCategories(Pageable pageable);
 
+    /**
+     * Returns the current strong ETag of the category list, shared by all of its pages.
+     * <p>
+     * Derived from the in-memory snapshot: it changes whenever a category is created, updated or deleted.
+     * </p>
+     *
+     * @return The quoted entity tag.
+     */
+    String currentListETag();
+
     /**
      * Retrieves a specific category by its unique identifier.
      *
@@ -56,6 +70,15 @@ public interface CategoryService {
      */
     CategoryResponseDto findById(Long id);
 
+    /**
+     * Returns the current strong ETag of a category's representation, for conditional requests.
+     *
+     * @param id The unique ID of the category.
+     * @return The quoted entity tag.
+     * @throws CategoryNotFoundException if no category is found with the provided ID.
+     */
+    String currentETag(Long id);
+
     /**
      * Performs a full update of an existing category resource.
      * <p>
@@ -63,24 +86,49 @@ public interface CategoryService {
      * It validates that the new name does not conflict with existing records.
      * </p>
      *
-     * @param id  The ID of the category to update.
-     * @param dto The DTO containing the new state of the category.
-     * @return The updated category DTO.
+     * @param id      The ID of the category to update.
+     * @param dto     The DTO containing the new state of the category.
+     * @param ifMatch The client's {@code If-Match} header, checked against {@link #currentETag(Long)}
+     *                in the updating transaction; {@code null} for an unconditional update.
+     * @return The updated category DTO, with the ETag of the state written.
      * @throws CategoryNotFoundException      if the category is not found.
+     * @throws PreconditionFailedException    if {@code ifMatch} does not match the current ETag.
      * @throws CategoryAlreadyExistsException if the updated name is already in use
      *                                        by another category.
      */
-    CategoryResponseDto updateCategory(Long id, CategoryRequestDto dto);
+    Tagged<CategoryResponseDto> updateCategory(Long id, CategoryRequestDto dto, String ifMatch);
 
     /**
-     * Deletes a category from the system by its ID.
+     * Deletes a category from the system by its ID, together with all of its products.
      * <p>
-     * This operation checks for existence before deletion to ensure the ID is
-     * valid.
+     * Products are removed with set-based deletes in fixed-size chunks, each chunk in its own
+     * short transaction; the category itself goes with the last chunk. A failure part-way
+     * leaves the category with fewer products, and deleting it again resumes the work.
      * </p>
      *
      * @param id The unique ID of the category to delete.
      * @throws CategoryNotFoundException if the category does not exist.
      */
     void deleteCategory(Long id);
+
+    /**
+     * Starts deleting a category and its products in the background, as {@link #deleteCategory(Long)} does.
+     * <p>
+     * Requesting the deletion of a category that is already being deleted returns the running job.
+     * </p>
+     *
+     * @param id The unique ID of the category to delete.
+     * @return The deletion job, to be polled through {@link #findDeletionJob(String)}.
+     * @throws CategoryNotFoundException if the category does not exist.
+     */
+    CategoryDeletionJobDto deleteCategoryAsync(Long id);
+
+    /**
+     * Retrieves the progress of a background category deletion.
+     *
+     * @param jobId The job ID returned by {@link #deleteCategoryAsync(Long)}.
+     * @return The job, with the number of products deleted so far.
+     * @throws CategoryDeletionJobNotFoundException if the job is unknown or expired.
+     */
+    CategoryDeletionJobDto findDeletionJob(String jobId);
 }
@@ -1,15 +1,35 @@
 package com.ecommerce.product.service;
 
+import com.ecommerce.product.dto.BulkImportResultDto;
+import com.ecommerce.product.dto.ProductChangesDto;
+import com.ecommerce.product.dto.ProductCursorPageDto;
+import com.ecommerce.product.dto.ProductFacetsDto;
 import com.ecommerce.product.dto.ProductRequestDto;
 import com.ecommerce.product.dto.ProductResponseDto;
 import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.dto.ProductStockResponseDto;
+import com.ecommerce.product.dto.StockReservationLineDto;
+import com.ecommerce.product.dto.StockReservationResponseDto;
+import com.ecommerce.product.etag.Tagged;
 import com.ecommerce.product.exception.CategoryNotFoundException;
+import com.ecommerce.product.exception.ChangeCursorExpiredException;
+import com.ecommerce.product.exception.InsufficientStockException;
+import com.ecommerce.product.exception.InvalidCursorException;
+import com.ecommerce.product.exception.PreconditionFailedException;
 import com.ecommerce.product.exception.ProductAlreadyExistsException;
 import com.ecommerce.product.exception.ProductNotFoundException;
 import com.ecommerce.product.model.Product;
+import com.ecommerce.product.pagination.ProductSortKey;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing the lifecycle of {@link Product} entities.
@@ -38,15 +58,49 @@ public interface ProductService {
     ProductResponseDto createProduct(ProductRequestDto dto);
 
     /**
-     * Retrieves all products.
+     * Imports a stream of products in bulk.
+     * <p>
+     * Rows are consumed lazily and written in fixed-size chunks, each chunk in its own
+     * transaction and sent as JDBC batches. A row that fails validation, references an
+     * unknown category or reuses an existing name is reported and skipped; the rest of
+     * the load goes on. An unreadable row ends the import, keeping what was already written.
+     * </p>
+     *
+     * @param rows The products to import, in input order.
+     * @return How many rows were received, imported and rejected, with the reason for each rejection.
+     */
+    BulkImportResultDto importProducts(Iterator<ProductRequestDto> rows);
+
+    /**
+     * Retrieves one page of the catalog using keyset (cursor) pagination.
+     * <p>
+     * Each page is fetched with a {@code WHERE key > last_key ORDER BY key LIMIT n} query,
+     * so the cost of a page does not depend on how deep the client has crawled.
+     * The returned {@code nextCursor} is an opaque token to pass back for the following page;
+     * it is {@code null} on the last page.
+     * </p>
+     *
+     * @param cursor  The continuation token from the previous page, or {@code null} for the first page.
+     * @param size    The requested page size; clamped to the configured bounds.
+     * @param sortKey The keyset ordering, or {@code null} for {@link ProductSortKey#ID}. A cursor carries its
+     *                own ordering, so when both are supplied they must match.
+     * @return A page of {@link ProductResponseDto} with its continuation token.
+     * @throws InvalidCursorException if the cursor is malformed or belongs to a different ordering.
+     */
+    ProductCursorPageDto getAllProducts(String cursor, int size, ProductSortKey sortKey);
+
+    /**
+     * Streams the whole catalog, in id order, to the given sink.
      * <p>
-     * Returns the complete list of products in the catalog,
-     * each including its nested category DTO.
+     * Rows are read through a forward-only database cursor and the persistence context
+     * is cleared in fixed-size chunks, so memory use does not depend on catalog size.
+     * The sink is invoked inside a read-only transaction and must not block indefinitely.
      * </p>
      *
-     * @return A list of {@link ProductResponseDto}.
+     * @param sink Receives each product, already mapped to its response DTO.
+     * @return The number of exported products.
      */
-    List<ProductResponseDto> getAllProducts();
+    long exportCatalog(Consumer<ProductResponseDto> sink);
 
     /**
      * Retrieves a specific product by its unique identifier.
@@ -57,6 +111,55 @@ public interface ProductService {
      */
     ProductResponseDto findById(Long id);
 
+    /**
+     * Returns the current strong ETag of a product's representation, for conditional requests.
+     * <p>
+     * Computed from a single-row version lookup and the category snapshot, without loading or
+     * mapping the product, so a matching {@code If-None-Match} can be answered cheaply.
+     * </p>
+     *
+     * @param id The unique ID of the product.
+     * @return The quoted entity tag.
+     * @throws ProductNotFoundException if no product is found with the provided ID.
+     */
+    String currentETag(Long id);
+
+    /**
+     * Counts the products matching the given filters, and the products behind every facet value.
+     * <p>
+     * Served from the in-memory facet bitmaps without touching the database. Each facet is counted
+     * against the other filters only: the category counts ignore {@code categoryId}, the price
+     * bucket counts ignore the price range and the stock counts ignore {@code inStock}.
+     * </p>
+     *
+     * @param categoryId Only products of this category, or {@code null} for all.
+     * @param minPrice   Inclusive lower price bound, or {@code null}.
+     * @param maxPrice   Inclusive upper price bound, or {@code null}.
+     * @param inStock    {@code true} for products with stock, {@code false} for sold-out ones, {@code null} for both.
+     * @return The total of matching products and the count of every facet value.
+     */
+    ProductFacetsDto facets(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock);
+
+    /**
+     * Returns the product changes committed after the given cursor, oldest first (change feed).
+     * <p>
+     * Read from the {@code product_changes} sequence with a range scan on its index. A page holds
+     * the latest change of each product it covers, with the product's current state; a deleted
+     * product comes back as a tombstone without state. Without a cursor, returns no changes and a
+     * cursor at the head of the feed: take it before loading the catalog, then follow the feed.
+     * When nothing is new and {@code wait} is positive, the page is completed as soon as a change
+     * arrives or when the (capped) wait is over, without holding a thread meanwhile.
+     * </p>
+     *
+     * @param since The cursor from the previous page, or {@code null} to start at the head.
+     * @param limit The maximum number of change records to read; clamped to the configured bounds.
+     * @param wait  How long to wait for a change when none is pending; zero to answer at once.
+     * @return The page of changes with the cursor to pass back for the next one.
+     * @throws InvalidCursorException       if the cursor is malformed.
+     * @throws ChangeCursorExpiredException if changes after the cursor were pruned by the retention.
+     */
+    CompletableFuture<ProductChangesDto> getChanges(String since, int limit, Duration wait);
+
     /**
      * Performs a full update of an existing product resource (PUT).
      * <p>
@@ -65,14 +168,17 @@ public interface ProductService {
      * and that the referenced category exists.
      * </p>
      *
-     * @param id  The ID of the product to update.
-     * @param dto The DTO containing the new state of the product.
-     * @return The updated product DTO (including nested category).
+     * @param id      The ID of the product to update.
+     * @param dto     The DTO containing the new state of the product.
+     * @param ifMatch The client's {@code If-Match} header, checked against {@link #currentETag(Long)}
+     *                in the updating transaction; {@code null} for an unconditional update.
+     * @return The updated product DTO (including nested category), with the ETag of the state written.
      * @throws ProductNotFoundException      if the product is not found.
+     * @throws PreconditionFailedException   if {@code ifMatch} does not match the current ETag.
      * @throws ProductAlreadyExistsException if the updated name is already in use by another product.
      * @throws CategoryNotFoundException     if the referenced category does not exist.
      */
-    ProductResponseDto updateProduct(Long id, ProductRequestDto dto);
+    Tagged<ProductResponseDto> updateProduct(Long id, ProductRequestDto dto, String ifMatch);
 
     /**
      * Applies a partial update to the stock of an existing product (PATCH).
@@ -87,6 +193,63 @@ public interface ProductService {
      */
     ProductResponseDto patchStock(Long id, ProductStockRequestDto dto);
 
+    /**
+     * Atomically takes {@code quantity} units out of a product's stock (checkout path).
+     * <p>
+     * The availability check and the decrement are a single conditional {@code UPDATE},
+     * so concurrent purchases never overwrite each other and stock never goes negative.
+     * On PostgreSQL and H2 the new stock comes back from the same statement: one round
+     * trip per successful purchase.
+     * </p>
+     *
+     * @param id       The ID of the product.
+     * @param quantity The number of units to take, at least 1.
+     * @return The product ID and its stock after the decrement.
+     * @throws ProductNotFoundException    if the product is not found.
+     * @throws InsufficientStockException  if less than {@code quantity} units are in stock.
+     */
+    ProductStockResponseDto decrementStock(Long id, int quantity);
+
+    /**
+     * Reserves stock for every line of an order, all-or-nothing, in a single transaction.
+     * <p>
+     * Lines for the same product are merged. The product rows are locked in ascending ID
+     * order, so concurrent reservations with overlapping products queue up instead of
+     * deadlocking; availability is checked for every line before anything is written, and
+     * the decrements are then sent as one batch of conditional updates.
+     * </p>
+     *
+     * @param lines The order lines (product ID and quantity).
+     * @return The remaining stock of every reserved product, in ascending ID order.
+     * @throws ProductNotFoundException    if any product does not exist; nothing is reserved.
+     * @throws InsufficientStockException  if any product has too little stock; nothing is reserved.
+     */
+    StockReservationResponseDto reserveStock(List<StockReservationLineDto> lines);
+
+    /**
+     * Switches a product to hot-SKU mode: its stock moves to striped in-memory counters and
+     * purchases stop locking its row, with periodic batched write-back to the database.
+     * <p>
+     * Meant for flash sales on a few products; the counters live in this instance only.
+     * Enabling an already hot product is a no-op.
+     * </p>
+     *
+     * @param id The ID of the product.
+     * @return The product ID and the stock the counters start from.
+     * @throws ProductNotFoundException if the product is not found.
+     */
+    ProductStockResponseDto enableHotStock(Long id);
+
+    /**
+     * Switches a product back to regular stock handling, writing the final in-memory value
+     * to the database. Disabling a product that is not hot is a no-op.
+     *
+     * @param id The ID of the product.
+     * @return The product ID and its stock as now stored in the database.
+     * @throws ProductNotFoundException if the product is not found.
+     */
+    ProductStockResponseDto disableHotStock(Long id);
+
     /**
      * Deletes a product from the system by its ID.
      * <p>
@@ -99,19 +262,31 @@ public interface ProductService {
     void deleteProduct(Long id);
 
     /**
-     * Searches for products whose name contains the given keyword (case-insensitive).
+     * Full-text search over product names and descriptions, ranked by relevance (BM25).
+     * <p>
+     * Served from the in-memory inverted index; the last keyword also matches as a prefix.
+     * While the index is still loading at startup, falls back to a case-insensitive
+     * substring match on the name.
+     * </p>
      *
-     * @param keyword The search term to match against product names.
-     * @return A list of matching {@link ProductResponseDto}.
+     * @param keyword  The free-text query.
+     * @param pageable Page number and size; sorting is ignored since hits are ordered by relevance.
+     * @return A page of matching {@link ProductResponseDto}, best match first.
      */
-    List<ProductResponseDto> searchByName(String keyword);
+    Page<ProductResponseDto> search(String keyword, Pageable pageable);
 
     /**
-     * Searches for products within a given price range (inclusive).
+     * Searches for products within a given price range (inclusive), ordered by price.
+     * <p>
+     * Served from the in-memory price index; while the index is still loading at startup,
+     * falls back to a {@code BETWEEN} query on the database.
+     * </p>
      *
      * @param minPrice The minimum price boundary.
      * @param maxPrice The maximum price boundary.
-     * @return A list of matching {@link ProductResponseDto}.
+     * @param pageable Page number and size; only the direction of a {@code price} sort is honoured
+     *                 (ascending by default), ties are ordered by ID.
+     * @return A page of matching {@link ProductResponseDto}.
      */
-    List<ProductResponseDto> searchByPriceRange(BigDecimal minPrice, BigDecimal maxPrice);
+    Page<ProductResponseDto> searchByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 }
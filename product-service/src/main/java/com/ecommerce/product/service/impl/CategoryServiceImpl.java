@@ -1,21 +1,44 @@
 package com.ecommerce.product.service.impl;
 
+import com.ecommerce.product.catalog.CategoryCatalog;
+import com.ecommerce.product.dto.CategoryDeletionJobDto;
 import com.ecommerce.product.dto.CategoryRequestDto;
 import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.etag.EntityTags;
+import com.ecommerce.product.etag.Tagged;
+import com.ecommerce.product.event.CategoryChangedEvent;
+import com.ecommerce.product.event.CategoryDeletedEvent;
+import com.ecommerce.product.event.ProductsDeletedEvent;
 import com.ecommerce.product.exception.CategoryAlreadyExistsException;
+import com.ecommerce.product.exception.CategoryDeletionJobNotFoundException;
 import com.ecommerce.product.exception.CategoryNotFoundException;
+import com.ecommerce.product.exception.ConcurrentUpdateException;
+import com.ecommerce.product.exception.PreconditionFailedException;
+import com.ecommerce.product.job.CategoryDeletionJobs;
 import com.ecommerce.product.mapper.CategoryMapper;
 import com.ecommerce.product.model.Category;
 import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.retry.OptimisticLockRetry;
 import com.ecommerce.product.service.CategoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
 import static com.ecommerce.product.constant.LogCode.*;
 
 @Service
@@ -24,12 +47,35 @@ public class CategoryServiceImpl implements CategoryService {
 
     private static final Logger log = LoggerFactory.getLogger(CategoryServiceImpl.class);
 
+    static final int DELETE_CHUNK_SIZE = 1_000;
+    // Final chunks rolled back by products inserted into the category meanwhile, before giving up with 409
+    static final int MAX_DELETE_RACES = 3;
+
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryCatalog categoryCatalog;
+    private final CategoryDeletionJobs deletionJobs;
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticLockRetry writeRetry;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository,
+                               ProductRepository productRepository,
+                               CategoryMapper categoryMapper,
+                               CategoryCatalog categoryCatalog,
+                               CategoryDeletionJobs deletionJobs,
+                               TransactionTemplate transactionTemplate,
+                               OptimisticLockRetry writeRetry,
+                               ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
         this.categoryMapper = categoryMapper;
+        this.categoryCatalog = categoryCatalog;
+        this.deletionJobs = deletionJobs;
+        this.transactionTemplate = transactionTemplate;
+        this.writeRetry = writeRetry;
+        this.eventPublisher = eventPublisher;
     }
 
     // -------------------------------------------------------------------------
@@ -50,7 +96,9 @@ public class CategoryServiceImpl implements CategoryService {
         categoryRepository.save(newCategory);
 
         log.info("Category created successfully - id: {}, name: '{}'", newCategory.getId(), newCategory.getName());
-        return categoryMapper.toResponseDto(newCategory);
+        CategoryResponseDto response = categoryMapper.toResponseDto(newCategory);
+        eventPublisher.publishEvent(new CategoryChangedEvent(response, true));
+        return response;
     }
 
     // -------------------------------------------------------------------------
@@ -58,13 +106,14 @@ public class CategoryServiceImpl implements CategoryService {
     // -------------------------------------------------------------------------
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<CategoryResponseDto> getAllCategories(Pageable pageable) {
         log.debug("Fetching categories with pagination - page: {}, size: {}", pageable.getPageNumber(),
                 pageable.getPageSize());
 
-        Page<CategoryResponseDto> result = categoryRepository.findAll(pageable)
-                .map(categoryMapper::toResponseDto);
+        // Served from the in-memory snapshot; only a sort it can't apply goes to the database
+        Page<CategoryResponseDto> result = categoryCatalog.page(pageable)
+                .orElseGet(() -> categoryRepository.findAll(pageable).map(categoryMapper::toResponseDto));
 
         log.debug("Returned {} category(ies) on this page out of {} total", result.getNumberOfElements(),
                 result.getTotalElements());
@@ -72,11 +121,30 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String currentListETag() {
+        return EntityTags.categoryList(categoryCatalog.snapshot().digest());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String currentETag(Long id) {
+        LocalDateTime updatedAt = categoryCatalog.updatedAt(id)
+                .or(() -> categoryRepository.findUpdatedAtById(id))
+                .orElseThrow(() -> {
+                    log.warn("[{}] Category not found - id: {}", CATEGORY_NOT_FOUND, id);
+                    return CategoryNotFoundException.forId();
+                });
+        return EntityTags.category(id, updatedAt);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public CategoryResponseDto findById(Long id) {
         log.debug("Looking up category by id: {}", id);
-        return categoryRepository.findById(id)
-                .map(categoryMapper::toResponseDto)
+        // A snapshot miss may be a category created by another instance since the last refresh
+        return categoryCatalog.find(id)
+                .or(() -> categoryRepository.findById(id).map(categoryMapper::toResponseDto))
                 .orElseThrow(() -> {
                     log.warn("[{}] Category not found - id: {}", CATEGORY_NOT_FOUND, id);
                     return CategoryNotFoundException.forId();
@@ -87,16 +155,40 @@ public class CategoryServiceImpl implements CategoryService {
     // UPDATE
     // -------------------------------------------------------------------------
 
+    // Same retry policy as product updates: a lost @Version race is re-applied on a fresh read
     @Override
-    public CategoryResponseDto updateCategory(Long id, CategoryRequestDto dto) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Tagged<CategoryResponseDto> updateCategory(Long id, CategoryRequestDto dto, String ifMatch) {
         log.info("Updating category - id: {}, new name: '{}'", id, dto.name());
 
+        Supplier<RuntimeException> stale = ifMatch != null ? PreconditionFailedException::forETag
+                : dto.version() != null ? ConcurrentUpdateException::forStaleVersion
+                : null;
+        Tagged<CategoryResponseDto> response = writeRetry.execute("category", stale,
+                () -> transactionTemplate.execute(status -> applyUpdate(id, dto, ifMatch)));
+
+        log.info("Category updated successfully - id: {}, version: {}", id, response.body().version());
+        return response;
+    }
+
+    private Tagged<CategoryResponseDto> applyUpdate(Long id, CategoryRequestDto dto, String ifMatch) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("[{}] Update rejected - category not found - id: {}", CATEGORY_NOT_FOUND, id);
                     return CategoryNotFoundException.forId();
                 });
 
+        if (ifMatch != null && !EntityTags.matches(ifMatch, EntityTags.category(id, category.getUpdatedAt()))) {
+            log.warn("[{}] Update rejected - category modified since the client's ETag - id: {}",
+                    PRECONDITION_FAILED, id);
+            throw PreconditionFailedException.forETag();
+        }
+        if (dto.version() != null && !dto.version().equals(category.getVersion())) {
+            log.warn("[{}] Update rejected - stale version - id: {}, supplied: {}, current: {}",
+                    CONCURRENT_UPDATE, id, dto.version(), category.getVersion());
+            throw ConcurrentUpdateException.forStaleVersion();
+        }
+
         // Skip uniqueness check if the name hasn't changed (case-insensitive)
         if (!dto.name().equalsIgnoreCase(category.getName())) {
             if (categoryRepository.existsByName(dto.name())) {
@@ -107,26 +199,102 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         Category updatedCategory = categoryMapper.updateEntityFromDto(dto, category);
-        categoryRepository.save(updatedCategory);
+        categoryRepository.saveAndFlush(updatedCategory);
 
-        log.info("Category updated successfully - id: {}", id);
-        return categoryMapper.toResponseDto(updatedCategory);
+        CategoryResponseDto response = categoryMapper.toResponseDto(updatedCategory);
+        eventPublisher.publishEvent(new CategoryChangedEvent(response, false));
+        return new Tagged<>(response, EntityTags.category(id, updatedCategory.getUpdatedAt()));
     }
 
     // -------------------------------------------------------------------------
     // DELETE
     // -------------------------------------------------------------------------
 
+    // Chunks commit one by one: no transaction spans the whole category
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteCategory(Long id) {
         log.info("Deleting category - id: {}", id);
+        requireExisting(id);
+
+        long deleted = purgeCategory(id, chunk -> {});
+        log.info("Category deleted successfully - id: {}, products removed: {}", id, deleted);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CategoryDeletionJobDto deleteCategoryAsync(Long id) {
+        log.info("Scheduling background deletion - category id: {}", id);
+        requireExisting(id);
+
+        CategoryDeletionJobDto job = deletionJobs.submit(id, productRepository.countByCategoryId(id), progress -> {
+            long deleted = purgeCategory(id, progress);
+            log.info("Category deleted successfully - id: {}, products removed: {}", id, deleted);
+        });
+        log.info("Background deletion running - category id: {}, job id: {}", id, job.jobId());
+        return job;
+    }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CategoryDeletionJobDto findDeletionJob(String jobId) {
+        return deletionJobs.find(jobId).orElseThrow(() -> {
+            log.warn("[{}] Deletion job not found - id: {}", DELETION_JOB_NOT_FOUND, jobId);
+            return CategoryDeletionJobNotFoundException.forId();
+        });
+    }
+
+    private void requireExisting(Long id) {
         if (!categoryRepository.existsById(id)) {
             log.warn("[{}] Delete rejected - category not found - id: {}", CATEGORY_NOT_FOUND, id);
             throw CategoryNotFoundException.forId();
         }
+    }
 
-        categoryRepository.deleteById(id);
-        log.info("Category deleted successfully - id: {}", id);
+    // Each chunk is two set-based statements (select the next ids, delete them by id) in its own
+    // short transaction, so row locks are held for one chunk only and nothing enters the persistence
+    // context. The ids are published for cache and index eviction; the category row goes with the
+    // last, partial chunk. A chunk locks the category row first: where the foreign key check of a
+    // product insert takes a share lock on it (PostgreSQL), the insert waits for the chunk to commit
+    // and then fails on the missing category. Where it doesn't (H2), a product inserted after the
+    // last select fails the delete of the category instead: that chunk rolls back and the loop
+    // goes round again, picking the newcomer up.
+    private long purgeCategory(Long categoryId, LongConsumer onChunk) {
+        long deleted = 0;
+        int raced = 0;
+        while (true) {
+            List<Long> ids;
+            try {
+                ids = transactionTemplate.execute(status -> {
+                    categoryRepository.lockById(categoryId);
+                    List<Long> chunk = productRepository.findIdsByCategoryId(categoryId, Limit.of(DELETE_CHUNK_SIZE));
+                    if (!chunk.isEmpty()) {
+                        productRepository.deleteAllByIdInBatch(chunk);
+                        eventPublisher.publishEvent(new ProductsDeletedEvent(chunk));
+                    }
+                    if (chunk.size() < DELETE_CHUNK_SIZE) {
+                        categoryRepository.deleteById(categoryId);
+                        // Surfaces a product inserted meanwhile here, not at commit
+                        categoryRepository.flush();
+                        eventPublisher.publishEvent(new CategoryDeletedEvent(categoryId));
+                    }
+                    return chunk;
+                });
+            } catch (DataIntegrityViolationException ex) {
+                if (++raced == MAX_DELETE_RACES) {
+                    log.warn("[{}] Category deletion aborted - products still being added - id: {}, attempts: {}",
+                            CONCURRENT_UPDATE, categoryId, raced);
+                    throw ConcurrentUpdateException.forRetriesExhausted();
+                }
+                log.debug("Product added during category deletion - id: {}, retrying", categoryId);
+                continue;
+            }
+            deleted += ids.size();
+            onChunk.accept(ids.size());
+            if (ids.size() < DELETE_CHUNK_SIZE) {
+                return deleted;
+            }
+            log.debug("Category deletion in progress - id: {}, products removed: {}", categoryId, deleted);
+        }
     }
 }
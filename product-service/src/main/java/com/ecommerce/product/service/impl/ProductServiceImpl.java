@@ -1,24 +1,100 @@
 package com.ecommerce.product.service.impl;
 
+import com.ecommerce.product.cache.ProductCache;
+import com.ecommerce.product.catalog.CategoryCatalog;
+import com.ecommerce.product.changes.ProductChangeFeed;
+import com.ecommerce.product.datasource.ReplicaRoutingDataSource;
+import com.ecommerce.product.dto.BulkImportErrorDto;
+import com.ecommerce.product.dto.BulkImportResultDto;
+import com.ecommerce.product.dto.CategoryFacetDto;
+import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.dto.PriceBucketFacetDto;
+import com.ecommerce.product.dto.ProductChangeDto;
+import com.ecommerce.product.dto.ProductChangesDto;
+import com.ecommerce.product.dto.ProductCursorPageDto;
+import com.ecommerce.product.dto.ProductFacetsDto;
 import com.ecommerce.product.dto.ProductRequestDto;
 import com.ecommerce.product.dto.ProductResponseDto;
 import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.dto.ProductStockResponseDto;
+import com.ecommerce.product.dto.StockReservationLineDto;
+import com.ecommerce.product.dto.StockReservationResponseDto;
+import com.ecommerce.product.etag.EntityTags;
+import com.ecommerce.product.etag.Tagged;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.event.ProductDeletedEvent;
+import com.ecommerce.product.event.ProductStockChangedEvent;
+import com.ecommerce.product.event.ProductsImportedEvent;
 import com.ecommerce.product.exception.CategoryNotFoundException;
+import com.ecommerce.product.exception.ChangeCursorExpiredException;
+import com.ecommerce.product.exception.ConcurrentUpdateException;
+import com.ecommerce.product.exception.InsufficientStockException;
+import com.ecommerce.product.exception.InvalidCursorException;
+import com.ecommerce.product.exception.PreconditionFailedException;
 import com.ecommerce.product.exception.ProductAlreadyExistsException;
 import com.ecommerce.product.exception.ProductNotFoundException;
+import com.ecommerce.product.index.ProductFacetIndex;
+import com.ecommerce.product.index.ProductPriceIndex;
+import com.ecommerce.product.index.ProductSearchIndex;
 import com.ecommerce.product.mapper.ProductMapper;
 import com.ecommerce.product.model.Category;
 import com.ecommerce.product.model.Product;
+import com.ecommerce.product.model.ProductChange;
+import com.ecommerce.product.pagination.ProductChangeCursor;
+import com.ecommerce.product.pagination.ProductCursor;
+import com.ecommerce.product.pagination.ProductSortKey;
 import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductChangeRepository;
 import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.repository.ProductVersion;
+import com.ecommerce.product.retry.OptimisticLockRetry;
 import com.ecommerce.product.service.ProductService;
+import com.ecommerce.product.stock.HotStockRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.ecommerce.product.constant.LogCode.*;
 
@@ -28,16 +104,62 @@ public class ProductServiceImpl implements ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
 
+    static final int MAX_PAGE_SIZE = 50;
+    static final int EXPORT_CLEAR_INTERVAL = 1_000;
+    static final int IMPORT_CHUNK_SIZE = 500;
+    static final int MAX_IMPORT_ERRORS = 100;
+    static final int MAX_CHANGES_PAGE_SIZE = 500;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductChangeRepository productChangeRepository;
     private final ProductMapper productMapper;
+    private final ProductSearchIndex searchIndex;
+    private final ProductPriceIndex priceIndex;
+    private final ProductFacetIndex facetIndex;
+    private final HotStockRegistry hotStock;
+    private final ProductCache productCache;
+    private final CategoryCatalog categoryCatalog;
+    private final ProductChangeFeed changeFeed;
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticLockRetry writeRetry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final AtomicReference<CompletableFuture<ProductFacetIndex>> facetScan = new AtomicReference<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public ProductServiceImpl(ProductRepository productRepository,
                               CategoryRepository categoryRepository,
-                              ProductMapper productMapper) {
+                              ProductChangeRepository productChangeRepository,
+                              ProductMapper productMapper,
+                              ProductSearchIndex searchIndex,
+                              ProductPriceIndex priceIndex,
+                              ProductFacetIndex facetIndex,
+                              HotStockRegistry hotStock,
+                              ProductCache productCache,
+                              CategoryCatalog categoryCatalog,
+                              ProductChangeFeed changeFeed,
+                              TransactionTemplate transactionTemplate,
+                              OptimisticLockRetry writeRetry,
+                              ApplicationEventPublisher eventPublisher,
+                              Validator validator) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productChangeRepository = productChangeRepository;
         this.productMapper = productMapper;
+        this.searchIndex = searchIndex;
+        this.priceIndex = priceIndex;
+        this.facetIndex = facetIndex;
+        this.hotStock = hotStock;
+        this.productCache = productCache;
+        this.categoryCatalog = categoryCatalog;
+        this.changeFeed = changeFeed;
+        this.transactionTemplate = transactionTemplate;
+        this.writeRetry = writeRetry;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
     }
 
     // -------------------------------------------------------------------------
@@ -54,18 +176,198 @@ public class ProductServiceImpl implements ProductService {
             throw ProductAlreadyExistsException.forName();
         }
 
-        Category category = categoryRepository.findById(dto.categoryId())
-                .orElseThrow(() -> {
-                    log.warn("[{}] Creation rejected - category not found - id: {}", CATEGORY_NOT_FOUND, dto.categoryId());
-                    return CategoryNotFoundException.forId();
-                });
+        Category category = categoryReference(dto.categoryId(), "Creation");
 
         Product newProduct = productMapper.toEntity(dto);
         newProduct.setCategory(category);
         productRepository.save(newProduct);
 
         log.info("Product created successfully - id: {}, name: '{}'", newProduct.getId(), newProduct.getName());
-        return productMapper.toResponseDTO(newProduct);
+        ProductResponseDto response = productMapper.toResponseDTO(newProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(response, true));
+        return response;
+    }
+
+    // -------------------------------------------------------------------------
+    // CREATE - bulk import
+    // -------------------------------------------------------------------------
+
+    // Each chunk commits on its own, so a long import never holds one huge transaction open
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkImportResultDto importProducts(Iterator<ProductRequestDto> rows) {
+        log.info("Bulk import started");
+        BulkImport run = new BulkImport();
+        List<ImportRow> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        while (true) {
+            ProductRequestDto dto;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                dto = rows.next();
+            } catch (RuntimeException e) {
+                // A malformed document leaves the parser at an unknown position: stop reading here
+                run.received++;
+                log.warn("[{}] Bulk import stopped - row {} is unreadable: {}",
+                        BULK_IMPORT_ROW_REJECTED, run.received, e.getMessage());
+                run.reject(run.received, "Unreadable row, import stopped");
+                break;
+            }
+            run.received++;
+            chunk.add(new ImportRow(run.received, dto));
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                importChunk(chunk, run);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, run);
+        }
+
+        log.info("Bulk import completed - received: {}, imported: {}, failed: {}",
+                run.received, run.imported, run.failed);
+        return new BulkImportResultDto(run.received, run.imported, run.failed,
+                List.copyOf(run.errors), run.failed > run.errors.size());
+    }
+
+    private void importChunk(List<ImportRow> chunk, BulkImport run) {
+        List<ImportRow> accepted = acceptedRows(chunk, run);
+        if (accepted.isEmpty()) {
+            return;
+        }
+        try {
+            run.imported += transactionTemplate.execute(status -> insertRows(accepted));
+        } catch (DataIntegrityViolationException e) {
+            // The data changed after our checks (a name taken, a category deleted): redo the chunk row by row
+            log.warn("[{}] Bulk import chunk rejected by the database, retrying {} row(s) one by one",
+                    BULK_IMPORT_ROW_REJECTED, accepted.size());
+            for (ImportRow row : accepted) {
+                try {
+                    run.imported += transactionTemplate.execute(status -> insertRows(List.of(row)));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    run.reject(row.number(), rejectionReason(row.dto()));
+                    log.warn("[{}] Bulk import row {} rejected by the database: {}",
+                            BULK_IMPORT_ROW_REJECTED, row.number(), rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    // Re-runs the checks that can go stale between acceptedRows and the INSERT; anything else is
+    // reported as is rather than guessed
+    private String rejectionReason(ProductRequestDto dto) {
+        if (productRepository.existsByName(dto.name())) {
+            return "Product name already exists";
+        }
+        if (!categoryRepository.existsById(dto.categoryId())) {
+            return "Category not found";
+        }
+        return "Rejected by the database";
+    }
+
+    // Validation, category and name checks for a whole chunk, without touching the persistence context
+    private List<ImportRow> acceptedRows(List<ImportRow> chunk, BulkImport run) {
+        // Rejections are reported in row order, whichever check caught them
+        SortedMap<Long, String> rejected = new TreeMap<>();
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String problem = validationProblem(row.dto());
+            if (problem == null && !categoryExists(row.dto().categoryId(), run)) {
+                problem = "Category not found";
+            }
+            if (problem == null && !run.names.add(row.dto().name())) {
+                problem = "Duplicate product name in the import";
+            }
+            if (problem == null) {
+                candidates.add(row);
+            } else {
+                rejected.put(row.number(), problem);
+            }
+        }
+
+        List<ImportRow> accepted = candidates;
+        if (!candidates.isEmpty()) {
+            Set<String> existing = productRepository.findExistingNames(
+                    candidates.stream().map(row -> row.dto().name()).toList());
+            if (!existing.isEmpty()) {
+                accepted = new ArrayList<>(candidates.size());
+                for (ImportRow row : candidates) {
+                    if (existing.contains(row.dto().name())) {
+                        rejected.put(row.number(), "Product name already exists");
+                    } else {
+                        accepted.add(row);
+                    }
+                }
+            }
+        }
+        rejected.forEach(run::reject);
+        return accepted;
+    }
+
+    private String validationProblem(ProductRequestDto dto) {
+        if (dto == null) {
+            return "Empty row";
+        }
+        Set<ConstraintViolation<ProductRequestDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private boolean categoryExists(Long categoryId, BulkImport run) {
+        if (categoryCatalog.find(categoryId).isPresent()) {
+            return true;
+        }
+        return run.categories.computeIfAbsent(categoryId, id -> {
+            boolean exists = categoryRepository.existsById(id);
+            if (exists) {
+                categoryCatalog.reload();
+            }
+            return exists;
+        });
+    }
+
+    // Runs inside the chunk transaction: persist everything, then a single flush sends
+    // the INSERTs in JDBC batches (ids come from the pooled sequence, not from the INSERT).
+    // The flush goes through the repository so a constraint failure surfaces as a
+    // DataIntegrityViolationException, which importChunk relies on
+    private int insertRows(List<ImportRow> rows) {
+        List<Product> products = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Product product = productMapper.toEntity(row.dto());
+            product.setCategory(categoryRepository.getReferenceById(row.dto().categoryId()));
+            entityManager.persist(product);
+            products.add(product);
+        }
+        productRepository.flush();
+
+        List<ProductResponseDto> imported = products.stream().map(productMapper::toResponseDTO).toList();
+        entityManager.clear();
+        eventPublisher.publishEvent(new ProductsImportedEvent(imported));
+        return imported.size();
+    }
+
+    private record ImportRow(long number, ProductRequestDto dto) {}
+
+    private static final class BulkImport {
+        private final List<BulkImportErrorDto> errors = new ArrayList<>();
+        private final Set<String> names = new HashSet<>();
+        private final Map<Long, Boolean> categories = new HashMap<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        void reject(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_IMPORT_ERRORS) {
+                errors.add(new BulkImportErrorDto(row, message));
+            }
+        }
     }
 
     // -------------------------------------------------------------------------
@@ -74,73 +376,347 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponseDto> getAllProducts() {
-        log.debug("Fetching all products");
-
-        List<ProductResponseDto> result = productRepository.findAll()
-                .stream()
+    public ProductCursorPageDto getAllProducts(String cursor, int size, ProductSortKey sortKey) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        ProductCursor after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor, sortKey) : null;
+        ProductSortKey effectiveSort = after != null ? after.sortKey()
+                : sortKey != null ? sortKey : ProductSortKey.ID;
+        log.debug("Fetching products page - sort: {}, size: {}, after: {}", effectiveSort, pageSize, after);
+
+        // Fetch one extra row to know whether a next page exists without a COUNT query
+        Limit limit = Limit.of(pageSize + 1);
+        List<Product> rows = switch (effectiveSort) {
+            case ID -> after == null
+                    ? productRepository.findAllByOrderByIdAsc(limit)
+                    : productRepository.findByIdGreaterThanOrderByIdAsc(after.id(), limit);
+            case UPDATED_AT -> after == null
+                    ? productRepository.findAllByOrderByUpdatedAtAscIdAsc(limit)
+                    : productRepository.findPageAfterUpdatedAt(after.updatedAt(), after.id(), limit);
+        };
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Product> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext
+                ? ProductCursor.after(page.get(page.size() - 1), effectiveSort).encode()
+                : null;
+
+        List<ProductResponseDto> content = page.stream()
                 .map(productMapper::toResponseDTO)
                 .toList();
 
-        log.debug("Returned {} product(s)", result.size());
-        return result;
+        log.debug("Returned {} product(s), hasNext: {}", content.size(), hasNext);
+        return new ProductCursorPageDto(content, pageSize, hasNext, nextCursor);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public long exportCatalog(Consumer<ProductResponseDto> sink) {
+        log.info("Starting catalog export");
+        long exported = 0;
+
+        try (Stream<Product> rows = productRepository.streamAllForExport()) {
+            for (Product product : (Iterable<Product>) rows::iterator) {
+                sink.accept(productMapper.toResponseDTO(product));
+                // Detach what we've already written, otherwise the session grows with the catalog
+                if (++exported % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        log.info("Catalog export completed - {} product(s)", exported);
+        return exported;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ProductResponseDto findById(Long id) {
         log.debug("Looking up product by id: {}", id);
-        return productRepository.findById(id)
-                .map(productMapper::toResponseDTO)
+        // No transaction of our own: a cache hit doesn't borrow a connection, a miss uses the repository's.
+        // The miss reads the primary: the entry is shared by every reader until the TTL, and a lagging
+        // replica would put back the state a write on this instance has just invalidated
+        ProductResponseDto product = productCache.get(id, key -> {
+            try (ReplicaRoutingDataSource.Pin pin = ReplicaRoutingDataSource.pinToPrimary()) {
+                return productRepository.findById(key)
+                        .map(entity -> new ProductCache.Entry(productMapper.toResponseDTO(entity),
+                                new ProductVersion(entity.getCategory().getId(), entity.getUpdatedAt())))
+                        .orElse(null);
+            }
+        });
+        if (product == null) {
+            log.warn("[{}] Product not found - id: {}", PRODUCT_NOT_FOUND, id);
+            throw ProductNotFoundException.forId();
+        }
+        return withHotStock(product);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String currentETag(Long id) {
+        // A cached product carries its version; only a miss costs the single-row lookup, on the primary
+        // like the miss that fills the cache, so the tag matches the body served with it
+        ProductVersion version = productCache.cachedVersion(id)
+                .or(() -> {
+                    try (ReplicaRoutingDataSource.Pin pin = ReplicaRoutingDataSource.pinToPrimary()) {
+                        return productRepository.findVersionById(id);
+                    }
+                })
                 .orElseThrow(() -> {
                     log.warn("[{}] Product not found - id: {}", PRODUCT_NOT_FOUND, id);
                     return ProductNotFoundException.forId();
                 });
+        return productETag(id, version.categoryId(), version.updatedAt());
+    }
+
+    // The embedded category comes from the snapshot, so its version does too
+    private String productETag(Long id, Long categoryId, LocalDateTime updatedAt) {
+        LocalDateTime categoryUpdatedAt = categoryCatalog.updatedAt(categoryId)
+                .or(() -> categoryRepository.findUpdatedAtById(categoryId))
+                .orElse(null);
+        return EntityTags.product(id, updatedAt, categoryUpdatedAt, hotStock.available(id));
+    }
+
+    // The database copy of a hot product's stock lags by up to one flush interval
+    private ProductResponseDto withHotStock(ProductResponseDto product) {
+        Long hot = hotStock.available(product.id());
+        return hot == null ? product : new ProductResponseDto(product.id(), product.name(), product.description(),
+                product.price(), hot.intValue(), product.category(), product.version());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponseDto> searchByName(String keyword) {
-        log.debug("Searching products by name keyword: '{}'", keyword);
+    public Page<ProductResponseDto> search(String keyword, Pageable pageable) {
+        log.debug("Searching products - keyword: '{}', page: {}, size: {}",
+                keyword, pageable.getPageNumber(), pageable.getPageSize());
+
+        if (!searchIndex.isReady()) {
+            log.debug("Search index still loading - falling back to name LIKE query");
+            return productRepository.findByNameContainingIgnoreCase(keyword, pageable)
+                    .map(productMapper::toResponseDTO);
+        }
+
+        ProductSearchIndex.Hits hits = searchIndex.search(keyword, pageable.getOffset(), pageable.getPageSize());
+        List<ProductResponseDto> content = hits.productIds().isEmpty()
+                ? List.of()
+                : loadInOrder(hits.productIds());
+
+        log.debug("Found {} product(s) matching keyword '{}'", hits.totalHits(), keyword);
+        return new PageImpl<>(content, pageable, hits.totalHits());
+    }
 
-        List<ProductResponseDto> result = productRepository.findByNameContainingIgnoreCase(keyword)
-                .stream()
+    // Loads the given products in one query and returns them in the order of the ids
+    private List<ProductResponseDto> loadInOrder(List<Long> ids) {
+        Map<Long, Product> byId = productRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .map(productMapper::toResponseDTO)
                 .toList();
-
-        log.debug("Found {} product(s) matching keyword '{}'", result.size(), keyword);
-        return result;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponseDto> searchByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        log.debug("Searching products by price range: {} - {}", minPrice, maxPrice);
+    public Page<ProductResponseDto> searchByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        Sort.Order priceOrder = pageable.getSort().getOrderFor("price");
+        boolean descending = priceOrder != null && priceOrder.isDescending();
+        log.debug("Searching products by price range: {} - {}, page: {}, size: {}, descending: {}",
+                minPrice, maxPrice, pageable.getPageNumber(), pageable.getPageSize(), descending);
+
+        if (!priceIndex.isReady()) {
+            log.debug("Price index still loading - falling back to BETWEEN query");
+            Sort byPrice = Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, "price").and(Sort.by("id"));
+            Pageable sorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), byPrice);
+            return productRepository.findByPriceBetween(minPrice, maxPrice, sorted)
+                    .map(productMapper::toResponseDTO);
+        }
 
-        List<ProductResponseDto> result = productRepository.findByPriceBetween(minPrice, maxPrice)
-                .stream()
-                .map(productMapper::toResponseDTO)
+        ProductPriceIndex.Range range = priceIndex.range(minPrice, maxPrice,
+                pageable.getOffset(), pageable.getPageSize(), descending);
+        List<ProductResponseDto> content = range.productIds().isEmpty()
+                ? List.of()
+                : loadInOrder(range.productIds());
+
+        log.debug("Found {} product(s) in price range {} - {}", range.totalHits(), minPrice, maxPrice);
+        return new PageImpl<>(content, pageable, range.totalHits());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductFacetsDto facets(Long categoryId, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
+        log.debug("Counting facets - categoryId: {}, price: {} - {}, inStock: {}", categoryId, minPrice, maxPrice, inStock);
+        ProductFacetIndex index = facetIndex.isReady() ? facetIndex : scanFacets();
+
+        ProductFacetIndex.Counts counts = index.count(
+                new ProductFacetIndex.Filter(categoryId, minPrice, maxPrice, inStock), hotStock.availableByProduct());
+        List<CategoryFacetDto> categories = counts.byCategory().entrySet().stream()
+                .map(entry -> new CategoryFacetDto(entry.getKey(),
+                        categoryCatalog.find(entry.getKey()).map(CategoryResponseDto::name).orElse(null),
+                        entry.getValue()))
+                .toList();
+        List<PriceBucketFacetDto> priceBuckets = counts.byPrice().stream()
+                .map(bucket -> new PriceBucketFacetDto(bucket.min(), bucket.max(), bucket.count()))
                 .toList();
+        return new ProductFacetsDto(counts.total(), categories, priceBuckets, counts.inStock(), counts.outOfStock());
+    }
 
-        log.debug("Found {} product(s) in price range {} - {}", result.size(), minPrice, maxPrice);
-        return result;
+    // While the index loads, the same counting code runs over a catalog scan rather than one COUNT
+    // query per facet value. Requests arriving during a scan wait for it and share its result, so
+    // there is at most one scan at a time however many requests come in.
+    private ProductFacetIndex scanFacets() {
+        CompletableFuture<ProductFacetIndex> scan = new CompletableFuture<>();
+        CompletableFuture<ProductFacetIndex> running = facetScan.compareAndExchange(null, scan);
+        if (running != null) {
+            log.debug("Facet index still loading - joining the catalog scan in progress");
+            try {
+                return running.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        log.debug("Facet index still loading - counting over a catalog scan");
+        try {
+            ProductFacetIndex index = facetIndex.emptyCopy();
+            transactionTemplate.execute(status -> exportCatalog(index::upsert));
+            scan.complete(index);
+            return index;
+        } catch (RuntimeException ex) {
+            scan.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            facetScan.compareAndSet(scan, null);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<ProductChangesDto> getChanges(String since, int limit, Duration wait) {
+        if (since == null || since.isBlank()) {
+            long head = productChangeRepository.findMaxSeq();
+            log.debug("Change feed requested without cursor - starting at head {}", head);
+            return CompletableFuture.completedFuture(
+                    new ProductChangesDto(List.of(), false, new ProductChangeCursor(head).encode()));
+        }
+        long after = decodeChangeCursor(since);
+        int pageSize = Math.clamp(limit, 1, MAX_CHANGES_PAGE_SIZE);
+
+        ProductChangesDto page = readChanges(after, pageSize);
+        if (!page.changes().isEmpty() || !wait.isPositive()) {
+            return CompletableFuture.completedFuture(page);
+        }
+        log.debug("No product change after {} - long-polling for up to {}", after, wait);
+        return changeFeed.afterChange(after, wait, () -> readChanges(after, pageSize));
+    }
+
+    private ProductChangesDto readChanges(long after, int limit) {
+        return transactionTemplate.execute(status -> {
+            // Fetch one extra row to know whether more changes are pending
+            List<ProductChange> rows = productChangeRepository.findBySeqGreaterThanOrderBySeqAsc(after, Limit.of(limit + 1));
+            if (rows.isEmpty()) {
+                return new ProductChangesDto(List.of(), false, new ProductChangeCursor(after).encode());
+            }
+            // Sequence numbers have no gaps: a jump means the changes in between were pruned
+            if (rows.getFirst().getSeq() != after + 1) {
+                log.warn("[{}] Change feed rejected - cursor {} is behind the oldest retained change {}",
+                        CHANGE_CURSOR_EXPIRED, after, rows.getFirst().getSeq());
+                throw ChangeCursorExpiredException.forCursor();
+            }
+            boolean hasMore = rows.size() > limit;
+            List<ProductChange> page = hasMore ? rows.subList(0, limit) : rows;
+
+            // Only the latest change of each product matters, in the position of that change
+            Map<Long, ProductChange> latest = new LinkedHashMap<>();
+            for (ProductChange change : page) {
+                latest.remove(change.getProductId());
+                latest.put(change.getProductId(), change);
+            }
+            List<Long> liveIds = latest.values().stream()
+                    .filter(change -> change.getChangeType() != ProductChange.Type.DELETED)
+                    .map(ProductChange::getProductId)
+                    .toList();
+            Map<Long, Product> products = liveIds.isEmpty() ? Map.of()
+                    : productRepository.findByIdIn(liveIds).stream()
+                            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+            List<ProductChangeDto> changes = latest.values().stream()
+                    .map(change -> {
+                        Product product = products.get(change.getProductId());
+                        // Deleted after this change: the tombstone is further down the feed, serve it now
+                        return product == null
+                                ? new ProductChangeDto(change.getSeq(), change.getProductId(), ProductChange.Type.DELETED, null)
+                                : new ProductChangeDto(change.getSeq(), change.getProductId(), change.getChangeType(),
+                                        withHotStock(productMapper.toResponseDTO(product)));
+                    })
+                    .toList();
+            return new ProductChangesDto(changes, hasMore, new ProductChangeCursor(page.getLast().getSeq()).encode());
+        });
+    }
+
+    private long decodeChangeCursor(String since) {
+        try {
+            return ProductChangeCursor.decode(since).seq();
+        } catch (InvalidCursorException ex) {
+            log.warn("[{}] Change feed rejected - malformed cursor: '{}'", INVALID_CURSOR, since);
+            throw ex;
+        }
+    }
+
+    private ProductCursor decodeCursor(String cursor, ProductSortKey requestedSort) {
+        ProductCursor decoded;
+        try {
+            decoded = ProductCursor.decode(cursor);
+        } catch (InvalidCursorException ex) {
+            log.warn("[{}] Listing rejected - malformed cursor: '{}'", INVALID_CURSOR, cursor);
+            throw ex;
+        }
+        if (requestedSort != null && requestedSort != decoded.sortKey()) {
+            log.warn("[{}] Listing rejected - cursor issued for sort {} but {} requested",
+                    INVALID_CURSOR, decoded.sortKey(), requestedSort);
+            throw InvalidCursorException.forSortMismatch();
+        }
+        return decoded;
     }
 
     // -------------------------------------------------------------------------
     // UPDATE - full replacement (PUT)
     // -------------------------------------------------------------------------
 
+    // Each attempt re-reads the row in its own transaction: a write that loses the @Version race is
+    // re-applied on top of the winner, unless the client pinned the state it read (If-Match or version)
     @Override
-    public ProductResponseDto updateProduct(Long id, ProductRequestDto dto) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Tagged<ProductResponseDto> updateProduct(Long id, ProductRequestDto dto, String ifMatch) {
         log.info("Full update (PUT) - product id: {}, new name: '{}', new categoryId: {}",
                 id, dto.name(), dto.categoryId());
 
+        Supplier<RuntimeException> stale = ifMatch != null ? PreconditionFailedException::forETag
+                : dto.version() != null ? ConcurrentUpdateException::forStaleVersion
+                : null;
+        Tagged<ProductResponseDto> response = writeRetry.execute("product", stale,
+                () -> transactionTemplate.execute(status -> applyUpdate(id, dto, ifMatch)));
+
+        log.info("Product updated successfully - id: {}, version: {}", id, response.body().version());
+        return response;
+    }
+
+    private Tagged<ProductResponseDto> applyUpdate(Long id, ProductRequestDto dto, String ifMatch) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("[{}] PUT rejected - product not found - id: {}", PRODUCT_NOT_FOUND, id);
                     return ProductNotFoundException.forId();
                 });
 
+        if (ifMatch != null
+                && !EntityTags.matches(ifMatch, productETag(id, product.getCategory().getId(), product.getUpdatedAt()))) {
+            log.warn("[{}] PUT rejected - product modified since the client's ETag - id: {}", PRECONDITION_FAILED, id);
+            throw PreconditionFailedException.forETag();
+        }
+        if (dto.version() != null && !dto.version().equals(product.getVersion())) {
+            log.warn("[{}] PUT rejected - stale version - id: {}, supplied: {}, current: {}",
+                    CONCURRENT_UPDATE, id, dto.version(), product.getVersion());
+            throw ConcurrentUpdateException.forStaleVersion();
+        }
+
         // Skip uniqueness check if the name hasn't changed (case-insensitive)
         if (!dto.name().equalsIgnoreCase(product.getName())) {
             if (productRepository.existsByName(dto.name())) {
@@ -150,18 +726,30 @@ public class ProductServiceImpl implements ProductService {
             }
         }
 
-        Category category = categoryRepository.findById(dto.categoryId())
-                .orElseThrow(() -> {
-                    log.warn("[{}] PUT rejected - category not found - id: {}", CATEGORY_NOT_FOUND, dto.categoryId());
-                    return CategoryNotFoundException.forId();
-                });
+        Category category = categoryReference(dto.categoryId(), "PUT");
 
         Product updatedProduct = productMapper.updateEntityFromDTO(dto, product);
         updatedProduct.setCategory(category);
-        productRepository.save(updatedProduct);
+        // Flushed here, so a lost @Version race surfaces now and the response carries the new version
+        productRepository.saveAndFlush(updatedProduct);
 
-        log.info("Product updated successfully - id: {}", id);
-        return productMapper.toResponseDTO(updatedProduct);
+        ProductResponseDto response = productMapper.toResponseDTO(updatedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(response, false));
+        // The tag of what was just flushed: a lookup after the commit could see a later write
+        return new Tagged<>(response, productETag(id, category.getId(), updatedProduct.getUpdatedAt()));
+    }
+
+    // Validates the category against the in-memory snapshot and returns a reference without a SELECT.
+    // A snapshot miss is double-checked on the database: the category may come from another instance.
+    private Category categoryReference(Long categoryId, String operation) {
+        if (categoryCatalog.find(categoryId).isEmpty()) {
+            if (!categoryRepository.existsById(categoryId)) {
+                log.warn("[{}] {} rejected - category not found - id: {}", CATEGORY_NOT_FOUND, operation, categoryId);
+                throw CategoryNotFoundException.forId();
+            }
+            categoryCatalog.reload();
+        }
+        return categoryRepository.getReferenceById(categoryId);
     }
 
     // -------------------------------------------------------------------------
@@ -178,6 +766,16 @@ public class ProductServiceImpl implements ProductService {
         }
 
         productRepository.updateStock(id, dto.stock());
+        eventPublisher.publishEvent(new ProductStockChangedEvent(Map.of(id, dto.stock())));
+        if (hotStock.isHot(id)) {
+            // The in-memory counter owns a hot product's stock: override it once the new value is committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    hotStock.set(id, dto.stock());
+                }
+            });
+        }
 
         // Reload entity to return fresh DTO with updated stock
         Product updated = productRepository.findById(id).orElseThrow(ProductNotFoundException::forId);
@@ -186,6 +784,165 @@ public class ProductServiceImpl implements ProductService {
         return productMapper.toResponseDTO(updated);
     }
 
+    // -------------------------------------------------------------------------
+    // UPDATE - atomic stock decrement (checkout)
+    // -------------------------------------------------------------------------
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ProductStockResponseDto decrementStock(Long id, int quantity) {
+        log.debug("Decrementing stock - product id: {}, quantity: {}", id, quantity);
+
+        // Hot products are served from memory without a transaction or a connection
+        switch (hotStock.tryTake(id, quantity)) {
+            case TAKEN -> {
+                return new ProductStockResponseDto(id, hotAvailable(id));
+            }
+            case INSUFFICIENT -> {
+                log.warn("[{}] Decrement rejected - insufficient hot stock - id: {}, requested: {}",
+                        PRODUCT_OUT_OF_STOCK, id, quantity);
+                throw InsufficientStockException.forQuantity();
+            }
+            case NOT_HOT -> { }
+        }
+
+        OptionalInt remaining = transactionTemplate.execute(status -> {
+            OptionalInt result = productRepository.decrementStock(id, quantity);
+            if (result.isPresent()) {
+                eventPublisher.publishEvent(new ProductStockChangedEvent(Map.of(id, result.getAsInt())));
+            }
+            return result;
+        });
+        if (remaining.isEmpty()) {
+            // Only the failure path pays a second query, to tell "missing" from "sold out"
+            if (!productRepository.existsById(id)) {
+                log.warn("[{}] Decrement rejected - product not found - id: {}", PRODUCT_NOT_FOUND, id);
+                throw ProductNotFoundException.forId();
+            }
+            log.warn("[{}] Decrement rejected - insufficient stock - id: {}, requested: {}",
+                    PRODUCT_OUT_OF_STOCK, id, quantity);
+            throw InsufficientStockException.forQuantity();
+        }
+
+        log.debug("Stock decremented - id: {}, remaining: {}", id, remaining.getAsInt());
+        return new ProductStockResponseDto(id, remaining.getAsInt());
+    }
+
+    // -------------------------------------------------------------------------
+    // UPDATE - multi-line stock reservation (checkout)
+    // -------------------------------------------------------------------------
+
+    @Override
+    public StockReservationResponseDto reserveStock(List<StockReservationLineDto> lines) {
+        // Merge duplicate lines; the sorted map also fixes the id order used for locking and updating
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        lines.forEach(line -> quantities.merge(line.productId(), line.quantity(), Integer::sum));
+        log.info("Reserving stock - {} product(s), {} line(s)", quantities.size(), lines.size());
+
+        SortedMap<Long, Integer> hotLines = takeHotLines(quantities);
+        quantities.keySet().removeAll(hotLines.keySet());
+        List<ProductStockResponseDto> reserved = new ArrayList<>();
+        hotLines.keySet().forEach(id -> reserved.add(new ProductStockResponseDto(id, hotAvailable(id))));
+        if (quantities.isEmpty()) {
+            log.info("Stock reserved - {} hot product(s)", reserved.size());
+            return new StockReservationResponseDto(reserved);
+        }
+
+        Map<Long, Integer> stockById = productRepository.lockStockForUpdate(quantities.keySet());
+        if (stockById.size() < quantities.size()) {
+            List<Long> missing = quantities.keySet().stream().filter(id -> !stockById.containsKey(id)).toList();
+            log.warn("[{}] Reservation rejected - product(s) not found - ids: {}", PRODUCT_NOT_FOUND, missing);
+            throw ProductNotFoundException.forId();
+        }
+
+        List<Long> shortIds = quantities.entrySet().stream()
+                .filter(line -> stockById.get(line.getKey()) < line.getValue())
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!shortIds.isEmpty()) {
+            log.warn("[{}] Reservation rejected - insufficient stock - ids: {}", PRODUCT_OUT_OF_STOCK, shortIds);
+            throw InsufficientStockException.forProducts(shortIds);
+        }
+
+        // Rows are locked, so the guards can't fail here; they're kept so a bug can't oversell
+        if (!productRepository.decrementStockBatch(quantities)) {
+            log.error("[{}] Reservation rejected - conditional update failed on locked rows", PRODUCT_OUT_OF_STOCK);
+            throw InsufficientStockException.forProducts(quantities.keySet());
+        }
+        Map<Long, Integer> remaining = new TreeMap<>();
+        quantities.forEach((id, quantity) -> remaining.put(id, stockById.get(id) - quantity));
+        eventPublisher.publishEvent(new ProductStockChangedEvent(remaining));
+
+        remaining.forEach((id, stock) -> reserved.add(new ProductStockResponseDto(id, stock)));
+        reserved.sort(Comparator.comparing(ProductStockResponseDto::productId));
+        log.info("Stock reserved - {} product(s), {} hot", reserved.size(), hotLines.size());
+        return new StockReservationResponseDto(reserved);
+    }
+
+    // Takes the hot lines out of the in-memory counters, all or none; they're given back if the
+    // surrounding transaction rolls back (e.g. a regular line turns out to be short)
+    private SortedMap<Long, Integer> takeHotLines(SortedMap<Long, Integer> quantities) {
+        SortedMap<Long, Integer> taken = new TreeMap<>();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            HotStockRegistry.TakeResult result = hotStock.tryTake(line.getKey(), line.getValue());
+            if (result == HotStockRegistry.TakeResult.TAKEN) {
+                taken.put(line.getKey(), line.getValue());
+            } else if (result == HotStockRegistry.TakeResult.INSUFFICIENT) {
+                taken.forEach(hotStock::giveBack);
+                log.warn("[{}] Reservation rejected - insufficient hot stock - id: {}", PRODUCT_OUT_OF_STOCK, line.getKey());
+                throw InsufficientStockException.forProducts(List.of(line.getKey()));
+            }
+        }
+        if (!taken.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        taken.forEach(hotStock::giveBack);
+                    }
+                }
+            });
+        }
+        return taken;
+    }
+
+    private int hotAvailable(Long id) {
+        Long left = hotStock.available(id);
+        return left != null ? left.intValue() : 0;
+    }
+
+    // -------------------------------------------------------------------------
+    // UPDATE - hot-SKU stock mode
+    // -------------------------------------------------------------------------
+
+    @Override
+    public ProductStockResponseDto enableHotStock(Long id) {
+        Integer stock = productRepository.lockStockForUpdate(List.of(id)).get(id);
+        if (stock == null) {
+            log.warn("[{}] Hot stock mode rejected - product not found - id: {}", PRODUCT_NOT_FOUND, id);
+            throw ProductNotFoundException.forId();
+        }
+        if (!hotStock.enable(id, stock)) {
+            log.info("Hot stock mode already enabled - id: {}", id);
+            return new ProductStockResponseDto(id, hotAvailable(id));
+        }
+        return new ProductStockResponseDto(id, stock);
+    }
+
+    @Override
+    public ProductStockResponseDto disableHotStock(Long id) {
+        Long finalStock = hotStock.disable(id);
+        if (finalStock != null) {
+            eventPublisher.publishEvent(new ProductStockChangedEvent(Map.of(id, finalStock.intValue())));
+            return new ProductStockResponseDto(id, finalStock.intValue());
+        }
+        Integer stock = productRepository.findById(id).map(Product::getStock).orElseThrow(() -> {
+            log.warn("[{}] Hot stock mode disable rejected - product not found - id: {}", PRODUCT_NOT_FOUND, id);
+            return ProductNotFoundException.forId();
+        });
+        return new ProductStockResponseDto(id, stock);
+    }
+
     // -------------------------------------------------------------------------
     // DELETE
     // -------------------------------------------------------------------------
@@ -200,6 +957,7 @@ public class ProductServiceImpl implements ProductService {
         }
 
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductDeletedEvent(id));
         log.info("Product deleted successfully - id: {}", id);
     }
 }
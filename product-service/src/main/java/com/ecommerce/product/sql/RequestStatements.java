@@ -0,0 +1,130 @@
+package com.ecommerce.product.sql;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The SQL work of one HTTP request: statements executed, rows fetched, time spent waiting for
+ * connections, in the driver and reading result sets, and how often each statement shape was
+ * prepared.
+ * <p>
+ * Recording is bound to the thread that called {@link #record()} until the handle is closed:
+ * {@link StatementCountingDataSource} counts the statements and rows of the connections that thread
+ * takes, {@link SqlShapeInspector} the shapes of the statements Hibernate prepares on it. Work
+ * handed to other threads (async listeners, the outbox relay, the change feed sequencer) is not
+ * part of the request and is not counted.
+ * </p>
+ */
+public final class RequestStatements implements AutoCloseable {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    // "in (?,?,?)" and "values (?,?),(?,?)" differ only in the number of bind parameters
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\?(?:\\s*,\\s*\\?)*\\)(?:\\s*,\\s*\\(\\?(?:\\s*,\\s*\\?)*\\))*");
+
+    private final RequestStatements previous;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long rowsFetched;
+    private long dbNanos;
+    private long acquireNanos;
+    private long hydrationNanos;
+
+    private RequestStatements(RequestStatements previous) {
+        this.previous = previous;
+    }
+
+    /** Starts recording the SQL work of this thread; closing the handle stops it. */
+    public static RequestStatements record() {
+        RequestStatements statements = new RequestStatements(CURRENT.get());
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    /** The recording of this thread, {@code null} outside a request. */
+    public static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    void prepared(String sql) {
+        shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    void executed(long nanos) {
+        statements++;
+        dbNanos += nanos;
+    }
+
+    void rowFetched() {
+        rowsFetched++;
+    }
+
+    void acquired(long nanos) {
+        acquireNanos += nanos;
+    }
+
+    void hydrated(long nanos) {
+        hydrationNanos += nanos;
+    }
+
+    /** Statements sent to the database; a JDBC batch counts once. */
+    public int statements() {
+        return statements;
+    }
+
+    public long rowsFetched() {
+        return rowsFetched;
+    }
+
+    /** Time spent executing statements, in the driver; fetching rows not included. */
+    public Duration dbTime() {
+        return Duration.ofNanos(dbNanos);
+    }
+
+    /**
+     * Time spent getting connections from the pool; with virtual threads, the wait in the
+     * connection limiter in front of the pool comes before and is not included.
+     */
+    public Duration connectionAcquireTime() {
+        return Duration.ofNanos(acquireNanos);
+    }
+
+    /**
+     * Time result sets stayed open after their statement returned: reading the rows and, for
+     * Hibernate, building the entities from them as it goes.
+     */
+    public Duration hydrationTime() {
+        return Duration.ofNanos(hydrationNanos);
+    }
+
+    /** Statement shapes prepared more than {@code threshold} times, with their count. */
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count > threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    /**
+     * The SQL with every parenthesised list of bind parameters collapsed to {@code (?)}: loading
+     * 3 or 30 ids with one {@code IN} is the same statement, loading them one by one is not.
+     */
+    static String shape(String sql) {
+        return sql.indexOf('?') < 0 ? sql : PARAMETER_LIST.matcher(sql).replaceAll("(?)");
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.product.sql;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Published by {@link StatementStatsFilter} once a request has been handled, on the request's thread.
+ *
+ * @param method      HTTP method
+ * @param uri         matched route template, {@code UNKNOWN} when no handler matched
+ * @param statements  statements executed
+ * @param rowsFetched rows read from result sets
+ * @param dbTime      time spent executing the statements
+ * @param repeated    statement shapes prepared more than the N+1 threshold, with their count
+ */
+public record RequestStatementsEvent(String method, String uri, int statements, long rowsFetched, Duration dbTime,
+                                     Map<String, Integer> repeated) {
+}
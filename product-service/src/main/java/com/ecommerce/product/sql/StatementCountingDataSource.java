@@ -0,0 +1,192 @@
+package com.ecommerce.product.sql;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts, at the JDBC level, the statements executed, the rows fetched and the time spent in the
+ * driver on the connections taken while a {@link RequestStatements} recording is active.
+ * <p>
+ * Connections taken outside a recording are the pool's own, untouched, so scheduled jobs and
+ * listeners pay nothing. Inside one, the wait for the connection is timed and the connection, its
+ * statements and their result sets are proxied. A statement's time runs from the {@code execute*}
+ * call to its return, so it covers the round trip and the first fetch; a result set's time, from
+ * then to its {@code close()}, covers reading the rows and whatever the caller does between them.
+ * </p>
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestStatements statements = RequestStatements.current();
+        if (statements == null) {
+            return obtainTargetDataSource().getConnection();
+        }
+        long start = System.nanoTime();
+        try {
+            return counting(obtainTargetDataSource().getConnection(), statements);
+        } finally {
+            statements.acquired(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        RequestStatements statements = RequestStatements.current();
+        if (statements == null) {
+            return obtainTargetDataSource().getConnection(username, password);
+        }
+        long start = System.nanoTime();
+        try {
+            return counting(obtainTargetDataSource().getConnection(username, password), statements);
+        } finally {
+            statements.acquired(System.nanoTime() - start);
+        }
+    }
+
+    private static Connection counting(Connection target, RequestStatements statements) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, new ConnectionHandler(target, statements));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final RequestStatements statements;
+
+        ConnectionHandler(Connection target, RequestStatements statements) {
+            this.target = target;
+            this.statements = statements;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getTargetConnection":
+                    return target;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Counting connection [" + target + "]";
+                case "createStatement", "prepareStatement", "prepareCall":
+                    // Statement, PreparedStatement or CallableStatement, as the method declares
+                    Object statement = StatementCountingDataSource.invoke(target, method, args);
+                    return Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                            new Class<?>[]{method.getReturnType()},
+                            new StatementHandler((Statement) statement, (Connection) proxy, statements));
+                default:
+                    return StatementCountingDataSource.invoke(target, method, args);
+            }
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+        private final RequestStatements statements;
+
+        StatementHandler(Statement target, Connection connection, RequestStatements statements) {
+            this.target = target;
+            this.connection = connection;
+            this.statements = statements;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    // Hibernate keeps its open statements and result sets in hash maps
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result;
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    result = StatementCountingDataSource.invoke(target, method, args);
+                } finally {
+                    statements.executed(System.nanoTime() - start);
+                }
+            } else {
+                result = StatementCountingDataSource.invoke(target, method, args);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class}, new ResultSetHandler(resultSet, (Statement) proxy, statements));
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final Statement statement;
+        private final RequestStatements statements;
+        private final long opened = System.nanoTime();
+        private boolean closed;
+
+        ResultSetHandler(ResultSet target, Statement statement, RequestStatements statements) {
+            this.target = target;
+            this.statement = statement;
+            this.statements = statements;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getStatement":
+                    return statement;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        statements.hydrated(System.nanoTime() - opened);
+                    }
+                    return StatementCountingDataSource.invoke(target, method, args);
+                case "next":
+                    Object hasRow = StatementCountingDataSource.invoke(target, method, args);
+                    if (Boolean.TRUE.equals(hasRow)) {
+                        statements.rowFetched();
+                    }
+                    return hasRow;
+                default:
+                    return StatementCountingDataSource.invoke(target, method, args);
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.ecommerce.product.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+import static com.ecommerce.product.constant.LogCode.N_PLUS_ONE_SUSPECTED;
+
+/**
+ * Records the SQL work of every request - statements, rows fetched, time in the database - as
+ * {@code http.server.requests.db.*} metrics tagged with method and route, and warns when a
+ * request prepares the same statement shape more than {@code nPlusOneThreshold} times: the
+ * signature of an N+1, one query per row of a previous query.
+ * <p>
+ * With {@code debugHeaders} the response also carries {@value #QUERY_COUNT}, {@value #QUERY_ROWS}
+ * and {@value #QUERY_TIME}. They are set just before the body is written, when the handler's
+ * queries are done; statements run while the body streams out (the catalog export) come too late
+ * for the headers and only reach the metrics.
+ * </p>
+ */
+public class StatementStatsFilter extends OncePerRequestFilter implements Ordered {
+
+    /** Early in the chain, so that the statements of the filters after it count as well. */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    public static final String QUERY_COUNT = "X-Query-Count";
+    public static final String QUERY_ROWS = "X-Query-Rows";
+    public static final String QUERY_TIME = "X-Query-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(StatementStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher events;
+    private final boolean debugHeaders;
+    private final int nPlusOneThreshold;
+
+    public StatementStatsFilter(MeterRegistry meterRegistry, ApplicationEventPublisher events,
+                                boolean debugHeaders, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.events = events;
+        this.debugHeaders = debugHeaders;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatements statements = RequestStatements.record();
+        try {
+            if (debugHeaders) {
+                HeaderWritingResponse withHeaders = new HeaderWritingResponse(response, statements);
+                chain.doFilter(request, withHeaders);
+                // No body written (204, 304, HEAD): the headers can still go out
+                withHeaders.writeHeaders();
+            } else {
+                chain.doFilter(request, response);
+            }
+        } finally {
+            statements.close();
+            report(request, statements);
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestStatements statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String method = request.getMethod();
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", method, "uri", uri);
+
+        DistributionSummary.builder("http.server.requests.db.statements").baseUnit("statements").tags(tags)
+                .register(meterRegistry).record(statements.statements());
+        DistributionSummary.builder("http.server.requests.db.rows").baseUnit("rows").tags(tags)
+                .register(meterRegistry).record(statements.rowsFetched());
+        Timer.builder("http.server.requests.db.time").tags(tags)
+                .register(meterRegistry).record(statements.dbTime());
+
+        Map<String, Integer> repeated = statements.repeatedShapes(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter("http.server.requests.db.n-plus-one", tags).increment();
+            repeated.forEach((shape, count) -> log.warn("[{}] {} {} prepared the same statement {} times: {}",
+                    N_PLUS_ONE_SUSPECTED, method, uri, count, shape));
+        }
+        events.publishEvent(new RequestStatementsEvent(method, uri, statements.statements(),
+                statements.rowsFetched(), statements.dbTime(), repeated));
+    }
+
+    // Adds the debug headers on the first write, before the response can be committed
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final RequestStatements statements;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, RequestStatements statements) {
+            super(response);
+            this.statements = statements;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(QUERY_COUNT, Integer.toString(statements.statements()));
+            setHeader(QUERY_ROWS, Long.toString(statements.rowsFetched()));
+            setHeader(QUERY_TIME, Long.toString(statements.dbTime().toMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
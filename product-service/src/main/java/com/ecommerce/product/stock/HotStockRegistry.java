@@ -0,0 +1,247 @@
+package com.ecommerce.product.stock;
+
+import com.ecommerce.product.changes.ProductChangeLog;
+import com.ecommerce.product.event.ProductDeletedEvent;
+import com.ecommerce.product.event.ProductsDeletedEvent;
+import com.ecommerce.product.model.ProductChange;
+import com.ecommerce.product.outbox.OutboxWriter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hot-SKU mode: in-memory stock for products flagged as hot, written back to the database in batches.
+ * <p>
+ * While a product is hot its {@link StripedStockCounter} is the source of truth for its stock and
+ * purchases never touch the {@code products} row; a background writer copies the counters into the
+ * {@code stock} column every {@code product.hot-stock.flush-interval}, and a final flush runs on
+ * disable and on shutdown. Each write-back records its {@code StockUpdated} outbox events and its
+ * change-feed entries in the same transaction. The counters live in this instance only: a hot
+ * product must be served by a single instance, and stock read from the database may lag by up to
+ * one flush interval.
+ * Switch the mode on before the traffic arrives - purchases already in flight on the regular
+ * path at that moment are not seen by the counter.
+ * </p>
+ */
+@Component
+public class HotStockRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(HotStockRegistry.class);
+
+    private static final String FLUSH_STOCK =
+            "UPDATE products SET stock = ?, updated_at = LOCALTIMESTAMP WHERE id = ?";
+
+    /** Result of a purchase against a hot product. */
+    public enum TakeResult { TAKEN, INSUFFICIENT, NOT_HOT }
+
+    private static final class Entry {
+        final StripedStockCounter counter;
+        long lastFlushed;
+
+        Entry(StripedStockCounter counter, long lastFlushed) {
+            this.counter = counter;
+            this.lastFlushed = lastFlushed;
+        }
+    }
+
+    private final Map<Long, Entry> counters = new ConcurrentHashMap<>();
+    // Serializes the write-backs; held across the JDBC call, so a lock and not a monitor (no carrier pinning)
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxWriter outboxWriter;
+    private final ProductChangeLog changeLog;
+    private final int stripes;
+
+    public HotStockRegistry(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            OutboxWriter outboxWriter,
+                            ProductChangeLog changeLog,
+                            @Value("${product.hot-stock.stripes:0}") int stripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxWriter = outboxWriter;
+        this.changeLog = changeLog;
+        // Default: next power of two above the core count
+        int wanted = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.stripes = Integer.highestOneBit(Math.max(1, wanted - 1)) << 1;
+    }
+
+    public boolean isHot(Long productId) {
+        return counters.containsKey(productId);
+    }
+
+    /**
+     * Starts serving the product's stock from memory.
+     *
+     * @return {@code false} if the product was already hot
+     */
+    public boolean enable(Long productId, int currentStock) {
+        Entry entry = new Entry(new StripedStockCounter(currentStock, stripes), currentStock);
+        boolean added = counters.putIfAbsent(productId, entry) == null;
+        if (added) {
+            log.info("Hot stock mode enabled - product id: {}, stock: {}, stripes: {}", productId, currentStock, stripes);
+        }
+        return added;
+    }
+
+    /**
+     * Stops serving the product's stock from memory and writes the final value to the database.
+     *
+     * @return the final stock, or {@code null} if the product was not hot
+     */
+    public Long disable(Long productId) {
+        flushLock.lock();
+        try {
+            Entry entry = counters.remove(productId);
+            if (entry == null) {
+                return null;
+            }
+            long remaining = entry.counter.close();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(FLUSH_STOCK, remaining, productId));
+            log.info("Hot stock mode disabled - product id: {}, final stock: {}", productId, remaining);
+            return remaining;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public TakeResult tryTake(Long productId, int quantity) {
+        Entry entry = counters.get(productId);
+        if (entry == null) {
+            return TakeResult.NOT_HOT;
+        }
+        return switch (entry.counter.tryTake(quantity)) {
+            case TAKEN -> TakeResult.TAKEN;
+            case INSUFFICIENT -> TakeResult.INSUFFICIENT;
+            // Disabled concurrently: the caller goes through the database instead
+            case CLOSED -> TakeResult.NOT_HOT;
+        };
+    }
+
+    /** Gives back units taken by a purchase that was later rolled back. */
+    public void giveBack(Long productId, int quantity) {
+        Entry entry = counters.get(productId);
+        if (entry == null || !entry.counter.add(quantity)) {
+            log.warn("Could not return {} unit(s) to hot product {} - mode was disabled meanwhile", quantity, productId);
+        }
+    }
+
+    /** Current in-memory stock, or {@code null} if the product is not hot. */
+    public Long available(Long productId) {
+        Entry entry = counters.get(productId);
+        return entry == null ? null : entry.counter.available();
+    }
+
+    /** Current in-memory stock of every hot product, by product id. */
+    public Map<Long, Long> availableByProduct() {
+        Map<Long, Long> available = new HashMap<>();
+        counters.forEach((id, entry) -> available.put(id, entry.counter.available()));
+        return available;
+    }
+
+    /** Overrides the in-memory stock; no-op if the product is not hot. */
+    public void set(Long productId, int stock) {
+        Entry entry = counters.get(productId);
+        if (entry != null) {
+            entry.counter.reset(stock);
+        }
+    }
+
+    // Serialized with disable() and shutdown(), so a periodic flush can never overwrite a final value
+    @Scheduled(fixedDelayString = "${product.hot-stock.flush-interval:200ms}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (counters.isEmpty()) {
+                return;
+            }
+            List<Entry> dirty = new ArrayList<>();
+            List<Object[]> batch = new ArrayList<>();
+            counters.forEach((productId, entry) -> {
+                long current = entry.counter.available();
+                if (current != entry.lastFlushed) {
+                    dirty.add(entry);
+                    batch.add(new Object[]{current, productId});
+                }
+            });
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> writeBack(batch));
+            // Only record what was written once the batch has committed
+            for (int i = 0; i < dirty.size(); i++) {
+                dirty.get(i).lastFlushed = (long) batch.get(i)[0];
+            }
+            log.debug("Hot stock flushed - {} product(s)", batch.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Rows of {stock, productId}; runs inside the caller's transaction
+    private void writeBack(List<Object[]> batch) {
+        int[] updated = jdbcTemplate.batchUpdate(FLUSH_STOCK, batch);
+        Map<Long, Integer> stockById = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            // 0 = product deleted meanwhile: no event for it
+            if (updated[i] != 0) {
+                stockById.put((Long) batch.get(i)[1], ((Long) batch.get(i)[0]).intValue());
+            }
+        }
+        outboxWriter.stockUpdated(stockById);
+        changeLog.record(stockById.keySet(), ProductChange.Type.UPDATED);
+    }
+
+    @TransactionalEventListener
+    public void onProductDeleted(ProductDeletedEvent event) {
+        drop(event.productId());
+    }
+
+    @TransactionalEventListener
+    public void onProductsDeleted(ProductsDeletedEvent event) {
+        // Usually none of them is hot: skip the per-id lookups when no counter exists at all
+        if (!counters.isEmpty()) {
+            event.productIds().forEach(this::drop);
+        }
+    }
+
+    private void drop(Long productId) {
+        Entry entry = counters.remove(productId);
+        if (entry != null) {
+            entry.counter.close();
+            log.info("Hot stock mode dropped for deleted product - id: {}", productId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushLock.lock();
+        try {
+            // Durable flush: every counter is closed first, so nothing can be sold after its value is read
+            List<Object[]> batch = new ArrayList<>();
+            counters.forEach((productId, entry) -> batch.add(new Object[]{entry.counter.close(), productId}));
+            counters.clear();
+            if (!batch.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> writeBack(batch));
+                log.info("Hot stock flushed on shutdown - {} product(s)", batch.size());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecommerce.product.stock;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stock of a single product split into per-stripe budgets.
+ * <p>
+ * A purchase CASes its quantity out of one stripe, picked from the calling thread, so
+ * concurrent buyers mostly touch different cache lines and never serialize on a lock.
+ * When no single stripe has enough left, the slow path pools every stripe under a lock
+ * and redistributes what's left. Closing drains the stripes atomically, so the value
+ * returned by {@link #close()} is exact and no purchase can succeed afterwards.
+ * </p>
+ * <p>
+ * Reading the stock takes no lock either: every buyer reads it after its purchase, and a
+ * monitor there would serialize them all again.
+ * </p>
+ */
+final class StripedStockCounter {
+
+    enum Outcome { TAKEN, INSUFFICIENT, CLOSED }
+
+    // One stripe per 64-byte cache line, to avoid false sharing between neighbours
+    private static final int PADDING = 8;
+    private static final long CLOSED_BUDGET = Long.MIN_VALUE / 2;
+
+    private final AtomicLongArray budgets;
+    private final int mask;
+    private volatile boolean closed;
+
+    StripedStockCounter(long stock, int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripes);
+        }
+        this.budgets = new AtomicLongArray(stripes * PADDING);
+        this.mask = stripes - 1;
+        distribute(stock);
+    }
+
+    Outcome tryTake(int quantity) {
+        int home = stripeOf(Thread.currentThread());
+        for (int probe = 0; probe <= mask; probe++) {
+            int slot = ((home + probe) & mask) * PADDING;
+            long budget = budgets.get(slot);
+            while (budget >= quantity) {
+                if (budgets.compareAndSet(slot, budget, budget - quantity)) {
+                    return Outcome.TAKEN;
+                }
+                budget = budgets.get(slot);
+            }
+            if (budget < 0) {
+                return Outcome.CLOSED;
+            }
+        }
+        return takePooled(quantity);
+    }
+
+    /**
+     * Current stock; exact when no purchase is in flight. A read racing a pooled purchase or a reset
+     * can miss the units being moved between stripes, and so briefly report less.
+     */
+    long available() {
+        if (closed) {
+            return 0;
+        }
+        long total = 0;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            total += budgets.get(stripe * PADDING);
+        }
+        // Closed during the scan: the stripes hold the closed marker
+        return Math.max(total, 0);
+    }
+
+    /** Replaces the stock with an absolute value (administrative override). */
+    synchronized boolean reset(long stock) {
+        if (closed) {
+            return false;
+        }
+        drain();
+        distribute(stock);
+        return true;
+    }
+
+    /** Adds units back, e.g. from a purchase that was rolled back. */
+    synchronized boolean add(long quantity) {
+        if (closed) {
+            return false;
+        }
+        distribute(quantity);
+        return true;
+    }
+
+    /** Stops the counter and returns the exact remaining stock. */
+    synchronized long close() {
+        long remaining = drain();
+        closed = true;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            budgets.set(stripe * PADDING, CLOSED_BUDGET);
+        }
+        return remaining;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private synchronized Outcome takePooled(int quantity) {
+        if (closed) {
+            return Outcome.CLOSED;
+        }
+        long total = drain();
+        if (total < quantity) {
+            distribute(total);
+            return Outcome.INSUFFICIENT;
+        }
+        distribute(total - quantity);
+        return Outcome.TAKEN;
+    }
+
+    // Caller holds the monitor; concurrent fast-path takes see 0 and fall into the slow path
+    private long drain() {
+        long total = 0;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            total += budgets.getAndSet(stripe * PADDING, 0);
+        }
+        return total;
+    }
+
+    private void distribute(long stock) {
+        int stripes = mask + 1;
+        long share = stock / stripes;
+        long remainder = stock % stripes;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            budgets.addAndGet(stripe * PADDING, share + (stripe < remainder ? 1 : 0));
+        }
+    }
+
+    private int stripeOf(Thread thread) {
+        long hash = thread.threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
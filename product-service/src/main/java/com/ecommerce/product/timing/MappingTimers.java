@@ -0,0 +1,47 @@
+package com.ecommerce.product.timing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Adds the time spent in the public methods of the given mappers to the {@link RequestTimings} of
+ * the calling thread. Outside a timed request the advice only checks for the timings and calls
+ * through.
+ */
+public class MappingTimers extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public MappingTimers(Class<?>... mappers) {
+        List<Class<?>> mapperTypes = List.of(mappers);
+        StaticMethodMatcherPointcut mapperMethods = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return mapperTypes.contains(method.getDeclaringClass()) && Modifier.isPublic(method.getModifiers());
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(mapperMethods, new MappingInterceptor());
+    }
+
+    private static final class MappingInterceptor implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RequestTimings timings = RequestTimings.current();
+            if (timings == null) {
+                return invocation.proceed();
+            }
+            timings.enterMapping();
+            try {
+                return invocation.proceed();
+            } finally {
+                timings.exitMapping();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.product.timing;
+
+import java.time.Duration;
+
+/**
+ * The phases of a timed request that are not SQL work, bound to the request's thread by
+ * {@link ServerTimingFilter} for the requests it times and absent otherwise.
+ */
+public final class RequestTimings implements AutoCloseable {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private long mappingNanos;
+    private long mappingStart;
+    private int mappingDepth;
+
+    private RequestTimings() {
+    }
+
+    /** Starts timing the request on this thread; closing the handle stops it. */
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /** The timings of this thread, {@code null} when the request is not timed. */
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        CURRENT.remove();
+    }
+
+    // A mapper calling another mapper is still one stretch of mapping
+    void enterMapping() {
+        if (mappingDepth++ == 0) {
+            mappingStart = System.nanoTime();
+        }
+    }
+
+    void exitMapping() {
+        if (--mappingDepth == 0) {
+            mappingNanos += System.nanoTime() - mappingStart;
+        }
+    }
+
+    /** Time spent in the entity to DTO mappers (and back). */
+    public Duration mappingTime() {
+        return Duration.ofNanos(mappingNanos);
+    }
+}
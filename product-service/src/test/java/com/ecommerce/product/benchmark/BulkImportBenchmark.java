@@ -0,0 +1,100 @@
+package com.ecommerce.product.benchmark;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Rows per second of the bulk import endpoint against one {@code POST /api/v1/products} per row.
+ * <p>
+ * Run with {@code ./mvnw -pl product-service test -Pbenchmark -Dtest=BulkImportBenchmark}.
+ * Both paths go through the full MVC stack; besides throughput, the JDBC statements
+ * prepared per row are reported from Hibernate statistics. The row count can be changed with
+ * {@code -Dbenchmark.import.rows}.
+ * </p>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Benchmark - bulk product import")
+class BulkImportBenchmark {
+
+    private static final String PRODUCTS_PATH = "/api/v1/products";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void compareSinglePostWithBulkImport() throws Exception {
+        int rows = Integer.getInteger("benchmark.import.rows", 5_000);
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        long categoryId = categoryService.createCategory(new CategoryRequestDto("Benchmark", null)).id();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            mockMvc.perform(post(PRODUCTS_PATH).contentType(MediaType.APPLICATION_JSON).content(row("single", i, categoryId)))
+                    .andExpect(status().isCreated());
+        }
+        double singleRate = report("single POST", rows, System.nanoTime() - start, statistics);
+
+        String body = IntStream.range(0, rows)
+                .mapToObj(i -> row("bulk", i, categoryId))
+                .collect(Collectors.joining("\n"));
+        statistics.clear();
+        start = System.nanoTime();
+        mockMvc.perform(post(PRODUCTS_PATH + "/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(rows));
+        double bulkRate = report("bulk import", rows, System.nanoTime() - start, statistics);
+
+        System.out.printf("[import] speedup=%.1fx%n", bulkRate / singleRate);
+        assertThat(productRepository.count()).isEqualTo(2L * rows);
+        assertThat(bulkRate).isGreaterThan(singleRate);
+    }
+
+    private static String row(String prefix, int i, long categoryId) {
+        return """
+                {"name": "%s-product-%d", "description": "Imported product %d", "price": %d.99, "stock": %d, "categoryId": %d}"""
+                .formatted(prefix, i, i, 1 + i % 500, i % 100, categoryId);
+    }
+
+    private static double report(String label, int rows, long nanos, Statistics statistics) {
+        double rate = rows / (nanos / 1e9);
+        System.out.printf("[import] %-11s rows=%d elapsed=%dms throughput=%.0f rows/s statements/row=%.2f%n",
+                label, rows, nanos / 1_000_000, rate, (double) statistics.getPrepareStatementCount() / rows);
+        return rate;
+    }
+}
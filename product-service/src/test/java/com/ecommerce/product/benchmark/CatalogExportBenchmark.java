@@ -0,0 +1,131 @@
+package com.ecommerce.product.benchmark;
+
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and peak-heap benchmark for the NDJSON catalog export.
+ * <p>
+ * Run with {@code ./mvnw -pl product-service test -Pbenchmark -Dtest=CatalogExportBenchmark}.
+ * Row counts can be multiplied with {@code -Dbenchmark.export.scale=100} (10k/100k become 1M/10M).
+ * The peak heap delta should stay roughly flat as the row count grows; note that the in-memory
+ * H2 database itself lives on the same heap, so absolute figures are higher than on PostgreSQL.
+ * </p>
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Benchmark - NDJSON catalog export")
+class CatalogExportBenchmark {
+
+    private static final int SEED_BATCH = 5_000;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private JsonMapper jsonMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0} rows")
+    @ValueSource(ints = {10_000, 100_000})
+    void exportThroughputAndPeakHeap(int baseRows) {
+        int rows = baseRows * Integer.getInteger("benchmark.export.scale", 1);
+        seed(rows);
+
+        CountingOutputStream sink = new CountingOutputStream();
+        System.gc();
+        resetHeapPeaks();
+        long baselineHeap = currentHeapUsed();
+
+        long start = System.nanoTime();
+        long exported;
+        try (SequenceWriter writer = jsonMapper.writerFor(ProductResponseDto.class)
+                .withRootValueSeparator("\n")
+                .writeValues(sink)) {
+            exported = productService.exportCatalog(writer::write);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long peakDelta = Math.max(0, peakHeapUsed() - baselineHeap);
+        System.out.printf("[export] rows=%d time=%.2fs throughput=%.0f rows/s bytes=%d peakHeapDelta=%.1f MiB%n",
+                exported, seconds, exported / seconds, sink.count, peakDelta / (1024.0 * 1024.0));
+
+        assertThat(exported).isEqualTo(rows);
+    }
+
+    private void seed(int rows) {
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories");
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO categories (id, name, description, created_at, updated_at, version) "
+                + "VALUES (NEXT VALUE FOR categories_seq, ?, ?, ?, ?, 0)",
+                "Benchmark", "Export benchmark category", Timestamp.valueOf(now), Timestamp.valueOf(now));
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{"product-" + i, "Description of product " + i, BigDecimal.valueOf(1000 + i, 2),
+                    i % 100, categoryId, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+            if (batch.size() == SEED_BATCH || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, stock, category_id, "
+                        + "created_at, updated_at, version) VALUES (NEXT VALUE FOR products_seq, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+    }
+
+    private static void resetHeapPeaks() {
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static long peakHeapUsed() {
+        return heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    private static long currentHeapUsed() {
+        return heapPools().stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ecommerce.product.benchmark;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.exception.InsufficientStockException;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Single-SKU contention benchmark: purchase throughput on one product with and without hot-SKU mode.
+ * <p>
+ * Run with {@code ./mvnw -pl product-service test -Pbenchmark -Dtest=HotStockBenchmark}.
+ * Every thread buys one unit at a time from the same product for a fixed duration
+ * ({@code -Dbenchmark.hotstock.seconds}, default 5). After the run the mode is disabled and the
+ * stored stock must match exactly what was sold. In hot mode the buyers must also not queue on
+ * a monitor: fewer than one purchase in ten thousand may block on entering one.
+ * </p>
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Benchmark - single-SKU stock contention")
+class HotStockBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int INITIAL_STOCK = 100_000_000;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @ParameterizedTest(name = "hot mode: {0}")
+    @ValueSource(booleans = {false, true})
+    void singleSkuThroughput(boolean hot) throws InterruptedException {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        Long categoryId = categoryService.createCategory(new CategoryRequestDto("Benchmark", null)).id();
+        Long productId = productService.createProduct(new ProductRequestDto(
+                "Flash Sale Item", null, BigDecimal.TEN, INITIAL_STOCK, categoryId)).id();
+        if (hot) {
+            productService.enableHotStock(productId);
+        }
+
+        long durationNanos = Long.getLong("benchmark.hotstock.seconds", 5) * 1_000_000_000L;
+        LongAdder sold = new LongAdder();
+        LongAdder blocked = new LongAdder();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        CountDownLatch done = new CountDownLatch(THREADS);
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                pool.execute(() -> {
+                    try {
+                        while (System.nanoTime() - start < durationNanos) {
+                            try {
+                                productService.decrementStock(productId, 1);
+                                sold.increment();
+                            } catch (InsufficientStockException ex) {
+                                return;
+                            }
+                        }
+                    } finally {
+                        // Times this buyer waited to enter a synchronized block, since it started
+                        blocked.add(threads.getThreadInfo(Thread.currentThread().threadId()).getBlockedCount());
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int stored = productService.disableHotStock(productId).stock();
+        System.out.printf("[hot-stock] hot=%s threads=%d purchases=%d throughput=%.0f purchases/s blocked=%d%n",
+                hot, THREADS, sold.sum(), sold.sum() / seconds, blocked.sum());
+
+        assertThat(stored).isEqualTo(INITIAL_STOCK - sold.intValue());
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(stored);
+        if (hot) {
+            assertThat(blocked.sum()).isLessThan(Math.max(sold.sum() / 10_000, 1));
+        }
+    }
+}
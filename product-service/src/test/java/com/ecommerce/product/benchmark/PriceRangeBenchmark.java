@@ -0,0 +1,155 @@
+package com.ecommerce.product.benchmark;
+
+import com.ecommerce.product.ProductServiceApplication;
+import com.ecommerce.product.index.ProductIndexSynchronizer;
+import com.ecommerce.product.index.ProductPriceIndex;
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of price-range lookups: the JPA {@code BETWEEN} query against the in-memory
+ * {@link ProductPriceIndex}, both on the id lookup alone and on the full page served by the service.
+ * <p>
+ * Run with {@code ./mvnw -pl product-service test -Pbenchmark -Dtest=PriceRangeBenchmark}.
+ * The benchmark runs in-process (no fork) so it can share the surefire classpath; each trial boots
+ * the application on the in-memory H2 test database and seeds {@code catalogSize} products.
+ * </p>
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriceRangeBenchmark {
+
+    private static final int SEED_BATCH = 5_000;
+    // Prices are spread over 0.01 - 10,000.00; a 100.00 wide window hits ~1% of the catalog
+    private static final int PRICE_SPREAD_CENTS = 1_000_000;
+    private static final int WINDOW_CENTS = 10_000;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, Sort.by("price", "id"));
+
+    @Param({"10000", "100000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductPriceIndex priceIndex;
+    private ProductService productService;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.com.ecommerce=WARN")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        priceIndex = context.getBean(ProductPriceIndex.class);
+        productService = context.getBean(ProductService.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+
+        seed(context.getBean(JdbcTemplate.class), catalogSize);
+        // Rows were inserted behind the service's back: rebuild the indexes from the database
+        context.getBean(ProductIndexSynchronizer.class).loadIndexes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Product> jpaBetweenQuery() {
+        BigDecimal[] window = randomWindow();
+        return readOnlyTx.execute(status -> productRepository.findByPriceBetween(window[0], window[1], FIRST_PAGE));
+    }
+
+    @Benchmark
+    public ProductPriceIndex.Range priceIndexLookup() {
+        BigDecimal[] window = randomWindow();
+        return priceIndex.range(window[0], window[1], 0, FIRST_PAGE.getPageSize(), false);
+    }
+
+    @Benchmark
+    public Object priceIndexServicePage() {
+        BigDecimal[] window = randomWindow();
+        return productService.searchByPriceRange(window[0], window[1], FIRST_PAGE);
+    }
+
+    private static BigDecimal[] randomWindow() {
+        long from = ThreadLocalRandom.current().nextLong(PRICE_SPREAD_CENTS - WINDOW_CENTS);
+        return new BigDecimal[]{BigDecimal.valueOf(from, 2), BigDecimal.valueOf(from + WINDOW_CENTS, 2)};
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO categories (id, name, description, created_at, updated_at, version) "
+                + "VALUES (NEXT VALUE FOR categories_seq, ?, ?, ?, ?, 0)",
+                "Benchmark", "Price range benchmark category", Timestamp.valueOf(now), Timestamp.valueOf(now));
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{"product-" + i, "Description of product " + i,
+                    BigDecimal.valueOf(1 + random.nextInt(PRICE_SPREAD_CENTS), 2),
+                    i % 100, categoryId, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+            if (batch.size() == SEED_BATCH || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, stock, category_id, "
+                        + "created_at, updated_at, version) VALUES (NEXT VALUE FOR products_seq, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * JUnit entry point, so the benchmark runs under the {@code benchmark} profile like the others.
+     */
+    @Test
+    @DisplayName("Benchmark - price range: JPA query vs in-memory index")
+    void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PriceRangeBenchmark.class.getName())
+                .forks(0)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.product.benchmark;
+
+import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.dto.ProductCursorPageDto;
+import com.ecommerce.product.dto.ProductResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and encode/decode cost of a 1,000-product page in each negotiated format
+ * (JSON, CBOR, Smile), the way internal consumers pull the catalog.
+ * <p>
+ * Run with {@code ./mvnw -pl product-service test -Pbenchmark -Dtest=SerializationFormatBenchmark}.
+ * Payload bytes, raw and gzipped, are printed once before the JMH run; the JMH table then gives
+ * the time to write the page to bytes and to read it back into DTOs.
+ * </p>
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationFormatBenchmark {
+
+    private static final int PAGE_SIZE = 1_000;
+    private static final int CATEGORIES = 20;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private ProductCursorPageDto page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        mapper = mapper(format);
+        page = page();
+        encoded = mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public ProductCursorPageDto decode() {
+        return mapper.readValue(encoded, ProductCursorPageDto.class);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        return switch (format) {
+            case "json" -> JsonMapper.builder().build();
+            case "cbor" -> CBORMapper.builder().build();
+            // Same settings as the Smile converter registered by BinaryFormatsConfig
+            case "smile" -> SmileMapper.builder().enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    private static ProductCursorPageDto page() {
+        List<CategoryResponseDto> categories = new ArrayList<>(CATEGORIES);
+        for (int c = 0; c < CATEGORIES; c++) {
+            categories.add(new CategoryResponseDto((long) c + 1, "Category " + c,
+                    "Everything shelved under category " + c, 0L));
+        }
+        List<ProductResponseDto> products = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            products.add(new ProductResponseDto((long) i + 1, "product-" + i, "Description of product " + i,
+                    BigDecimal.valueOf(1000 + i * 37L, 2), i % 100, categories.get(i % CATEGORIES), 0L));
+        }
+        return new ProductCursorPageDto(products, PAGE_SIZE, true, "djE6aToxMDAw");
+    }
+
+    private static int gzippedSize(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+
+    /**
+     * JUnit entry point, so the benchmark runs under the {@code benchmark} profile like the others.
+     */
+    @Test
+    @DisplayName("Benchmark - 1,000-product page: JSON vs CBOR vs Smile")
+    void runBenchmarks() throws RunnerException, IOException {
+        ProductCursorPageDto page = page();
+        for (String format : List.of("json", "cbor", "smile")) {
+            byte[] payload = mapper(format).writeValueAsBytes(page);
+            System.out.printf("[payload] format=%s bytes=%d gzipBytes=%d bytesPerProduct=%.1f%n",
+                    format, payload.length, gzippedSize(payload), payload.length / (double) PAGE_SIZE);
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(SerializationFormatBenchmark.class.getName())
+                .forks(0)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.product.benchmark;
+
+import com.ecommerce.product.dto.StockReservationLineDto;
+import com.ecommerce.product.exception.InsufficientStockException;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput and abort-rate benchmark for multi-line stock reservations.
+ * <p>
+ * Run with {@code ./mvnw -pl product-service test -Pbenchmark -Dtest=StockReservationBenchmark}.
+ * Many threads reserve random baskets drawn from a small set of hot products, so baskets
+ * overlap heavily and arrive with lines in arbitrary order. Aborts are split into business
+ * rejections (not enough stock) and lock failures (deadlock / lock timeout), which the id-ordered
+ * locking should keep at zero. The duration can be changed with {@code -Dbenchmark.reservation.seconds}.
+ * </p>
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Benchmark - multi-line stock reservation")
+class StockReservationBenchmark {
+
+    private static final int HOT_PRODUCTS = 20;
+    private static final int INITIAL_STOCK = 20_000;
+    private static final int MAX_BASKET_LINES = 6;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(ints = {8, 32})
+    void reserveOverlappingBaskets(int threads) throws InterruptedException {
+        List<Long> productIds = seed();
+        long durationNanos = Long.getLong("benchmark.reservation.seconds", 10) * 1_000_000_000L;
+
+        LongAdder committed = new LongAdder();
+        LongAdder outOfStock = new LongAdder();
+        LongAdder lockFailures = new LongAdder();
+        LongAdder unitsReserved = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                pool.execute(() -> {
+                    try {
+                        while (System.nanoTime() - start < durationNanos) {
+                            List<StockReservationLineDto> basket = randomBasket(productIds);
+                            try {
+                                productService.reserveStock(basket);
+                                committed.increment();
+                                basket.forEach(line -> unitsReserved.add(line.quantity()));
+                            } catch (InsufficientStockException ex) {
+                                outOfStock.increment();
+                            } catch (DataAccessException ex) {
+                                lockFailures.increment();
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long attempts = committed.sum() + outOfStock.sum() + lockFailures.sum();
+        System.out.printf("[reservation] threads=%d attempts=%d committed=%d throughput=%.0f tx/s "
+                        + "abortRate=%.2f%% (outOfStock=%d lockFailures=%d)%n",
+                threads, attempts, committed.sum(), committed.sum() / seconds,
+                100.0 * (outOfStock.sum() + lockFailures.sum()) / attempts, outOfStock.sum(), lockFailures.sum());
+
+        Long remaining = jdbcTemplate.queryForObject("SELECT SUM(stock) FROM products", Long.class);
+        assertThat(remaining).isEqualTo((long) HOT_PRODUCTS * INITIAL_STOCK - unitsReserved.sum());
+        assertThat(lockFailures.sum()).isZero();
+    }
+
+    private static List<StockReservationLineDto> randomBasket(List<Long> productIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lines = 1 + random.nextInt(MAX_BASKET_LINES);
+        List<StockReservationLineDto> basket = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            basket.add(new StockReservationLineDto(productIds.get(random.nextInt(productIds.size())), 1 + random.nextInt(3)));
+        }
+        return basket;
+    }
+
+    private List<Long> seed() {
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.update("DELETE FROM categories");
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO categories (id, name, description, created_at, updated_at, version) "
+                + "VALUES (NEXT VALUE FOR categories_seq, ?, ?, ?, ?, 0)",
+                "Benchmark", "Reservation benchmark category", Timestamp.valueOf(now), Timestamp.valueOf(now));
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+
+        List<Object[]> rows = new ArrayList<>(HOT_PRODUCTS);
+        for (int i = 0; i < HOT_PRODUCTS; i++) {
+            rows.add(new Object[]{"hot-product-" + i, BigDecimal.TEN, INITIAL_STOCK, categoryId,
+                    Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, price, stock, category_id, created_at, updated_at, version) "
+                + "VALUES (NEXT VALUE FOR products_seq, ?, ?, ?, ?, ?, ?, 0)", rows);
+        return jdbcTemplate.queryForList("SELECT id FROM products ORDER BY id", Long.class);
+    }
+}
@@ -0,0 +1,221 @@
+package com.ecommerce.product.benchmark;
+
+import com.ecommerce.product.ProductServiceApplication;
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Platform versus virtual request threads, with thousands of open connections and a slow database.
+ * <p>
+ * Run with {@code ./mvnw -pl product-service test -Pbenchmark -Dtest=ThreadModelLoadBenchmark}.
+ * Each run starts the service on a random port - once with Tomcat's 200 platform worker threads,
+ * once with {@code spring.threads.virtual.enabled=true} - over an H2 database whose every statement
+ * takes {@code -Dbenchmark.threads.db-latency-ms} longer (default 20). Then
+ * {@code -Dbenchmark.threads.connections} clients (default 5000), each on its own connection, send
+ * requests back to back for {@code -Dbenchmark.threads.seconds} (default 20): nine in ten list
+ * products, a database query; the rest ask for the facet counts, served from memory.
+ * </p>
+ * <p>
+ * The database caps the listing throughput in both modes. What differs is everything else: with
+ * platform threads the facet requests queue behind listings blocked on the pool, with virtual
+ * threads they are answered at once and the listings beyond the pool limiter get a fast 503.
+ * </p>
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - platform vs virtual request threads under a slow database")
+class ThreadModelLoadBenchmark {
+
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.threads.connections", 5000);
+    private static final long DB_LATENCY_MS = Long.getLong("benchmark.threads.db-latency-ms", 20);
+    private static final long SECONDS = Long.getLong("benchmark.threads.seconds", 20);
+    private static final int PRODUCTS = 1_000;
+
+    @ParameterizedTest(name = "virtual threads: {0}")
+    @ValueSource(booleans = {false, true})
+    void slowDatabaseUnderLoad(boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtual)) {
+            seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            Stats listing = new Stats();
+            Stats facets = new Stats();
+            long durationNanos = SECONDS * 1_000_000_000L;
+            try (HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build()) {
+                // Closing the executor waits for every client to finish its last request
+                try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                    long start = System.nanoTime();
+                    for (int c = 0; c < CONNECTIONS; c++) {
+                        boolean inMemory = c % 10 == 0;
+                        URI uri = URI.create("http://localhost:" + port
+                                + (inMemory ? "/api/v1/products/facets" : "/api/v1/products?size=20"));
+                        Stats stats = inMemory ? facets : listing;
+                        clients.execute(() -> {
+                            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).build();
+                            long[] latencies = new long[256];
+                            int count = 0;
+                            while (System.nanoTime() - start < durationNanos) {
+                                long sent = System.nanoTime();
+                                try {
+                                    int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                                    if (status == 200) {
+                                        stats.ok.increment();
+                                        if (count == latencies.length) {
+                                            latencies = Arrays.copyOf(latencies, count * 2);
+                                        }
+                                        latencies[count++] = System.nanoTime() - sent;
+                                    } else if (status == 503) {
+                                        stats.unavailable.increment();
+                                    } else {
+                                        stats.otherStatus.increment();
+                                    }
+                                } catch (Exception ex) {
+                                    stats.failed.increment();
+                                }
+                            }
+                            stats.latencies.add(Arrays.copyOf(latencies, count));
+                        });
+                    }
+                }
+            }
+
+            System.out.printf("[threads] virtual=%s connections=%d db-latency=%dms%n", virtual, CONNECTIONS, DB_LATENCY_MS);
+            listing.print("list (database)");
+            facets.print("facets (memory)");
+            assertThat(listing.ok.sum() + facets.ok.sum()).isPositive();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        String url = "jdbc:h2:mem:threads-" + (virtual ? "virtual" : "platform") + ";DB_CLOSE_DELAY=-1";
+        return new SpringApplicationBuilder(ProductServiceApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=" + (CONNECTIONS + 1000),
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=" + url,
+                        "logging.level.com.ecommerce.product=ERROR",
+                        "logging.level.org.hibernate.orm.jdbc.error=OFF")
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    // Before the pool starts: every physical connection comes from the slow database
+                    @Override
+                    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                        if (bean instanceof HikariDataSource pool) {
+                            JdbcDataSource h2 = new JdbcDataSource();
+                            h2.setURL(url);
+                            pool.setDataSource(new SlowDatabase(h2));
+                        }
+                        return bean;
+                    }
+                }))
+                .run();
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        Long categoryId = context.getBean(CategoryService.class)
+                .createCategory(new CategoryRequestDto("Benchmark", null)).id();
+        context.getBean(ProductService.class).importProducts(IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> new ProductRequestDto("Product " + i, null, BigDecimal.valueOf(5 + i % 500), 100, categoryId))
+                .iterator());
+    }
+
+    /** A database where every statement execution first waits {@link #DB_LATENCY_MS}. */
+    private static final class SlowDatabase extends DelegatingDataSource {
+
+        SlowDatabase(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return delaying(super.getConnection(), Connection.class);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return delaying(super.getConnection(username, password), Connection.class);
+        }
+
+        // Statements created by the connection are wrapped too; their execute* calls sleep first
+        @SuppressWarnings("unchecked")
+        private static <T> T delaying(Object delegate, Class<T> type) {
+            return (T) Proxy.newProxyInstance(SlowDatabase.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            Thread.sleep(DB_LATENCY_MS);
+                        }
+                        Object result;
+                        try {
+                            result = method.invoke(delegate, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                        Class<?> returned = method.getReturnType();
+                        return result != null && Statement.class.isAssignableFrom(returned)
+                                ? delaying(result, returned)
+                                : result;
+                    });
+        }
+    }
+
+    /** Outcome counts of one kind of request, and the latencies of its successful responses. */
+    private static final class Stats {
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder unavailable = new LongAdder();
+        private final LongAdder otherStatus = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        // One array per client, added when the client stops
+        private final Queue<long[]> latencies = new ConcurrentLinkedQueue<>();
+
+        void print(String label) {
+            long[] sorted = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            System.out.printf("  %-16s ok=%d (%.0f/s) p50=%s p99=%s max=%s 503=%d other=%d failed=%d%n",
+                    label, ok.sum(), ok.sum() / (double) SECONDS,
+                    millis(sorted, 0.50), millis(sorted, 0.99), millis(sorted, 1.0),
+                    unavailable.sum(), otherStatus.sum(), failed.sum());
+        }
+
+        private static String millis(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return "-";
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return String.format("%.1fms", sorted[Math.max(0, index)] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.product.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionLimitingDataSourceTest {
+
+    private static ConnectionLimitingDataSource limited(int permits, int maxWaiting, Duration acquireTimeout) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1");
+        return new ConnectionLimitingDataSource(h2, "test", permits, maxWaiting, acquireTimeout);
+    }
+
+    @Test
+    @DisplayName("Should hold a permit until the connection is closed, once")
+    void shouldReleasePermitOnClose() throws SQLException {
+        ConnectionLimitingDataSource dataSource = limited(1, 0, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(ConnectionLimitingDataSource.ConnectionLimitExceededException.class);
+
+        first.close();
+        // A second close must not hand out a second permit
+        first.close();
+        try (Connection second = dataSource.getConnection()) {
+            assertThat(second.isValid(1)).isTrue();
+            assertThatThrownBy(dataSource::getConnection)
+                    .isInstanceOf(ConnectionLimitingDataSource.ConnectionLimitExceededException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should queue callers up to the limit and hand them the next freed connection")
+    void shouldQueueThenReject() throws Exception {
+        ConnectionLimitingDataSource dataSource = limited(1, 1, Duration.ofSeconds(5));
+        Connection held = dataSource.getConnection();
+
+        CompletableFuture<Connection> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (dataSource.getWaiting() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(dataSource.getWaiting()).isEqualTo(1);
+
+        // The queue is full: rejected without waiting for the timeout
+        long begin = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(ConnectionLimitingDataSource.ConnectionLimitExceededException.class)
+                .hasMessageContaining("already waiting");
+        assertThat(System.nanoTime() - begin).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+        held.close();
+        try (Connection handedOver = queued.get(5, TimeUnit.SECONDS)) {
+            assertThat(handedOver.isValid(1)).isTrue();
+        }
+        assertThat(dataSource.getWaiting()).isZero();
+    }
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.product.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    // Two H2 databases stand in for the primary and the replica; each knows its own name
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String servedBy(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @BeforeEach
+    void setUp() {
+        DataSource routing = ReplicaRoutingDataSource.create(database("primary"), database("replica"));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and everything else to the primary")
+    void shouldRouteByTransactionMode() {
+        assertThat(servedBy(readOnly)).isEqualTo("replica");
+        assertThat(servedBy(readWrite)).isEqualTo("primary");
+        // Outside a transaction
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should keep a pinned thread's read-only transactions on the primary")
+    void shouldHonourPin() {
+        try (ReplicaRoutingDataSource.Pin outer = ReplicaRoutingDataSource.pinToPrimary()) {
+            try (ReplicaRoutingDataSource.Pin inner = ReplicaRoutingDataSource.pinToPrimary()) {
+                assertThat(servedBy(readOnly)).isEqualTo("primary");
+            }
+            // Closing a nested pin keeps the outer one
+            assertThat(servedBy(readOnly)).isEqualTo("primary");
+        }
+        assertThat(servedBy(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should pin write requests, and the client's reads for the read-your-writes window")
+    void shouldPinClientsAfterWrites() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        List<String> servers = new ArrayList<>();
+
+        MockHttpServletResponse written = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/v1/products/1"), written,
+                (request, response) -> servers.add(servedBy(readOnly)));
+        Cookie pin = written.getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(pin).isNotNull();
+        assertThat(pin.getMaxAge()).isEqualTo(5);
+
+        MockHttpServletRequest pinnedRead = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        pinnedRead.setCookies(pin);
+        filter.doFilter(pinnedRead, new MockHttpServletResponse(), (request, response) -> servers.add(servedBy(readOnly)));
+
+        MockHttpServletRequest expiredRead = new MockHttpServletRequest("GET", "/api/v1/products/1");
+        expiredRead.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        filter.doFilter(expiredRead, plain, (request, response) -> servers.add(servedBy(readOnly)));
+
+        assertThat(servers).containsExactly("primary", "primary", "replica");
+        assertThat(plain.getCookie(ReadYourWritesFilter.COOKIE)).isNull();
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+    }
+}
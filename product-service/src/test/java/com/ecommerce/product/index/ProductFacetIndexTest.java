@@ -0,0 +1,137 @@
+package com.ecommerce.product.index;
+
+import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.dto.ProductResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductFacetIndexTest {
+
+    private static final CategoryResponseDto AUDIO = new CategoryResponseDto(1L, "Audio", null, 0L);
+    private static final CategoryResponseDto VIDEO = new CategoryResponseDto(2L, "Video", null, 0L);
+    private static final ProductFacetIndex.Filter NO_FILTER = new ProductFacetIndex.Filter(null, null, null, null);
+
+    private ProductFacetIndex index;
+
+    // --- FACTORY ---
+    private ProductResponseDto product(long id, CategoryResponseDto category, String price, int stock) {
+        return new ProductResponseDto(id, "product-" + id, null, new BigDecimal(price), stock, category, 0L);
+    }
+
+    private static List<Long> bucketCounts(ProductFacetIndex.Counts counts) {
+        return counts.byPrice().stream().map(ProductFacetIndex.PriceBucketCount::count).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Buckets: [0, 25) [25, 100) [100, ∞)
+        index = new ProductFacetIndex(new BigDecimal[]{new BigDecimal("25"), new BigDecimal("100")});
+        index.upsert(product(1L, AUDIO, "10.00", 5));
+        index.upsert(product(2L, AUDIO, "30.00", 0));
+        index.upsert(product(3L, AUDIO, "99.99", 2));
+        index.upsert(product(4L, VIDEO, "25.00", 1));
+        index.upsert(product(5L, VIDEO, "500.00", 0));
+        index.markReady();
+    }
+
+    @Test
+    @DisplayName("Should count every facet value over the whole catalog without filters")
+    void shouldCountWithoutFilters() {
+        ProductFacetIndex.Counts counts = index.count(NO_FILTER, Map.of());
+
+        assertThat(counts.total()).isEqualTo(5);
+        assertThat(counts.byCategory()).containsExactly(Map.entry(1L, 3L), Map.entry(2L, 2L));
+        assertThat(bucketCounts(counts)).containsExactly(1L, 3L, 1L);
+        assertThat(counts.byPrice().getFirst().min()).isEqualByComparingTo("0");
+        assertThat(counts.byPrice().getLast().max()).isNull();
+        assertThat(counts.inStock()).isEqualTo(3);
+        assertThat(counts.outOfStock()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count each facet against the other filters only")
+    void shouldCountDisjunctively() {
+        ProductFacetIndex.Counts counts = index.count(new ProductFacetIndex.Filter(1L, null, null, true), Map.of());
+
+        assertThat(counts.total()).isEqualTo(2);
+        // Categories ignore the category filter, but keep the in-stock one
+        assertThat(counts.byCategory()).containsExactly(Map.entry(1L, 2L), Map.entry(2L, 1L));
+        // Price buckets: Audio and in stock
+        assertThat(bucketCounts(counts)).containsExactly(1L, 1L, 0L);
+        // Stock: Audio at any stock
+        assertThat(counts.inStock()).isEqualTo(2);
+        assertThat(counts.outOfStock()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should resolve a price range that cuts through buckets exactly")
+    void shouldFilterPriceRangeExactly() {
+        ProductFacetIndex.Counts counts = index.count(
+                new ProductFacetIndex.Filter(null, new BigDecimal("20"), new BigDecimal("30.00"), null), Map.of());
+
+        assertThat(counts.total()).isEqualTo(2);
+        assertThat(counts.byCategory()).containsExactly(Map.entry(1L, 1L), Map.entry(2L, 1L));
+        // Price buckets ignore the price filter
+        assertThat(bucketCounts(counts)).containsExactly(1L, 3L, 1L);
+
+        assertThat(index.count(new ProductFacetIndex.Filter(null, new BigDecimal("100"), null, null), Map.of()).total())
+                .isEqualTo(1);
+        assertThat(index.count(new ProductFacetIndex.Filter(null, new BigDecimal("50"), new BigDecimal("40"), null), Map.of()).total())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should saturate price bounds beyond the range of cents instead of failing")
+    void shouldSaturateOutOfRangePriceBounds() {
+        assertThat(index.count(new ProductFacetIndex.Filter(null, new BigDecimal("-1e30"), new BigDecimal("1e30"), null), Map.of()).total())
+                .isEqualTo(5);
+        assertThat(index.count(new ProductFacetIndex.Filter(null, new BigDecimal("1e30"), null, null), Map.of()).total())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should follow upserts, stock writes and removals incrementally")
+    void shouldApplyIncrementalUpdates() {
+        index.upsert(product(1L, VIDEO, "150.00", 5));
+        index.updateStock(Map.of(2L, 4, 3L, 0, 99L, 7));
+        index.remove(5L);
+        index.upsert(product(6L, AUDIO, "1.00", 0));
+
+        ProductFacetIndex.Counts counts = index.count(NO_FILTER, Map.of());
+
+        assertThat(counts.total()).isEqualTo(5);
+        assertThat(counts.byCategory()).containsExactly(Map.entry(1L, 3L), Map.entry(2L, 2L));
+        assertThat(bucketCounts(counts)).containsExactly(1L, 3L, 1L);
+        assertThat(counts.inStock()).isEqualTo(3);
+        assertThat(index.count(new ProductFacetIndex.Filter(null, null, null, true), Map.of()).byCategory())
+                .containsExactly(Map.entry(2L, 2L), Map.entry(1L, 1L));
+    }
+
+    @Test
+    @DisplayName("Should let in-memory hot stock override the indexed stock")
+    void shouldOverlayHotStock() {
+        ProductFacetIndex.Counts counts = index.count(new ProductFacetIndex.Filter(null, null, null, true),
+                Map.of(1L, 0L, 5L, 3L, 42L, 1L));
+
+        assertThat(counts.total()).isEqualTo(3);
+        assertThat(counts.inStock()).isEqualTo(3);
+        assertThat(counts.outOfStock()).isEqualTo(2);
+        // The overlay is per query: the index itself is unchanged
+        assertThat(index.count(new ProductFacetIndex.Filter(1L, null, null, true), Map.of()).total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject price buckets that are not strictly increasing")
+    void shouldRejectInvalidBuckets() {
+        assertThatThrownBy(() -> new ProductFacetIndex(new BigDecimal[]{new BigDecimal("50"), new BigDecimal("50")}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.ecommerce.product.index;
+
+import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.dto.ProductResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductPriceIndexTest {
+
+    private static final CategoryResponseDto CATEGORY = new CategoryResponseDto(1L, "Electronics", null, 0L);
+
+    private ProductPriceIndex index;
+
+    // --- FACTORY ---
+    private ProductResponseDto product(long id, String price) {
+        return new ProductResponseDto(id, "product-" + id, null, new BigDecimal(price), 1, CATEGORY, 0L);
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductPriceIndex();
+        index.upsert(product(1L, "19.99"));
+        index.upsert(product(2L, "5.00"));
+        index.upsert(product(3L, "19.99"));
+        index.upsert(product(4L, "250.00"));
+        index.markReady();
+    }
+
+    @Test
+    @DisplayName("Should return the inclusive range ordered by price, ties by id")
+    void shouldReturnRangeInPriceOrder() {
+        ProductPriceIndex.Range range = index.range(new BigDecimal("5.00"), new BigDecimal("19.99"), 0, 10, false);
+
+        assertThat(range.totalHits()).isEqualTo(3);
+        assertThat(range.productIds()).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should page through the range in both directions")
+    void shouldPaginateAscendingAndDescending() {
+        BigDecimal min = BigDecimal.ZERO;
+        BigDecimal max = new BigDecimal("1000");
+
+        assertThat(index.range(min, max, 1, 2, false).productIds()).containsExactly(1L, 3L);
+        assertThat(index.range(min, max, 0, 2, true).productIds()).containsExactly(4L, 3L);
+        assertThat(index.range(min, max, 4, 2, false).productIds()).isEmpty();
+        assertThat(index.range(min, max, 4, 2, false).totalHits()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should round bounds inward so sub-cent limits do not widen the range")
+    void shouldRoundBoundsInward() {
+        assertThat(index.range(new BigDecimal("5.001"), new BigDecimal("19.989"), 0, 10, false).totalHits()).isZero();
+        assertThat(index.range(new BigDecimal("4.999"), new BigDecimal("5.009"), 0, 10, false).productIds()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should saturate bounds beyond the range of cents instead of failing")
+    void shouldSaturateOutOfRangeBounds() {
+        assertThat(index.range(new BigDecimal("-1e30"), new BigDecimal("1e30"), 0, 10, false).totalHits()).isEqualTo(4);
+        assertThat(index.range(new BigDecimal("1e30"), new BigDecimal("1e31"), 0, 10, false).totalHits()).isZero();
+        assertThat(index.range(new BigDecimal("1e-999999999"), new BigDecimal("5.00"), 0, 10, false).productIds())
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should reflect price changes and deletes incrementally")
+    void shouldApplyUpdatesAndDeletes() {
+        index.upsert(product(4L, "1.00"));
+        index.upsert(product(5L, "20.00"));
+        index.remove(1L);
+
+        assertThat(index.range(BigDecimal.ZERO, new BigDecimal("1000"), 0, 10, false).productIds())
+                .containsExactly(4L, 2L, 3L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should return an empty range when min is above max")
+    void shouldReturnEmptyForInvertedBounds() {
+        assertThat(index.range(new BigDecimal("100"), BigDecimal.ONE, 0, 10, false).totalHits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should merge a batch into the sorted order, repricing products it already holds")
+    void shouldMergeBatch() {
+        index.upsertAll(List.of(product(5L, "19.99"), product(1L, "300.00"), product(6L, "1.00"), product(5L, "7.50")));
+
+        ProductPriceIndex.Range range = index.range(BigDecimal.ZERO, new BigDecimal("1000"), 0, 10, false);
+        assertThat(range.totalHits()).isEqualTo(6);
+        assertThat(range.productIds()).containsExactly(6L, 2L, 5L, 3L, 4L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should drop a batch of ids in one pass, ignoring unknown ones")
+    void shouldRemoveBatch() {
+        index.removeAll(List.of(1L, 4L, 99L));
+
+        ProductPriceIndex.Range range = index.range(BigDecimal.ZERO, new BigDecimal("1000"), 0, 10, false);
+        assertThat(range.productIds()).containsExactly(2L, 3L);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.product.index;
+
+import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.dto.ProductResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private static final CategoryResponseDto CATEGORY = new CategoryResponseDto(1L, "Electronics", null, 0L);
+
+    private ProductSearchIndex index;
+
+    // --- FACTORY ---
+    private ProductResponseDto product(long id, String name, String description) {
+        return new ProductResponseDto(id, name, description, BigDecimal.TEN, 1, CATEGORY, 0L);
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.upsert(product(1L, "Gaming Laptop", "Fast laptop with a dedicated GPU"));
+        index.upsert(product(2L, "Office Chair", "Ergonomic chair, works well next to a laptop desk"));
+        index.upsert(product(3L, "USB Cable", "Braided cable"));
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description-only matches")
+    void shouldRankNameMatchesFirst() {
+        ProductSearchIndex.Hits hits = index.search("laptop", 0, 10);
+
+        assertThat(hits.totalHits()).isEqualTo(2);
+        assertThat(hits.productIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should match case- and accent-insensitively, with prefix on the last term")
+    void shouldNormalizeAndExpandPrefix() {
+        index.upsert(product(4L, "Caffè Espresso", null));
+
+        assertThat(index.search("CAFFE", 0, 10).productIds()).containsExactly(4L);
+        assertThat(index.search("espr", 0, 10).productIds()).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and deletes incrementally")
+    void shouldApplyUpdatesAndDeletes() {
+        index.upsert(product(3L, "USB-C Laptop Charger", null));
+        assertThat(index.search("cable", 0, 10).totalHits()).isZero();
+        assertThat(index.search("charger", 0, 10).productIds()).containsExactly(3L);
+
+        index.remove(1L);
+        assertThat(index.search("gaming", 0, 10).totalHits()).isZero();
+        assertThat(index.search("laptop", 0, 10).productIds()).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should paginate ranked hits")
+    void shouldPaginate() {
+        ProductSearchIndex.Hits secondPage = index.search("laptop", 1, 1);
+
+        assertThat(secondPage.totalHits()).isEqualTo(2);
+        assertThat(secondPage.productIds()).containsExactly(2L);
+    }
+}
@@ -0,0 +1,163 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.dto.ProductCursorPageDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Real server on its own database: compression is done by Tomcat, which MockMvc bypasses
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:negotiationdb;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Binary content negotiation and response compression")
+class BinaryContentNegotiationIntegrationTest {
+
+    private static final String CBOR = MediaType.APPLICATION_CBOR_VALUE;
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final CBORMapper cborMapper = CBORMapper.builder().build();
+    private final SmileMapper smileMapper = SmileMapper.builder().build();
+
+    private Long categoryId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        categoryId = categoryService.createCategory(new CategoryRequestDto("Audio", "Headphones and speakers")).id();
+        for (int i = 0; i < 50; i++) {
+            productId = productService.createProduct(new ProductRequestDto(
+                    "Speaker " + i, "Bookshelf speaker, model " + i, new BigDecimal("89.90"), 10, categoryId)).id();
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpResponse<byte[]> conditionalGet(String path, String accept, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a product page as CBOR or Smile when the Accept header asks for it")
+    void shouldNegotiateBinaryFormats() throws Exception {
+        HttpResponse<byte[]> cbor = get("/api/v1/products?size=50", CBOR, null);
+        assertThat(cbor.statusCode()).isEqualTo(200);
+        assertThat(cbor.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue(CBOR);
+        ProductCursorPageDto page = cborMapper.readValue(cbor.body(), ProductCursorPageDto.class);
+        assertThat(page.content()).hasSize(50);
+        assertThat(page.content().getFirst().category().name()).isEqualTo("Audio");
+
+        HttpResponse<byte[]> smile = get("/api/v1/products?size=50", SMILE, null);
+        assertThat(smile.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue(SMILE);
+        assertThat(smileMapper.readValue(smile.body(), ProductCursorPageDto.class)).isEqualTo(page);
+
+        HttpResponse<byte[]> json = get("/api/v1/products?size=50", null, null);
+        assertThat(json.headers().firstValue(HttpHeaders.CONTENT_TYPE)).hasValue(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(cbor.body().length).isLessThan(json.body().length);
+        assertThat(smile.body().length).isLessThan(cbor.body().length);
+    }
+
+    @Test
+    @DisplayName("Should negotiate single resources with a distinct ETag per format, varying the cache key by Accept")
+    void shouldNegotiateSingleResources() throws Exception {
+        HttpResponse<byte[]> product = get("/api/v1/products/" + productId, CBOR, null);
+        assertThat(product.statusCode()).isEqualTo(200);
+        assertThat(cborMapper.readValue(product.body(), ProductResponseDto.class).id()).isEqualTo(productId);
+        assertThat(product.headers().allValues(HttpHeaders.VARY)).anySatisfy(vary -> assertThat(vary).contains("Accept"));
+
+        // Different bytes, so different strong validators
+        String cborTag = product.headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        String smileTag = get("/api/v1/products/" + productId, SMILE, null).headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        String jsonTag = get("/api/v1/products/" + productId, null, null).headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        assertThat(List.of(jsonTag, cborTag, smileTag)).doesNotHaveDuplicates();
+
+        // Each format revalidates against its own tag only
+        assertThat(conditionalGet("/api/v1/products/" + productId, CBOR, cborTag).statusCode()).isEqualTo(304);
+        assertThat(conditionalGet("/api/v1/products/" + productId, null, cborTag).statusCode()).isEqualTo(200);
+
+        HttpResponse<byte[]> category = get("/api/v1/categories/" + categoryId, SMILE, null);
+        assertThat(smileMapper.readValue(category.body(), CategoryResponseDto.class).name()).isEqualTo("Audio");
+        assertThat(category.headers().firstValue(HttpHeaders.ETAG))
+                .isNotEqualTo(get("/api/v1/categories/" + categoryId, null, null).headers().firstValue(HttpHeaders.ETAG));
+        assertThat(get("/api/v1/categories", CBOR, null).headers().firstValue(HttpHeaders.ETAG))
+                .isNotEqualTo(get("/api/v1/categories", null, null).headers().firstValue(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should gzip responses above the size threshold and leave small ones uncompressed")
+    void shouldCompressLargeResponsesOnly() throws Exception {
+        HttpResponse<byte[]> page = get("/api/v1/products?size=50", null, "gzip");
+        assertThat(page.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        byte[] json = gunzip(page.body());
+        assertThat(page.body().length).isLessThan(json.length);
+        assertThat(new String(json)).contains("\"Speaker 49\"");
+
+        HttpResponse<byte[]> binaryPage = get("/api/v1/products?size=50", CBOR, "gzip");
+        assertThat(binaryPage.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(cborMapper.readValue(gunzip(binaryPage.body()), ProductCursorPageDto.class).content()).hasSize(50);
+
+        HttpResponse<byte[]> single = get("/api/v1/products/" + productId, null, "gzip");
+        assertThat(single.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - NDJSON catalog export")
+class CatalogExportIntegrationTest {
+
+    private static final String EXPORT_PATH = "/api/v1/products/export";
+    // Past the 1,000 rows after which the export detaches the session, so both sides of a clear are read
+    private static final int PRODUCTS = 1_050;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        categoryId = categoryService.createCategory(new CategoryRequestDto("Electronics", null)).id();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            rows.add(new Object[]{"product-" + i, BigDecimal.valueOf(100 + i), i % 10, categoryId, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, price, stock, category_id, created_at, updated_at, "
+                + "version) VALUES (NEXT VALUE FOR products_seq, ?, ?, ?, ?, ?, ?, 0)", rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should stream every product as one JSON document per line, in id order")
+    void shouldExportEveryProductAsNdjson() throws Exception {
+        String body = mockMvc.perform(get(EXPORT_PATH))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<ProductResponseDto> exported = body.lines()
+                .map(line -> jsonMapper.readValue(line, ProductResponseDto.class))
+                .toList();
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM products ORDER BY id", Long.class);
+
+        assertThat(body.lines()).noneMatch(String::isBlank);
+        assertThat(exported).extracting(ProductResponseDto::id).containsExactlyElementsOf(ids);
+        assertThat(exported).allSatisfy(product -> {
+            assertThat(product.name()).startsWith("product-");
+            assertThat(product.category().id()).isEqualTo(categoryId);
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.catalog.CategoryCatalog;
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.CategoryResponseDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.exception.CategoryNotFoundException;
+import com.ecommerce.product.model.Category;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - In-memory category catalog")
+class CategoryCatalogIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long gamesId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        gamesId = categoryService.createCategory(new CategoryRequestDto("Games", "Video games")).id();
+        categoryService.createCategory(new CategoryRequestDto("Books", null));
+    }
+
+    @Test
+    @DisplayName("Should serve category pages from the snapshot without touching the database")
+    void shouldServePagesFromSnapshot() {
+        statistics.clear();
+
+        Page<CategoryResponseDto> page = categoryService.getAllCategories(PageRequest.of(0, 10, Sort.by("name")));
+
+        assertThat(page.getContent()).extracting(CategoryResponseDto::name).containsExactly("Books", "Games");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should create products without loading the category, embedding the shared instance")
+    void shouldNotLoadCategoryOnProductWrite() {
+        statistics.clear();
+
+        var product = productService.createProduct(new ProductRequestDto(
+                "Strategy Game", null, new BigDecimal("59.90"), 3, gamesId));
+
+        assertThat(statistics.getEntityStatistics(Category.class.getName()).getLoadCount()).isZero();
+        assertThat(product.category()).isSameAs(categoryCatalog.find(gamesId).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should publish a new version after a rename and reject unknown categories")
+    void shouldReloadOnWritesAndValidate() {
+        long version = categoryCatalog.snapshot().version();
+
+        categoryService.updateCategory(gamesId, new CategoryRequestDto("Gaming", "Video games"), null);
+
+        assertThat(categoryCatalog.snapshot().version()).isGreaterThan(version);
+        assertThat(categoryService.findById(gamesId).name()).isEqualTo("Gaming");
+        assertThatThrownBy(() -> productService.createProduct(new ProductRequestDto(
+                "Orphan", null, BigDecimal.ONE, 1, 999_999L)))
+                .isInstanceOf(CategoryNotFoundException.class);
+    }
+}
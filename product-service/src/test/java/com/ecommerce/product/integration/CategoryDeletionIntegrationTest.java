@@ -0,0 +1,189 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryDeletionJobDto;
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.event.ProductsDeletedEvent;
+import com.ecommerce.product.exception.ProductNotFoundException;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Chunked category deletion")
+class CategoryDeletionIntegrationTest {
+
+    private static final String CATEGORIES_PATH = "/api/v1/categories";
+    private static final int PRODUCTS = 2_500;
+    // Chunk size of the deletion: a smaller batch of deleted ids is the final chunk
+    private static final int DELETE_CHUNK_SIZE = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    private Long doomedId;
+    private Long keptProductId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        doomedId = categoryService.createCategory(new CategoryRequestDto("Clearance", null)).id();
+        Long keptCategoryId = categoryService.createCategory(new CategoryRequestDto("Peripherals", null)).id();
+        keptProductId = productService.createProduct(new ProductRequestDto(
+                "Mechanical Keyboard", null, new BigDecimal("89.00"), 10, keptCategoryId)).id();
+        productService.importProducts(IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> new ProductRequestDto("clearance-item-" + i, null, new BigDecimal("9.99"), 1, doomedId))
+                .iterator());
+    }
+
+    @Test
+    @DisplayName("Should delete the category and all its products, evicting them from cache and indexes")
+    void shouldDeleteCategoryWithItsProducts() throws Exception {
+        Long cachedId = productRepository.findIdsByCategoryId(doomedId, Limit.of(1)).getFirst();
+        productService.findById(cachedId);
+
+        mockMvc.perform(delete(CATEGORIES_PATH + "/{id}", doomedId))
+                .andExpect(status().isNoContent());
+
+        assertThat(categoryRepository.existsById(doomedId)).isFalse();
+        assertThat(productRepository.countByCategoryId(doomedId)).isZero();
+        assertThat(productRepository.existsById(keptProductId)).isTrue();
+        assertThatThrownBy(() -> productService.findById(cachedId)).isInstanceOf(ProductNotFoundException.class);
+        assertThat(productService.search("clearance", PageRequest.of(0, 10)).getTotalElements()).isZero();
+        assertThat(productService.searchByPriceRange(new BigDecimal("9.99"), new BigDecimal("9.99"),
+                PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run an async deletion as a job whose progress can be polled")
+    void shouldDeleteInBackground() throws Exception {
+        String location = mockMvc.perform(delete(CATEGORIES_PATH + "/{id}", doomedId).param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.categoryId").value(doomedId))
+                .andExpect(jsonPath("$.productsTotal").value(PRODUCTS))
+                .andReturn().getResponse().getHeader("Location");
+
+        String jobId = location.substring(location.lastIndexOf('/') + 1);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (categoryService.findDeletionJob(jobId).status() == CategoryDeletionJobDto.Status.RUNNING
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.productsDeleted").value(PRODUCTS))
+                .andExpect(jsonPath("$.finishedAt").exists());
+        assertThat(categoryRepository.existsById(doomedId)).isFalse();
+        assertThat(productRepository.count()).isEqualTo(1);
+    }
+
+    // --- HELPER: while listening, a product lands in the doomed category right after each final chunk's select ---
+    private ApplicationListener<PayloadApplicationEvent<ProductsDeletedEvent>> racingInserts(int times) {
+        AtomicInteger remaining = new AtomicInteger(times);
+        ApplicationListener<PayloadApplicationEvent<ProductsDeletedEvent>> listener = event -> {
+            int left = remaining.getAndDecrement();
+            if (event.getPayload().productIds().size() < DELETE_CHUNK_SIZE && left > 0) {
+                // Another connection, committed before the chunk deletes the category
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                CompletableFuture.runAsync(() -> jdbcTemplate.update("INSERT INTO products (id, name, price, stock, "
+                        + "category_id, created_at, updated_at, version) VALUES (NEXT VALUE FOR products_seq, "
+                        + "?, 1.00, 1, ?, ?, ?, 0)", "late-arrival-" + left, doomedId, now, now)).join();
+            }
+        };
+        applicationContext.addApplicationListener(listener);
+        return listener;
+    }
+
+    @Test
+    @DisplayName("Should pick up a product inserted between the last chunk and the category delete")
+    void shouldDeleteProductAddedDuringDeletion() throws Exception {
+        ApplicationListener<?> listener = racingInserts(1);
+        try {
+            mockMvc.perform(delete(CATEGORIES_PATH + "/{id}", doomedId))
+                    .andExpect(status().isNoContent());
+        } finally {
+            applicationContext.removeApplicationListener(listener);
+        }
+
+        assertThat(categoryRepository.existsById(doomedId)).isFalse();
+        assertThat(productRepository.countByCategoryId(doomedId)).isZero();
+        assertThat(productRepository.existsById(keptProductId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when products keep arriving, leaving the category in place")
+    void shouldConflictWhenProductsKeepArriving() throws Exception {
+        ApplicationListener<?> listener = racingInserts(Integer.MAX_VALUE);
+        try {
+            mockMvc.perform(delete(CATEGORIES_PATH + "/{id}", doomedId))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.type").value("https://api.ecommerce.it/errors/concurrent-update"));
+        } finally {
+            applicationContext.removeApplicationListener(listener);
+        }
+
+        assertThat(categoryRepository.existsById(doomedId)).isTrue();
+        assertThat(productRepository.countByCategoryId(doomedId)).isPositive();
+
+        // Once the inserts stop, the same request goes through (and evicts what is left from the indexes)
+        mockMvc.perform(delete(CATEGORIES_PATH + "/{id}", doomedId))
+                .andExpect(status().isNoContent());
+        assertThat(productRepository.countByCategoryId(doomedId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown deletion job")
+    void shouldReturnNotFoundForUnknownJob() throws Exception {
+        mockMvc.perform(get(CATEGORIES_PATH + "/deletions/{jobId}", "missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.type").value("https://api.ecommerce.it/errors/deletion-job-not-found"));
+    }
+}
@@ -0,0 +1,231 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Conditional requests (ETag / If-None-Match / If-Match)")
+class ConditionalRequestIntegrationTest {
+
+    private static final String PRODUCTS_PATH = "/api/v1/products";
+    private static final String CATEGORIES_PATH = "/api/v1/categories";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    private Long categoryId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        categoryId = categoryService.createCategory(new CategoryRequestDto("Audio", null)).id();
+        productId = productService.createProduct(new ProductRequestDto(
+                "Studio Headphones", null, new BigDecimal("129.00"), 10, categoryId)).id();
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 from a version lookup alone")
+    void shouldRevalidateProductWithoutLoadingIt() throws Exception {
+        String url = PRODUCTS_PATH + "/" + productId;
+        // Tag taken without a GET, so the product is not in the cache yet
+        String etag = productService.currentETag(productId);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andExpect(content().string(""));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // Once a GET has cached the product, revalidation doesn't reach the database at all
+        assertThat(etagOf(url)).isEqualTo(etag);
+        statistics.clear();
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        productService.patchStock(productId, new ProductStockRequestDto(3));
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock").value(3));
+    }
+
+    @Test
+    @DisplayName("Should change a product's ETag when its embedded category is renamed")
+    void shouldTrackEmbeddedCategory() throws Exception {
+        String url = PRODUCTS_PATH + "/" + productId;
+        String etag = etagOf(url);
+
+        categoryService.updateCategory(categoryId, new CategoryRequestDto("Hi-Fi", null), null);
+
+        assertThat(etagOf(url)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Should serve category and category-list ETags with Cache-Control")
+    void shouldRevalidateCategories() throws Exception {
+        String categoryUrl = CATEGORIES_PATH + "/" + categoryId;
+        String categoryEtag = etagOf(categoryUrl);
+        String listEtag = etagOf(CATEGORIES_PATH);
+
+        mockMvc.perform(get(categoryUrl).header(HttpHeaders.IF_NONE_MATCH, categoryEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, must-revalidate, public"));
+        mockMvc.perform(get(CATEGORIES_PATH).param("page", "1").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isNotModified());
+
+        categoryService.createCategory(new CategoryRequestDto("Video", null));
+
+        mockMvc.perform(get(CATEGORIES_PATH).header(HttpHeaders.IF_NONE_MATCH, listEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+        mockMvc.perform(get(categoryUrl).header(HttpHeaders.IF_NONE_MATCH, categoryEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should tag a PUT response with the state it wrote, not a write committed right after it")
+    void shouldTagPutResponseWithWrittenState() throws Exception {
+        String url = PRODUCTS_PATH + "/" + productId;
+        String etag = etagOf(url);
+        String body = """
+                {"name": "Studio Headphones II", "price": 139.00, "stock": 10, "categoryId": %d}
+                """.formatted(categoryId);
+
+        // Another client's stock write commits between the PUT's commit and its response
+        AtomicBoolean interleaved = new AtomicBoolean();
+        ApplicationListener<PayloadApplicationEvent<ProductChangedEvent>> listener = event -> {
+            if (interleaved.compareAndSet(false, true)) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        CompletableFuture.runAsync(() -> productService.patchStock(productId, new ProductStockRequestDto(3)))
+                                .join();
+                    }
+                });
+            }
+        };
+        applicationContext.addApplicationListener(listener);
+        String putEtag;
+        try {
+            putEtag = mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, etag)
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.stock").value(10))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        } finally {
+            applicationContext.removeApplicationListener(listener);
+        }
+
+        assertThat(interleaved).isTrue();
+        assertThat(putEtag).isNotEqualTo(etag).isNotEqualTo(etagOf(url));
+        // The client never saw the stock write: its tag must not let it overwrite it
+        mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, putEtag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body.replace("139.00", "99.00")))
+                .andExpect(status().isPreconditionFailed());
+
+        String categoryUrl = CATEGORIES_PATH + "/" + categoryId;
+        String categoryEtag = mockMvc.perform(put(categoryUrl).header(HttpHeaders.IF_MATCH, etagOf(categoryUrl))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Hi-Fi\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(categoryEtag).isEqualTo(etagOf(categoryUrl));
+    }
+
+    @Test
+    @DisplayName("Should apply a PUT only when If-Match carries the current ETag")
+    void shouldHonourIfMatchOnPut() throws Exception {
+        String url = PRODUCTS_PATH + "/" + productId;
+        String etag = etagOf(url);
+        String body = """
+                {"name": "Studio Headphones II", "price": 139.00, "stock": 10, "categoryId": %d}
+                """.formatted(categoryId);
+
+        String newEtag = mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Studio Headphones II"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag).isEqualTo(etagOf(url));
+
+        mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body.replace("139.00", "99.00")))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.type").value("https://api.ecommerce.it/errors/precondition-failed"));
+        assertThat(productService.findById(productId).price()).isEqualByComparingTo("139.00");
+
+        // The tag of another format names the same state: the write applies to the resource
+        String cborEtag = mockMvc.perform(get(url).accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(cborEtag).isNotEqualTo(newEtag);
+        mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, cborEtag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body.replace("139.00", "129.00")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put(CATEGORIES_PATH + "/" + categoryId).header(HttpHeaders.IF_MATCH, "\"stale\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"Hi-Fi\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
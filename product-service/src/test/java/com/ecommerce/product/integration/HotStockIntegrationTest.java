@@ -0,0 +1,109 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.StockReservationLineDto;
+import com.ecommerce.product.exception.InsufficientStockException;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import com.ecommerce.product.stock.HotStockRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Long flush interval: the test triggers flushes explicitly
+@SpringBootTest(properties = "product.hot-stock.flush-interval=1h")
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Hot-SKU stock mode")
+class HotStockIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private HotStockRegistry hotStockRegistry;
+
+    private Long hotId;
+    private Long regularId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        Long categoryId = categoryService.createCategory(new CategoryRequestDto("Flash sale", null)).id();
+        hotId = productService.createProduct(new ProductRequestDto(
+                "Limited Sneakers", null, new BigDecimal("180.00"), 50, categoryId)).id();
+        regularId = productService.createProduct(new ProductRequestDto(
+                "Shoe Laces", null, new BigDecimal("4.00"), 5, categoryId)).id();
+        productService.enableHotStock(hotId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productService.disableHotStock(hotId);
+    }
+
+    private int storedStock(Long id) {
+        return productRepository.findById(id).orElseThrow().getStock();
+    }
+
+    @Test
+    @DisplayName("Should serve purchases from memory and write them back on flush")
+    void shouldWriteBehindOnFlush() {
+        assertThat(productService.decrementStock(hotId, 5).stock()).isEqualTo(45);
+        assertThat(storedStock(hotId)).isEqualTo(50);
+        assertThat(productService.findById(hotId).stock()).isEqualTo(45);
+
+        hotStockRegistry.flush();
+
+        assertThat(storedStock(hotId)).isEqualTo(45);
+    }
+
+    @Test
+    @DisplayName("Should store the final value when the mode is disabled")
+    void shouldFlushOnDisable() {
+        productService.decrementStock(hotId, 8);
+
+        assertThat(productService.disableHotStock(hotId).stock()).isEqualTo(42);
+        assertThat(storedStock(hotId)).isEqualTo(42);
+        assertThat(productService.decrementStock(hotId, 2).stock()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should give hot units back when a mixed reservation is rolled back")
+    void shouldReturnHotUnitsOnRollback() {
+        List<StockReservationLineDto> lines = List.of(
+                new StockReservationLineDto(hotId, 10),
+                new StockReservationLineDto(regularId, 6));
+
+        assertThatThrownBy(() -> productService.reserveStock(lines)).isInstanceOf(InsufficientStockException.class);
+
+        assertThat(hotStockRegistry.available(hotId)).isEqualTo(50);
+        assertThat(storedStock(regularId)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should reject purchases beyond the in-memory stock")
+    void shouldRejectWhenHotStockRunsOut() {
+        productService.decrementStock(hotId, 50);
+
+        assertThatThrownBy(() -> productService.decrementStock(hotId, 1)).isInstanceOf(InsufficientStockException.class);
+    }
+}
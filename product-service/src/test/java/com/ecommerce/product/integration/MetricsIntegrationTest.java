@@ -0,0 +1,81 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.micrometer.metrics.test.autoconfigure.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Log code and service method metrics")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private CategoryService categoryService;
+
+    private double notFoundLines() {
+        return meterRegistry.get("log.codes").tag("code", "PRD-002").counter().count();
+    }
+
+    @Test
+    @DisplayName("Should register a timer for every service method up front and record the calls")
+    void shouldTimeServiceMethods() {
+        long productMethods = Arrays.stream(ProductService.class.getMethods()).map(Method::getName).distinct().count();
+        assertThat(meterRegistry.find("service.method").tag("service", "ProductService").timers())
+                .hasSize((int) productMethods);
+
+        long before = meterRegistry.get("service.method")
+                .tags("service", "CategoryService", "method", "createCategory").timer().count();
+        categoryService.createCategory(new CategoryRequestDto("metrics-" + UUID.randomUUID(), null));
+
+        assertThat(meterRegistry.get("service.method")
+                .tags("service", "CategoryService", "method", "createCategory").timer().count())
+                .isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("Should count the code of a rejected request once, though the service and the handler both log it")
+    void shouldCountLogCodes() throws Exception {
+        double before = notFoundLines();
+
+        mockMvc.perform(get("/api/v1/products/987654321")).andExpect(status().isNotFound());
+
+        assertThat(notFoundLines()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("Should expose both as Prometheus text, the timers with histogram buckets")
+    void shouldExposePrometheusScrape() throws Exception {
+        mockMvc.perform(get("/api/v1/products/987654321")).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("log_codes_total{category=\"not-found\",code=\"PRD-002\"")))
+                .andExpect(content().string(containsString(
+                        "service_method_seconds_bucket{method=\"findById\",service=\"ProductService\"")));
+    }
+}
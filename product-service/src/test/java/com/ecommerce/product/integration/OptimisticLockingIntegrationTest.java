@@ -0,0 +1,197 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.ProductResponseDto;
+import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "product.write-retry.max-attempts=20")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Optimistic locking on product and category updates")
+class OptimisticLockingIntegrationTest {
+
+    private static final String PRODUCTS_PATH = "/api/v1/products";
+    private static final String CATEGORIES_PATH = "/api/v1/categories";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long categoryId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        categoryId = categoryService.createCategory(new CategoryRequestDto("Audio", null)).id();
+        productId = productService.createProduct(new ProductRequestDto(
+                "Studio Headphones", null, new BigDecimal("129.00"), 10, categoryId)).id();
+    }
+
+    private static String productBody(String description, Long categoryId, Long version) {
+        return """
+                {"name": "Studio Headphones", "description": "%s", "price": 129.00, "stock": 10,
+                 "categoryId": %d, "version": %s}
+                """.formatted(description, categoryId, version);
+    }
+
+    @Test
+    @DisplayName("Should expose the version, bump it on PUT only, and reject a PUT based on a stale one")
+    void shouldRejectStaleVersion() throws Exception {
+        String url = PRODUCTS_PATH + "/" + productId;
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(0));
+
+        // Stock writes are set-based and leave the version alone
+        productService.patchStock(productId, new ProductStockRequestDto(7));
+        productService.decrementStock(productId, 2);
+
+        mockMvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content(productBody("v1", categoryId, 0L)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.description").value("v1"))
+                // The body's stock was read before the stock writes: a PUT doesn't bring it back
+                .andExpect(jsonPath("$.stock").value(5));
+
+        mockMvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content(productBody("lost", categoryId, 0L)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type").value("https://api.ecommerce.it/errors/concurrent-update"));
+
+        mockMvc.perform(get(url))
+                .andExpect(jsonPath("$.description").value("v1"))
+                .andExpect(jsonPath("$.version").value(1));
+
+        String categoryUrl = CATEGORIES_PATH + "/" + categoryId;
+        mockMvc.perform(put(categoryUrl).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Hi-Fi\", \"version\": 0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(put(categoryUrl).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Lo-Fi\", \"version\": 0}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should keep If-Match answering 412 when the product changed since the client's ETag")
+    void shouldKeepIfMatchSemantics() throws Exception {
+        String url = PRODUCTS_PATH + "/" + productId;
+        String etag = productService.currentETag(productId);
+
+        productService.updateProduct(productId, new ProductRequestDto(
+                "Studio Headphones", "changed", new BigDecimal("129.00"), 10, categoryId), null);
+
+        mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(productBody("lost", categoryId, null)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("Should apply every concurrent unpinned PUT, retrying the ones that lose the version race")
+    void shouldRetryConcurrentUpdates() throws Exception {
+        int writers = 8;
+        double retriesBefore = meterRegistry.counter("catalog.write.retries", "entity", "product").count();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ProductResponseDto>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            for (int i = 0; i < writers; i++) {
+                String description = "writer-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return productService.updateProduct(productId, new ProductRequestDto(
+                            "Studio Headphones", description, new BigDecimal("129.00"), 10, categoryId), null).body();
+                }));
+            }
+            start.countDown();
+            for (Future<ProductResponseDto> result : results) {
+                result.get();
+            }
+        }
+
+        // No write was lost: each one produced its own version
+        assertThat(productRepository.findById(productId).orElseThrow().getVersion()).isEqualTo(writers);
+        assertThat(results.stream().map(this::versionOf).distinct().count()).isEqualTo(writers);
+
+        double retries = meterRegistry.counter("catalog.write.retries", "entity", "product").count() - retriesBefore;
+        double resolved = meterRegistry.counter("catalog.write.conflicts", "entity", "product", "outcome", "resolved").count();
+        assertThat(retries == 0 || resolved > 0).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never restore sold units when PUTs race checkout decrements")
+    void shouldNotLoseDecrementsToConcurrentPuts() throws Exception {
+        int stock = 200;
+        int decrements = 100;
+        int puts = 20;
+        productService.patchStock(productId, new ProductStockRequestDto(stock));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < decrements + puts; i++) {
+                boolean put = i % ((decrements + puts) / puts) == 0;
+                String description = "writer-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    // Every PUT carries the stock its client read before any unit was sold
+                    return put
+                            ? productService.updateProduct(productId, new ProductRequestDto(
+                                    "Studio Headphones", description, new BigDecimal("129.00"), stock, categoryId), null)
+                            : productService.decrementStock(productId, 1);
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(stock - decrements);
+        assertThat(productService.findById(productId).stock()).isEqualTo(stock - decrements);
+    }
+
+    private Long versionOf(Future<ProductResponseDto> result) {
+        return result.resultNow().version();
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.dto.StockReservationLineDto;
+import com.ecommerce.product.exception.InsufficientStockException;
+import com.ecommerce.product.model.OutboxEvent;
+import com.ecommerce.product.outbox.InMemoryOutboxSink;
+import com.ecommerce.product.outbox.OutboxMessage;
+import com.ecommerce.product.outbox.OutboxRelay;
+import com.ecommerce.product.outbox.OutboxWriter;
+import com.ecommerce.product.outbox.StockUpdated;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.OutboxEventRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(OutboxIntegrationTest.SinkConfig.class)
+@DisplayName("Integration Test (H2) - Transactional outbox and relay")
+class OutboxIntegrationTest {
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        @Primary
+        InMemoryOutboxSink inMemoryOutboxSink() {
+            return new InMemoryOutboxSink();
+        }
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private OutboxRelay relay;
+    @Autowired
+    private InMemoryOutboxSink sink;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private Long keyboardId;
+    private Long mouseId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        Long categoryId = categoryService.createCategory(new CategoryRequestDto("Peripherals", null)).id();
+        keyboardId = productService.createProduct(new ProductRequestDto(
+                "Mechanical Keyboard", null, new BigDecimal("89.00"), 10, categoryId)).id();
+        mouseId = productService.createProduct(new ProductRequestDto(
+                "Wireless Mouse", null, new BigDecimal("39.00"), 2, categoryId)).id();
+        outboxEventRepository.deleteAll();
+        sink.clear();
+    }
+
+    private StockUpdated payload(OutboxMessage message) {
+        return jsonMapper.readValue(message.payload(), StockUpdated.class);
+    }
+
+    @Test
+    @DisplayName("Should publish only the latest StockUpdated per product and empty the outbox")
+    void shouldCompactSupersededStockEvents() {
+        productService.patchStock(keyboardId, new ProductStockRequestDto(8));
+        productService.decrementStock(keyboardId, 3);
+        productService.reserveStock(List.of(new StockReservationLineDto(keyboardId, 1),
+                new StockReservationLineDto(mouseId, 2)));
+        assertThat(outboxEventRepository.count()).isEqualTo(4);
+
+        assertThat(relay.relayBatch()).isEqualTo(4);
+
+        List<OutboxMessage> published = sink.published();
+        assertThat(published).extracting(OutboxMessage::eventType).containsOnly(OutboxWriter.STOCK_UPDATED);
+        assertThat(published).extracting(this::payload)
+                .containsExactly(new StockUpdated(keyboardId, 4), new StockUpdated(mouseId, 0));
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(relay.relayBatch()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record nothing for a write that rolls back")
+    void shouldNotRecordRolledBackWrites() {
+        assertThatThrownBy(() -> productService.reserveStock(List.of(new StockReservationLineDto(keyboardId, 1),
+                new StockReservationLineDto(mouseId, 5))))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep a batch in the outbox when the sink fails")
+    void shouldKeepBatchWhenSinkFails() {
+        productService.patchStock(mouseId, new ProductStockRequestDto(7));
+        sink.failing(true);
+
+        assertThatThrownBy(() -> relay.relayBatch()).isInstanceOf(IllegalStateException.class);
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        sink.failing(false);
+        relay.poll();
+        assertThat(sink.published()).extracting(this::payload).containsExactly(new StockUpdated(mouseId, 7));
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should let a second relay skip the rows another one has claimed")
+    void shouldSkipClaimedRows() throws Exception {
+        productService.patchStock(keyboardId, new ProductStockRequestDto(1));
+        productService.patchStock(mouseId, new ProductStockRequestDto(1));
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Another instance's relay, holding its claim on the oldest event
+        CompletableFuture<List<Long>> other = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            List<Long> ids = outboxEventRepository.claimBatch(1).stream().map(OutboxEvent::getId).toList();
+            claimed.countDown();
+            await(release);
+            return ids;
+        }));
+        assertThat(claimed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThat(relay.relayBatch()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(sink.published()).extracting(OutboxMessage::aggregateId).containsExactly(mouseId);
+        assertThat(other.get(5, TimeUnit.SECONDS)).hasSize(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Bulk product import")
+class ProductBulkImportIntegrationTest {
+
+    private static final String BULK_PATH = "/api/v1/products/bulk";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        categoryId = categoryService.createCategory(new CategoryRequestDto("Peripherals", null)).id();
+        productService.createProduct(new ProductRequestDto(
+                "Mechanical Keyboard", null, new BigDecimal("89.00"), 10, categoryId));
+    }
+
+    @Test
+    @DisplayName("Should import valid rows of a JSON array and report each rejected row")
+    void shouldImportValidRowsAndReportFailures() throws Exception {
+        String body = """
+                [
+                  {"name": "Wireless Mouse", "price": 39.00, "stock": 5, "categoryId": %1$d},
+                  {"name": "Free Sample", "price": 0, "stock": 5, "categoryId": %1$d},
+                  {"name": "Orphan", "price": 10.00, "stock": 5, "categoryId": 999999},
+                  {"name": "Mechanical Keyboard", "price": 79.00, "stock": 5, "categoryId": %1$d},
+                  {"name": "Wireless Mouse", "price": 41.00, "stock": 5, "categoryId": %1$d},
+                  {"name": "USB Hub", "price": 19.00, "stock": 8, "categoryId": %1$d}
+                ]
+                """.formatted(categoryId);
+
+        mockMvc.perform(post(BULK_PATH).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(6))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("price: Price must be more than 0"))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[1].message").value("Category not found"))
+                .andExpect(jsonPath("$.errors[2].row").value(4))
+                .andExpect(jsonPath("$.errors[2].message").value("Product name already exists"))
+                .andExpect(jsonPath("$.errors[3].row").value(5))
+                .andExpect(jsonPath("$.errors[3].message").value("Duplicate product name in the import"))
+                .andExpect(jsonPath("$.errorsTruncated").value(false));
+
+        assertThat(productRepository.count()).isEqualTo(3);
+        // Imported products reach the in-memory indexes after each chunk commits
+        assertThat(productService.search("hub", PageRequest.of(0, 10)).getContent())
+                .extracting("name").containsExactly("USB Hub");
+        assertThat(productService.searchByPriceRange(new BigDecimal("30"), new BigDecimal("40"),
+                PageRequest.of(0, 10)).getContent()).extracting("name").containsExactly("Wireless Mouse");
+    }
+
+    @Test
+    @DisplayName("Should import an NDJSON stream spanning several chunks")
+    void shouldImportNdjsonAcrossChunks() throws Exception {
+        int rows = 1_200;
+        String body = IntStream.range(0, rows)
+                .mapToObj(i -> """
+                        {"name": "Cable %d", "price": %d.50, "stock": 3, "categoryId": %d}"""
+                        .formatted(i, 1 + i % 90, categoryId))
+                .collect(Collectors.joining("\n"));
+
+        mockMvc.perform(post(BULK_PATH).contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(rows))
+                .andExpect(jsonPath("$.imported").value(rows))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertThat(productRepository.count()).isEqualTo(rows + 1);
+    }
+
+    @Test
+    @DisplayName("Should stop at an unreadable row and keep the rows already imported")
+    void shouldStopAtUnreadableRow() throws Exception {
+        String body = """
+                {"name": "Wireless Mouse", "price": 39.00, "stock": 5, "categoryId": %1$d}
+                {"name": "Broken", "price": }
+                {"name": "USB Hub", "price": 19.00, "stock": 8, "categoryId": %1$d}
+                """.formatted(categoryId);
+
+        mockMvc.perform(post(BULK_PATH).contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Unreadable row, import stopped"));
+
+        assertThat(productRepository.existsByName("Wireless Mouse")).isTrue();
+        assertThat(productRepository.existsByName("USB Hub")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not report a row the database rejected for another reason as a name clash")
+    void shouldReportDatabaseRejectionReason() throws Exception {
+        // A constraint the service doesn't check up front, so only the INSERT can fail
+        jdbcTemplate.execute("ALTER TABLE products ADD CONSTRAINT chk_test_stock CHECK (stock <> 13)");
+        try {
+            String body = """
+                    [
+                      {"name": "Wireless Mouse", "price": 39.00, "stock": 5, "categoryId": %1$d},
+                      {"name": "Unlucky Hub", "price": 19.00, "stock": 13, "categoryId": %1$d}
+                    ]
+                    """.formatted(categoryId);
+
+            mockMvc.perform(post(BULK_PATH).contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(1))
+                    .andExpect(jsonPath("$.failed").value(1))
+                    .andExpect(jsonPath("$.errors[0].row").value(2))
+                    .andExpect(jsonPath("$.errors[0].message").value("Rejected by the database"));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE products DROP CONSTRAINT chk_test_stock");
+        }
+
+        assertThat(productRepository.existsByName("Wireless Mouse")).isTrue();
+    }
+}
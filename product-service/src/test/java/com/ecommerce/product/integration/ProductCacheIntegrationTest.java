@@ -0,0 +1,97 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Product detail cache")
+class ProductCacheIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Long categoryId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        categoryId = categoryService.createCategory(new CategoryRequestDto("Audio", null)).id();
+        productId = productService.createProduct(new ProductRequestDto(
+                "Studio Headphones", null, new BigDecimal("129.00"), 12, categoryId)).id();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache and record hits")
+    void shouldServeRepeatedReadsFromCache() {
+        double hitsBefore = meterRegistry.get("cache.gets").tags("cache", "products", "result", "hit")
+                .functionCounter().count();
+
+        productService.findById(productId);
+        statistics.clear();
+        productService.findById(productId);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "products", "result", "hit")
+                .functionCounter().count()).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Should reflect product updates, stock writes and deletes")
+    void shouldInvalidateOnProductWrites() {
+        productService.findById(productId);
+
+        productService.updateProduct(productId, new ProductRequestDto(
+                "Studio Headphones II", null, new BigDecimal("149.00"), 12, categoryId), null);
+        assertThat(productService.findById(productId).name()).isEqualTo("Studio Headphones II");
+
+        productService.patchStock(productId, new ProductStockRequestDto(3));
+        assertThat(productService.findById(productId).stock()).isEqualTo(3);
+
+        productService.decrementStock(productId, 1);
+        assertThat(productService.findById(productId).stock()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reflect a rename of the embedded category")
+    void shouldInvalidateOnCategoryRename() {
+        productService.findById(productId);
+
+        categoryService.updateCategory(categoryId, new CategoryRequestDto("Hi-Fi", null), null);
+
+        assertThat(productService.findById(productId).category().name()).isEqualTo("Hi-Fi");
+    }
+}
@@ -0,0 +1,191 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.changes.ProductChangeSequencer;
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductChangesDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.pagination.ProductChangeCursor;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Product change feed")
+class ProductChangeFeedIntegrationTest {
+
+    private static final String CHANGES_PATH = "/api/v1/products/changes";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductChangeSequencer sequencer;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    private Long categoryId;
+    private String head;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        categoryId = categoryService.createCategory(new CategoryRequestDto("Peripherals", null)).id();
+        sequencer.run();
+        head = page(changes()).nextCursor();
+    }
+
+    private ResultActions changes(String... params) throws Exception {
+        var builder = get(CHANGES_PATH);
+        for (int i = 0; i < params.length; i += 2) {
+            builder.param(params[i], params[i + 1]);
+        }
+        // The endpoint is asynchronous even when the page is ready at once
+        MvcResult started = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private ProductChangesDto page(ResultActions result) throws Exception {
+        String body = result.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return jsonMapper.readValue(body, ProductChangesDto.class);
+    }
+
+    private Long createProduct(String name, int stock) {
+        return productService.createProduct(new ProductRequestDto(name, null, new BigDecimal("19.90"), stock, categoryId)).id();
+    }
+
+    @Test
+    @DisplayName("Should return each product once, at its latest change, with tombstones for deletions")
+    void shouldReturnChangesInCommitOrder() throws Exception {
+        Long keyboardId = createProduct("Keyboard", 10);
+        Long mouseId = createProduct("Mouse", 5);
+        Long cableId = createProduct("Cable", 50);
+        productService.patchStock(keyboardId, new ProductStockRequestDto(8));
+        productService.deleteProduct(cableId);
+        sequencer.run();
+
+        changes("since", head)
+                .andExpect(jsonPath("$.changes.length()").value(3))
+                .andExpect(jsonPath("$.changes[0].productId").value(mouseId))
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].product.name").value("Mouse"))
+                .andExpect(jsonPath("$.changes[1].productId").value(keyboardId))
+                .andExpect(jsonPath("$.changes[1].type").value("UPDATED"))
+                .andExpect(jsonPath("$.changes[1].product.stock").value(8))
+                .andExpect(jsonPath("$.changes[2].productId").value(cableId))
+                .andExpect(jsonPath("$.changes[2].type").value("DELETED"))
+                .andExpect(jsonPath("$.changes[2].product").doesNotExist())
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        // Paging through the same changes two at a time
+        ProductChangesDto first = page(changes("since", head, "limit", "2"));
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.changes()).extracting(change -> change.productId()).containsExactly(keyboardId, mouseId);
+        ProductChangesDto rest = page(changes("since", first.nextCursor(), "limit", "10"));
+        assertThat(rest.changes()).extracting(change -> change.productId()).containsExactly(keyboardId, cableId);
+        assertThat(rest.changes().getLast().seq()).isGreaterThan(first.changes().getLast().seq());
+
+        // Caught up: nothing new, same position
+        ProductChangesDto caughtUp = page(changes("since", rest.nextCursor()));
+        assertThat(caughtUp.changes()).isEmpty();
+        assertThat(caughtUp.nextCursor()).isEqualTo(rest.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should record an update of every product when their category changes")
+    void shouldFollowCategoryUpdates() throws Exception {
+        Long keyboardId = createProduct("Keyboard", 10);
+        sequencer.run();
+        String afterCreate = page(changes("since", head)).nextCursor();
+
+        categoryService.updateCategory(categoryId, new CategoryRequestDto("Input devices", null), null);
+        sequencer.run();
+
+        changes("since", afterCreate)
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].productId").value(keyboardId))
+                .andExpect(jsonPath("$.changes[0].type").value("UPDATED"))
+                .andExpect(jsonPath("$.changes[0].product.category.name").value("Input devices"));
+    }
+
+    @Test
+    @DisplayName("Should hold a long-poll open until a change is committed")
+    void shouldWakeLongPollOnChange() throws Exception {
+        MvcResult started = mockMvc.perform(get(CHANGES_PATH).param("since", head).param("wait", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long begin = System.nanoTime();
+        Long mouseId = createProduct("Mouse", 5);
+
+        // The commit asks for sequencing: no scheduled run or explicit call needed
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(1))
+                .andExpect(jsonPath("$.changes[0].productId").value(mouseId))
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"));
+        assertThat(System.nanoTime() - begin).isLessThan(5_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("Should answer an idle long-poll with an empty page when the wait is over")
+    void shouldTimeOutLongPoll() throws Exception {
+        changes("since", head, "wait", "1")
+                .andExpect(jsonPath("$.changes.length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").value(head));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors and cursors behind the retained history")
+    void shouldRejectInvalidAndExpiredCursors() throws Exception {
+        mockMvc.perform(get(CHANGES_PATH).param("since", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("https://api.ecommerce.it/errors/invalid-cursor"));
+
+        createProduct("Keyboard", 10);
+        createProduct("Mouse", 5);
+        sequencer.run();
+        long headSeq = ProductChangeCursor.decode(head).seq();
+        // Retention pruned the first change after the client's position
+        jdbcTemplate.update("DELETE FROM product_changes WHERE seq = ?", headSeq + 1);
+
+        // Checked before any waiting, so the error comes back synchronously
+        mockMvc.perform(get(CHANGES_PATH).param("since", head))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.type").value("https://api.ecommerce.it/errors/change-cursor-expired"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.pagination.ProductCursor;
+import com.ecommerce.product.pagination.ProductSortKey;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Product keyset pagination")
+class ProductCursorPaginationIntegrationTest {
+
+    private static final String BASE_PATH = "/api/v1/products";
+    private static final int PRODUCTS = 23;
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        productIds.clear();
+        Long categoryId = categoryService.createCategory(new CategoryRequestDto("Electronics", null)).id();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productService.createProduct(new ProductRequestDto(
+                    "laptop-" + i, null, BigDecimal.valueOf(100 + i), 10, categoryId)).id());
+        }
+        // Ties on updated_at straddling page boundaries: only the id tie-breaker keeps them apart
+        jdbcTemplate.update("UPDATE products SET updated_at = ? WHERE id BETWEEN ? AND ?",
+                Timestamp.valueOf(LocalDateTime.now().plusMinutes(1)), productIds.get(3), productIds.get(12));
+    }
+
+    // --- HELPER: follows nextCursor from the first page to the last, collecting the ids in order ---
+    private List<Long> crawl(ProductSortKey sort) throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String url = BASE_PATH + "?size=" + PAGE_SIZE + "&sort=" + sort
+                    + (cursor != null ? "&cursor=" + cursor : "");
+            String body = mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> ids = JsonPath.read(body, "$.content[*].id");
+            ids.forEach(id -> seen.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.nextCursor");
+            boolean hasNext = JsonPath.read(body, "$.hasNext");
+            assertThat(hasNext).isEqualTo(cursor != null);
+            assertThat(++pages).as("pages crawled").isLessThanOrEqualTo(PRODUCTS);
+        } while (cursor != null);
+        return seen;
+    }
+
+    @Test
+    @DisplayName("Should visit every product exactly once, in id order, following nextCursor")
+    void shouldCrawlByIdWithoutGapsOrDuplicates() throws Exception {
+        assertThat(crawl(ProductSortKey.ID)).containsExactlyElementsOf(productIds);
+    }
+
+    @Test
+    @DisplayName("Should visit every product exactly once by updated_at, breaking ties by id")
+    void shouldCrawlByUpdatedAtWithoutGapsOrDuplicates() throws Exception {
+        List<Long> expected = new ArrayList<>(productIds.subList(0, 3));
+        expected.addAll(productIds.subList(13, PRODUCTS));
+        expected.addAll(productIds.subList(3, 13));
+
+        assertThat(crawl(ProductSortKey.UPDATED_AT)).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(ProductSortKey.class)
+    @DisplayName("Should reject a malformed cursor with 400")
+    void shouldRejectMalformedCursor(ProductSortKey sort) throws Exception {
+        mockMvc.perform(get(BASE_PATH + "?sort=" + sort + "&cursor=not-a-cursor!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("https://api.ecommerce.it/errors/invalid-cursor"));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for another sort order with 400")
+    void shouldRejectCursorForOtherSort() throws Exception {
+        String idCursor = new ProductCursor(ProductSortKey.ID, null, productIds.getFirst()).encode();
+
+        mockMvc.perform(get(BASE_PATH + "?sort=UPDATED_AT&cursor=" + idCursor))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.type").value("https://api.ecommerce.it/errors/invalid-cursor"))
+                .andExpect(jsonPath("$.detail").value("Pagination cursor was issued for a different sort order"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.index.ProductIndexSynchronizer;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Product facet counts")
+class ProductFacetIntegrationTest {
+
+    private static final String FACETS_PATH = "/api/v1/products/facets";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductIndexSynchronizer indexSynchronizer;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long audioId;
+    private Long videoId;
+    private Long speakerId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        audioId = categoryService.createCategory(new CategoryRequestDto("Audio", null)).id();
+        videoId = categoryService.createCategory(new CategoryRequestDto("Video", null)).id();
+        productService.createProduct(new ProductRequestDto("Earbuds", null, new BigDecimal("19.90"), 4, audioId));
+        speakerId = productService.createProduct(new ProductRequestDto(
+                "Speaker", null, new BigDecimal("89.00"), 1, audioId)).id();
+        productService.createProduct(new ProductRequestDto("Turntable", null, new BigDecimal("349.00"), 0, audioId));
+        productService.createProduct(new ProductRequestDto("Projector", null, new BigDecimal("599.00"), 2, videoId));
+        // deleteAll() bypasses the product events: rebuild the indexes so other tests' products are gone
+        indexSynchronizer.loadIndexes();
+    }
+
+    @Test
+    @DisplayName("Should return the filtered total and every facet count without querying the database")
+    void shouldCountFacetsFromMemory() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(FACETS_PATH)
+                        .param("categoryId", audioId.toString())
+                        .param("maxPrice", "100")
+                        .param("inStock", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.categories[0].categoryId").value(audioId))
+                .andExpect(jsonPath("$.categories[0].name").value("Audio"))
+                .andExpect(jsonPath("$.categories[0].count").value(2))
+                .andExpect(jsonPath("$.categories.length()").value(1))
+                // Price buckets ignore the price filter but not the stock one: the sold-out turntable isn't counted
+                .andExpect(jsonPath("$.priceBuckets.length()").value(7))
+                .andExpect(jsonPath("$.priceBuckets[0].count").value(1))
+                .andExpect(jsonPath("$.priceBuckets[2].count").value(1))
+                .andExpect(jsonPath("$.priceBuckets[4].count").value(0))
+                .andExpect(jsonPath("$.priceBuckets[6].max").doesNotExist())
+                .andExpect(jsonPath("$.inStock").value(2))
+                .andExpect(jsonPath("$.outOfStock").value(0));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should move a product between in-stock and sold-out as its stock changes")
+    void shouldFollowStockWrites() throws Exception {
+        productService.decrementStock(speakerId, 1);
+
+        mockMvc.perform(get(FACETS_PATH).param("categoryId", audioId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.inStock").value(1))
+                .andExpect(jsonPath("$.outOfStock").value(2));
+
+        productService.enableHotStock(speakerId);
+        try {
+            productService.patchStock(speakerId, new ProductStockRequestDto(5));
+            productService.decrementStock(speakerId, 5);
+
+            // Hot stock is sold from memory: the facet counts read the counter
+            mockMvc.perform(get(FACETS_PATH).param("inStock", "false"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(2))
+                    .andExpect(jsonPath("$.categories.length()").value(1))
+                    .andExpect(jsonPath("$.categories[0].categoryId").value(audioId))
+                    .andExpect(jsonPath("$.categories[0].count").value(2));
+        } finally {
+            productService.disableHotStock(speakerId);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards every product read path against N+1 category loads: the number of JDBC
+ * statements per request must not depend on how many rows (or distinct categories)
+ * come back.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Product read statement count")
+class ProductQueryCountIntegrationTest {
+
+    private static final String BASE_PATH = "/api/v1/products";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstProductId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // --- HELPER: seed N products spread over as many distinct categories ---
+    // Goes through the services so that the in-memory search index is fed as well
+    private void seed(int products) {
+        for (int i = 0; i < products; i++) {
+            Long categoryId = categoryService.createCategory(new CategoryRequestDto("category-" + i, null)).id();
+            Long productId = productService.createProduct(new ProductRequestDto(
+                    "laptop-" + i, null, BigDecimal.valueOf(100 + i), 10, categoryId)).id();
+            if (i == 0) {
+                firstProductId = productId;
+            }
+        }
+    }
+
+    private long statementsFor(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @ParameterizedTest(name = "{0} product(s)")
+    @ValueSource(ints = {1, 25})
+    @DisplayName("Listing, search and export issue one statement regardless of result size")
+    void listEndpoints_issueSingleStatement(int products) throws Exception {
+        seed(products);
+
+        assertThat(statementsFor(BASE_PATH + "?size=50")).isEqualTo(1);
+        assertThat(statementsFor(BASE_PATH + "?size=50&sort=UPDATED_AT")).isEqualTo(1);
+        assertThat(statementsFor(BASE_PATH + "/search?keyword=laptop")).isEqualTo(1);
+        assertThat(statementsFor(BASE_PATH + "/price-range?min=0&max=1000")).isEqualTo(1);
+        assertThat(statementsFor(BASE_PATH + "/export")).isEqualTo(1);
+    }
+
+    @ParameterizedTest(name = "{0} product(s)")
+    @ValueSource(ints = {1, 25})
+    @DisplayName("Product detail loads product and category in one statement, after the ETag version lookup")
+    void detailEndpoint_issuesSingleStatement(int products) throws Exception {
+        seed(products);
+
+        assertThat(statementsFor(BASE_PATH + "/" + firstProductId)).isEqualTo(2);
+        // Once cached, both the version and the body come from memory
+        assertThat(statementsFor(BASE_PATH + "/" + firstProductId)).isZero();
+    }
+}
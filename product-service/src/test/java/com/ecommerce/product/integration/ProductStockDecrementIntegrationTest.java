@@ -0,0 +1,143 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.exception.InsufficientStockException;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Atomic stock decrement")
+class ProductStockDecrementIntegrationTest {
+
+    private static final String BASE_PATH = "/api/v1/products";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        Long categoryId = categoryService.createCategory(new CategoryRequestDto("Flash sale", null)).id();
+        productId = productService.createProduct(new ProductRequestDto(
+                "Limited Edition Console", null, new BigDecimal("499.00"), 100, categoryId)).id();
+    }
+
+    private String decrementBody(int quantity) {
+        return "{\"quantity\": " + quantity + "}";
+    }
+
+    @Test
+    @DisplayName("Should return the remaining stock in a single statement")
+    void shouldDecrementInOneStatement() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post(BASE_PATH + "/" + productId + "/stock/decrement")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(decrementBody(3)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(productId))
+                .andExpect(jsonPath("$.stock").value(97));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject with 409 and leave stock untouched when not enough is left")
+    void shouldRejectWhenOutOfStock() throws Exception {
+        mockMvc.perform(post(BASE_PATH + "/" + productId + "/stock/decrement")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(decrementBody(101)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type").value("https://api.ecommerce.it/errors/out-of-stock"));
+
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should return 404 for a missing product and 400 for a non-positive quantity")
+    void shouldRejectMissingProductAndInvalidQuantity() throws Exception {
+        mockMvc.perform(post(BASE_PATH + "/999999/stock/decrement")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(decrementBody(1)))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post(BASE_PATH + "/" + productId + "/stock/decrement")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(decrementBody(0)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should sell exactly the available stock under concurrent purchases")
+    void shouldNotLoseUpdatesUnderConcurrency() throws Exception {
+        int attempts = 300;
+        List<Callable<Boolean>> purchases = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            purchases.add(() -> {
+                try {
+                    productService.decrementStock(productId, 1);
+                    return true;
+                } catch (InsufficientStockException ex) {
+                    return false;
+                }
+            });
+        }
+
+        long sold;
+        try (ExecutorService pool = Executors.newFixedThreadPool(16)) {
+            sold = 0;
+            for (Future<Boolean> result : pool.invokeAll(purchases)) {
+                if (result.get()) {
+                    sold++;
+                }
+            }
+        }
+
+        assertThat(sold).isEqualTo(100);
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isZero();
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Multi-line stock reservation")
+class ProductStockReservationIntegrationTest {
+
+    private static final String RESERVATIONS_PATH = "/api/v1/products/stock/reservations";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+
+    private Long keyboardId;
+    private Long mouseId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        Long categoryId = categoryService.createCategory(new CategoryRequestDto("Peripherals", null)).id();
+        keyboardId = productService.createProduct(new ProductRequestDto(
+                "Mechanical Keyboard", null, new BigDecimal("89.00"), 10, categoryId)).id();
+        mouseId = productService.createProduct(new ProductRequestDto(
+                "Wireless Mouse", null, new BigDecimal("39.00"), 2, categoryId)).id();
+    }
+
+    private int stockOf(Long id) {
+        return productRepository.findById(id).orElseThrow().getStock();
+    }
+
+    @Test
+    @DisplayName("Should reserve every line, merging duplicates, and return remaining stock by id")
+    void shouldReserveAllLines() throws Exception {
+        String body = """
+                {"lines": [
+                  {"productId": %d, "quantity": 1},
+                  {"productId": %d, "quantity": 3},
+                  {"productId": %d, "quantity": 1}
+                ]}
+                """.formatted(mouseId, keyboardId, mouseId);
+
+        mockMvc.perform(post(RESERVATIONS_PATH).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines.length()").value(2))
+                .andExpect(jsonPath("$.lines[0].productId").value(keyboardId))
+                .andExpect(jsonPath("$.lines[0].stock").value(7))
+                .andExpect(jsonPath("$.lines[1].productId").value(mouseId))
+                .andExpect(jsonPath("$.lines[1].stock").value(0));
+    }
+
+    @Test
+    @DisplayName("Should reserve nothing when one line is short on stock")
+    void shouldRollBackAllLinesWhenOneIsShort() throws Exception {
+        String body = """
+                {"lines": [{"productId": %d, "quantity": 5}, {"productId": %d, "quantity": 3}]}
+                """.formatted(keyboardId, mouseId);
+
+        mockMvc.perform(post(RESERVATIONS_PATH).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.type").value("https://api.ecommerce.it/errors/out-of-stock"));
+
+        assertThat(stockOf(keyboardId)).isEqualTo(10);
+        assertThat(stockOf(mouseId)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reserve nothing when a product does not exist, and reject empty orders")
+    void shouldRejectMissingProductsAndEmptyOrders() throws Exception {
+        String body = """
+                {"lines": [{"productId": %d, "quantity": 1}, {"productId": 999999, "quantity": 1}]}
+                """.formatted(keyboardId);
+
+        mockMvc.perform(post(RESERVATIONS_PATH).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+        assertThat(stockOf(keyboardId)).isEqualTo(10);
+
+        mockMvc.perform(post(RESERVATIONS_PATH).contentType(MediaType.APPLICATION_JSON).content("{\"lines\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+}
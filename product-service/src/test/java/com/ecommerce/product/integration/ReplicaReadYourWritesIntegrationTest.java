@@ -0,0 +1,139 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The replica starts as the primary's own database, so the context loads as usual; a test makes it
+// lag by serving its connections from a copy of the primary taken before the write
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicated;DB_CLOSE_DELAY=-1",
+        "product.datasource.replica.url=jdbc:h2:mem:replicated;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Read replica and the product cache")
+class ReplicaReadYourWritesIntegrationTest {
+
+    private static final String PRODUCTS_PATH = "/api/v1/products";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+    // The replica pool, behind the statement-counting wrapper
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DelegatingDataSource replica;
+
+    private DataSource replicaPool;
+
+    @TempDir
+    private Path snapshotDir;
+
+    private Long categoryId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        replicaPool = replica.getTargetDataSource();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        categoryId = categoryService.createCategory(new CategoryRequestDto("Audio", null)).id();
+        productId = productService.createProduct(new ProductRequestDto(
+                "Studio Headphones", null, new BigDecimal("129.00"), 12, categoryId)).id();
+    }
+
+    // From here on the replica serves the primary's current state, and none of the later writes
+    private void freezeReplica() {
+        String script = snapshotDir.resolve("replica.sql").toString();
+        new JdbcTemplate(primary).execute("SCRIPT NOPASSWORDS NOSETTINGS TO '" + script + "'");
+
+        JdbcDataSource lagging = new JdbcDataSource();
+        lagging.setURL("jdbc:h2:mem:replicated-lagging;DB_CLOSE_DELAY=-1");
+        JdbcTemplate replicaJdbc = new JdbcTemplate(lagging);
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        replicaJdbc.execute("RUNSCRIPT FROM '" + script + "'");
+        replica.setTargetDataSource(lagging);
+    }
+
+    @AfterEach
+    void restoreReplica() {
+        replica.setTargetDataSource(replicaPool);
+    }
+
+    @Test
+    @DisplayName("Should not serve a product read from a lagging replica to a client without the pin cookie")
+    void shouldNotCacheReplicaReads() throws Exception {
+        String url = PRODUCTS_PATH + "/" + productId;
+        // Cached before the write, so the write has an entry to invalidate
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        freezeReplica();
+
+        String body = """
+                {"name": "Studio Headphones II", "price": 139.00, "stock": 12, "categoryId": %d}
+                """.formatted(categoryId);
+        String etag = mockMvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // The replica hasn't seen the write
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        String replicated = readOnly.execute(status -> productRepository.findById(productId).orElseThrow().getName());
+        assertThat(replicated).isEqualTo("Studio Headphones");
+
+        // MockMvc keeps no cookies: this is a client that ignores the read-your-writes pin
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.name").value("Studio Headphones II"));
+        // Served from the cache filled by the miss above
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Studio Headphones II"));
+    }
+}
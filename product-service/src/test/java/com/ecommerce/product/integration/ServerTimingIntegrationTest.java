@@ -0,0 +1,105 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static com.ecommerce.product.timing.ServerTimingFilter.REQUEST_HEADER;
+import static com.ecommerce.product.timing.ServerTimingFilter.SERVER_TIMING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Server-Timing breakdown")
+class ServerTimingIntegrationTest {
+
+    private static final String BASE_PATH = "/api/v1/products";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        Long categoryId = categoryService.createCategory(new CategoryRequestDto("Electronics", null)).id();
+        productId = productService.createProduct(new ProductRequestDto(
+                "Laptop", null, BigDecimal.valueOf(999), 10, categoryId)).id();
+    }
+
+    @Test
+    @DisplayName("Should break a requested response down into DB, mapping and serialization phases")
+    void shouldAddServerTimingWhenRequested() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_PATH + "/" + productId).header(REQUEST_HEADER, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(productId))
+                .andExpect(jsonPath("$.name").value("Laptop"))
+                .andReturn();
+
+        String serverTiming = result.getResponse().getHeader(SERVER_TIMING);
+        assertThat(serverTiming).isNotNull();
+        assertThat(serverTiming.split(", "))
+                .extracting(metric -> metric.substring(0, metric.indexOf(';')))
+                .containsExactly("db-acquire", "db-exec", "hydration", "mapping", "serialize", "total");
+        assertThat(serverTiming)
+                .matches("(?:[a-z-]+;dur=\\d+\\.\\d{3}(?:;desc=\"[^\"]*\")?(?:, )?)+")
+                .contains("db-exec;dur=")
+                .contains(";desc=\"2 statement(s)\"");
+    }
+
+    @Test
+    @DisplayName("Should not hold back a streamed NDJSON export: its header is set before the body, without serialize")
+    void shouldNotBufferStreamedResponses() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_PATH + "/export").header(REQUEST_HEADER, "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String serverTiming = result.getResponse().getHeader(SERVER_TIMING);
+        assertThat(serverTiming).isNotNull();
+        assertThat(serverTiming.split(", "))
+                .extracting(metric -> metric.substring(0, metric.indexOf(';')))
+                .containsExactly("db-acquire", "db-exec", "hydration", "mapping", "total");
+        assertThat(result.getResponse().getContentAsString()).contains("\"name\":\"Laptop\"");
+    }
+
+    @Test
+    @DisplayName("Should leave responses untouched when the breakdown is not requested")
+    void shouldNotAddServerTimingByDefault() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/" + productId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(SERVER_TIMING))
+                .andExpect(jsonPath("$.name").value("Laptop"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import com.ecommerce.product.sql.RequestStatements;
+import com.ecommerce.product.sql.StatementBudget;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ecommerce.product.sql.StatementStatsFilter.QUERY_COUNT;
+import static com.ecommerce.product.sql.StatementStatsFilter.QUERY_ROWS;
+import static com.ecommerce.product.sql.StatementStatsFilter.QUERY_TIME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Per-request SQL statistics")
+class SqlStatsIntegrationTest {
+
+    private static final String BASE_PATH = "/api/v1/products";
+    private static final int PRODUCTS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> categoryIds = new ArrayList<>();
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        categoryIds.clear();
+        // Every product in its own category: an N+1 on categories would show at once
+        for (int i = 0; i < PRODUCTS; i++) {
+            Long categoryId = categoryService.createCategory(new CategoryRequestDto("category-" + i, null)).id();
+            categoryIds.add(categoryId);
+            productId = productService.createProduct(new ProductRequestDto(
+                    "laptop-" + i, null, BigDecimal.valueOf(100 + i), 10, categoryId)).id();
+        }
+    }
+
+    @Test
+    @StatementBudget(1)
+    @DisplayName("Listing and search stay within one statement per request")
+    void listEndpoints_stayWithinBudget() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "?size=50")).andExpect(status().isOk());
+        mockMvc.perform(get(BASE_PATH + "/search?keyword=laptop")).andExpect(status().isOk());
+        mockMvc.perform(get(BASE_PATH + "/price-range?min=0&max=1000")).andExpect(status().isOk());
+    }
+
+    @Test
+    @StatementBudget(value = 2, uri = BASE_PATH + "/{id}")
+    @DisplayName("Product detail stays within its budget of version lookup plus fetch")
+    void detailEndpoint_staysWithinBudget() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/" + productId)).andExpect(status().isOk());
+        mockMvc.perform(get(BASE_PATH + "/" + productId)).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should expose statements, rows and DB time as debug headers and metrics")
+    void shouldExposeHeadersAndMetrics() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "?size=50"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QUERY_COUNT, "1"))
+                .andExpect(header().string(QUERY_ROWS, String.valueOf(PRODUCTS)))
+                .andExpect(header().exists(QUERY_TIME));
+
+        DistributionSummary statements = meterRegistry.find("http.server.requests.db.statements")
+                .tags("method", "GET", "uri", BASE_PATH).summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isPositive();
+        assertThat(meterRegistry.find("http.server.requests.db.rows").tags("uri", BASE_PATH).summary()).isNotNull();
+        assertThat(meterRegistry.find("http.server.requests.db.time").tags("uri", BASE_PATH).timer()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should count a lookup per row as one repeated statement shape")
+    void shouldDetectRepeatedShape() {
+        try (RequestStatements recorded = RequestStatements.record()) {
+            // The N+1 shape: one query per id instead of one for all of them
+            categoryIds.stream().limit(6).forEach(categoryRepository::findById);
+
+            assertThat(recorded.statements()).isEqualTo(6);
+            assertThat(recorded.rowsFetched()).isEqualTo(6);
+            assertThat(recorded.repeatedShapes(5)).hasSize(1).containsValue(6);
+        }
+    }
+}
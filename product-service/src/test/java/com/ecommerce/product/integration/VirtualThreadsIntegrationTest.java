@@ -0,0 +1,151 @@
+package com.ecommerce.product.integration;
+
+import com.ecommerce.product.catalog.CategoryCatalog;
+import com.ecommerce.product.changes.ProductChangeSequencer;
+import com.ecommerce.product.datasource.ConnectionLimitingDataSource;
+import com.ecommerce.product.dto.CategoryRequestDto;
+import com.ecommerce.product.dto.ProductRequestDto;
+import com.ecommerce.product.dto.ProductStockRequestDto;
+import com.ecommerce.product.pagination.ProductSortKey;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.CategoryService;
+import com.ecommerce.product.service.ProductService;
+import com.ecommerce.product.stock.HotStockRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        // A small pool, so the workload queues on the limiter and on Hikari
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "product.datasource.limiter.acquire-timeout=30s"
+})
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Virtual threads")
+class VirtualThreadsIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsIntegrationTest.class);
+    private static final int TASKS = 100;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductChangeSequencer sequencer;
+    @Autowired
+    private HotStockRegistry hotStock;
+    @Autowired
+    private CategoryCatalog categoryCatalog;
+
+    private Long categoryId;
+    private Long sharedId;
+    private Long hotId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        categoryId = categoryService.createCategory(new CategoryRequestDto("Peripherals", null)).id();
+        sharedId = productService.createProduct(
+                new ProductRequestDto("Keyboard", null, new BigDecimal("49.90"), 1_000_000, categoryId)).id();
+        hotId = productService.createProduct(
+                new ProductRequestDto("Flash Sale Item", null, BigDecimal.TEN, 1_000_000, categoryId)).id();
+        productService.enableHotStock(hotId);
+    }
+
+    @Test
+    @DisplayName("Should put a limiter sized to the pool in front of the connection pool")
+    void shouldLimitConnectionPool() throws Exception {
+        assertThat(dataSource).isInstanceOf(ConnectionLimitingDataSource.class);
+        assertThat(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should not pin carrier threads on the JDBC and logging paths")
+    void shouldNotPinCarrierThreads() throws Exception {
+        // Warm-up on a platform thread: class initialization can pin, and is not what is measured here
+        workload(-1);
+
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int i = 0; i < TASKS; i++) {
+                    int task = i;
+                    tasks.add(executor.submit(() -> workload(task)));
+                }
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+            }
+            recording.stop();
+        }
+
+        assertThat(pinned)
+                .as(() -> "pinned virtual threads:\n" + pinned.stream()
+                        .map(VirtualThreadsIntegrationTest::describe)
+                        .collect(Collectors.joining("\n\n")))
+                .isEmpty();
+    }
+
+    // Every request path that blocks on the database, plus the background jobs that hold a lock across JDBC
+    private void workload(int task) {
+        productService.createProduct(
+                new ProductRequestDto("Product " + task, null, new BigDecimal("19.90"), 10, categoryId));
+        productService.decrementStock(sharedId, 1);
+        productService.decrementStock(hotId, 1);
+        productService.patchStock(sharedId, new ProductStockRequestDto(1_000_000));
+        productService.findById(sharedId);
+        productService.getAllProducts(null, 20, ProductSortKey.ID);
+        switch (Math.floorMod(task, 4)) {
+            case 0 -> sequencer.run();
+            case 1 -> hotStock.flush();
+            case 2 -> categoryCatalog.reload();
+            default -> productService.getChanges(null, 10, Duration.ZERO).join();
+        }
+        log.info("Virtual thread workload done - task: {}", task);
+    }
+
+    private static String describe(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        return frames.stream()
+                .map(frame -> "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.product.metrics;
+
+import com.ecommerce.product.constant.LogCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogCodeMetricsTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LogCodeMetricsTest.class);
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private double count(LogCode code) {
+        return registry.get("log.codes").tag("code", code.code()).tag("category", code.category()).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should count the lines written with a code, whatever its position among the arguments")
+    void shouldCountLinesByCode() {
+        try (LogCodeMetrics metrics = new LogCodeMetrics()) {
+            metrics.bindTo(registry);
+
+            log.warn("[{}] Concurrent {} update still conflicting", LogCode.CONCURRENT_UPDATE, "product");
+            log.warn("{} rejected [{}]", "Update", LogCode.CONCURRENT_UPDATE);
+            log.error("[{}] Outbox relay failed", LogCode.OUTBOX_RELAY_FAILED, new IllegalStateException("test"));
+            log.info("Product {} updated", 42L);
+
+            assertThat(count(LogCode.CONCURRENT_UPDATE)).isEqualTo(2);
+            assertThat(count(LogCode.OUTBOX_RELAY_FAILED)).isEqualTo(1);
+            // Registered up front, before any line
+            assertThat(count(LogCode.PRODUCT_NOT_FOUND)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count each code once per request, and every line outside requests")
+    void shouldCountCodesOncePerRequest() {
+        try (LogCodeMetrics metrics = new LogCodeMetrics()) {
+            metrics.bindTo(registry);
+
+            for (int request = 0; request < 2; request++) {
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+                try {
+                    // The service rejects, then the exception handler maps the rejection
+                    log.warn("[{}] Product not found - id: {}", LogCode.PRODUCT_NOT_FOUND, 1L);
+                    log.warn("[{}] {}: {}", LogCode.PRODUCT_NOT_FOUND, LogCode.PRODUCT_NOT_FOUND.description(), "1");
+                    log.warn("[{}] Concurrent {} update still conflicting", LogCode.CONCURRENT_UPDATE, "product");
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            }
+            log.error("[{}] Outbox relay failed", LogCode.OUTBOX_RELAY_FAILED);
+            log.error("[{}] Outbox relay failed", LogCode.OUTBOX_RELAY_FAILED);
+
+            assertThat(count(LogCode.PRODUCT_NOT_FOUND)).isEqualTo(2);
+            assertThat(count(LogCode.CONCURRENT_UPDATE)).isEqualTo(2);
+            assertThat(count(LogCode.OUTBOX_RELAY_FAILED)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop counting once closed")
+    void shouldStopCountingWhenClosed() {
+        LogCodeMetrics metrics = new LogCodeMetrics();
+        metrics.bindTo(registry);
+        metrics.close();
+
+        log.warn("[{}] Product not found - id: {}", LogCode.PRODUCT_NOT_FOUND, 1L);
+
+        assertThat(count(LogCode.PRODUCT_NOT_FOUND)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should derive the category from the hundreds digit of the code")
+    void shouldDeriveCategory() {
+        assertThat(LogCode.PRODUCT_NOT_FOUND.category()).isEqualTo("not-found");
+        assertThat(LogCode.CONCURRENT_UPDATE.category()).isEqualTo("conflict");
+        assertThat(LogCode.INVALID_CURSOR.category()).isEqualTo("validation");
+        assertThat(LogCode.DATABASE_UNAVAILABLE.category()).isEqualTo("internal");
+    }
+}
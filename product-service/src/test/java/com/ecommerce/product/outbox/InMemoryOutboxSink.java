@@ -0,0 +1,34 @@
+package com.ecommerce.product.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test sink: keeps every published event in memory, and can be told to fail.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxMessage> published = new ArrayList<>();
+    private boolean failing;
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        if (failing) {
+            throw new IllegalStateException("Sink unavailable");
+        }
+        published.addAll(messages);
+    }
+
+    public synchronized List<OutboxMessage> published() {
+        return List.copyOf(published);
+    }
+
+    public synchronized void failing(boolean failing) {
+        this.failing = failing;
+    }
+
+    public synchronized void clear() {
+        published.clear();
+        failing = false;
+    }
+}
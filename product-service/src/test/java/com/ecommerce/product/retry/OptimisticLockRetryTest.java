@@ -0,0 +1,88 @@
+package com.ecommerce.product.retry;
+
+import com.ecommerce.product.exception.ConcurrentUpdateException;
+import com.ecommerce.product.exception.PreconditionFailedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptimisticLockRetryTest {
+
+    private MeterRegistry meterRegistry;
+    private OptimisticLockRetry retry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retry = new OptimisticLockRetry(meterRegistry, 3, Duration.ofMillis(1));
+    }
+
+    // --- FACTORY ---
+    private static Supplier<String> failingTimes(int failures, AtomicInteger calls) {
+        return () -> {
+            if (calls.incrementAndGet() <= failures) {
+                throw new ObjectOptimisticLockingFailureException("Product", 1L);
+            }
+            return "ok";
+        };
+    }
+
+    private double conflicts(String outcome) {
+        return meterRegistry.counter("catalog.write.conflicts", "entity", "product", "outcome", outcome).count();
+    }
+
+    @Test
+    @DisplayName("Should re-run a write that lost the race and count it as resolved")
+    void shouldRetryUntilTheWriteWins() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(retry.execute("product", null, failingTimes(2, calls))).isEqualTo("ok");
+
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.counter("catalog.write.retries", "entity", "product").count()).isEqualTo(2);
+        assertThat(conflicts("resolved")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not count a write that never conflicted")
+    void shouldNotCountCleanWrites() {
+        assertThat(retry.execute("product", null, failingTimes(0, new AtomicInteger()))).isEqualTo("ok");
+
+        assertThat(meterRegistry.find("catalog.write.conflicts").counters()).isEmpty();
+        assertThat(meterRegistry.find("catalog.write.retries").counters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should give up with a conflict after the last attempt")
+    void shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute("product", null, failingTimes(5, calls)))
+                .isInstanceOf(ConcurrentUpdateException.class);
+
+        assertThat(calls).hasValue(3);
+        assertThat(conflicts("exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report a pinned write as stale on the first conflict, without retrying")
+    void shouldNotRetryPinnedWrites() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute("product", PreconditionFailedException::forETag, failingTimes(1, calls)))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        assertThat(calls).hasValue(1);
+        assertThat(conflicts("stale")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.product.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestStatementsTest {
+
+    @Test
+    @DisplayName("Should collapse bind parameter lists, so IN lists and multi-row inserts of any size share a shape")
+    void shouldCollapseParameterLists() {
+        assertThat(RequestStatements.shape("select p1_0.id from products p1_0 where p1_0.id in (?,?,?)"))
+                .isEqualTo(RequestStatements.shape("select p1_0.id from products p1_0 where p1_0.id in (?, ?)"))
+                .isEqualTo("select p1_0.id from products p1_0 where p1_0.id in (?)");
+        assertThat(RequestStatements.shape("insert into t (a,b) values (?,?),(?,?)"))
+                .isEqualTo("insert into t (a,b) values (?)");
+        assertThat(RequestStatements.shape("select count(*) from products")).isEqualTo("select count(*) from products");
+    }
+
+    @Test
+    @DisplayName("Should report only the shapes prepared more than the threshold")
+    void shouldReportRepeatedShapes() {
+        try (RequestStatements statements = RequestStatements.record()) {
+            for (long id = 0; id < 6; id++) {
+                statements.prepared("select c1_0.id,c1_0.name from categories c1_0 where c1_0.id=?");
+            }
+            statements.prepared("select p1_0.id from products p1_0 where p1_0.category_id in (?,?)");
+
+            assertThat(statements.repeatedShapes(5))
+                    .containsOnlyKeys("select c1_0.id,c1_0.name from categories c1_0 where c1_0.id=?")
+                    .containsValue(6);
+            assertThat(statements.repeatedShapes(6)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore the enclosing recording when a nested one is closed")
+    void shouldRestoreEnclosingRecording() {
+        try (RequestStatements outer = RequestStatements.record()) {
+            try (RequestStatements inner = RequestStatements.record()) {
+                assertThat(RequestStatements.current()).isSameAs(inner);
+            }
+            assertThat(RequestStatements.current()).isSameAs(outer);
+        }
+        assertThat(RequestStatements.current()).isNull();
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.product.sql;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test if a request it makes executes more than {@link #value()} statements.
+ * <p>
+ * For Spring tests making their requests with MockMvc, which handles them on the test thread: a
+ * real server reports a request only after sending the response, possibly after the test is over.
+ * The budget applies to every request of the test, or only to those matched by the route template
+ * {@link #uri()}, e.g. {@code /api/v1/products/{id}}.
+ * </p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(StatementBudgetExtension.class)
+public @interface StatementBudget {
+
+    /** Maximum statements per request. */
+    int value();
+
+    /** Route template the budget applies to; every request when empty. */
+    String uri() default "";
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.product.sql;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementBudgetExtensionTest {
+
+    // Budgets read from these methods, which aren't tests: the extension isn't registered for them
+    @StatementBudget(2)
+    private static void anyRequest() {}
+
+    @StatementBudget(value = 2, uri = "/api/v1/products/{id}")
+    private static void singleRoute() {}
+
+    private static StatementBudget budget(String method) throws NoSuchMethodException {
+        return StatementBudgetExtensionTest.class.getDeclaredMethod(method).getAnnotation(StatementBudget.class);
+    }
+
+    private static RequestStatementsEvent request(String uri, int statements, Map<String, Integer> repeated) {
+        return new RequestStatementsEvent("GET", uri, statements, statements, Duration.ofMillis(statements), repeated);
+    }
+
+    @Test
+    @DisplayName("Should fail a test whose request exceeds the budget, naming the request and its repeated shapes")
+    void shouldFailOverBudget() throws Exception {
+        List<RequestStatementsEvent> requests = List.of(
+                request("/api/v1/products/{id}", 2, Map.of()),
+                request("/api/v1/categories", 7, Map.of("select c1_0.id from categories c1_0 where c1_0.id=?", 6)));
+
+        assertThatThrownBy(() -> StatementBudgetExtension.assertWithinBudget(budget("anyRequest"), requests))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Statement budget of 2 exceeded by:")
+                .hasMessageContaining("GET /api/v1/categories: 7 statement(s), repeated")
+                .hasMessageNotContaining("/api/v1/products/{id}");
+    }
+
+    @Test
+    @DisplayName("Should pass requests within the budget, and ignore other routes when the budget names one")
+    void shouldPassWithinBudget() {
+        List<RequestStatementsEvent> requests = List.of(
+                request("/api/v1/products/{id}", 2, Map.of()),
+                request("/api/v1/categories", 7, Map.of()));
+
+        assertThatCode(() -> StatementBudgetExtension.assertWithinBudget(budget("singleRoute"), requests))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> StatementBudgetExtension.assertWithinBudget(budget("singleRoute"),
+                List.of(request("/api/v1/products/{id}", 3, Map.of()))))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("GET /api/v1/products/{id}: 3 statement(s)");
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.product.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedStockCounterTest {
+
+    @Test
+    @DisplayName("Should pool stripes when no single stripe can serve the quantity")
+    void shouldPoolStripesForLargeQuantities() {
+        StripedStockCounter counter = new StripedStockCounter(10, 8);
+
+        assertThat(counter.tryTake(7)).isEqualTo(StripedStockCounter.Outcome.TAKEN);
+        assertThat(counter.tryTake(4)).isEqualTo(StripedStockCounter.Outcome.INSUFFICIENT);
+        assertThat(counter.available()).isEqualTo(3);
+        assertThat(counter.tryTake(3)).isEqualTo(StripedStockCounter.Outcome.TAKEN);
+        assertThat(counter.available()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse every purchase once closed, returning the exact remainder")
+    void shouldStopSellingWhenClosed() {
+        StripedStockCounter counter = new StripedStockCounter(100, 4);
+        counter.tryTake(30);
+
+        assertThat(counter.close()).isEqualTo(70);
+        assertThat(counter.tryTake(1)).isEqualTo(StripedStockCounter.Outcome.CLOSED);
+        assertThat(counter.add(5)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should sell exactly the available stock under contention")
+    void shouldNeverOversell() throws Exception {
+        StripedStockCounter counter = new StripedStockCounter(10_000, 16);
+        List<Callable<Integer>> buyers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            buyers.add(() -> {
+                int sold = 0;
+                while (counter.tryTake(3) == StripedStockCounter.Outcome.TAKEN) {
+                    sold += 3;
+                }
+                return sold;
+            });
+        }
+
+        int sold = 0;
+        try (ExecutorService pool = Executors.newFixedThreadPool(16)) {
+            for (Future<Integer> result : pool.invokeAll(buyers)) {
+                sold += result.get();
+            }
+        }
+
+        assertThat(sold + counter.available()).isEqualTo(10_000);
+        assertThat(counter.available()).isLessThan(3);
+    }
+}
@@ -4,12 +4,17 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.persistence.autoconfigure.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.ecommerce.user.controller",
 		"com.ecommerce.user.service",
+		"com.ecommerce.user.config",
 		"com.ecommerce.user.dto",
+		"com.ecommerce.user.mapper",
+		"com.ecommerce.user.outbox",
 		"com.ecommerce.user.util",
 		"com.ecommerce.user.exception"})
+@EnableScheduling
 @EnableJpaRepositories(basePackages = "com.ecommerce.user.repository")
 @EntityScan(basePackages = "com.ecommerce.user.model")
 public class UserServiceApplication {
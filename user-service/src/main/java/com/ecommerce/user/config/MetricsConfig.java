@@ -0,0 +1,28 @@
+package com.ecommerce.user.config;
+
+import com.ecommerce.user.metrics.LogCodeMetrics;
+import com.ecommerce.user.metrics.ServiceMethodTimers;
+import com.ecommerce.user.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics on top of the ones Spring Boot binds: {@code log.codes} per {@link
+ * com.ecommerce.user.constant.LogCode LogCode} and {@code service.method} for every method of
+ * {@link UserService}. Scraped as Prometheus text from {@code /actuator/prometheus}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    static ServiceMethodTimers serviceMethodTimers(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ServiceMethodTimers(meterRegistry, UserService.class);
+    }
+
+    @Bean
+    LogCodeMetrics logCodeMetrics() {
+        return new LogCodeMetrics();
+    }
+}
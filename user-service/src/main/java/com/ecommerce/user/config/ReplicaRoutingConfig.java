@@ -0,0 +1,71 @@
+package com.ecommerce.user.config;
+
+import com.ecommerce.user.datasource.ReadYourWritesFilter;
+import com.ecommerce.user.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica support, enabled by setting {@code user.datasource.replica.url}.
+ * <p>
+ * Replaces the auto-configured data source with two Hikari pools - {@code primary} from
+ * {@code spring.datasource.*}, {@code replica} from {@code user.datasource.replica.*}, with the
+ * primary's credentials unless overridden - behind a {@link ReplicaRoutingDataSource}, which JPA,
+ * JDBC and the SQL initializer all use. Pool settings go under {@code spring.datasource.hikari.*}
+ * and {@code user.datasource.replica.hikari.*}. Without a replica URL nothing changes.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "user.datasource.replica", name = "url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("user.datasource.replica.hikari")
+    HikariDataSource replicaDataSource(DataSourceProperties primary,
+                                       @Value("${user.datasource.replica.url}") String url,
+                                       @Value("${user.datasource.replica.username:}") String username,
+                                       @Value("${user.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primary.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? primary.determineUsername() : username)
+                .password(username.isEmpty() ? primary.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        // The replica only ever serves reads
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica) {
+        return ReplicaRoutingDataSource.create(primary, replica);
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(@Value("${user.datasource.replica.read-your-writes:5s}") Duration window) {
+        return new ReadYourWritesFilter(window);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.user.config;
+
+import com.ecommerce.user.mapper.UserMapper;
+import com.ecommerce.user.timing.MappingTimers;
+import com.ecommerce.user.timing.ServerTimingFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Server-Timing breakdown of single requests, on unless {@code user.server-timing.enabled=false}.
+ * <p>
+ * A client gets the {@code Server-Timing} header by sending {@code X-Server-Timing} once
+ * {@code user.server-timing.on-request=true}: off by default, since the header exposes internal
+ * timings to any caller. {@code user.server-timing.log-sample-rate}
+ * is the share of requests, 0 to 1, timed for the log. The mapping phase is measured around the
+ * public methods of {@link UserMapper}.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "user.server-timing", name = "enabled", matchIfMissing = true)
+public class ServerTimingConfig {
+
+    @Bean
+    static MappingTimers mappingTimers() {
+        return new MappingTimers(UserMapper.class);
+    }
+
+    @Bean
+    ServerTimingFilter serverTimingFilter(@Value("${user.server-timing.on-request:false}") boolean onRequest,
+                                          @Value("${user.server-timing.log-sample-rate:0}") double logSampleRate) {
+        return new ServerTimingFilter(onRequest, logSampleRate);
+    }
+}
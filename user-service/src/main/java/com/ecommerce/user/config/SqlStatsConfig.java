@@ -0,0 +1,71 @@
+package com.ecommerce.user.config;
+
+import com.ecommerce.user.datasource.ConnectionLimitingDataSource;
+import com.ecommerce.user.sql.SqlShapeInspector;
+import com.ecommerce.user.sql.StatementCountingDataSource;
+import com.ecommerce.user.sql.StatementStatsFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-request SQL statistics, on unless {@code user.sql-stats.enabled=false}.
+ * <p>
+ * Every Hikari pool is wrapped in a {@link StatementCountingDataSource} - inside the
+ * {@link ConnectionLimitingDataSource} when virtual threads put one in front of it - and Hibernate
+ * gets a {@link SqlShapeInspector}; the {@link StatementStatsFilter} opens the recording for each
+ * request and reports it. {@code user.sql-stats.n-plus-one-threshold} is how many times one
+ * statement shape may be prepared in a request before it is reported as a likely N+1, and
+ * {@code user.sql-stats.debug-headers} adds the counts to the responses.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "user.sql-stats", name = "enabled", matchIfMissing = true)
+public class SqlStatsConfig {
+
+    @Bean
+    static CountingPostProcessor statementCounter() {
+        return new CountingPostProcessor();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer sqlShapeInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlShapeInspector());
+    }
+
+    @Bean
+    StatementStatsFilter statementStatsFilter(MeterRegistry meterRegistry, ApplicationEventPublisher events,
+                                              @Value("${user.sql-stats.debug-headers:false}") boolean debugHeaders,
+                                              @Value("${user.sql-stats.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        return new StatementStatsFilter(meterRegistry, events, debugHeaders, nPlusOneThreshold);
+    }
+
+    // Ordered after the connection limiter's post-processor, which only wraps a bare Hikari pool
+    static final class CountingPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ConnectionLimitingDataSource limited) {
+                limited.setTargetDataSource(new StatementCountingDataSource(limited.getTargetDataSource()));
+                return limited;
+            }
+            if (bean instanceof HikariDataSource pool) {
+                return new StatementCountingDataSource(pool);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -9,6 +9,7 @@ public final class ErrorConstants {
     public static final String BASE_URL = "https://api.ecommerce.it/errors/";
     public static final URI TYPE_USER_NOT_FOUND = URI.create(BASE_URL + "user-not-found");
     public static final URI TYPE_USER_CONFLICT = URI.create(BASE_URL + "user-already-exists");
+    public static final URI TYPE_SERVICE_UNAVAILABLE = URI.create(BASE_URL + "service-unavailable");
     public static final URI TYPE_VALIDATION_ERROR = URI.create(BASE_URL + "validation-error");
     public static final URI TYPE_GENERIC_ERROR = URI.create(BASE_URL + "internal-server-error");
 }
\ No newline at end of file
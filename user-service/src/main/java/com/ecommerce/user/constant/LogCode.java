@@ -14,6 +14,8 @@ package com.ecommerce.user.constant;
  * These codes are designed to be machine-parseable by ELK, Datadog, Grafana
  * Loki
  * and similar observability platforms for alert grouping and trend analysis.
+ * Every log line carrying a code also increments the {@code log.codes} counter
+ * of that code (see {@code LogCodeMetrics}).
  */
 public enum LogCode {
 
@@ -28,7 +30,10 @@ public enum LogCode {
     VALIDATION_FAILED("USR-200", "Validation failed"),
 
     // --- 9xx: Unexpected / internal ---
-    INTERNAL_ERROR("USR-900", "Unhandled internal error");
+    INTERNAL_ERROR("USR-900", "Unhandled internal error"),
+    OUTBOX_RELAY_FAILED("USR-901", "Outbox relay failed"),
+    DATABASE_UNAVAILABLE("USR-902", "No database connection available"),
+    N_PLUS_ONE_SUSPECTED("USR-903", "Same statement repeated within one request");
 
     private final String code;
     private final String description;
@@ -46,6 +51,19 @@ public enum LogCode {
         return description;
     }
 
+    /**
+     * The family of the code, from its hundreds digit: {@code not-found}, {@code conflict},
+     * {@code validation} or {@code internal}.
+     */
+    public String category() {
+        return switch (code.charAt(code.indexOf('-') + 1)) {
+            case '0' -> "not-found";
+            case '1' -> "conflict";
+            case '2' -> "validation";
+            default -> "internal";
+        };
+    }
+
     @Override
     public String toString() {
         return code;
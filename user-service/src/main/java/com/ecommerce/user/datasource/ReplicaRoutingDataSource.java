@@ -0,0 +1,71 @@
+package com.ecommerce.user.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * <p>
+ * The routing happens in a {@link LazyConnectionDataSourceProxy}: the transaction manager marks
+ * the connection read-only before any statement runs, and the physical connection is only taken
+ * at the first statement, from the replica when the mark is set. Statements outside a
+ * transaction, and read-write transactions, always go to the primary.
+ * </p>
+ * <p>
+ * A thread can be pinned to the primary with {@link #pinToPrimary()}, so that its read-only
+ * transactions see writes the replica may not have received yet.
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    /** Handle of a {@link #pinToPrimary()}; closing it restores the previous routing. */
+    public interface Pin extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private ReplicaRoutingDataSource() {}
+
+    /**
+     * Builds the routing data source over the two pools.
+     */
+    public static DataSource create(DataSource primary, DataSource replica) {
+        ReplicaRoutingDataSource readOnly = new ReplicaRoutingDataSource();
+        readOnly.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        readOnly.setDefaultTargetDataSource(replica);
+        readOnly.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(readOnly);
+        return routing;
+    }
+
+    /**
+     * Routes the read-only transactions started by this thread to the primary until the pin is closed.
+     */
+    public static Pin pinToPrimary() {
+        Boolean previous = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PINNED_TO_PRIMARY.remove();
+            }
+        };
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isPinnedToPrimary() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
@@ -3,7 +3,9 @@ package com.ecommerce.user.exception;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.*;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -44,6 +46,23 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return createProblemDetail(ex, HttpStatus.CONFLICT, "Data conflict", TYPE_USER_CONFLICT);
     }
 
+    // Pool exhausted (or limiter queue full) or database down: the client should back off and retry
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ProblemDetail> handleDatabaseUnavailable(Exception ex) {
+        log.warn("[{}] {}: {}", DATABASE_UNAVAILABLE, DATABASE_UNAVAILABLE.description(), ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                "The service is temporarily overloaded. Retry later");
+        problemDetail.setTitle("Service unavailable");
+        problemDetail.setType(TYPE_SERVICE_UNAVAILABLE);
+        problemDetail.setProperty("service", serviceName);
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
+
     // --- 2. OVERRIDE STANDARD METHOD (DTO VALIDATION) ---
     // Override parent class instead of @ExceptionHandler
     @Override
@@ -0,0 +1,100 @@
+package com.ecommerce.user.metrics;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import com.ecommerce.user.constant.LogCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.EnumSet;
+
+/**
+ * Counts the log lines carrying a {@link LogCode} as {@code log.codes}, tagged with the code and its
+ * category, so alerts can fire on a rate of conflicts or not-founds instead of on log searches.
+ * <p>
+ * The codes are found where they are already passed, as a logging argument: an appender on the
+ * root logger sees every line that is actually written and increments the counter of the first
+ * code among its arguments. The counters are all registered up front and indexed by ordinal, so
+ * counting a line costs an array scan and an increment.
+ * </p>
+ * <p>
+ * A rejected request usually logs its code twice, in the service that rejects it and in the
+ * exception handler that maps it: on a request thread each code is counted once per request, so the
+ * counters rate requests, not lines. Lines written outside a request, by the scheduled jobs, are
+ * all counted.
+ * </p>
+ */
+public class LogCodeMetrics implements MeterBinder, AutoCloseable {
+
+    // Request attribute holding the codes already counted for the request
+    private static final String COUNTED = LogCodeMetrics.class.getName() + ".COUNTED";
+
+    private final Counter[] counters = new Counter[LogCode.values().length];
+    private final CountingAppender appender = new CountingAppender();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (LogCode code : LogCode.values()) {
+            counters[code.ordinal()] = Counter.builder("log.codes")
+                    .description("Log lines written with a log code")
+                    .tags("code", code.code(), "category", code.category())
+                    .register(registry);
+        }
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (loggerFactory instanceof LoggerContext context && !appender.isStarted()) {
+            appender.setContext(context);
+            appender.setName("log-code-metrics");
+            appender.start();
+            context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (appender.isStarted()) {
+            ((LoggerContext) appender.getContext()).getLogger(Logger.ROOT_LOGGER_NAME).detachAppender(appender);
+            appender.stop();
+        }
+    }
+
+    private final class CountingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            Object[] arguments = event.getArgumentArray();
+            if (arguments == null) {
+                return;
+            }
+            for (Object argument : arguments) {
+                if (argument instanceof LogCode code) {
+                    if (firstInRequest(code)) {
+                        counters[code.ordinal()].increment();
+                    }
+                    return;
+                }
+            }
+        }
+
+        // Appenders run on the logging thread, which holds the request's attributes while it handles one
+        private static boolean firstInRequest(LogCode code) {
+            RequestAttributes request = RequestContextHolder.getRequestAttributes();
+            if (request == null) {
+                return true;
+            }
+            @SuppressWarnings("unchecked")
+            EnumSet<LogCode> counted = (EnumSet<LogCode>) request.getAttribute(COUNTED, RequestAttributes.SCOPE_REQUEST);
+            if (counted == null) {
+                counted = EnumSet.noneOf(LogCode.class);
+                request.setAttribute(COUNTED, counted, RequestAttributes.SCOPE_REQUEST);
+            }
+            return counted.add(code);
+        }
+    }
+}
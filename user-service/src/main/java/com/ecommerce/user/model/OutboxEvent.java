@@ -0,0 +1,47 @@
+package com.ecommerce.user.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Evento di dominio in attesa di pubblicazione: viene scritto nella stessa transazione della modifica
+// che lo genera e cancellato dal relay dopo l'invio, quindi la tabella contiene solo il backlog
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    // Le righe sono inserite da OutboxWriter via JDBC, non da Hibernate: l'entità serve solo al relay
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, name = "aggregate_type", length = 50)
+    private String aggregateType;
+
+    @Column(nullable = false, name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(nullable = false, name = "event_type", length = 50)
+    private String eventType;
+
+    // JSON dell'evento, già serializzato: il relay lo inoltra così com'è
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false, name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    protected OutboxEvent() {}
+
+    public Long getId() { return id; }
+
+    public String getAggregateType() { return aggregateType; }
+
+    public Long getAggregateId() { return aggregateId; }
+
+    public String getEventType() { return eventType; }
+
+    public String getPayload() { return payload; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
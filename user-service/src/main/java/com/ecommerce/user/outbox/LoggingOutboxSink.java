@@ -0,0 +1,22 @@
+package com.ecommerce.user.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sink until a broker is wired in: logs every event and drops it.
+ */
+@Component
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(message -> log.debug("Outbox event {} - {} {} {}: {}", message.id(),
+                message.eventType(), message.aggregateType(), message.aggregateId(), message.payload()));
+    }
+}
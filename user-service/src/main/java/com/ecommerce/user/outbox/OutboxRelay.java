@@ -0,0 +1,85 @@
+package com.ecommerce.user.outbox;
+
+import com.ecommerce.user.model.OutboxEvent;
+import com.ecommerce.user.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.ecommerce.user.constant.LogCode.OUTBOX_RELAY_FAILED;
+
+/**
+ * Drains the outbox into the {@link OutboxSink} in batches.
+ * <p>
+ * Each batch is claimed with {@code SELECT ... FOR UPDATE SKIP LOCKED}, published and deleted in one
+ * transaction: instances polling at the same time take disjoint batches instead of queueing on the
+ * same rows, and a batch whose publish fails stays in the outbox. Published events are counted by
+ * the {@code outbox.events.published} metric.
+ * </p>
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter published;
+    private final int batchSize;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink sink,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${user.outbox.batch-size:500}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.published = meterRegistry.counter("outbox.events.published");
+        this.batchSize = batchSize;
+    }
+
+    // Keeps going while batches come back full, so a backlog drains in one poll
+    @Scheduled(fixedDelayString = "${user.outbox.poll-interval:500ms}")
+    public void poll() {
+        try {
+            while (relayBatch() == batchSize) {
+                log.debug("Outbox batch full - claiming the next one");
+            }
+        } catch (RuntimeException ex) {
+            log.error("[{}] Outbox relay failed - events stay queued for the next poll", OUTBOX_RELAY_FAILED, ex);
+        }
+    }
+
+    /**
+     * Claims, publishes and deletes the oldest unclaimed batch.
+     *
+     * @return the number of events relayed, {@code 0} when there was nothing to relay
+     */
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.claimBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            sink.publish(batch.stream()
+                    .map(event -> new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                            event.getEventType(), event.getPayload(), event.getCreatedAt()))
+                    .toList());
+            outboxEventRepository.deleteAllInBatch(batch);
+
+            published.increment(batch.size());
+            log.debug("Outbox batch relayed - {} event(s)", batch.size());
+            return batch.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.user.outbox;
+
+import com.ecommerce.user.dto.UserResponseDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Records outgoing domain events in the {@code outbox_events} table.
+ * <p>
+ * Called from inside the service transaction, so the outbox row commits or rolls back together with
+ * the write it describes, and no request waits on a broker. {@link OutboxRelay} ships the rows afterwards.
+ * Rows are inserted with plain JDBC; the {@code OutboxEvent} entity is only read by the relay.
+ * </p>
+ */
+@Component
+public class OutboxWriter {
+
+    public static final String USER = "User";
+    public static final String USER_CREATED = "UserCreated";
+
+    private static final String INSERT_EVENT = "INSERT INTO outbox_events "
+            + "(aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Records a {@code UserCreated} event; must be called inside the transaction that created the user.
+     */
+    public void userCreated(UserResponseDTO user) {
+        UserCreated payload = new UserCreated(user.id(), user.username(), user.email(), user.userRole(), user.createdAt());
+        jdbcTemplate.update(INSERT_EVENT, USER, user.id(), USER_CREATED, jsonMapper.writeValueAsString(payload), now());
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+}
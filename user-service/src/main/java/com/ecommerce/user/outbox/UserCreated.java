@@ -0,0 +1,17 @@
+package com.ecommerce.user.outbox;
+
+import com.ecommerce.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of the {@code UserCreated} event. Never carries the password.
+ *
+ * @param userId    the new user's id
+ * @param username  its username
+ * @param email     its email address
+ * @param userRole  the role it was registered with
+ * @param createdAt when the account was created
+ */
+public record UserCreated(Long userId, String username, String email, User.UserRole userRole,
+                          LocalDateTime createdAt) {}
@@ -0,0 +1,17 @@
+package com.ecommerce.user.repository;
+
+import com.ecommerce.user.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Claim del batch più vecchio: le righe restano bloccate fino al commit del relay, e SKIP LOCKED
+    // fa sì che un secondo relay (un'altra istanza) prenda il batch successivo invece di attendere
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("limit") int limit);
+}
@@ -5,6 +5,7 @@ import com.ecommerce.user.mapper.UserMapper;
 import com.ecommerce.user.exception.UserAlreadyExistsException;
 import com.ecommerce.user.exception.UserNotFoundException;
 import com.ecommerce.user.model.User;
+import com.ecommerce.user.outbox.OutboxWriter;
 import com.ecommerce.user.repository.UserRepository;
 import com.ecommerce.user.service.UserService;
 import org.slf4j.Logger;
@@ -25,10 +26,12 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final OutboxWriter outboxWriter;
 
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, OutboxWriter outboxWriter) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.outboxWriter = outboxWriter;
     }
 
     // -------------------------------------------------------------------------
@@ -53,8 +56,12 @@ public class UserServiceImpl implements UserService {
         User newUser = userMapper.toEntity(userRequestDTO);
         userRepository.save(newUser);
 
+        // UserCreated commits with the user itself; the outbox relay publishes it
+        UserResponseDTO response = userMapper.toResponseDTO(newUser);
+        outboxWriter.userCreated(response);
+
         log.info("User created successfully - id: {}, username: '{}'", newUser.getId(), newUser.getUsername());
-        return userMapper.toResponseDTO(newUser);
+        return response;
     }
 
     // -------------------------------------------------------------------------
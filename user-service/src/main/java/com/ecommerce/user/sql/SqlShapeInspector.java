@@ -0,0 +1,19 @@
+package com.ecommerce.user.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hands every statement Hibernate prepares to the {@link RequestStatements} of the current thread,
+ * which counts it by shape; the SQL itself goes through unchanged.
+ */
+public class SqlShapeInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = RequestStatements.current();
+        if (statements != null) {
+            statements.prepared(sql);
+        }
+        return sql;
+    }
+}
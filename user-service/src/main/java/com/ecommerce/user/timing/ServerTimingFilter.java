@@ -0,0 +1,268 @@
+package com.ecommerce.user.timing;
+
+import com.ecommerce.user.sql.RequestStatements;
+import com.ecommerce.user.sql.StatementStatsFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Breaks the time of a request down into phases - {@code db-acquire}, {@code db-exec},
+ * {@code hydration}, {@code mapping}, {@code serialize} and {@code total} - and reports them as a
+ * W3C {@value #SERVER_TIMING} header, readable in the browser's network panel, and as a log line.
+ * <p>
+ * Only some requests are timed: those sent with a {@value #REQUEST_HEADER} header (when
+ * {@code onRequest} allows it), which get the response header, and a random {@code logSampleRate}
+ * share of all requests, which get the log line. Any other request goes straight through. A
+ * response that gets the header is buffered, so that the header can still carry the time spent
+ * writing the body; one that is only logged streams out as usual.
+ * </p>
+ * <p>
+ * A streamed body is never buffered: NDJSON, server-sent events, and a body written before any
+ * content type is set, whose size can't be bounded. Its header is set when the first byte is
+ * written and covers the request up to there, without {@code serialize}; the log line still
+ * covers the whole request.
+ * </p>
+ * <p>
+ * The database phases come from the {@link RequestStatements} recorded by
+ * {@link StatementStatsFilter}, which runs just before this filter; without it they are left out.
+ * A request that goes async is not timed: its handler finishes on another thread.
+ * </p>
+ */
+public class ServerTimingFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final boolean onRequest;
+    private final double logSampleRate;
+
+    public ServerTimingFilter(boolean onRequest, double logSampleRate) {
+        this.onRequest = onRequest;
+        this.logSampleRate = logSampleRate;
+    }
+
+    @Override
+    public int getOrder() {
+        return StatementStatsFilter.ORDER + 1;
+    }
+
+    // A request that went async writes its body into the buffer of its first dispatch
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            TimedResponse timed = WebUtils.getNativeResponse(response, TimedResponse.class);
+            chain.doFilter(request, response);
+            if (timed != null && timed.buffered() != null && !request.isAsyncStarted()) {
+                timed.buffered().copyBodyToResponse();
+            }
+            return;
+        }
+        boolean requested = onRequest && request.getHeader(REQUEST_HEADER) != null;
+        boolean sampled = logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate;
+        if (!requested && !sampled) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (RequestTimings timings = RequestTimings.start()) {
+            TimedResponse timed = new TimedResponse(response, requested, timings, start);
+            chain.doFilter(request, timed);
+            if (request.isAsyncStarted()) {
+                timed.stopTiming();
+                return;
+            }
+            long end = System.nanoTime();
+            Phases phases = Phases.of(RequestStatements.current(), timings, timed.writeNanos(end), end - start);
+            String serverTiming = phases.toHeader();
+            BufferedResponse buffered = timed.buffered();
+            if (buffered != null) {
+                buffered.setHeader(SERVER_TIMING, serverTiming);
+                buffered.copyBodyToResponse();
+            } else if (requested && !timed.bodyStarted() && !response.isCommitted()) {
+                // No body written (204, 304, HEAD)
+                response.setHeader(SERVER_TIMING, serverTiming);
+            }
+            if (sampled) {
+                log(request, timed.getStatus(), phases, serverTiming);
+            }
+        }
+    }
+
+    private static void log(HttpServletRequest request, int status, Phases phases, String serverTiming) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        log.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", uri)
+                .addKeyValue("status", status)
+                .addKeyValue("db_acquire_ms", millis(phases.acquireNanos()))
+                .addKeyValue("db_exec_ms", millis(phases.execNanos()))
+                .addKeyValue("statements", phases.statements())
+                .addKeyValue("hydration_ms", millis(phases.hydrationNanos()))
+                .addKeyValue("mapping_ms", millis(phases.mappingNanos()))
+                .addKeyValue("serialize_ms", millis(phases.serializeNanos()))
+                .addKeyValue("total_ms", millis(phases.totalNanos()))
+                .log("Server timing {} {} {}: {}", request.getMethod(), uri, status, serverTiming);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Phase durations in nanoseconds; {@code statements} is -1 when no SQL recording was active,
+     * {@code serializeNanos} -1 when the body is still to be written.
+     */
+    private record Phases(long acquireNanos, long execNanos, int statements, long hydrationNanos,
+                          long mappingNanos, long serializeNanos, long totalNanos) {
+
+        static Phases of(RequestStatements sql, RequestTimings timings, long serializeNanos, long totalNanos) {
+            if (sql == null) {
+                return new Phases(0, 0, -1, 0, timings.mappingTime().toNanos(), serializeNanos, totalNanos);
+            }
+            return new Phases(sql.connectionAcquireTime().toNanos(), sql.dbTime().toNanos(), sql.statements(),
+                    sql.hydrationTime().toNanos(), timings.mappingTime().toNanos(), serializeNanos, totalNanos);
+        }
+
+        String toHeader() {
+            StringBuilder header = new StringBuilder();
+            if (statements >= 0) {
+                metric(header, "db-acquire", acquireNanos);
+                metric(header, "db-exec", execNanos).append(";desc=\"").append(statements).append(" statement(s)\"");
+                metric(header, "hydration", hydrationNanos);
+            }
+            metric(header, "mapping", mappingNanos);
+            if (serializeNanos >= 0) {
+                metric(header, "serialize", serializeNanos);
+            }
+            metric(header, "total", totalNanos);
+            return header.toString();
+        }
+
+        private static StringBuilder metric(StringBuilder header, String name, long nanos) {
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            return header.append(name).append(";dur=").append(millis(nanos));
+        }
+    }
+
+    // Holds the body back until the header is set
+    private static final class BufferedResponse extends ContentCachingResponseWrapper {
+
+        BufferedResponse(HttpServletResponse response) {
+            super(response);
+        }
+    }
+
+    // Notes when the writing of the body starts, and decides there whether the body is held back
+    private static final class TimedResponse extends HttpServletResponseWrapper {
+
+        private static final List<MediaType> STREAMED = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+        private final RequestTimings timings;
+        private final long start;
+        private boolean requested;
+        private long firstWrite;
+        private BufferedResponse buffered;
+
+        TimedResponse(HttpServletResponse response, boolean requested, RequestTimings timings, long start) {
+            super(response);
+            this.requested = requested;
+            this.timings = timings;
+            this.start = start;
+        }
+
+        long writeNanos(long end) {
+            return firstWrite == 0 ? 0 : end - firstWrite;
+        }
+
+        boolean bodyStarted() {
+            return firstWrite != 0;
+        }
+
+        // The body held back for the header, null if it went straight out
+        BufferedResponse buffered() {
+            return buffered;
+        }
+
+        // The request went async: what its dispatch writes is neither timed nor held back
+        void stopTiming() {
+            requested = false;
+        }
+
+        private void startBody() {
+            if (firstWrite != 0) {
+                return;
+            }
+            firstWrite = System.nanoTime();
+            if (!requested || isCommitted()) {
+                return;
+            }
+            if (isStreamed(getContentType())) {
+                setHeader(SERVER_TIMING, Phases.of(RequestStatements.current(), timings, -1, firstWrite - start).toHeader());
+            } else {
+                buffered = new BufferedResponse((HttpServletResponse) getResponse());
+                setResponse(buffered);
+            }
+        }
+
+        private static boolean isStreamed(String contentType) {
+            if (contentType == null) {
+                return true;
+            }
+            try {
+                MediaType type = MediaType.parseMediaType(contentType);
+                return STREAMED.stream().anyMatch(type::isCompatibleWith);
+            } catch (InvalidMediaTypeException ex) {
+                return true;
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            startBody();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            startBody();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            startBody();
+            super.flushBuffer();
+        }
+    }
+}
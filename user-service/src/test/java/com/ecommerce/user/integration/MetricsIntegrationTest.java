@@ -0,0 +1,68 @@
+package com.ecommerce.user.integration;
+
+import com.ecommerce.user.bin.UserServiceApplication;
+import com.ecommerce.user.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.micrometer.metrics.test.autoconfigure.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = UserServiceApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Log code and service method metrics")
+class MetricsIntegrationTest {
+
+    private static final String MISSING_USER = "/api/v1/users/987654321";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should time every service method and count the log lines of a rejected request by code")
+    void shouldRecordServiceTimingAndLogCodes() throws Exception {
+        long userMethods = Arrays.stream(UserService.class.getMethods()).map(Method::getName).distinct().count();
+        assertThat(meterRegistry.find("service.method").tag("service", "UserService").timers())
+                .hasSize((int) userMethods);
+        long calls = meterRegistry.get("service.method").tags("service", "UserService", "method", "findById")
+                .timer().count();
+        double notFoundLines = meterRegistry.get("log.codes").tags("code", "USR-001", "category", "not-found")
+                .counter().count();
+
+        mockMvc.perform(get(MISSING_USER)).andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.get("service.method").tags("service", "UserService", "method", "findById")
+                .timer().count()).isEqualTo(calls + 1);
+        assertThat(meterRegistry.get("log.codes").tags("code", "USR-001", "category", "not-found")
+                .counter().count()).isEqualTo(notFoundLines + 1);
+    }
+
+    @Test
+    @DisplayName("Should expose both as Prometheus text, the timers with histogram buckets")
+    void shouldExposePrometheusScrape() throws Exception {
+        mockMvc.perform(get(MISSING_USER)).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("log_codes_total{category=\"not-found\",code=\"USR-001\"")))
+                .andExpect(content().string(containsString(
+                        "service_method_seconds_bucket{method=\"findById\",service=\"UserService\"")));
+    }
+}
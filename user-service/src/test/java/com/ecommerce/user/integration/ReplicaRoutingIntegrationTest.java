@@ -0,0 +1,98 @@
+package com.ecommerce.user.integration;
+
+import com.ecommerce.user.bin.UserServiceApplication;
+import com.ecommerce.user.dto.UserRequestDTO;
+import com.ecommerce.user.dto.UserResponseDTO;
+import com.ecommerce.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.boot.resttestclient.TestRestTemplate;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = UserServiceApplication.class,
+        properties = {
+                "user.datasource.replica.url=jdbc:h2:mem:user-replica;DB_CLOSE_DELAY=-1",
+                "user.datasource.replica.read-your-writes=5s"
+        })
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Read replica routing")
+class ReplicaRoutingIntegrationTest {
+
+    private static final String USERS_PATH = "/api/v1/users";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    private TestRestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new TestRestTemplate(new RestTemplateBuilder().rootUri("http://localhost:" + port));
+        userRepository.deleteAll();
+        // A second H2 database stands in for the replica; it starts empty, as if replication lagged behind
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica);
+    }
+
+    private ResponseEntity<UserResponseDTO> createUser() {
+        return restTemplate.postForEntity(USERS_PATH,
+                new UserRequestDTO("mario_rossi", "mario@email.com", "pass123", "Mario", "Rossi", "123"),
+                UserResponseDTO.class);
+    }
+
+    @Test
+    @DisplayName("Should serve read-only lookups from the replica")
+    void shouldReadFromReplica() {
+        Long userId = Objects.requireNonNull(createUser().getBody()).id();
+
+        // Written to the primary only: the replica hasn't seen it yet
+        assertThat(restTemplate.getForEntity(USERS_PATH + "/" + userId, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+
+        new JdbcTemplate(replica).update("INSERT INTO users (id, username, email, password, first_name) VALUES (?, ?, ?, ?, ?)",
+                userId, "mario_rossi", "mario@email.com", "pass123", "Replicated");
+        ResponseEntity<UserResponseDTO> read = restTemplate.getForEntity(USERS_PATH + "/" + userId, UserResponseDTO.class);
+        assertThat(read.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Objects.requireNonNull(read.getBody()).firstName()).isEqualTo("Replicated");
+    }
+
+    @Test
+    @DisplayName("Should keep a client on the primary right after it writes")
+    void shouldReadYourWrites() {
+        ResponseEntity<UserResponseDTO> created = createUser();
+        String pin = created.getHeaders().getFirst(HttpHeaders.SET_COOKIE);
+        assertThat(pin).startsWith("read-primary-until=").contains("Max-Age=5");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, pin.substring(0, pin.indexOf(';')));
+        ResponseEntity<UserResponseDTO> read = restTemplate.exchange(USERS_PATH + "/" + Objects.requireNonNull(created.getBody()).id(),
+                HttpMethod.GET, new HttpEntity<>(headers), UserResponseDTO.class);
+
+        assertThat(read.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Objects.requireNonNull(read.getBody()).firstName()).isEqualTo("Mario");
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.user.integration;
+
+import com.ecommerce.user.bin.UserServiceApplication;
+import com.ecommerce.user.model.User;
+import com.ecommerce.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.ecommerce.user.timing.ServerTimingFilter.REQUEST_HEADER;
+import static com.ecommerce.user.timing.ServerTimingFilter.SERVER_TIMING;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = UserServiceApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Server-Timing breakdown")
+class ServerTimingIntegrationTest {
+
+    private static final String USERS_PATH = "/api/v1/users";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userId = userRepository.save(new User(null, "mario_rossi", "mario@email.com", "pass123",
+                "Mario", "Rossi", "+39 333 1234567", User.UserRole.CUSTOMER)).getId();
+    }
+
+    @Test
+    @DisplayName("Should break a requested response down into DB, mapping and serialization phases")
+    void shouldAddServerTimingWhenRequested() throws Exception {
+        MvcResult result = mockMvc.perform(get(USERS_PATH + "/" + userId).header(REQUEST_HEADER, "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(userId))
+                .andExpect(jsonPath("$.username").value("mario_rossi"))
+                .andReturn();
+
+        String serverTiming = result.getResponse().getHeader(SERVER_TIMING);
+        assertThat(serverTiming).isNotNull();
+        assertThat(serverTiming.split(", "))
+                .extracting(metric -> metric.substring(0, metric.indexOf(';')))
+                .containsExactly("db-acquire", "db-exec", "hydration", "mapping", "serialize", "total");
+        assertThat(serverTiming).contains(";desc=\"1 statement(s)\"");
+    }
+
+    @Test
+    @DisplayName("Should leave responses untouched when the breakdown is not requested")
+    void shouldNotAddServerTimingByDefault() throws Exception {
+        mockMvc.perform(get(USERS_PATH + "/" + userId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(SERVER_TIMING))
+                .andExpect(jsonPath("$.username").value("mario_rossi"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.user.integration;
+
+import com.ecommerce.user.bin.UserServiceApplication;
+import com.ecommerce.user.model.User;
+import com.ecommerce.user.repository.UserRepository;
+import com.ecommerce.user.sql.RequestStatements;
+import com.ecommerce.user.sql.StatementBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ecommerce.user.sql.StatementStatsFilter.QUERY_COUNT;
+import static com.ecommerce.user.sql.StatementStatsFilter.QUERY_ROWS;
+import static com.ecommerce.user.sql.StatementStatsFilter.QUERY_TIME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = UserServiceApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Per-request SQL statistics")
+class SqlStatsIntegrationTest {
+
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final int USERS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userIds.clear();
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(userRepository.save(new User(null, "user_" + i, "user" + i + "@email.com", "pass123",
+                    "Mario", "Rossi", "+39 333 " + i, User.UserRole.CUSTOMER)).getId());
+        }
+    }
+
+    @Test
+    @StatementBudget(1)
+    @DisplayName("Detail and username lookup stay within one statement per request")
+    void lookups_stayWithinBudget() throws Exception {
+        mockMvc.perform(get(USERS_PATH + "/" + userIds.getFirst())).andExpect(status().isOk());
+        mockMvc.perform(get(USERS_PATH + "/search-username?username=user_3")).andExpect(status().isOk());
+    }
+
+    @Test
+    @StatementBudget(value = 2, uri = USERS_PATH)
+    @DisplayName("Listing stays within its budget of page plus count")
+    void listing_staysWithinBudget() throws Exception {
+        mockMvc.perform(get(USERS_PATH + "?size=5")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should expose statements, rows and DB time as debug headers and metrics")
+    void shouldExposeHeadersAndMetrics() throws Exception {
+        mockMvc.perform(get(USERS_PATH + "/" + userIds.getFirst()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QUERY_COUNT, "1"))
+                .andExpect(header().string(QUERY_ROWS, "1"))
+                .andExpect(header().exists(QUERY_TIME));
+
+        assertThat(meterRegistry.find("http.server.requests.db.statements")
+                .tags("method", "GET", "uri", USERS_PATH + "/{id}").summary()).isNotNull();
+        assertThat(meterRegistry.find("http.server.requests.db.time").tags("uri", USERS_PATH + "/{id}").timer())
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should count a lookup per row as one repeated statement shape")
+    void shouldDetectRepeatedShape() {
+        try (RequestStatements recorded = RequestStatements.record()) {
+            userIds.stream().limit(6).forEach(userRepository::findById);
+
+            assertThat(recorded.statements()).isEqualTo(6);
+            assertThat(recorded.repeatedShapes(5)).hasSize(1).containsValue(6);
+        }
+    }
+}
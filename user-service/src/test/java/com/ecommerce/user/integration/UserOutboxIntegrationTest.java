@@ -0,0 +1,110 @@
+package com.ecommerce.user.integration;
+
+import com.ecommerce.user.bin.UserServiceApplication;
+import com.ecommerce.user.dto.UserRequestDTO;
+import com.ecommerce.user.dto.UserResponseDTO;
+import com.ecommerce.user.exception.UserAlreadyExistsException;
+import com.ecommerce.user.model.User;
+import com.ecommerce.user.outbox.InMemoryOutboxSink;
+import com.ecommerce.user.outbox.OutboxMessage;
+import com.ecommerce.user.outbox.OutboxRelay;
+import com.ecommerce.user.outbox.OutboxWriter;
+import com.ecommerce.user.outbox.UserCreated;
+import com.ecommerce.user.repository.OutboxEventRepository;
+import com.ecommerce.user.repository.UserRepository;
+import com.ecommerce.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = UserServiceApplication.class)
+@ActiveProfiles("test")
+@Import(UserOutboxIntegrationTest.SinkConfig.class)
+@DisplayName("Integration Test (H2) - UserCreated outbox")
+class UserOutboxIntegrationTest {
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        @Primary
+        InMemoryOutboxSink inMemoryOutboxSink() {
+            return new InMemoryOutboxSink();
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private OutboxRelay relay;
+    @Autowired
+    private InMemoryOutboxSink sink;
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        sink.clear();
+    }
+
+    // --- FACTORY ---
+    private UserRequestDTO createRequest() {
+        return new UserRequestDTO("mario_rossi", "mario@email.com", "pass123", "Mario", "Rossi", "123");
+    }
+
+    @Test
+    @DisplayName("Should record UserCreated with the user and relay it without the password")
+    void shouldRelayUserCreated() {
+        UserResponseDTO user = userService.createUser(createRequest());
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        List<OutboxMessage> published = sink.published();
+        assertThat(published).hasSize(1);
+        OutboxMessage message = published.getFirst();
+        assertThat(message.eventType()).isEqualTo(OutboxWriter.USER_CREATED);
+        assertThat(message.aggregateId()).isEqualTo(user.id());
+        assertThat(message.payload()).doesNotContain("pass123");
+        UserCreated payload = jsonMapper.readValue(message.payload(), UserCreated.class);
+        assertThat(payload.username()).isEqualTo("mario_rossi");
+        assertThat(payload.userRole()).isEqualTo(User.UserRole.CUSTOMER);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record nothing for a rejected registration and keep the batch when the sink fails")
+    void shouldNotLoseOrInventEvents() {
+        userService.createUser(createRequest());
+        assertThatThrownBy(() -> userService.createUser(createRequest()))
+                .isInstanceOf(UserAlreadyExistsException.class);
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        sink.failing(true);
+        assertThatThrownBy(() -> relay.relayBatch()).isInstanceOf(IllegalStateException.class);
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        sink.failing(false);
+        relay.poll();
+        assertThat(sink.published()).hasSize(1);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+}
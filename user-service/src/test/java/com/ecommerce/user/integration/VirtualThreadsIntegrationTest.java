@@ -0,0 +1,138 @@
+package com.ecommerce.user.integration;
+
+import com.ecommerce.user.bin.UserServiceApplication;
+import com.ecommerce.user.datasource.ConnectionLimitingDataSource;
+import com.ecommerce.user.dto.UserRequestDTO;
+import com.ecommerce.user.dto.UserResponseDTO;
+import com.ecommerce.user.repository.UserRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.boot.resttestclient.TestRestTemplate;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = UserServiceApplication.class,
+        properties = {
+                "spring.threads.virtual.enabled=true",
+                "spring.datasource.hikari.maximum-pool-size=2",
+                "user.datasource.limiter.acquire-timeout=1s"
+        })
+@ActiveProfiles("test")
+@DisplayName("Integration Test (H2) - Virtual threads")
+class VirtualThreadsIntegrationTest {
+
+    private static final String USERS_PATH = "/api/v1/users";
+    private static final int CLIENTS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    private TestRestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new TestRestTemplate(new RestTemplateBuilder().rootUri("http://localhost:" + port));
+        userRepository.deleteAll();
+    }
+
+    private ResponseEntity<UserResponseDTO> createUser(int n) {
+        return restTemplate.postForEntity(USERS_PATH,
+                new UserRequestDTO("user_" + n, "user" + n + "@email.com", "pass123", "Mario", "Rossi", "123"),
+                UserResponseDTO.class);
+    }
+
+    @Test
+    @DisplayName("Should answer 503 with Retry-After while every pooled connection is taken")
+    void shouldShedLoadWhenPoolIsExhausted() throws Exception {
+        assertThat(dataSource).isInstanceOf(ConnectionLimitingDataSource.class);
+        Long userId = Objects.requireNonNull(createUser(1).getBody()).id();
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            ResponseEntity<String> rejected = restTemplate.getForEntity(USERS_PATH + "/" + userId, String.class);
+
+            assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(rejected.getBody()).contains("https://api.ecommerce.it/errors/service-unavailable");
+        }
+
+        assertThat(restTemplate.getForEntity(USERS_PATH + "/" + userId, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("Should not pin carrier threads while serving requests")
+    void shouldNotPinCarrierThreads() throws Exception {
+        // Warm-up: class initialization can pin, and is not what is measured here
+        Long existingId = Objects.requireNonNull(createUser(0).getBody()).id();
+        restTemplate.getForEntity(USERS_PATH + "/" + existingId, String.class);
+
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        List<HttpStatus> statuses = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> requests = new ArrayList<>();
+                for (int i = 1; i <= CLIENTS; i++) {
+                    int n = i;
+                    requests.add(clients.submit(() -> {
+                        statuses.add(HttpStatus.valueOf(createUser(n).getStatusCode().value()));
+                        statuses.add(HttpStatus.valueOf(restTemplate.getForEntity(
+                                USERS_PATH + "/" + existingId, String.class).getStatusCode().value()));
+                    }));
+                }
+                for (Future<?> request : requests) {
+                    request.get();
+                }
+            }
+            recording.stop();
+        }
+
+        // A request may be shed by the limiter, but never fail otherwise
+        assertThat(statuses).allMatch(status -> status.is2xxSuccessful() || status == HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(pinned)
+                .as(() -> "pinned virtual threads:\n" + pinned.stream()
+                        .map(VirtualThreadsIntegrationTest::describe)
+                        .collect(Collectors.joining("\n\n")))
+                .isEmpty();
+    }
+
+    private static String describe(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        return frames.stream()
+                .map(frame -> "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -4,6 +4,7 @@ import com.ecommerce.user.dto.*;
 import com.ecommerce.user.exception.UserAlreadyExistsException;
 import com.ecommerce.user.exception.UserNotFoundException;
 import com.ecommerce.user.model.User;
+import com.ecommerce.user.outbox.OutboxWriter;
 import com.ecommerce.user.repository.UserRepository;
 import com.ecommerce.user.service.impl.UserServiceImpl;
 import com.ecommerce.user.mapper.UserMapper;
@@ -33,6 +34,8 @@ class UserServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private OutboxWriter outboxWriter;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -99,6 +102,7 @@ class UserServiceImplTest {
         verify(userMapper).toEntity(request);
         verify(userRepository).save(newUser);
         verify(userMapper).toResponseDTO(newUser);
+        verify(outboxWriter).userCreated(expectedResponse);
     }
 
     @Test
@@ -120,6 +124,7 @@ class UserServiceImplTest {
         verify(userRepository, never()).existsByEmail(anyString());
         verify(userMapper, never()).toEntity(any());
         verify(userRepository, never()).save(any());
+        verify(outboxWriter, never()).userCreated(any());
     }
 
     @Test
@@ -0,0 +1,66 @@
+package com.ecommerce.user.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the {@link RequestStatementsEvent}s of a {@link StatementBudget} test and checks them
+ * against the budget once the test has run.
+ */
+class StatementBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(StatementBudgetExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Recorder recorder = new Recorder();
+        applicationContext(context).addApplicationListener(recorder);
+        context.getStore(NAMESPACE).put(Recorder.class, recorder);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Recorder recorder = context.getStore(NAMESPACE).remove(Recorder.class, Recorder.class);
+        applicationContext(context).removeApplicationListener(recorder);
+        assertWithinBudget(context.getRequiredTestMethod().getAnnotation(StatementBudget.class), recorder.requests);
+    }
+
+    /**
+     * Throws an {@link AssertionError} listing the requests the budget applies to that exceeded it.
+     */
+    static void assertWithinBudget(StatementBudget budget, List<RequestStatementsEvent> requests) {
+        List<RequestStatementsEvent> overBudget = requests.stream()
+                .filter(request -> budget.uri().isEmpty() || budget.uri().equals(request.uri()))
+                .filter(request -> request.statements() > budget.value())
+                .toList();
+        if (!overBudget.isEmpty()) {
+            throw new AssertionError("Statement budget of " + budget.value() + " exceeded by:\n" + overBudget.stream()
+                    .map(request -> "  " + request.method() + " " + request.uri() + ": " + request.statements()
+                            + " statement(s)" + (request.repeated().isEmpty() ? "" : ", repeated " + request.repeated()))
+                    .collect(Collectors.joining("\n")));
+        }
+    }
+
+    private static ConfigurableApplicationContext applicationContext(ExtensionContext context) {
+        return (ConfigurableApplicationContext) SpringExtension.getApplicationContext(context);
+    }
+
+    private static final class Recorder implements ApplicationListener<PayloadApplicationEvent<RequestStatementsEvent>> {
+
+        private final List<RequestStatementsEvent> requests = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onApplicationEvent(PayloadApplicationEvent<RequestStatementsEvent> event) {
+            requests.add(event.getPayload());
+        }
+    }
+}